@@ -904,6 +904,8 @@ CREATE INDEX IF NOT EXISTS IX_MaintenanceTickets_AssignedToUserID ON Maintenance
 CREATE INDEX IF NOT EXISTS IX_MaintenanceTickets_RoomID ON MaintenanceTickets(RoomID);
 CREATE INDEX IF NOT EXISTS IX_MaintenanceTickets_ReporterUserID ON MaintenanceTickets(ReporterUserID);
 CREATE INDEX IF NOT EXISTS IX_MaintenanceTickets_StatusTypeID ON MaintenanceTickets(StatusTypeID);
+-- Newest-first keyset paging of the tickets view
+CREATE INDEX IF NOT EXISTS IX_MaintenanceTickets_CreatedDate_TicketID ON MaintenanceTickets(CreatedDate DESC, TicketID DESC);
 
 -- Bookings table 
 CREATE TABLE IF NOT EXISTS Bookings (
@@ -926,6 +928,63 @@ CREATE INDEX IF NOT EXISTS IX_Bookings_UserID ON Bookings(UserID);
 CREATE INDEX IF NOT EXISTS IX_Bookings_BookingDate ON Bookings(BookingDate);
 CREATE INDEX IF NOT EXISTS IX_Bookings_StatusTypeID ON Bookings(StatusTypeID);
 
+-- Booked time range [BookingDate, EndDate), kept in step with the two columns
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE Bookings ADD COLUMN IF NOT EXISTS BookedPeriod TSRANGE
+    GENERATED ALWAYS AS (tsrange(BookingDate, EndDate, '[)')) STORED;
+
+-- No two CONFIRMED bookings of the same room may overlap. Enforced by the database so that
+-- concurrent booking requests cannot both succeed; the application maps the violation
+-- (SQLSTATE 23P01) to a booking conflict. The predicate needs the CONFIRMED StatusTypeID,
+-- so the constraint is created dynamically. The application no longer checks for overlaps
+-- itself, so the script stops here if existing CONFIRMED bookings overlap.
+DO $$
+DECLARE
+    confirmed_id INT;
+BEGIN
+    SELECT StatusTypeID INTO confirmed_id FROM StatusTypes WHERE EntityType = 'BOOKING' AND StatusCode = 'CONFIRMED';
+    IF confirmed_id IS NOT NULL AND NOT EXISTS (
+        SELECT 1 FROM pg_constraint WHERE conname = 'ex_bookings_room_period'
+    ) THEN
+        EXECUTE format('ALTER TABLE Bookings ADD CONSTRAINT EX_Bookings_Room_Period ' ||
+                       'EXCLUDE USING gist (RoomID WITH =, BookedPeriod WITH &&) WHERE (StatusTypeID = %s)',
+                       confirmed_id);
+    END IF;
+EXCEPTION
+    WHEN exclusion_violation THEN
+        RAISE EXCEPTION 'EX_Bookings_Room_Period not created: existing CONFIRMED bookings overlap'
+            USING ERRCODE = 'exclusion_violation',
+                  HINT = 'Cancel the duplicate bookings and re-run the script.';
+END $$;
+
+-- Change counter for Bookings and Rooms, polled by the application's in-memory booking
+-- index so that it reloads when another client changes bookings or room status
+CREATE TABLE IF NOT EXISTS BookingIndexVersion (
+    VersionID   INT PRIMARY KEY DEFAULT 1 CHECK (VersionID = 1),
+    Version     BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO BookingIndexVersion (VersionID, Version) VALUES (1, 0) ON CONFLICT (VersionID) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION bump_booking_index_version()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE BookingIndexVersion SET Version = Version + 1 WHERE VersionID = 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS TR_Bookings_BookingIndexVersion ON Bookings;
+CREATE TRIGGER TR_Bookings_BookingIndexVersion
+    AFTER INSERT OR UPDATE OR DELETE ON Bookings
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_booking_index_version();
+
+DROP TRIGGER IF EXISTS TR_Rooms_BookingIndexVersion ON Rooms;
+CREATE TRIGGER TR_Rooms_BookingIndexVersion
+    AFTER INSERT OR UPDATE OR DELETE ON Rooms
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_booking_index_version();
+
 -- Equipment table 
 CREATE TABLE IF NOT EXISTS Equipment (
     EquipmentID      SERIAL PRIMARY KEY,
@@ -1054,6 +1113,11 @@ CREATE INDEX IF NOT EXISTS IX_TranscriptRequests_StudentUserID ON TranscriptRequ
 CREATE INDEX IF NOT EXISTS IX_TranscriptRequests_StatusTypeID ON TranscriptRequests(StatusTypeID);
 CREATE INDEX IF NOT EXISTS IX_TranscriptRequests_RequestDate ON TranscriptRequests(RequestDate);
 
+-- Set while a transcript PDF is being rendered (claimed by TranscriptService), so two renders
+-- never take the same request; a render older than transcript.render.timeout.minutes is
+-- taken to have died with its client and may be claimed again
+ALTER TABLE TranscriptRequests ADD COLUMN IF NOT EXISTS RenderStartedDate TIMESTAMP NULL;
+
 -- Courses table 
 CREATE TABLE IF NOT EXISTS Courses (
     CourseID      SERIAL PRIMARY KEY,
@@ -1127,6 +1191,70 @@ CREATE INDEX IF NOT EXISTS IX_Courses_SemesterID ON Courses(SemesterID);
 CREATE INDEX IF NOT EXISTS IX_Courses_CourseTypeID ON Courses(CourseTypeID);
 CREATE INDEX IF NOT EXISTS IX_Courses_IsActive ON Courses(IsActive);
 
+-- Full-text search over code (weight A), name (B), department name (C) and description (D)
+-- for CourseService.searchCourses. The department name lives in another table, so the
+-- column is kept up to date by triggers rather than being a generated column.
+-- SearchVector is stemmed ('english') and ranks whole words; SearchPrefixVector holds the
+-- same fields unstemmed ('simple') for type-ahead prefix matching, since a stemmed lexeme
+-- such as 'univers' is not a prefix of every word typed so far ('universit').
+ALTER TABLE Courses ADD COLUMN IF NOT EXISTS SearchVector tsvector;
+ALTER TABLE Courses ADD COLUMN IF NOT EXISTS SearchPrefixVector tsvector;
+
+CREATE OR REPLACE FUNCTION course_search_vector(p_code TEXT, p_name TEXT, p_description TEXT, p_department_id INT)
+RETURNS tsvector AS $$
+    SELECT setweight(to_tsvector('english', coalesce(p_code, '')), 'A') ||
+           setweight(to_tsvector('english', coalesce(p_name, '')), 'B') ||
+           setweight(to_tsvector('english', coalesce((SELECT Name FROM Departments WHERE DepartmentID = p_department_id), '')), 'C') ||
+           setweight(to_tsvector('english', coalesce(p_description, '')), 'D');
+$$ LANGUAGE sql STABLE;
+
+CREATE OR REPLACE FUNCTION course_search_prefix_vector(p_code TEXT, p_name TEXT, p_description TEXT, p_department_id INT)
+RETURNS tsvector AS $$
+    SELECT setweight(to_tsvector('simple', coalesce(p_code, '')), 'A') ||
+           setweight(to_tsvector('simple', coalesce(p_name, '')), 'B') ||
+           setweight(to_tsvector('simple', coalesce((SELECT Name FROM Departments WHERE DepartmentID = p_department_id), '')), 'C') ||
+           setweight(to_tsvector('simple', coalesce(p_description, '')), 'D');
+$$ LANGUAGE sql STABLE;
+
+CREATE OR REPLACE FUNCTION update_course_search_vector()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.SearchVector := course_search_vector(NEW.Code, NEW.Name, NEW.Description, NEW.DepartmentID);
+    NEW.SearchPrefixVector := course_search_prefix_vector(NEW.Code, NEW.Name, NEW.Description, NEW.DepartmentID);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Only the searched columns fire it, so seat count updates on enrollment stay cheap
+DROP TRIGGER IF EXISTS TR_Courses_SearchVector ON Courses;
+CREATE TRIGGER TR_Courses_SearchVector
+    BEFORE INSERT OR UPDATE OF Code, Name, Description, DepartmentID ON Courses
+    FOR EACH ROW EXECUTE FUNCTION update_course_search_vector();
+
+CREATE OR REPLACE FUNCTION refresh_department_course_search()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE Courses SET SearchVector = course_search_vector(Code, Name, Description, DepartmentID),
+                       SearchPrefixVector = course_search_prefix_vector(Code, Name, Description, DepartmentID)
+    WHERE DepartmentID = NEW.DepartmentID;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS TR_Departments_CourseSearch ON Departments;
+CREATE TRIGGER TR_Departments_CourseSearch
+    AFTER UPDATE OF Name ON Departments
+    FOR EACH ROW EXECUTE FUNCTION refresh_department_course_search();
+
+UPDATE Courses SET SearchVector = course_search_vector(Code, Name, Description, DepartmentID)
+WHERE SearchVector IS NULL;
+
+UPDATE Courses SET SearchPrefixVector = course_search_prefix_vector(Code, Name, Description, DepartmentID)
+WHERE SearchPrefixVector IS NULL;
+
+CREATE INDEX IF NOT EXISTS IX_Courses_SearchVector ON Courses USING GIN (SearchVector);
+CREATE INDEX IF NOT EXISTS IX_Courses_SearchPrefixVector ON Courses USING GIN (SearchPrefixVector);
+
 -- CourseProfessors table 
 CREATE TABLE IF NOT EXISTS CourseProfessors (
     CourseProfessorID SERIAL PRIMARY KEY,
@@ -1185,15 +1313,160 @@ CREATE TABLE IF NOT EXISTS Enrollments (
     FOREIGN KEY (StatusTypeID) REFERENCES StatusTypes(StatusTypeID)
 );
 
-CREATE UNIQUE INDEX IF NOT EXISTS IX_Enrollments_UniqueActiveEnrollment 
-ON Enrollments(StudentUserID, CourseID) 
-WHERE StatusTypeID IN (SELECT StatusTypeID FROM StatusTypes WHERE EntityType = 'ENROLLMENT' AND StatusCode = 'ENROLLED');
+-- A student can be ENROLLED in a course only once; enrollStudent relies on this when many
+-- requests race. Index predicates cannot contain subqueries, so the index is created
+-- dynamically with the ENROLLED StatusTypeID. If duplicates exist, the block reports them
+-- instead of failing the script.
+DO $$
+DECLARE
+    enrolled_id INT;
+BEGIN
+    SELECT StatusTypeID INTO enrolled_id FROM StatusTypes WHERE EntityType = 'ENROLLMENT' AND StatusCode = 'ENROLLED';
+    IF enrolled_id IS NOT NULL THEN
+        EXECUTE format('CREATE UNIQUE INDEX IF NOT EXISTS IX_Enrollments_UniqueActiveEnrollment ' ||
+                       'ON Enrollments(StudentUserID, CourseID) WHERE StatusTypeID = %s',
+                       enrolled_id);
+    END IF;
+EXCEPTION
+    WHEN unique_violation THEN
+        RAISE NOTICE 'IX_Enrollments_UniqueActiveEnrollment not created: some students are ENROLLED in a course more than once. Drop the duplicates and re-run.';
+END $$;
 
 CREATE INDEX IF NOT EXISTS IX_Enrollments_StudentUserID ON Enrollments(StudentUserID);
 CREATE INDEX IF NOT EXISTS IX_Enrollments_CourseID ON Enrollments(CourseID);
 CREATE INDEX IF NOT EXISTS IX_Enrollments_StatusTypeID ON Enrollments(StatusTypeID);
 CREATE INDEX IF NOT EXISTS IX_Enrollments_Student_Course_Status ON Enrollments(StudentUserID, CourseID, StatusTypeID);
 
+-- StudentAcademicTotals table: ledger of each student's graded courses, credits and grade
+-- points (grade points x credits), from which transcripts and student records serve GPA and
+-- credit totals. An enrollment counts once it is COMPLETED or FAILED with a letter grade, as
+-- on the transcript. Triggers on Enrollments and Courses apply every change as a delta;
+-- AcademicTotalsService.rebuild reconciles the table with Enrollments.
+CREATE TABLE IF NOT EXISTS StudentAcademicTotals (
+    StudentUserID INT PRIMARY KEY,
+    GradedCourses INT NOT NULL DEFAULT 0,
+    GradedCredits INT NOT NULL DEFAULT 0,
+    GradePoints   DECIMAL(10,2) NOT NULL DEFAULT 0,
+    UpdatedDate   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (StudentUserID) REFERENCES Users(UserID) ON DELETE CASCADE
+);
+
+-- 4.0 scale of TranscriptEntry.getGradePoints; unknown grades count as 0.0
+CREATE OR REPLACE FUNCTION letter_grade_points(p_grade VARCHAR)
+RETURNS DECIMAL(3,1) AS $$
+    SELECT CASE UPPER(TRIM(p_grade))
+        WHEN 'A+' THEN 4.0 WHEN 'A' THEN 4.0 WHEN 'A-' THEN 3.7
+        WHEN 'B+' THEN 3.3 WHEN 'B' THEN 3.0 WHEN 'B-' THEN 2.7
+        WHEN 'C+' THEN 2.3 WHEN 'C' THEN 2.0 WHEN 'C-' THEN 1.7
+        WHEN 'D+' THEN 1.3 WHEN 'D' THEN 1.0
+        ELSE 0.0
+    END;
+$$ LANGUAGE sql IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION enrollment_is_graded(p_status_type_id INT, p_grade VARCHAR)
+RETURNS BOOLEAN AS $$
+    SELECT p_grade <> '' AND EXISTS (
+        SELECT 1 FROM StatusTypes
+        WHERE StatusTypeID = p_status_type_id AND EntityType = 'ENROLLMENT'
+        AND StatusCode IN ('COMPLETED', 'FAILED'));
+$$ LANGUAGE sql STABLE;
+
+-- What StudentAcademicTotals should hold, computed from scratch
+CREATE OR REPLACE VIEW StudentAcademicTotalsExpected AS
+SELECT e.StudentUserID,
+       COUNT(*) AS GradedCourses,
+       SUM(c.Credits) AS GradedCredits,
+       SUM(c.Credits * letter_grade_points(e.Grade)) AS GradePoints
+FROM Enrollments e
+INNER JOIN Courses c ON e.CourseID = c.CourseID
+WHERE enrollment_is_graded(e.StatusTypeID, e.Grade)
+GROUP BY e.StudentUserID;
+
+-- p_sign is 1 to add the enrollment to the student's totals, -1 to take it out
+CREATE OR REPLACE FUNCTION apply_academic_totals_delta(p_student INT, p_course INT, p_grade VARCHAR, p_sign INT)
+RETURNS VOID AS $$
+BEGIN
+    INSERT INTO StudentAcademicTotals AS t (StudentUserID, GradedCourses, GradedCredits, GradePoints)
+    SELECT p_student, p_sign, p_sign * c.Credits, p_sign * c.Credits * letter_grade_points(p_grade)
+    FROM Courses c WHERE c.CourseID = p_course
+    ON CONFLICT (StudentUserID) DO UPDATE SET
+        GradedCourses = t.GradedCourses + EXCLUDED.GradedCourses,
+        GradedCredits = t.GradedCredits + EXCLUDED.GradedCredits,
+        GradePoints = t.GradePoints + EXCLUDED.GradePoints,
+        UpdatedDate = CURRENT_TIMESTAMP;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION update_student_academic_totals()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'UPDATE'
+       AND OLD.StudentUserID = NEW.StudentUserID AND OLD.CourseID = NEW.CourseID
+       AND OLD.StatusTypeID = NEW.StatusTypeID AND OLD.Grade = NEW.Grade THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP <> 'INSERT' THEN
+        IF enrollment_is_graded(OLD.StatusTypeID, OLD.Grade) THEN
+            PERFORM apply_academic_totals_delta(OLD.StudentUserID, OLD.CourseID, OLD.Grade, -1);
+        END IF;
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        IF enrollment_is_graded(NEW.StatusTypeID, NEW.Grade) THEN
+            PERFORM apply_academic_totals_delta(NEW.StudentUserID, NEW.CourseID, NEW.Grade, 1);
+        END IF;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS TR_Enrollments_AcademicTotals ON Enrollments;
+CREATE TRIGGER TR_Enrollments_AcademicTotals
+    AFTER INSERT OR UPDATE OF StudentUserID, CourseID, StatusTypeID, Grade OR DELETE ON Enrollments
+    FOR EACH ROW EXECUTE FUNCTION update_student_academic_totals();
+
+-- A course's credits changing moves the totals of everyone graded in it
+CREATE OR REPLACE FUNCTION refresh_course_academic_totals()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE StudentAcademicTotals t SET
+        GradedCredits = t.GradedCredits + g.Courses * (NEW.Credits - OLD.Credits),
+        GradePoints = t.GradePoints + g.Points * (NEW.Credits - OLD.Credits),
+        UpdatedDate = CURRENT_TIMESTAMP
+    FROM (SELECT e.StudentUserID, COUNT(*) AS Courses, SUM(letter_grade_points(e.Grade)) AS Points
+          FROM Enrollments e
+          WHERE e.CourseID = NEW.CourseID AND enrollment_is_graded(e.StatusTypeID, e.Grade)
+          GROUP BY e.StudentUserID) g
+    WHERE t.StudentUserID = g.StudentUserID;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS TR_Courses_AcademicTotals ON Courses;
+CREATE TRIGGER TR_Courses_AcademicTotals
+    AFTER UPDATE OF Credits ON Courses
+    FOR EACH ROW WHEN (OLD.Credits IS DISTINCT FROM NEW.Credits)
+    EXECUTE FUNCTION refresh_course_academic_totals();
+
+-- Fill the ledger for students graded before it existed
+INSERT INTO StudentAcademicTotals (StudentUserID, GradedCourses, GradedCredits, GradePoints)
+SELECT StudentUserID, GradedCourses, GradedCredits, GradePoints FROM StudentAcademicTotalsExpected
+ON CONFLICT (StudentUserID) DO NOTHING;
+
+-- CourseWaitlist table: students queued for a seat in a full course, first come first served
+-- (WaitlistID order). Dropping an enrollment promotes the first eligible student.
+CREATE TABLE IF NOT EXISTS CourseWaitlist (
+    WaitlistID    SERIAL PRIMARY KEY,
+    CourseID      INT NOT NULL,
+    StudentUserID INT NOT NULL,
+    RequestedDate TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (CourseID) REFERENCES Courses(CourseID) ON DELETE CASCADE,
+    FOREIGN KEY (StudentUserID) REFERENCES Users(UserID) ON DELETE CASCADE,
+    UNIQUE (CourseID, StudentUserID)
+);
+
+CREATE INDEX IF NOT EXISTS IX_CourseWaitlist_Course_Order ON CourseWaitlist(CourseID, WaitlistID);
+CREATE INDEX IF NOT EXISTS IX_CourseWaitlist_StudentUserID ON CourseWaitlist(StudentUserID);
+
 -- Assignments table 
 CREATE TABLE IF NOT EXISTS Assignments (
     AssignmentID SERIAL PRIMARY KEY,
@@ -1242,6 +1515,9 @@ CREATE INDEX IF NOT EXISTS IX_AssignmentSubmissions_AssignmentID ON AssignmentSu
 CREATE INDEX IF NOT EXISTS IX_AssignmentSubmissions_StudentUserID ON AssignmentSubmissions(StudentUserID);
 CREATE INDEX IF NOT EXISTS IX_AssignmentSubmissions_StatusTypeID ON AssignmentSubmissions(StatusTypeID);
 
+-- Where a submitted file is stored (SubmissionService); empty when only a file name was given
+ALTER TABLE AssignmentSubmissions ADD COLUMN IF NOT EXISTS FilePath VARCHAR(500) NOT NULL DEFAULT '';
+
 -- CourseMaterials table 
 CREATE TABLE IF NOT EXISTS CourseMaterials (
     MaterialID SERIAL PRIMARY KEY,
@@ -1262,6 +1538,41 @@ CREATE INDEX IF NOT EXISTS IX_CourseMaterials_CourseID ON CourseMaterials(Course
 CREATE INDEX IF NOT EXISTS IX_CourseMaterials_UploadDate ON CourseMaterials(UploadDate DESC);
 CREATE INDEX IF NOT EXISTS IX_CourseMaterials_UploadedBy ON CourseMaterials(UploadedByUserID);
 
+-- MaterialBlobs table: uploaded material files, stored once per distinct content under their
+-- SHA-256 (MaterialBlobStore). RefCount is the number of CourseMaterials rows pointing at the
+-- blob, kept by a trigger so materials removed with their course are counted too; a blob's
+-- file is only deleted once its count is zero. Materials uploaded before the store existed
+-- have no BlobSha256 and keep their own file.
+CREATE TABLE IF NOT EXISTS MaterialBlobs (
+    Sha256      CHAR(64) PRIMARY KEY,
+    SizeBytes   BIGINT NOT NULL,
+    RefCount    INT NOT NULL DEFAULT 0 CHECK (RefCount >= 0),
+    CreatedDate TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE CourseMaterials ADD COLUMN IF NOT EXISTS BlobSha256 CHAR(64) NULL REFERENCES MaterialBlobs(Sha256);
+
+CREATE INDEX IF NOT EXISTS IX_CourseMaterials_BlobSha256 ON CourseMaterials(BlobSha256);
+CREATE INDEX IF NOT EXISTS IX_MaterialBlobs_Unreferenced ON MaterialBlobs(Sha256) WHERE RefCount = 0;
+
+CREATE OR REPLACE FUNCTION update_material_blob_refcount()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.BlobSha256 IS NOT NULL THEN
+        UPDATE MaterialBlobs SET RefCount = RefCount - 1 WHERE Sha256 = OLD.BlobSha256;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.BlobSha256 IS NOT NULL THEN
+        UPDATE MaterialBlobs SET RefCount = RefCount + 1 WHERE Sha256 = NEW.BlobSha256;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS TR_CourseMaterials_BlobRefCount ON CourseMaterials;
+CREATE TRIGGER TR_CourseMaterials_BlobRefCount
+    AFTER INSERT OR UPDATE OF BlobSha256 OR DELETE ON CourseMaterials
+    FOR EACH ROW EXECUTE FUNCTION update_material_blob_refcount();
+
 -- Quizzes table 
 CREATE TABLE IF NOT EXISTS Quizzes (
     QuizID SERIAL PRIMARY KEY,
@@ -1436,6 +1747,24 @@ CREATE INDEX IF NOT EXISTS idx_staff_department ON StaffProfiles(DepartmentID);
 CREATE INDEX IF NOT EXISTS idx_staff_name ON StaffProfiles(Name);
 CREATE INDEX IF NOT EXISTS idx_staff_active ON StaffProfiles(IsActive);
 
+-- MessageThreads table 
+CREATE TABLE IF NOT EXISTS MessageThreads (
+    ThreadID SERIAL PRIMARY KEY,
+    ParentUserID INT NOT NULL,
+    TeacherUserID INT NOT NULL,
+    StudentUserID INT NOT NULL,
+    Subject VARCHAR(200) NOT NULL,
+    CreatedDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    LastMessageDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (ParentUserID) REFERENCES Users(UserID) ON DELETE CASCADE,
+    FOREIGN KEY (TeacherUserID) REFERENCES Users(UserID) ON DELETE CASCADE,
+    FOREIGN KEY (StudentUserID) REFERENCES Users(UserID) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS IX_MessageThreads_Parent ON MessageThreads(ParentUserID);
+CREATE INDEX IF NOT EXISTS IX_MessageThreads_Teacher ON MessageThreads(TeacherUserID);
+CREATE INDEX IF NOT EXISTS IX_MessageThreads_Student ON MessageThreads(StudentUserID);
+
 -- Messages table 
 CREATE TABLE IF NOT EXISTS Messages (
     MessageID SERIAL PRIMARY KEY,
@@ -1459,6 +1788,86 @@ CREATE INDEX IF NOT EXISTS IX_Messages_Sender ON Messages(SenderUserID);
 CREATE INDEX IF NOT EXISTS IX_Messages_ThreadID ON Messages(ThreadID);
 CREATE INDEX IF NOT EXISTS IX_Messages_MessageType ON Messages(MessageType);
 
+-- Announcements table (US 3.1-3.4, US 4.4), ported from db/migrations.
+-- IsActive and IsArchived stay 0/1 flags because AnnouncementService compares them to 1 and 0
+CREATE TABLE IF NOT EXISTS Announcements (
+    AnnouncementID SERIAL PRIMARY KEY,
+    Title VARCHAR(200) NOT NULL,
+    Content TEXT NOT NULL,
+    TargetRole VARCHAR(20) NULL,  -- NULL = all users
+    CreatedByUserID INT NOT NULL,
+    CreatedDate TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    ExpiryDate TIMESTAMP NULL,
+    IsActive SMALLINT NOT NULL DEFAULT 1,
+    Priority VARCHAR(20) DEFAULT 'NORMAL' CHECK (Priority IN ('LOW', 'NORMAL', 'HIGH', 'URGENT')),
+    Status VARCHAR(20) DEFAULT 'DRAFT' CHECK (Status IN ('DRAFT', 'PUBLISHED')),
+    PublishDate TIMESTAMP NULL,
+    IsArchived SMALLINT NOT NULL DEFAULT 0,
+    LastModifiedDate TIMESTAMP NULL,
+    LastModifiedByUserID INT NULL,
+    FOREIGN KEY (CreatedByUserID) REFERENCES Users(UserID),
+    FOREIGN KEY (LastModifiedByUserID) REFERENCES Users(UserID)
+);
+
+CREATE INDEX IF NOT EXISTS IX_Announcements_TargetRole ON Announcements(TargetRole);
+CREATE INDEX IF NOT EXISTS IX_Announcements_CreatedDate ON Announcements(CreatedDate DESC);
+CREATE INDEX IF NOT EXISTS IX_Announcements_Status ON Announcements(Status);
+CREATE INDEX IF NOT EXISTS IX_Announcements_PublishDate ON Announcements(PublishDate DESC);
+
+-- AnnouncementReadStatus table (which users have read which announcements)
+CREATE TABLE IF NOT EXISTS AnnouncementReadStatus (
+    ReadStatusID SERIAL PRIMARY KEY,
+    AnnouncementID INT NOT NULL,
+    UserID INT NOT NULL,
+    ReadDate TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (AnnouncementID) REFERENCES Announcements(AnnouncementID) ON DELETE CASCADE,
+    FOREIGN KEY (UserID) REFERENCES Users(UserID) ON DELETE CASCADE,
+    UNIQUE (AnnouncementID, UserID)
+);
+
+CREATE INDEX IF NOT EXISTS IX_AnnouncementReadStatus_UserID ON AnnouncementReadStatus(UserID);
+
+-- AnnouncementAttachments table 
+CREATE TABLE IF NOT EXISTS AnnouncementAttachments (
+    AttachmentID SERIAL PRIMARY KEY,
+    AnnouncementID INT NOT NULL,
+    FileName VARCHAR(255) NOT NULL,
+    FilePath VARCHAR(500) NOT NULL,
+    FileSize BIGINT NULL,
+    MimeType VARCHAR(100) NULL,
+    UploadedDate TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (AnnouncementID) REFERENCES Announcements(AnnouncementID) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS IX_AnnouncementAttachments_AnnouncementID ON AnnouncementAttachments(AnnouncementID);
+
+-- AnnouncementLinks table 
+CREATE TABLE IF NOT EXISTS AnnouncementLinks (
+    LinkID SERIAL PRIMARY KEY,
+    AnnouncementID INT NOT NULL,
+    LinkText VARCHAR(200) NOT NULL,
+    LinkURL VARCHAR(500) NOT NULL,
+    CreatedDate TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (AnnouncementID) REFERENCES Announcements(AnnouncementID) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS IX_AnnouncementLinks_AnnouncementID ON AnnouncementLinks(AnnouncementID);
+
+-- AnnouncementEditHistory table 
+CREATE TABLE IF NOT EXISTS AnnouncementEditHistory (
+    EditHistoryID SERIAL PRIMARY KEY,
+    AnnouncementID INT NOT NULL,
+    EditedByUserID INT NOT NULL,
+    EditDate TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PreviousTitle VARCHAR(200) NULL,
+    PreviousContent TEXT NULL,
+    PreviousTargetRole VARCHAR(20) NULL,
+    FOREIGN KEY (AnnouncementID) REFERENCES Announcements(AnnouncementID) ON DELETE CASCADE,
+    FOREIGN KEY (EditedByUserID) REFERENCES Users(UserID)
+);
+
+CREATE INDEX IF NOT EXISTS IX_AnnouncementEditHistory_AnnouncementID ON AnnouncementEditHistory(AnnouncementID);
+
 -- CourseStaff table 
 CREATE TABLE IF NOT EXISTS CourseStaff (
     CourseStaffID SERIAL PRIMARY KEY,
@@ -1601,24 +2010,6 @@ CREATE INDEX IF NOT EXISTS IX_StudentParentRelationship_Student ON StudentParent
 CREATE INDEX IF NOT EXISTS IX_StudentParentRelationship_Parent ON StudentParentRelationship(ParentUserID);
 CREATE INDEX IF NOT EXISTS IX_StudentParentRelationship_RelationshipTypeID ON StudentParentRelationship(RelationshipTypeID);
 
--- MessageThreads table 
-CREATE TABLE IF NOT EXISTS MessageThreads (
-    ThreadID SERIAL PRIMARY KEY,
-    ParentUserID INT NOT NULL,
-    TeacherUserID INT NOT NULL,
-    StudentUserID INT NOT NULL,
-    Subject VARCHAR(200) NOT NULL,
-    CreatedDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    LastMessageDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    FOREIGN KEY (ParentUserID) REFERENCES Users(UserID) ON DELETE CASCADE,
-    FOREIGN KEY (TeacherUserID) REFERENCES Users(UserID) ON DELETE CASCADE,
-    FOREIGN KEY (StudentUserID) REFERENCES Users(UserID) ON DELETE CASCADE
-);
-
-CREATE INDEX IF NOT EXISTS IX_MessageThreads_Parent ON MessageThreads(ParentUserID);
-CREATE INDEX IF NOT EXISTS IX_MessageThreads_Teacher ON MessageThreads(TeacherUserID);
-CREATE INDEX IF NOT EXISTS IX_MessageThreads_Student ON MessageThreads(StudentUserID);
-
 -- ForumPosts table 
 CREATE TABLE IF NOT EXISTS ForumPosts (
     PostID SERIAL PRIMARY KEY,
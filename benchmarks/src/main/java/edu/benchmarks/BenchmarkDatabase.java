@@ -0,0 +1,239 @@
+package edu.benchmarks;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Provides the seeded PostgreSQL database a benchmark run measures against.
+ * Uses the server given by bench.db.url (e.g. jdbc:postgresql://localhost:5432/postgres),
+ * or starts an in-process PostgreSQL whose data directory is kept between runs.
+ * Every data-set size gets its own database (bench_1000, bench_10000_y5, ...) which is
+ * created, loaded with the project schema and seeded only once. When the schema script
+ * changes later, it is applied again (it is idempotent) so new tables reach old data sets.
+ * Must be called before anything touches DatabaseConnection, because it points the
+ * application's connection pool at the benchmark database through system properties.
+ */
+public final class BenchmarkDatabase {
+
+    private static final String ADMIN_URL = System.getProperty("bench.db.url", "");
+    private static final String ADMIN_USER = System.getProperty("bench.db.user", "postgres");
+    private static final String ADMIN_PASSWORD = System.getProperty("bench.db.password", "");
+    private static final String DATA_DIR = System.getProperty("bench.db.dir", "target/bench-postgres");
+    private static final String SCHEMA_FILE = System.getProperty("bench.schema", "");
+
+    private static EmbeddedPostgres embedded;
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Make sure the database for the given size exists and is seeded, then point
+     * DatabaseConnection at it
+     * @param students Number of students in the data set (bench.courses and
+     *                 bench.history.years shape the rest, see DataSetGenerator)
+     * @throws Exception if the server cannot be reached or seeding fails
+     */
+    public static synchronized void prepare(int students) throws Exception {
+        DataSetGenerator generator = new DataSetGenerator(students);
+        String adminUrl = adminUrl();
+        String database = generator.databaseName();
+        String databaseUrl = adminUrl.substring(0, adminUrl.lastIndexOf('/') + 1) + database;
+
+        try (Connection admin = DriverManager.getConnection(adminUrl, ADMIN_USER, ADMIN_PASSWORD)) {
+            boolean exists;
+            try (PreparedStatement pstmt = admin.prepareStatement("SELECT 1 FROM pg_database WHERE datname = ?")) {
+                pstmt.setString(1, database);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    exists = rs.next();
+                }
+            }
+            if (!exists) {
+                try (Statement stmt = admin.createStatement()) {
+                    stmt.execute("CREATE DATABASE " + database);
+                }
+            }
+        }
+
+        try (Connection conn = DriverManager.getConnection(databaseUrl, ADMIN_USER, ADMIN_PASSWORD)) {
+            String script = Files.readString(schemaFile());
+            if (!isSeeded(conn, students)) {
+                System.out.println("Seeding " + database + " (" + students + " students)...");
+                long start = System.currentTimeMillis();
+                applySchema(conn, script);
+                generator.seed(conn);
+                System.out.println("✓ Seeded " + database + " in " + (System.currentTimeMillis() - start) + " ms");
+            } else {
+                if (!isSchemaApplied(conn, script)) {
+                    System.out.println("Schema script changed, applying it to " + database + "...");
+                    applySchema(conn, script);
+                }
+                // Data sets seeded before passwords were stored hashed cannot log in otherwise
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("UPDATE Users SET Password = encode(sha256(convert_to(Password, 'UTF8')), 'hex') " +
+                                       "WHERE Password = '" + DataSetGenerator.PASSWORD + "'");
+                }
+            }
+        }
+
+        // Picked up by DatabaseConnection when its pool is first created
+        System.setProperty("db.url", databaseUrl);
+        System.setProperty("supabase.user", ADMIN_USER);
+        System.setProperty("supabase.password", ADMIN_PASSWORD);
+        // The generated term lies in the past; let the booking index cover it
+        if (System.getProperty("booking.index.lookback.days") == null) {
+            System.setProperty("booking.index.lookback.days", "3650");
+        }
+    }
+
+    private static String adminUrl() throws IOException {
+        if (!ADMIN_URL.isEmpty()) {
+            return ADMIN_URL;
+        }
+        if (embedded == null) {
+            // Keep the data directory so seeded databases survive between runs
+            embedded = EmbeddedPostgres.builder()
+                .setDataDirectory(new File(DATA_DIR))
+                .setCleanDataDirectory(false)
+                .start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    embedded.close();
+                } catch (IOException e) {
+                    System.err.println("Could not stop embedded PostgreSQL: " + e.getMessage());
+                }
+            }));
+        }
+        return embedded.getJdbcUrl(ADMIN_USER, "postgres");
+    }
+
+    private static boolean isSeeded(Connection conn, int students) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS BenchSeed (Students INT PRIMARY KEY, SeededDate TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT 1 FROM BenchSeed WHERE Students = ?")) {
+            pstmt.setInt(1, students);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static boolean isSchemaApplied(Connection conn, String script) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT 1 FROM BenchSchema WHERE Hash = ?")) {
+            pstmt.setString(1, hash(script));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            // Data set seeded before the schema hash was recorded
+            return false;
+        }
+    }
+
+    /**
+     * Run the project schema script statement by statement, like psql with ON_ERROR_STOP:
+     * the first failing statement aborts the run, so no benchmark measures a half-applied
+     * schema. The script is idempotent, so a fixed script can simply be applied again.
+     */
+    private static void applySchema(Connection conn, String script) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : splitStatements(script)) {
+                try {
+                    stmt.execute(sql);
+                } catch (SQLException e) {
+                    throw new SQLException("Schema statement failed: " + e.getMessage() + "\n" + sql, e.getSQLState(), e);
+                }
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS BenchSchema (Hash VARCHAR(64) PRIMARY KEY, AppliedDate TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO BenchSchema (Hash) VALUES (?) ON CONFLICT DO NOTHING")) {
+            pstmt.setString(1, hash(script));
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static String hash(String script) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(script.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Path schemaFile() {
+        if (!SCHEMA_FILE.isEmpty()) {
+            return Path.of(SCHEMA_FILE);
+        }
+        // Works whether the benchmarks are started from the project root or from benchmarks/
+        for (String candidate : new String[] {
+                "Sprint1_Query_PostgreSQL_REFACTORED.sql", "../Sprint1_Query_PostgreSQL_REFACTORED.sql"}) {
+            Path path = Path.of(candidate);
+            if (Files.exists(path)) {
+                return path;
+            }
+        }
+        throw new IllegalStateException("Schema script not found; set -Dbench.schema=<path>");
+    }
+
+    /**
+     * Split a SQL script on semicolons that are outside quotes, comments and $$ bodies
+     */
+    static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuote = false;
+        boolean inDollar = false;
+        int i = 0;
+        while (i < script.length()) {
+            char c = script.charAt(i);
+            if (!inQuote && !inDollar && c == '-' && script.startsWith("--", i)) {
+                int end = script.indexOf('\n', i);
+                i = end < 0 ? script.length() : end + 1;
+                current.append('\n');
+                continue;
+            }
+            if (!inQuote && script.startsWith("$$", i)) {
+                inDollar = !inDollar;
+                current.append("$$");
+                i += 2;
+                continue;
+            }
+            if (!inDollar && c == '\'') {
+                inQuote = !inQuote;
+            }
+            if (!inQuote && !inDollar && c == ';') {
+                String sql = current.toString().trim();
+                if (!sql.isEmpty()) {
+                    statements.add(sql);
+                }
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+            i++;
+        }
+        String tail = current.toString().trim();
+        if (!tail.isEmpty()) {
+            statements.add(tail);
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,90 @@
+package edu.benchmarks;
+
+import edu.facilities.service.DatabaseConnection;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Shared benchmark state: prepares the seeded database for the selected size and
+ * collects the IDs the benchmarks pick their inputs from.
+ * Benchmarks take this state as a parameter of their own @Setup and create their services
+ * there, so the services see DatabaseConnection pointed at the benchmark database.
+ * Select sizes on the command line with -p students=1000,10000.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkState {
+
+    @Param({"1000", "10000", "100000"})
+    public int students;
+
+    public int[] roomIds;
+    public String[] courseIds;
+    public String[] gradedCourseIds;
+    public String[][] gradedCourseStudents;
+
+    private static final LocalDateTime TERM_START = LocalDateTime.parse(DataSetGenerator.TERM_START.replace(' ', 'T'));
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkDatabase.prepare(students);
+
+        roomIds = queryIds("SELECT RoomID FROM Rooms ORDER BY RoomID").stream().mapToInt(Integer::intValue).toArray();
+        courseIds = queryIds("SELECT CourseID FROM Courses ORDER BY CourseID").stream()
+            .map(String::valueOf).toArray(String[]::new);
+
+        List<Integer> graded = queryIds("SELECT DISTINCT a.CourseID FROM Assignments a " +
+                                        "JOIN AssignmentSubmissions s ON s.AssignmentID = a.AssignmentID ORDER BY a.CourseID");
+        gradedCourseIds = graded.stream().map(String::valueOf).toArray(String[]::new);
+        gradedCourseStudents = new String[graded.size()][];
+        for (int i = 0; i < graded.size(); i++) {
+            gradedCourseStudents[i] = queryIds("SELECT StudentUserID FROM Enrollments WHERE CourseID = " + graded.get(i))
+                .stream().map(String::valueOf).toArray(String[]::new);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DatabaseConnection.closeConnection();
+    }
+
+    public int randomRoomId() {
+        return roomIds[ThreadLocalRandom.current().nextInt(roomIds.length)];
+    }
+
+    public String randomCourseId() {
+        return courseIds[ThreadLocalRandom.current().nextInt(courseIds.length)];
+    }
+
+    /**
+     * Random start of a two-hour window on a working hour inside the seeded term
+     */
+    public LocalDateTime randomSlotStart() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return TERM_START.plusDays(random.nextInt(DataSetGenerator.TERM_DAYS)).plusHours(8 + random.nextInt(10));
+    }
+
+    private static List<Integer> queryIds(String sql) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,51 @@
+package edu.benchmarks;
+
+import edu.facilities.service.BookingService;
+import edu.facilities.service.RoomService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Room availability checks, run for every booking attempt and every availability view
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingBenchmark {
+
+    private BookingService bookingService;
+    private RoomService roomService;
+
+    @Setup
+    public void setUp(BenchmarkState state) {
+        bookingService = new BookingService();
+        roomService = new RoomService();
+    }
+
+    @Benchmark
+    public boolean isRoomAvailable(BenchmarkState state) throws SQLException {
+        LocalDateTime start = state.randomSlotStart();
+        return bookingService.isRoomAvailable(state.randomRoomId(), start, start.plusHours(2));
+    }
+
+    @Benchmark
+    public List<?> getAvailableRooms() throws SQLException {
+        return roomService.getAvailableRooms();
+    }
+}
@@ -0,0 +1,96 @@
+package edu.benchmarks;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Streams generated rows into one table with COPY ... FROM STDIN (FORMAT csv), which loads
+ * millions of rows several times faster than batched INSERTs. Rows are buffered and sent to
+ * the server in 64 KB chunks. Numbers and booleans are written as is, null as an empty field
+ * (NULL), anything else quoted through its toString (LocalDateTime gives ISO timestamps).
+ * A connection runs one COPY at a time, so finish or close a writer before opening the next.
+ */
+final class CopyWriter implements AutoCloseable {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(CHUNK_SIZE + 1024);
+    private long rows;
+
+    /**
+     * Start a COPY
+     * @param columns Comma-separated column list, in the order row() receives the values
+     */
+    CopyWriter(Connection conn, String table, String columns) throws SQLException {
+        copyIn = conn.unwrap(PGConnection.class).getCopyAPI()
+            .copyIn("COPY " + table + " (" + columns + ") FROM STDIN (FORMAT csv)");
+    }
+
+    void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            append(values[i]);
+        }
+        buffer.append('\n');
+        rows++;
+        if (buffer.length() >= CHUNK_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Send the remaining rows and complete the COPY
+     * @return Number of rows loaded
+     */
+    long finish() throws SQLException {
+        flush();
+        copyIn.endCopy();
+        return rows;
+    }
+
+    /**
+     * Abort the COPY if finish() was not reached
+     */
+    @Override
+    public void close() throws SQLException {
+        if (copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+
+    private void append(Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            buffer.append(value);
+            return;
+        }
+        String text = value.toString();
+        buffer.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        buffer.append('"');
+    }
+
+    private void flush() throws SQLException {
+        if (buffer.length() == 0) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
@@ -0,0 +1,59 @@
+package edu.benchmarks;
+
+import edu.curriculum.model.Course;
+import edu.facilities.service.CourseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Course catalog loading and searching (admin catalog and student catalog screens)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CourseCatalogBenchmark {
+
+    private CourseService courseService;
+    private edu.curriculum.service.CourseService curriculumCourseService;
+
+    @Setup
+    public void setUp(BenchmarkState state) {
+        courseService = new CourseService();
+        curriculumCourseService = new edu.curriculum.service.CourseService();
+    }
+
+    @Benchmark
+    public List<?> getAllCourses() throws SQLException {
+        return courseService.getAllCourses(true);
+    }
+
+    @Benchmark
+    public List<?> searchCourses() throws SQLException {
+        return courseService.searchCourses("Databases", true);
+    }
+
+    @Benchmark
+    public Object getCourseById(BenchmarkState state) throws SQLException {
+        return courseService.getCourseById(state.randomCourseId());
+    }
+
+    @Benchmark
+    public List<Course> getAllCurriculumCourses() throws SQLException {
+        return curriculumCourseService.getAllCourses();
+    }
+}
@@ -0,0 +1,655 @@
+package edu.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a deterministic university data set sized by the number of students.
+ * The catalog size (bench.courses, default one course per 50 students) and the years of
+ * past terms (bench.history.years, default 0) can be set; everything else is derived:
+ * one professor per 100 students, one room per 20 students, five enrollments per student
+ * per term, two bookings per room per day over the current 90-day term and one maintenance
+ * ticket per 10 students. With history, student i has i % (2 * years + 1) finished terms of
+ * COMPLETED or FAILED enrollments with letter grades (their GPA and year level follow from
+ * them), each past term also gets room bookings, resolved tickets, messages and announcements.
+ * A course's prerequisites are the courses its students took the term before, so the
+ * prerequisite graph is acyclic and matches the generated history (first-term students and
+ * students who failed a prerequisite still hold their current courses). Grade items (assignment
+ * submissions, quiz attempts, exam grades) are generated for every student of the first
+ * bench.graded.courses courses (0 for all), which is what the grade benchmarks read.
+ * Large tables are streamed with COPY (see CopyWriter), which keeps multi-million-row sets
+ * quick to load; the same bench.seed always gives the same rows.
+ */
+public class DataSetGenerator {
+
+    /** Term the generated bookings fall into (BenchmarkState picks windows inside it) */
+    public static final String TERM_START = "2025-09-01 00:00:00";
+    public static final int TERM_DAYS = 90;
+
+    /** Password of every generated user (stored SHA-256 hashed, like AuthService expects) */
+    public static final String PASSWORD = "bench";
+
+    private static final int GRADED_COURSES = Integer.getInteger("bench.graded.courses", 10);
+    private static final long SEED = Long.getLong("bench.seed", 42L);
+
+    private static final LocalDateTime CURRENT_TERM = LocalDateTime.parse(TERM_START.replace(' ', 'T'));
+    private static final int COURSES_PER_TERM = 5;
+    private static final int ANNOUNCEMENTS_PER_TERM = 20;
+
+    private static final String[] GRADES = { "A+", "A", "A-", "B+", "B", "B-", "C+", "C", "C-", "D+", "D", "F" };
+    private static final double[] GRADE_POINTS = { 4.0, 4.0, 3.7, 3.3, 3.0, 2.7, 2.3, 2.0, 1.7, 1.3, 1.0, 0.0 };
+    private static final String[] YEAR_LEVELS = { "FRESHMAN", "SOPHOMORE", "JUNIOR", "SENIOR" };
+    private static final String[] ROLES = { null, "STUDENT", "PROFESSOR", "STAFF" };
+    private static final String[] PRIORITIES = { "LOW", "NORMAL", "NORMAL", "HIGH", "URGENT" };
+
+    private final int students;
+    private final int professors;
+    private final int staff;
+    private final int courses;
+    private final int rooms;
+    private final int tickets;
+    private final int historyYears;
+    private final int pastTerms;
+    private final int stride;
+
+    // Filled while seeding; ids are assigned here so related rows can be written without lookups
+    private final SplittableRandom random = new SplittableRandom(SEED);
+    private final Map<String, Integer> statusIds = new HashMap<>();
+    private int firstUserId;
+    private int firstCourseId;
+    private int[] departmentIds;
+    private int[] roomIds;
+
+    public DataSetGenerator(int students) {
+        this(students, Integer.getInteger("bench.courses", Math.max(20, students / 50)),
+             Integer.getInteger("bench.history.years", 0));
+    }
+
+    /**
+     * @param students Number of students
+     * @param courses Number of catalog courses (at least 20)
+     * @param historyYears Years of finished terms (two terms a year) before the current one
+     */
+    public DataSetGenerator(int students, int courses, int historyYears) {
+        if (students <= 0) {
+            throw new IllegalArgumentException("Number of students must be positive");
+        }
+        if (courses < 20) {
+            throw new IllegalArgumentException("Number of courses must be at least 20");
+        }
+        if (historyYears < 0) {
+            throw new IllegalArgumentException("Years of history cannot be negative");
+        }
+        this.students = students;
+        this.professors = Math.max(10, students / 100);
+        this.staff = Math.max(5, students / 500);
+        this.courses = courses;
+        this.rooms = Math.max(20, students / 20);
+        this.tickets = Math.max(50, students / 10);
+        this.historyYears = historyYears;
+        // Every term of a student uses a different course, so the catalog bounds the history
+        this.pastTerms = Math.min(historyYears * 2, courses / COURSES_PER_TERM - 1);
+        this.stride = courses / (COURSES_PER_TERM * (pastTerms + 1));
+    }
+
+    /**
+     * Name of the database holding this data set, e.g. bench_50000_c2000_y5
+     * (courses and years appear only when they differ from the defaults)
+     */
+    public String databaseName() {
+        StringBuilder name = new StringBuilder("bench_").append(students);
+        if (courses != Math.max(20, students / 50)) {
+            name.append("_c").append(courses);
+        }
+        if (historyYears > 0) {
+            name.append("_y").append(historyYears);
+        }
+        return name.toString();
+    }
+
+    /**
+     * Insert the data set into a database that already has the schema applied
+     * @param conn Connection to the benchmark database
+     * @throws SQLException if an insert fails
+     */
+    public void seed(Connection conn) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            seedLookups(stmt);
+            loadIds(stmt);
+
+            seedUsers(conn, stmt);
+            seedRooms(stmt);
+            seedBookings(conn);
+            seedTickets(conn);
+            seedCourses(conn, stmt);
+            List<int[]> gradedRosters = seedEnrollments(conn, stmt);
+            seedGradeItems(conn, stmt, gradedRosters);
+            seedMessages(conn);
+            seedAnnouncements(conn);
+
+            for (String[] serial : new String[][] {
+                    { "Users", "UserID" }, { "Courses", "CourseID" },
+                    { "Messages", "MessageID" }, { "Announcements", "AnnouncementID" } }) {
+                stmt.execute("SELECT setval(pg_get_serial_sequence('" + serial[0].toLowerCase() + "', '" + serial[1].toLowerCase() + "'), " +
+                             "(SELECT MAX(" + serial[1] + ") FROM " + serial[0] + "))");
+            }
+            stmt.execute("ANALYZE");
+        } catch (SQLException e) {
+            conn.rollback();
+            conn.setAutoCommit(autoCommit);
+            throw e;
+        }
+
+        try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO BenchSeed (Students) VALUES (?)")) {
+            pstmt.setInt(1, students);
+            pstmt.executeUpdate();
+        }
+        conn.commit();
+        conn.setAutoCommit(autoCommit);
+    }
+
+    private void seedLookups(Statement stmt) throws SQLException {
+        stmt.execute(
+            "INSERT INTO Departments (Code, Name) " +
+            "SELECT 'DEP' || g, 'Department ' || g FROM generate_series(1, 10) g " +
+            "ON CONFLICT (Code) DO NOTHING");
+        stmt.execute(
+            "INSERT INTO Semesters (Code, Name, StartDate, EndDate, AcademicYear) VALUES " +
+            "('FALL2025', 'Fall 2025', DATE '2025-09-01', DATE '2025-12-20', 2025), " +
+            "('SPRING2026', 'Spring 2026', DATE '2026-02-01', DATE '2026-05-30', 2026) " +
+            "ON CONFLICT (Code) DO NOTHING");
+        for (int term = 1; term <= pastTerms; term++) {
+            LocalDate start = termStart(term).toLocalDate();
+            String season = start.getMonthValue() >= 8 ? "FALL" : "SPRING";
+            stmt.execute(
+                "INSERT INTO Semesters (Code, Name, StartDate, EndDate, AcademicYear, IsActive) VALUES " +
+                "('" + season + start.getYear() + "', '" + (season.equals("FALL") ? "Fall " : "Spring ") + start.getYear() + "', " +
+                "DATE '" + start + "', DATE '" + start.plusDays(110) + "', " + start.getYear() + ", FALSE) " +
+                "ON CONFLICT (Code) DO NOTHING");
+        }
+        stmt.execute(
+            "INSERT INTO EquipmentType (Name) VALUES ('Projector'), ('Whiteboard'), ('Computer') " +
+            "ON CONFLICT (Name) DO NOTHING");
+    }
+
+    private void loadIds(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT EntityType, StatusCode, StatusTypeID FROM StatusTypes")) {
+            while (rs.next()) {
+                statusIds.put(rs.getString(1) + ":" + rs.getString(2), rs.getInt(3));
+            }
+        }
+        departmentIds = queryIds(stmt, "SELECT DepartmentID FROM Departments ORDER BY DepartmentID LIMIT 10");
+        firstUserId = queryIds(stmt, "SELECT COALESCE(MAX(UserID), 0) + 1 FROM Users")[0];
+        firstCourseId = queryIds(stmt, "SELECT COALESCE(MAX(CourseID), 0) + 1 FROM Courses")[0];
+    }
+
+    private void seedUsers(Connection conn, Statement stmt) throws SQLException {
+        String passwordHash = sha256(PASSWORD);
+        Map<String, Integer> userTypes = new HashMap<>();
+        try (ResultSet rs = stmt.executeQuery("SELECT TypeCode, UserTypeID FROM UserTypes")) {
+            while (rs.next()) {
+                userTypes.put(rs.getString(1), rs.getInt(2));
+            }
+        }
+        Map<String, Integer> yearLevels = new HashMap<>();
+        try (ResultSet rs = stmt.executeQuery("SELECT LevelCode, YearLevelID FROM YearLevels")) {
+            while (rs.next()) {
+                yearLevels.put(rs.getString(1), rs.getInt(2));
+            }
+        }
+
+        // Students first, then professors, then staff; studentId() and friends rely on this order
+        String[] prefixes = { "student", "professor", "staff" };
+        String[] types = { "STUDENT", "PROFESSOR", "STAFF" };
+        int[] counts = { students, professors, staff };
+        // A connection runs one COPY at a time, so users and their roles are two passes
+        try (CopyWriter rows = new CopyWriter(conn, "Users", "UserID, USERNAME, Password, Email, CreatedDate")) {
+            int userId = firstUserId;
+            for (int t = 0; t < prefixes.length; t++) {
+                for (int i = 1; i <= counts[t]; i++, userId++) {
+                    LocalDateTime created = t == 0 ? termStart(pastTermsOf(i - 1)) : termStart(pastTerms);
+                    rows.row(userId, prefixes[t] + i, passwordHash, prefixes[t] + i + "@bench.edu", created);
+                }
+            }
+            rows.finish();
+        }
+        try (CopyWriter rows = new CopyWriter(conn, "UserRoles", "UserID, UserTypeID, IsPrimary")) {
+            int userId = firstUserId;
+            for (int t = 0; t < prefixes.length; t++) {
+                for (int i = 1; i <= counts[t]; i++, userId++) {
+                    rows.row(userId, userTypes.get(types[t]), true);
+                }
+            }
+            rows.finish();
+        }
+
+        // GPA is filled in by seedEnrollments once the grades exist
+        try (CopyWriter rows = new CopyWriter(conn, "Students",
+                "UserID, StudentNumber, DepartmentID, Major, EnrollmentDate, StatusTypeID, AdmissionDate, YearLevelID")) {
+            for (int i = 0; i < students; i++) {
+                int past = pastTermsOf(i);
+                LocalDate admitted = termStart(past).toLocalDate();
+                rows.row(studentId(i), String.format("S%07d", i + 1), departmentIds[studentId(i) % departmentIds.length],
+                         "Undeclared", admitted, status("STUDENT", "ACTIVE"), admitted,
+                         yearLevels.get(YEAR_LEVELS[Math.min(past / 2, YEAR_LEVELS.length - 1)]));
+            }
+            rows.finish();
+        }
+        stmt.execute(
+            "INSERT INTO Professors (UserID, DepartmentID) " +
+            "SELECT u.UserID, (SELECT MIN(DepartmentID) FROM Departments) + u.UserID % 10 " +
+            "FROM Users u WHERE u.USERNAME LIKE 'professor%'");
+        stmt.execute(
+            "INSERT INTO Staff (UserID, DepartmentID) " +
+            "SELECT u.UserID, (SELECT MIN(DepartmentID) FROM Departments) + u.UserID % 10 " +
+            "FROM Users u WHERE u.USERNAME LIKE 'staff%'");
+    }
+
+    private void seedRooms(Statement stmt) throws SQLException {
+        stmt.execute(
+            "INSERT INTO Rooms (Code, Name, RoomTypeID, Capacity, Location, StatusTypeID) " +
+            "SELECT 'R' || lpad(g::text, 5, '0'), 'Room ' || g, " +
+            "       (SELECT RoomTypeID FROM RoomTypes WHERE TypeCode = CASE WHEN g % 4 = 0 THEN 'LAB' ELSE 'CLASSROOM' END), " +
+            "       20 + (g % 10) * 15, 'Building ' || (g % 8 + 1), " +
+            "       " + status("ROOM", "AVAILABLE") + " " +
+            "FROM generate_series(1, " + rooms + ") g");
+        stmt.execute(
+            "INSERT INTO RoomEquipment (RoomID, EquipmentTypeID, Quantity) " +
+            "SELECT r.RoomID, e.EquipmentTypeID, 1 + r.RoomID % 3 " +
+            "FROM Rooms r CROSS JOIN EquipmentType e " +
+            "WHERE (r.RoomID + e.EquipmentTypeID) % 2 = 0");
+        roomIds = queryIds(stmt, "SELECT RoomID FROM Rooms ORDER BY RoomID");
+    }
+
+    private void seedBookings(Connection conn) throws SQLException {
+        int confirmed = status("BOOKING", "CONFIRMED");
+        int cancelled = status("BOOKING", "CANCELLED");
+        try (CopyWriter rows = new CopyWriter(conn, "Bookings", "RoomID, UserID, BookingDate, EndDate, Purpose, StatusTypeID, CreatedDate")) {
+            for (int room : roomIds) {
+                // Current term: two non-overlapping bookings per room per day (a morning and an afternoon slot)
+                for (int d = 0; d < TERM_DAYS; d++) {
+                    for (int s = 0; s < 2; s++) {
+                        LocalDateTime start = CURRENT_TERM.plusDays(d).plusHours(9 + s * 4 + room % 3);
+                        rows.row(room, studentId((room * 31 + d * 7 + s) % students), start, start.plusHours(2),
+                                 "Benchmark booking", (room + d + s) % 10 == 0 ? cancelled : confirmed, start.minusDays(7));
+                    }
+                }
+                // Past terms: one booking per room per day
+                for (int term = 1; term <= pastTerms; term++) {
+                    for (int d = 0; d < TERM_DAYS; d++) {
+                        LocalDateTime start = termStart(term).plusDays(d).plusHours(9 + random.nextInt(8));
+                        rows.row(room, studentId(random.nextInt(students)), start, start.plusHours(1 + random.nextInt(2)),
+                                 "Past booking", random.nextInt(10) == 0 ? cancelled : confirmed, start.minusDays(7));
+                    }
+                }
+            }
+            rows.finish();
+        }
+    }
+
+    private void seedTickets(Connection conn) throws SQLException {
+        int firstStaff = firstUserId + students + professors;
+        try (CopyWriter rows = new CopyWriter(conn, "MaintenanceTickets",
+                "RoomID, ReporterUserID, AssignedToUserID, Description, StatusTypeID, CreatedDate, ResolvedDate")) {
+            String[] states = { "NEW", "IN_PROGRESS", "RESOLVED" };
+            for (int g = 1; g <= tickets; g++) {
+                LocalDateTime created = CURRENT_TERM.plusDays(g % TERM_DAYS);
+                rows.row(roomIds[g % roomIds.length], studentId(g % students), firstStaff + g % staff,
+                         "Benchmark issue #" + g, status("TICKET", states[g % 3]), created,
+                         g % 3 == 2 ? created.plusDays(2) : null);
+            }
+            // Tickets of past terms have all been resolved
+            for (int term = 1; term <= pastTerms; term++) {
+                for (int g = 1; g <= tickets / 2; g++) {
+                    LocalDateTime created = termStart(term).plusDays(random.nextInt(TERM_DAYS)).plusHours(random.nextInt(24));
+                    rows.row(roomIds[random.nextInt(roomIds.length)], studentId(random.nextInt(students)),
+                             firstStaff + random.nextInt(staff), "Past issue #" + g, status("TICKET", "RESOLVED"),
+                             created, created.plusDays(1 + random.nextInt(10)));
+                }
+            }
+            rows.finish();
+        }
+    }
+
+    private void seedCourses(Connection conn, Statement stmt) throws SQLException {
+        String[] levels = { "Introduction to", "Advanced", "Applied", "Topics in" };
+        String[] subjects = { "Algorithms", "Databases", "Networks", "Statistics", "Physics", "Economics", "Literature" };
+        int semesterId = queryIds(stmt, "SELECT SemesterID FROM Semesters WHERE Code = 'FALL2025'")[0];
+        Map<String, Integer> courseTypes = new HashMap<>();
+        try (ResultSet rs = stmt.executeQuery("SELECT TypeCode, CourseTypeID FROM CourseTypes")) {
+            while (rs.next()) {
+                courseTypes.put(rs.getString(1), rs.getInt(2));
+            }
+        }
+        // Seats are sized so five enrollments per student always fit
+        int seats = Math.max(30, (students * COURSES_PER_TERM) / courses + 10);
+
+        try (CopyWriter rows = new CopyWriter(conn, "Courses",
+                "CourseID, Code, Name, Description, Credits, DepartmentID, SemesterID, CourseTypeID, ProfessorUserID, MaxSeats, CurrentSeats")) {
+            for (int x = 0; x < courses; x++) {
+                int g = x + 1;
+                rows.row(courseId(x), String.format("C%05d", g),
+                         levels[g % levels.length] + " " + subjects[g % subjects.length] + " " + g,
+                         "Generated course " + g + " for benchmarking", credits(x), departmentIds[g % departmentIds.length],
+                         semesterId, courseTypes.get(g % 3 == 0 ? "ELECTIVE" : "CORE"),
+                         firstUserId + students + g % professors, seats, 0);
+            }
+            rows.finish();
+        }
+        stmt.execute(
+            "INSERT INTO CourseProfessors (CourseID, ProfessorUserID) " +
+            "SELECT CourseID, ProfessorUserID FROM Courses");
+
+        // A course requires the one its students take the term before; prerequisites always
+        // point to a higher course index, so the graph has no cycles
+        try (CopyWriter rows = new CopyWriter(conn, "Prerequisites", "CourseID, PrerequisiteCourseID")) {
+            for (int x = 0; x < courses; x++) {
+                if (x % 5 != 0 && x + stride < courses) {
+                    rows.row(courseId(x), courseId(x + stride));
+                }
+                if (x % 7 == 0 && x + 2 * stride < courses) {
+                    rows.row(courseId(x), courseId(x + 2 * stride));
+                }
+            }
+            rows.finish();
+        }
+    }
+
+    /**
+     * Current-term enrollments for every student plus the finished terms of their history
+     * @return Student ids per graded course, indexed by course index
+     */
+    private List<int[]> seedEnrollments(Connection conn, Statement stmt) throws SQLException {
+        int graded = GRADED_COURSES <= 0 ? courses : Math.min(GRADED_COURSES, courses);
+        List<List<Integer>> rosters = new ArrayList<>();
+        for (int x = 0; x < graded; x++) {
+            rosters.add(new ArrayList<>());
+        }
+        double[] gpa = new double[students];
+
+        int enrolled = status("ENROLLMENT", "ENROLLED");
+        int completed = status("ENROLLMENT", "COMPLETED");
+        int failed = status("ENROLLMENT", "FAILED");
+        try (CopyWriter rows = new CopyWriter(conn, "Enrollments", "StudentUserID, CourseID, EnrollmentDate, StatusTypeID, Grade")) {
+            for (int i = 0; i < students; i++) {
+                double points = 0;
+                int credits = 0;
+                for (int term = 0; term <= pastTermsOf(i); term++) {
+                    for (int k = 0; k < COURSES_PER_TERM; k++) {
+                        // Consecutive terms step through the catalog by one stride, which is what
+                        // the prerequisites follow; each (k, term) slot is a distinct course
+                        int x = (i + (k * (pastTerms + 1) + term) * stride) % courses;
+                        LocalDateTime date = termStart(term).minusDays(1 + random.nextInt(14));
+                        if (term == 0) {
+                            rows.row(studentId(i), courseId(x), date, enrolled, "");
+                        } else {
+                            int grade = randomGrade();
+                            rows.row(studentId(i), courseId(x), date,
+                                     GRADES[grade].equals("F") ? failed : completed, GRADES[grade]);
+                            points += GRADE_POINTS[grade] * credits(x);
+                            credits += credits(x);
+                        }
+                        if (x < graded) {
+                            rosters.get(x).add(studentId(i));
+                        }
+                    }
+                }
+                gpa[i] = credits > 0 ? points / credits : 0;
+            }
+            rows.finish();
+        }
+
+        stmt.execute(
+            "UPDATE Courses c SET CurrentSeats = e.Seats " +
+            "FROM (SELECT CourseID, COUNT(*) AS Seats FROM Enrollments WHERE StatusTypeID = " + enrolled + " GROUP BY CourseID) e " +
+            "WHERE c.CourseID = e.CourseID");
+        if (pastTerms > 0) {
+            // Loading the GPAs through a temporary table is much faster than one UPDATE per student
+            stmt.execute("CREATE TEMP TABLE BenchGpa (UserID INT PRIMARY KEY, GPA DECIMAL(3,2)) ON COMMIT DROP");
+            try (CopyWriter rows = new CopyWriter(conn, "BenchGpa", "UserID, GPA")) {
+                for (int i = 0; i < students; i++) {
+                    rows.row(studentId(i), Math.round(gpa[i] * 100) / 100.0);
+                }
+                rows.finish();
+            }
+            stmt.execute("UPDATE Students s SET GPA = g.GPA FROM BenchGpa g WHERE s.UserID = g.UserID");
+        }
+
+        List<int[]> result = new ArrayList<>();
+        for (List<Integer> roster : rosters) {
+            result.add(roster.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return result;
+    }
+
+    private void seedGradeItems(Connection conn, Statement stmt, List<int[]> rosters) throws SQLException {
+        stmt.execute(
+            "INSERT INTO CourseGradeWeights (CourseID, AssignmentsWeight, QuizzesWeight, ExamsWeight) " +
+            "SELECT CourseID, 40.00, 20.00, 40.00 FROM Courses");
+        stmt.execute(
+            "INSERT INTO Assignments (CourseID, Title, Instructions, DueDate, TotalPoints) " +
+            "SELECT c.CourseID, 'Assignment ' || a, 'Solve the problems', " +
+            "       TIMESTAMP '" + TERM_START + "' + a * INTERVAL '14 days', 100 " +
+            "FROM Courses c CROSS JOIN generate_series(1, 4) a");
+        stmt.execute(
+            "INSERT INTO Quizzes (CourseID, Title, TotalPoints, DueDate) " +
+            "SELECT c.CourseID, 'Quiz ' || q, 20, TIMESTAMP '" + TERM_START + "' + q * INTERVAL '21 days' " +
+            "FROM Courses c CROSS JOIN generate_series(1, 3) q");
+        stmt.execute(
+            "INSERT INTO Exams (CourseID, Title, ExamDate, DurationMinutes, TotalPoints) " +
+            "SELECT c.CourseID, e_title, TIMESTAMP '" + TERM_START + "' + e_day * INTERVAL '1 day', 120, 100 " +
+            "FROM Courses c CROSS JOIN (VALUES ('Midterm', 45), ('Final', 88)) AS e(e_title, e_day)");
+
+        int lastGraded = courseId(rosters.size() - 1);
+        Map<Integer, List<Object[]>> assignments = itemsByCourse(stmt,
+            "SELECT CourseID, AssignmentID, DueDate FROM Assignments WHERE CourseID <= " + lastGraded + " ORDER BY AssignmentID");
+        Map<Integer, List<Object[]>> quizzes = itemsByCourse(stmt,
+            "SELECT CourseID, QuizID, DueDate FROM Quizzes WHERE CourseID <= " + lastGraded + " ORDER BY QuizID");
+        Map<Integer, List<Object[]>> exams = itemsByCourse(stmt,
+            "SELECT CourseID, ExamID, ExamDate FROM Exams WHERE CourseID <= " + lastGraded + " ORDER BY ExamID");
+
+        try (CopyWriter rows = new CopyWriter(conn, "AssignmentSubmissions",
+                "AssignmentID, StudentUserID, SubmissionText, SubmittedDate, Score, StatusTypeID, GradedDate")) {
+            for (int x = 0; x < rosters.size(); x++) {
+                for (int student : rosters.get(x)) {
+                    for (Object[] item : assignments.getOrDefault(courseId(x), List.of())) {
+                        LocalDateTime due = (LocalDateTime) item[1];
+                        rows.row(item[0], student, "Answer", due.minusHours(1 + random.nextInt(72)),
+                                 50 + random.nextInt(51), status("SUBMISSION", "GRADED"), due.plusDays(3));
+                    }
+                }
+            }
+            rows.finish();
+        }
+        try (CopyWriter rows = new CopyWriter(conn, "QuizAttempts",
+                "QuizID, StudentUserID, AttemptNumber, StartedDate, CompletedDate, Score, StatusTypeID")) {
+            for (int x = 0; x < rosters.size(); x++) {
+                for (int student : rosters.get(x)) {
+                    for (Object[] item : quizzes.getOrDefault(courseId(x), List.of())) {
+                        LocalDateTime due = (LocalDateTime) item[1];
+                        rows.row(item[0], student, 1, due.minusMinutes(30), due,
+                                 8 + random.nextInt(13), status("QUIZ_ATTEMPT", "COMPLETED"));
+                    }
+                }
+            }
+            rows.finish();
+        }
+        try (CopyWriter rows = new CopyWriter(conn, "ExamGrades", "ExamID, StudentUserID, PointsEarned, GradedDate")) {
+            for (int x = 0; x < rosters.size(); x++) {
+                for (int student : rosters.get(x)) {
+                    for (Object[] item : exams.getOrDefault(courseId(x), List.of())) {
+                        rows.row(item[0], student, 40 + random.nextInt(61), ((LocalDateTime) item[1]).plusDays(5));
+                    }
+                }
+            }
+            rows.finish();
+        }
+    }
+
+    /**
+     * A question from every student to the professor of their first course each term,
+     * and the professor's reply (unread for some students in the current term)
+     */
+    private void seedMessages(Connection conn) throws SQLException {
+        int messageId;
+        try (Statement stmt = conn.createStatement()) {
+            messageId = queryIds(stmt, "SELECT COALESCE(MAX(MessageID), 0) + 1 FROM Messages")[0];
+        }
+        try (CopyWriter rows = new CopyWriter(conn, "Messages",
+                "MessageID, SenderUserID, ReceiverUserID, Subject, MessageBody, SentDate, IsRead, ParentMessageID, MessageType")) {
+            for (int i = 0; i < students; i++) {
+                for (int term = 0; term <= pastTermsOf(i); term++) {
+                    int x = (i + term * stride) % courses;
+                    int professor = firstUserId + students + (x + 1) % professors;
+                    LocalDateTime sent = termStart(term).plusDays(random.nextInt(TERM_DAYS)).plusMinutes(random.nextInt(24 * 60));
+                    String subject = "Question about C" + String.format("%05d", x + 1);
+                    rows.row(messageId, studentId(i), professor, subject, "Could you explain the last assignment?",
+                             sent, true, null, "GENERAL");
+                    rows.row(messageId + 1, professor, studentId(i), "RE: " + subject, "See the notes from the lecture.",
+                             sent.plusHours(1 + random.nextInt(48)), term > 0 || random.nextBoolean(), messageId, "GENERAL");
+                    messageId += 2;
+                }
+            }
+            rows.finish();
+        }
+    }
+
+    /**
+     * Published announcements for every term (past ones have expired); students have
+     * read about half of the current ones meant for them
+     */
+    private void seedAnnouncements(Connection conn) throws SQLException {
+        int announcementId;
+        try (Statement stmt = conn.createStatement()) {
+            announcementId = queryIds(stmt, "SELECT COALESCE(MAX(AnnouncementID), 0) + 1 FROM Announcements")[0];
+        }
+        int firstStaff = firstUserId + students + professors;
+        List<int[]> forStudents = new ArrayList<>();
+
+        try (CopyWriter rows = new CopyWriter(conn, "Announcements",
+                "AnnouncementID, Title, Content, TargetRole, CreatedByUserID, CreatedDate, ExpiryDate, IsActive, " +
+                "Priority, Status, PublishDate, IsArchived")) {
+            for (int term = 0; term <= pastTerms; term++) {
+                for (int a = 0; a < ANNOUNCEMENTS_PER_TERM; a++, announcementId++) {
+                    LocalDateTime published = termStart(term).plusDays(a * TERM_DAYS / ANNOUNCEMENTS_PER_TERM);
+                    String role = ROLES[a % ROLES.length];
+                    rows.row(announcementId, "Announcement " + (a + 1) + " of " + termStart(term).toLocalDate(),
+                             "Generated announcement for benchmarking", role, firstStaff + a % staff,
+                             published.minusDays(1), term > 0 ? termStart(term).plusDays(TERM_DAYS) : null, 1,
+                             PRIORITIES[a % PRIORITIES.length], "PUBLISHED", published, term > 0 ? 1 : 0);
+                    if (term == 0 && (role == null || role.equals("STUDENT"))) {
+                        forStudents.add(new int[] { announcementId, a });
+                    }
+                }
+            }
+            rows.finish();
+        }
+
+        try (CopyWriter rows = new CopyWriter(conn, "AnnouncementReadStatus", "AnnouncementID, UserID, ReadDate")) {
+            for (int i = 0; i < students; i++) {
+                for (int[] announcement : forStudents) {
+                    if (random.nextBoolean()) {
+                        rows.row(announcement[0], studentId(i),
+                                 CURRENT_TERM.plusDays(announcement[1] * TERM_DAYS / ANNOUNCEMENTS_PER_TERM + random.nextInt(3)));
+                    }
+                }
+            }
+            rows.finish();
+        }
+    }
+
+    private int studentId(int index) {
+        return firstUserId + index;
+    }
+
+    private int courseId(int index) {
+        return firstCourseId + index;
+    }
+
+    private int pastTermsOf(int studentIndex) {
+        return studentIndex % (pastTerms + 1);
+    }
+
+    private static int credits(int courseIndex) {
+        return 1 + (courseIndex + 1) % 4;
+    }
+
+    /**
+     * Start of a term; 0 is the current term, 1 the one before it, and so on (two terms a year)
+     */
+    private static LocalDateTime termStart(int termsAgo) {
+        return CURRENT_TERM.minusMonths(6L * termsAgo);
+    }
+
+    /**
+     * Index into GRADES: mostly A+ to C-, with 5% D grades and 5% F
+     */
+    private int randomGrade() {
+        int roll = random.nextInt(100);
+        if (roll < 5) return 11;
+        if (roll < 10) return 10 - random.nextInt(2);
+        return random.nextInt(9);
+    }
+
+    private int status(String entityType, String statusCode) {
+        Integer id = statusIds.get(entityType + ":" + statusCode);
+        if (id == null) {
+            throw new IllegalStateException("Status " + entityType + "/" + statusCode + " missing from StatusTypes");
+        }
+        return id;
+    }
+
+    private static Map<Integer, List<Object[]>> itemsByCourse(Statement stmt, String sql) throws SQLException {
+        Map<Integer, List<Object[]>> items = new HashMap<>();
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                items.computeIfAbsent(rs.getInt(1), k -> new ArrayList<>())
+                    .add(new Object[] { rs.getInt(2), rs.getTimestamp(3).toLocalDateTime() });
+            }
+        }
+        return items;
+    }
+
+    private static int[] queryIds(Statement stmt, String sql) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static String sha256(String text) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Seed a data set without running a benchmark, e.g.
+     * java -Dbench.courses=2000 -Dbench.history.years=5 -cp benchmarks.jar edu.benchmarks.DataSetGenerator 50000
+     */
+    public static void main(String[] args) throws Exception {
+        int students = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        BenchmarkDatabase.prepare(students);
+    }
+}
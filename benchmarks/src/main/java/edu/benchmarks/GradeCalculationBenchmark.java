@@ -0,0 +1,51 @@
+package edu.benchmarks;
+
+import edu.curriculum.service.GradeCalculationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Final grade calculation for a whole course roster and for a single student
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GradeCalculationBenchmark {
+
+    private GradeCalculationService gradeCalculationService;
+
+    @Setup
+    public void setUp(BenchmarkState state) {
+        gradeCalculationService = new GradeCalculationService();
+    }
+
+    @Benchmark
+    public List<GradeCalculationService.StudentFinalGrade> getStudentFinalGrades(BenchmarkState state) throws SQLException {
+        String[] courses = state.gradedCourseIds;
+        return gradeCalculationService.getStudentFinalGrades(courses[ThreadLocalRandom.current().nextInt(courses.length)]);
+    }
+
+    @Benchmark
+    public Double calculateFinalGrade(BenchmarkState state) throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int course = random.nextInt(state.gradedCourseIds.length);
+        String[] roster = state.gradedCourseStudents[course];
+        return gradeCalculationService.calculateFinalGrade(state.gradedCourseIds[course], roster[random.nextInt(roster.length)]);
+    }
+}
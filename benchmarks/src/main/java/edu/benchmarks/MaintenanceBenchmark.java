@@ -0,0 +1,50 @@
+package edu.benchmarks;
+
+import edu.facilities.model.MaintenanceTicket;
+import edu.facilities.service.MaintenanceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintenance ticket list loading (admin tickets view)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MaintenanceBenchmark {
+
+    private MaintenanceService maintenanceService;
+
+    @Setup
+    public void setUp(BenchmarkState state) {
+        maintenanceService = new MaintenanceService();
+    }
+
+    @Benchmark
+    public List<MaintenanceTicket> getAllTickets() throws SQLException {
+        return maintenanceService.getAllTickets();
+    }
+
+    /**
+     * First page of the tickets view
+     */
+    @Benchmark
+    public MaintenanceService.TicketPage getAllTicketsFirstPage() throws SQLException {
+        return maintenanceService.getAllTickets(null, null, 50);
+    }
+}
@@ -0,0 +1,60 @@
+package edu.benchmarks.load;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import edu.facilities.service.LatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects what the application's Hikari pool reports while the simulation runs: how long
+ * callers waited for a connection, how long they held it, and how many gave up waiting.
+ * Pending threads and active connections are sampled (Hikari refreshes them once a second),
+ * so their peaks are approximate.
+ */
+final class PoolMetrics implements MetricsTrackerFactory {
+
+    final LatencyHistogram acquire = new LatencyHistogram();
+    final LatencyHistogram usage = new LatencyHistogram();
+    final LongAdder timeouts = new LongAdder();
+    final AtomicInteger peakPending = new AtomicInteger();
+    final AtomicInteger peakActive = new AtomicInteger();
+
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquire.record(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usage.record(elapsedBorrowedMillis * 1_000_000);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    void sample() {
+        PoolStats stats = poolStats;
+        if (stats != null) {
+            peakPending.accumulateAndGet(stats.getPendingThreads(), Math::max);
+            peakActive.accumulateAndGet(stats.getActiveConnections(), Math::max);
+        }
+    }
+
+    int maxConnections() {
+        PoolStats stats = poolStats;
+        return stats != null ? stats.getMaxConnections() : 0;
+    }
+}
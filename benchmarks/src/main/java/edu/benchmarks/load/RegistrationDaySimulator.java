@@ -0,0 +1,451 @@
+package edu.benchmarks.load;
+
+import edu.benchmarks.BenchmarkDatabase;
+import edu.benchmarks.DataSetGenerator;
+import edu.facilities.model.Course;
+import edu.facilities.model.User;
+import edu.facilities.service.AuthService;
+import edu.facilities.service.CourseFullException;
+import edu.facilities.service.CourseService;
+import edu.facilities.service.DatabaseConnection;
+import edu.facilities.service.EnrollmentService;
+import edu.facilities.service.LatencyHistogram;
+import edu.facilities.service.ReferenceDataCache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rehearses a registration-day rush against the benchmark database.
+ * Every simulated student is a virtual thread that logs in through AuthService and then, until
+ * the scenario ends, browses the catalog (CourseService.getAllCourses), enrolls
+ * (EnrollmentService.enrollStudent, joining the waitlist when the course is full) or drops one
+ * of its enrollments (dropEnrollment), with a think time between actions. The scenario file
+ * sets the number of students, ramp-up, duration and action mix, and how much of the
+ * enrollment traffic goes to a few hot courses.
+ *
+ * The report gives throughput and latency percentiles per action, how long callers waited for
+ * a pool connection, and integrity checks: courses over capacity, CurrentSeats disagreeing
+ * with the enrollments written, duplicate enrollments and deadlocks. Run it once per
+ * db.max.pool.size to size the pool. Enrollments, waitlist entries and messages the run created
+ * are removed afterwards (unless -Dload.keep=true), so the data set stays usable for the JMH
+ * benchmarks.
+ *
+ * Usage: java -cp target/benchmarks.jar edu.benchmarks.load.RegistrationDaySimulator [scenario.properties]
+ */
+public final class RegistrationDaySimulator {
+
+    private static final String DEFAULT_SCENARIO = "scenarios/registration-day.properties";
+    private static final String DEADLOCK = "40P01";
+    private static final String SERIALIZATION_FAILURE = "40001";
+
+    enum Action { LOGIN, BROWSE, ENROLL, WAITLIST, DROP }
+
+    enum Outcome { OK, FULL, REJECTED, DEADLOCK, POOL_TIMEOUT, ERROR }
+
+    private final Scenario scenario;
+    private final PoolMetrics poolMetrics;
+    private final Map<Action, ActionStats> stats = new EnumMap<>(Action.class);
+    private final CourseService courseService = new CourseService();
+    private final EnrollmentService enrollmentService = new EnrollmentService();
+
+    private List<Course> courses;
+    private List<Course> hotCourses;
+    private Baseline baseline;
+
+    private RegistrationDaySimulator(Scenario scenario, PoolMetrics poolMetrics) {
+        this.scenario = scenario;
+        this.poolMetrics = poolMetrics;
+        for (Action action : Action.values()) {
+            stats.put(action, new ActionStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Scenario scenario = Scenario.load(Path.of(args.length > 0 ? args[0] : DEFAULT_SCENARIO));
+
+        // Must be in place before DatabaseConnection creates its pool
+        if (scenario.poolMaxSize != null && System.getProperty("db.max.pool.size") == null) {
+            System.setProperty("db.max.pool.size", scenario.poolMaxSize);
+        }
+        // Shape the data set the same way -Dbench.courses / -Dbench.history.years would
+        if (scenario.dataCourses != null) {
+            System.setProperty("bench.courses", scenario.dataCourses);
+        }
+        if (scenario.dataHistoryYears != null) {
+            System.setProperty("bench.history.years", scenario.dataHistoryYears);
+        }
+        BenchmarkDatabase.prepare(scenario.dataStudents);
+        PoolMetrics poolMetrics = new PoolMetrics();
+        DatabaseConnection.setMetricsTrackerFactory(poolMetrics);
+
+        RegistrationDaySimulator simulator = new RegistrationDaySimulator(scenario, poolMetrics);
+        try {
+            simulator.prepare();
+            double elapsedSeconds = simulator.run();
+            String report = simulator.report(elapsedSeconds);
+            System.out.println(report);
+            simulator.writeReport(report);
+            if (!Boolean.getBoolean("load.keep")) {
+                simulator.cleanUp();
+            }
+        } finally {
+            DatabaseConnection.closeConnection();
+        }
+    }
+
+    /**
+     * Load the courses to enroll in and remember the state the integrity checks compare against
+     */
+    private void prepare() throws SQLException {
+        courses = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT CourseID, Code, Name FROM Courses WHERE IsActive = TRUE ORDER BY CourseID")) {
+            while (rs.next()) {
+                Course course = new Course();
+                course.setId(String.valueOf(rs.getInt("CourseID")));
+                course.setCode(rs.getString("Code"));
+                course.setName(rs.getString("Name"));
+                courses.add(course);
+            }
+        }
+        if (courses.isEmpty()) {
+            throw new IllegalStateException("The data set has no active courses");
+        }
+        hotCourses = courses.subList(0, Math.max(1, Math.min(scenario.hotCourses, courses.size())));
+        baseline = Baseline.capture();
+    }
+
+    /**
+     * Run all simulated students to the end of the scenario
+     * @return Elapsed wall-clock time in seconds
+     */
+    private double run() throws InterruptedException {
+        System.out.printf("Simulating %d students for %d s (ramp-up %d s)...%n",
+            scenario.students, scenario.rampUpSeconds + scenario.durationSeconds, scenario.rampUpSeconds);
+
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(poolMetrics::sample, 100, 100, TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(scenario.rampUpSeconds + scenario.durationSeconds);
+        try (ExecutorService students = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < scenario.students; i++) {
+                long startDelay = TimeUnit.SECONDS.toNanos(scenario.rampUpSeconds) * i / scenario.students;
+                String username = "student" + (i % scenario.dataStudents + 1);
+                students.submit(() -> simulateStudent(username, start + startDelay, deadline));
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        sampler.shutdownNow();
+        return elapsedSeconds;
+    }
+
+    private void simulateStudent(String username, long startAt, long deadline) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(startAt - System.nanoTime());
+            List<String> enrollmentIds = new ArrayList<>();
+            User student = login(username);
+            if (student == null) {
+                return;
+            }
+
+            while (System.nanoTime() < deadline) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int pick = random.nextInt(scenario.totalWeight());
+                if ((pick -= scenario.loginWeight) < 0) {
+                    login(username);
+                } else if ((pick -= scenario.browseWeight) < 0) {
+                    timed(Action.BROWSE, () -> courseService.getAllCourses(true));
+                } else if ((pick -= scenario.enrollWeight) < 0 || enrollmentIds.isEmpty()) {
+                    enroll(student, enrollmentIds);
+                } else {
+                    String enrollmentId = enrollmentIds.remove(random.nextInt(enrollmentIds.size()));
+                    timed(Action.DROP, () -> enrollmentService.dropEnrollment(enrollmentId) ? null : Outcome.REJECTED);
+                }
+                Thread.sleep(random.nextInt(scenario.thinkMinMillis, scenario.thinkMaxMillis + 1));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private User login(String username) {
+        User[] user = new User[1];
+        timed(Action.LOGIN, () -> {
+            user[0] = AuthService.getInstance().login(username, DataSetGenerator.PASSWORD);
+            return user[0] != null ? null : Outcome.REJECTED;
+        });
+        return user[0];
+    }
+
+    private void enroll(User student, List<String> enrollmentIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Course> pool = random.nextDouble() < scenario.hotShare ? hotCourses : courses;
+        Course chosen = pool.get(random.nextInt(pool.size()));
+        // enrollStudent updates the seat count on the Course it is given, so use a copy per call
+        Course course = new Course();
+        course.setId(chosen.getId());
+        course.setCode(chosen.getCode());
+        course.setName(chosen.getName());
+
+        Outcome outcome = timed(Action.ENROLL, () -> {
+            enrollmentIds.add(enrollmentService.enrollStudent(student, course).getId());
+            return null;
+        });
+        if (outcome == Outcome.FULL && scenario.waitlistOnFull) {
+            timed(Action.WAITLIST, () -> {
+                enrollmentService.joinWaitlist(student, course);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Run one action, recording its latency and outcome
+     * @param call Returns null for success, or the outcome to record instead
+     */
+    private Outcome timed(Action action, Call call) {
+        long started = System.nanoTime();
+        Outcome outcome;
+        try {
+            Object result = call.run();
+            outcome = result instanceof Outcome ? (Outcome) result : Outcome.OK;
+        } catch (CourseFullException e) {
+            outcome = Outcome.FULL;
+        } catch (IllegalArgumentException e) {
+            outcome = Outcome.REJECTED;
+        } catch (SQLTransientConnectionException e) {
+            outcome = Outcome.POOL_TIMEOUT;
+        } catch (SQLException e) {
+            outcome = DEADLOCK.equals(e.getSQLState()) || SERIALIZATION_FAILURE.equals(e.getSQLState())
+                ? Outcome.DEADLOCK : Outcome.ERROR;
+            stats.get(action).lastError = e.getSQLState() + " " + e.getMessage();
+        } catch (RuntimeException e) {
+            outcome = Outcome.ERROR;
+            stats.get(action).lastError = e.toString();
+        }
+        stats.get(action).record(outcome, System.nanoTime() - started);
+        return outcome;
+    }
+
+    private String report(double elapsedSeconds) throws SQLException {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%nRegistration-day simulation: %s (%s)%n", scenario.name, LocalDateTime.now().withNano(0)));
+        out.append(String.format("  data set %d students, %d simulated students, ramp-up %d s, duration %d s, pool size %d%n",
+            scenario.dataStudents, scenario.students, scenario.rampUpSeconds, scenario.durationSeconds,
+            poolMetrics.maxConnections()));
+        out.append(String.format("  elapsed %.1f s%n%n", elapsedSeconds));
+
+        out.append(String.format("%-9s %8s %8s %7s %8s %8s %8s %6s %8s %8s %8s %8s %8s%n",
+            "Action", "Calls", "OK", "Full", "Rejected", "Deadlock", "PoolWait", "Error",
+            "Ops/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        long totalCalls = 0;
+        for (Action action : Action.values()) {
+            ActionStats actionStats = stats.get(action);
+            long calls = actionStats.latency.count();
+            totalCalls += calls;
+            out.append(String.format("%-9s %8d %8d %7d %8d %8d %8d %6d %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                action, calls, actionStats.count(Outcome.OK), actionStats.count(Outcome.FULL),
+                actionStats.count(Outcome.REJECTED), actionStats.count(Outcome.DEADLOCK),
+                actionStats.count(Outcome.POOL_TIMEOUT), actionStats.count(Outcome.ERROR),
+                calls / elapsedSeconds, actionStats.latency.percentileMillis(50),
+                actionStats.latency.percentileMillis(95), actionStats.latency.percentileMillis(99),
+                actionStats.latency.maxMillis()));
+        }
+        out.append(String.format("%-9s %8d %59.1f%n", "TOTAL", totalCalls, totalCalls / elapsedSeconds));
+        for (Action action : Action.values()) {
+            if (stats.get(action).lastError != null) {
+                out.append(String.format("  last %s error: %s%n", action, stats.get(action).lastError));
+            }
+        }
+
+        out.append(String.format("%nConnection pool%n"));
+        out.append(String.format("  wait for connection: p50 %.2f ms, p95 %.2f ms, p99 %.2f ms, max %.2f ms (%d checkouts)%n",
+            poolMetrics.acquire.percentileMillis(50), poolMetrics.acquire.percentileMillis(95),
+            poolMetrics.acquire.percentileMillis(99), poolMetrics.acquire.maxMillis(), poolMetrics.acquire.count()));
+        out.append(String.format("  connection held:     p50 %.2f ms, p95 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+            poolMetrics.usage.percentileMillis(50), poolMetrics.usage.percentileMillis(95),
+            poolMetrics.usage.percentileMillis(99), poolMetrics.usage.maxMillis()));
+        out.append(String.format("  timeouts %d, peak threads waiting %d, peak active connections %d%n",
+            poolMetrics.timeouts.sum(), poolMetrics.peakPending.get(), poolMetrics.peakActive.get()));
+
+        Integrity integrity = baseline.check();
+        out.append(String.format("%nIntegrity%n"));
+        out.append(String.format("  courses over capacity:       %d%n", integrity.oversubscribed));
+        out.append(String.format("  courses with seat drift:     %d%n", integrity.seatDrift));
+        out.append(String.format("  duplicate active enrollments: %d%n", integrity.duplicates));
+        out.append(String.format("  deadlocks (server):          %d%n", integrity.deadlocks));
+        return out.toString();
+    }
+
+    private void writeReport(String report) throws IOException {
+        Path dir = Path.of(System.getProperty("load.report.dir", "target/load-reports"));
+        Files.createDirectories(dir);
+        Path file = dir.resolve(scenario.name + "-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".txt");
+        Files.writeString(file, report);
+        System.out.println("Report written to " + file);
+    }
+
+    /**
+     * Remove what the run wrote and put the seat counts back
+     */
+    private void cleanUp() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM CourseWaitlist WHERE WaitlistID > " + baseline.maxWaitlistId);
+                stmt.executeUpdate("DELETE FROM Messages WHERE MessageID > " + baseline.maxMessageId + " AND MessageType = 'SYSTEM'");
+                stmt.executeUpdate("DELETE FROM Enrollments WHERE EnrollmentID > " + baseline.maxEnrollmentId);
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement("UPDATE Courses SET CurrentSeats = ? WHERE CourseID = ?")) {
+                for (Map.Entry<Integer, int[]> course : baseline.courses.entrySet()) {
+                    pstmt.setInt(1, course.getValue()[0]);
+                    pstmt.setInt(2, course.getKey());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            conn.commit();
+        }
+        System.out.println("Removed the enrollments, waitlist entries and messages of this run (keep them with -Dload.keep=true)");
+    }
+
+    private interface Call {
+        Object run() throws SQLException;
+    }
+
+    private static final class ActionStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final Map<Outcome, LongAdder> outcomes = new EnumMap<>(Outcome.class);
+        volatile String lastError;
+
+        ActionStats() {
+            for (Outcome outcome : Outcome.values()) {
+                outcomes.put(outcome, new LongAdder());
+            }
+        }
+
+        void record(Outcome outcome, long nanos) {
+            latency.record(nanos);
+            outcomes.get(outcome).increment();
+        }
+
+        long count(Outcome outcome) {
+            return outcomes.get(outcome).sum();
+        }
+    }
+
+    /**
+     * Database state before the run: the highest IDs (everything above was written by the run)
+     * and every course's CurrentSeats and ENROLLED count
+     */
+    private static final class Baseline {
+        final int enrolledStatusId;
+        final long maxEnrollmentId;
+        final long maxWaitlistId;
+        final long maxMessageId;
+        final long deadlocks;
+        final Map<Integer, int[]> courses;
+
+        private Baseline(int enrolledStatusId, long maxEnrollmentId, long maxWaitlistId, long maxMessageId,
+                         long deadlocks, Map<Integer, int[]> courses) {
+            this.enrolledStatusId = enrolledStatusId;
+            this.maxEnrollmentId = maxEnrollmentId;
+            this.maxWaitlistId = maxWaitlistId;
+            this.maxMessageId = maxMessageId;
+            this.deadlocks = deadlocks;
+            this.courses = courses;
+        }
+
+        static Baseline capture() throws SQLException {
+            int enrolledStatusId = ReferenceDataCache.getInstance().getStatusTypeId("ENROLLMENT", "ENROLLED");
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                return new Baseline(enrolledStatusId,
+                    queryLong(conn, "SELECT COALESCE(MAX(EnrollmentID), 0) FROM Enrollments"),
+                    queryLong(conn, "SELECT COALESCE(MAX(WaitlistID), 0) FROM CourseWaitlist"),
+                    queryLong(conn, "SELECT COALESCE(MAX(MessageID), 0) FROM Messages"),
+                    queryLong(conn, "SELECT deadlocks FROM pg_stat_database WHERE datname = current_database()"),
+                    courseSeats(conn, enrolledStatusId));
+            }
+        }
+
+        Integrity check() throws SQLException {
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                Integrity integrity = new Integrity();
+                integrity.oversubscribed = queryLong(conn, "SELECT COUNT(*) FROM Courses WHERE CurrentSeats > MaxSeats");
+                integrity.duplicates = queryLong(conn,
+                    "SELECT COUNT(*) FROM (SELECT 1 FROM Enrollments WHERE StatusTypeID = " + enrolledStatusId +
+                    " GROUP BY StudentUserID, CourseID HAVING COUNT(*) > 1) d");
+                // Statistics are sent by the backends asynchronously; the delta may lag by a moment
+                integrity.deadlocks = queryLong(conn,
+                    "SELECT deadlocks FROM pg_stat_database WHERE datname = current_database()") - deadlocks;
+
+                // CurrentSeats must have moved exactly as much as the number of ENROLLED rows
+                Map<Integer, int[]> after = courseSeats(conn, enrolledStatusId);
+                for (Map.Entry<Integer, int[]> course : after.entrySet()) {
+                    int[] before = courses.getOrDefault(course.getKey(), new int[2]);
+                    int[] now = course.getValue();
+                    if (now[0] - before[0] != now[1] - before[1]) {
+                        integrity.seatDrift++;
+                    }
+                }
+                return integrity;
+            }
+        }
+
+        /**
+         * CurrentSeats and ENROLLED count per course
+         */
+        private static Map<Integer, int[]> courseSeats(Connection conn, int enrolledStatusId) throws SQLException {
+            String sql = "SELECT c.CourseID, c.CurrentSeats, COUNT(e.EnrollmentID) AS Enrolled " +
+                        "FROM Courses c LEFT JOIN Enrollments e ON e.CourseID = c.CourseID AND e.StatusTypeID = ? " +
+                        "GROUP BY c.CourseID, c.CurrentSeats";
+            Map<Integer, int[]> seats = new HashMap<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, enrolledStatusId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        seats.put(rs.getInt("CourseID"), new int[] { rs.getInt("CurrentSeats"), rs.getInt("Enrolled") });
+                    }
+                }
+            }
+            return seats;
+        }
+
+        private static long queryLong(Connection conn, String sql) throws SQLException {
+            try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    private static final class Integrity {
+        long oversubscribed;
+        long seatDrift;
+        long duplicates;
+        long deadlocks;
+    }
+}
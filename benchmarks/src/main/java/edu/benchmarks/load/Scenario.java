@@ -0,0 +1,103 @@
+package edu.benchmarks.load;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * A load scenario read from a .properties file (see benchmarks/scenarios/).
+ * Every key is optional and falls back to the default shown in registration-day.properties.
+ * System properties of the same name (-Dstudents=5000) override the file.
+ */
+final class Scenario {
+
+    final String name;
+    final int dataStudents;
+    final String dataCourses;
+    final String dataHistoryYears;
+    final int students;
+    final int rampUpSeconds;
+    final int durationSeconds;
+    final int thinkMinMillis;
+    final int thinkMaxMillis;
+    final int loginWeight;
+    final int browseWeight;
+    final int enrollWeight;
+    final int dropWeight;
+    final int hotCourses;
+    final double hotShare;
+    final boolean waitlistOnFull;
+    final String poolMaxSize;
+
+    private Scenario(String name, Properties props) {
+        this.name = value(props, "name", name);
+        this.dataStudents = positive(props, "data.students", "1000");
+        String dataCourses = value(props, "data.courses", "");
+        this.dataCourses = dataCourses.isEmpty() ? null : dataCourses;
+        String dataHistoryYears = value(props, "data.history.years", "");
+        this.dataHistoryYears = dataHistoryYears.isEmpty() ? null : dataHistoryYears;
+        this.students = positive(props, "students", "2000");
+        this.rampUpSeconds = Integer.parseInt(value(props, "ramp.up.seconds", "20"));
+        this.durationSeconds = positive(props, "duration.seconds", "60");
+
+        String[] think = value(props, "think.time.millis", "250-2000").split("-");
+        this.thinkMinMillis = Integer.parseInt(think[0].trim());
+        this.thinkMaxMillis = think.length > 1 ? Integer.parseInt(think[1].trim()) : thinkMinMillis;
+        if (thinkMinMillis < 0 || thinkMaxMillis < thinkMinMillis) {
+            throw new IllegalArgumentException("think.time.millis must be a range like 250-2000");
+        }
+
+        this.loginWeight = Integer.parseInt(value(props, "mix.login", "5"));
+        this.browseWeight = Integer.parseInt(value(props, "mix.browse", "50"));
+        this.enrollWeight = Integer.parseInt(value(props, "mix.enroll", "35"));
+        this.dropWeight = Integer.parseInt(value(props, "mix.drop", "10"));
+        if (loginWeight < 0 || browseWeight < 0 || enrollWeight < 0 || dropWeight < 0 || totalWeight() == 0) {
+            throw new IllegalArgumentException("mix.* weights must be non-negative and not all zero");
+        }
+
+        this.hotCourses = Integer.parseInt(value(props, "hot.courses", "5"));
+        this.hotShare = Double.parseDouble(value(props, "hot.share", "0.7"));
+        if (hotShare < 0 || hotShare > 1) {
+            throw new IllegalArgumentException("hot.share must be between 0 and 1");
+        }
+        this.waitlistOnFull = Boolean.parseBoolean(value(props, "waitlist.on.full", "true"));
+        String pool = value(props, "pool.max.size", "");
+        this.poolMaxSize = pool.isEmpty() ? null : pool;
+    }
+
+    /**
+     * Read a scenario file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a value is out of range
+     */
+    static Scenario load(Path file) throws IOException {
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            props.load(reader);
+        }
+        String fileName = file.getFileName().toString();
+        return new Scenario(fileName.replaceFirst("\\.properties$", ""), props);
+    }
+
+    int totalWeight() {
+        return loginWeight + browseWeight + enrollWeight + dropWeight;
+    }
+
+    private static String value(Properties props, String key, String defaultValue) {
+        String override = System.getProperty(key);
+        if (override != null) {
+            return override.trim();
+        }
+        return props.getProperty(key, defaultValue).trim();
+    }
+
+    private static int positive(Properties props, String key, String defaultValue) {
+        int value = Integer.parseInt(value(props, key, defaultValue));
+        if (value <= 0) {
+            throw new IllegalArgumentException(key + " must be positive");
+        }
+        return value;
+    }
+}
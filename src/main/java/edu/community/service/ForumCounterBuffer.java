@@ -0,0 +1,144 @@
+package edu.community.service;
+
+import edu.facilities.service.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Buffers forum view and reply count increments in memory and writes them as deltas in one
+ * batched UPDATE every forum.counters.flush.seconds, and when the connection pool shuts down.
+ * A busy post then costs one row update per flush instead of one per view or comment, which is
+ * what kept ForumPosts rows locked. Deltas still waiting for a flush are added to counts read
+ * through ForumService, so a user sees their own view and comment straight away.
+ * Uses singleton pattern so every ForumService shares one buffer.
+ */
+public class ForumCounterBuffer {
+
+    private static ForumCounterBuffer instance;
+
+    private final long flushIntervalSeconds = Long.parseLong(
+        DatabaseConnection.getConfigValue("forum.counters.flush.seconds", "FORUM_COUNTERS_FLUSH_SECONDS", "5"));
+
+    // One entry per post touched since startup; entries are drained, never removed,
+    // so an increment can never land on an entry a flush has already dropped
+    private final Map<Integer, PostCounts> pending = new ConcurrentHashMap<>();
+
+    private ForumCounterBuffer() {
+        ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "forum-counter-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalSeconds, flushIntervalSeconds, TimeUnit.SECONDS);
+        DatabaseConnection.addBeforeCloseAction(this::flushQuietly);
+    }
+
+    /**
+     * Get singleton instance (starts the periodic flush on first use)
+     */
+    public static synchronized ForumCounterBuffer getInstance() {
+        if (instance == null) {
+            instance = new ForumCounterBuffer();
+        }
+        return instance;
+    }
+
+    public void recordView(int postID) {
+        pending.computeIfAbsent(postID, k -> new PostCounts()).views.increment();
+    }
+
+    public void recordReply(int postID) {
+        pending.computeIfAbsent(postID, k -> new PostCounts()).replies.increment();
+    }
+
+    /**
+     * Views recorded for a post but not yet written to the database
+     */
+    public int pendingViews(int postID) {
+        PostCounts counts = pending.get(postID);
+        return counts != null ? (int) counts.views.sum() : 0;
+    }
+
+    /**
+     * Replies recorded for a post but not yet written to the database
+     */
+    public int pendingReplies(int postID) {
+        PostCounts counts = pending.get(postID);
+        return counts != null ? (int) counts.replies.sum() : 0;
+    }
+
+    /**
+     * Write all buffered deltas in one transaction. Rows are updated in PostID order so two
+     * clients flushing at the same time cannot deadlock; on failure the deltas are put back.
+     */
+    public synchronized void flush() throws SQLException {
+        List<int[]> deltas = new ArrayList<>();
+        pending.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(entry -> {
+                // Subtract exactly what was read, so increments arriving meanwhile are kept
+                long views = entry.getValue().views.sum();
+                long replies = entry.getValue().replies.sum();
+                if (views != 0 || replies != 0) {
+                    entry.getValue().views.add(-views);
+                    entry.getValue().replies.add(-replies);
+                    deltas.add(new int[] { entry.getKey(), (int) views, (int) replies });
+                }
+            });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        String sql = "UPDATE ForumPosts SET ViewCount = ViewCount + ?, ReplyCount = ReplyCount + ? WHERE PostID = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                conn.setAutoCommit(false);
+                for (int[] delta : deltas) {
+                    pstmt.setInt(1, delta[1]);
+                    pstmt.setInt(2, delta[2]);
+                    pstmt.setInt(3, delta[0]);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+        } catch (SQLException e) {
+            for (int[] delta : deltas) {
+                PostCounts counts = pending.computeIfAbsent(delta[0], k -> new PostCounts());
+                counts.views.add(delta[1]);
+                counts.replies.add(delta[2]);
+            }
+            throw e;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (SQLException e) {
+            System.err.println("⚠ Could not flush forum counters, will retry: " + e.getMessage());
+        }
+    }
+
+    private static class PostCounts {
+        final LongAdder views = new LongAdder();
+        final LongAdder replies = new LongAdder();
+    }
+}
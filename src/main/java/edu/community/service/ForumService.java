@@ -15,6 +15,8 @@ import java.util.List;
  */
 public class ForumService {
 
+    private final ForumCounterBuffer counters = ForumCounterBuffer.getInstance();
+
     /**
      * Create a new forum post (US 4.6)
      */
@@ -113,10 +115,9 @@ public class ForumService {
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    ForumPost post = mapResultSetToPost(rs);
-                    // Increment view count
-                    incrementViewCount(postID);
-                    return post;
+                    // Buffered, written with other views in the next flush
+                    counters.recordView(postID);
+                    return mapResultSetToPost(rs);
                 }
             }
         }
@@ -141,8 +142,8 @@ public class ForumService {
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
                     int commentID = rs.getInt("CommentID");
-                    // Update reply count
-                    updateReplyCount(comment.getPostID());
+                    // Buffered as a +1, written with other replies in the next flush
+                    counters.recordReply(comment.getPostID());
                     return commentID;
                 }
             }
@@ -198,31 +199,6 @@ public class ForumService {
         return topics;
     }
 
-    private void incrementViewCount(int postID) throws SQLException {
-        String sql = "UPDATE ForumPosts SET ViewCount = ViewCount + 1 WHERE PostID = ?";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, postID);
-            pstmt.executeUpdate();
-        }
-    }
-
-    private void updateReplyCount(int postID) throws SQLException {
-        String sql = "UPDATE ForumPosts SET ReplyCount = " +
-                    "(SELECT COUNT(*) FROM ForumComments WHERE PostID = ?) " +
-                    "WHERE PostID = ?";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, postID);
-            pstmt.setInt(2, postID);
-            pstmt.executeUpdate();
-        }
-    }
-
     private ForumPost mapResultSetToPost(ResultSet rs) throws SQLException {
         ForumPost post = new ForumPost();
         post.setPostID(rs.getInt("PostID"));
@@ -251,8 +227,9 @@ public class ForumService {
         
         post.setPinned(rs.getBoolean("IsPinned"));
         post.setLocked(rs.getBoolean("IsLocked"));
-        post.setViewCount(rs.getInt("ViewCount"));
-        post.setReplyCount(rs.getInt("ReplyCount"));
+        // Include increments that are still waiting for a flush
+        post.setViewCount(rs.getInt("ViewCount") + counters.pendingViews(post.getPostID()));
+        post.setReplyCount(rs.getInt("ReplyCount") + counters.pendingReplies(post.getPostID()));
         
         return post;
     }
@@ -2,6 +2,7 @@ package edu.community.service;
 
 import edu.community.model.Meeting;
 import edu.facilities.service.DatabaseConnection;
+import edu.facilities.service.ReferenceDataCache;
 
 import java.sql.*;
 import java.time.LocalDate;
@@ -14,6 +15,8 @@ import java.util.List;
  */
 public class MeetingService {
 
+    private final ReferenceDataCache referenceData = ReferenceDataCache.getInstance();
+
     /**
      * Request a meeting (student requests, staff/professor approves)
      */
@@ -25,7 +28,7 @@ public class MeetingService {
         }
 
         // Get PENDING status type ID
-        int pendingStatusID = getStatusTypeID("MEETING", "PENDING");
+        int pendingStatusID = referenceData.getStatusTypeId("MEETING", "PENDING");
 
         String sql = "INSERT INTO Meetings (StudentUserID, StaffUserID, Subject, Description, " +
                      "MeetingDate, StartTime, EndTime, Location, StatusTypeID, RequestedDate, CreatedDate) " +
@@ -81,7 +84,7 @@ public class MeetingService {
             }
         }
 
-        int statusTypeID = getStatusTypeID("MEETING", status);
+        int statusTypeID = referenceData.getStatusTypeId("MEETING", status);
 
         String sql = "UPDATE Meetings SET StatusTypeID = ?, ResponseDate = CURRENT_TIMESTAMP, " +
                      "ResponseNotes = ? WHERE MeetingID = ?";
@@ -111,7 +114,7 @@ public class MeetingService {
             throw new IllegalArgumentException("You do not have permission to cancel this meeting");
         }
 
-        int cancelledStatusID = getStatusTypeID("MEETING", "CANCELLED");
+        int cancelledStatusID = referenceData.getStatusTypeId("MEETING", "CANCELLED");
 
         String sql = "UPDATE Meetings SET StatusTypeID = ? WHERE MeetingID = ?";
 
@@ -165,7 +168,7 @@ public class MeetingService {
      * Get pending meetings for a staff member
      */
     public List<Meeting> getPendingMeetingsByStaff(int staffUserID) throws SQLException {
-        int pendingStatusID = getStatusTypeID("MEETING", "PENDING");
+        int pendingStatusID = referenceData.getStatusTypeId("MEETING", "PENDING");
 
         String sql = "SELECT m.*, " +
                      "stu.USERNAME as StudentName, " +
@@ -303,28 +306,6 @@ public class MeetingService {
         return false;
     }
 
-    /**
-     * Helper method to get status type ID
-     */
-    private int getStatusTypeID(String entityType, String statusCode) throws SQLException {
-        String sql = "SELECT StatusTypeID FROM StatusTypes WHERE EntityType = ? AND StatusCode = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, entityType);
-            pstmt.setString(2, statusCode);
-
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("StatusTypeID");
-                }
-            }
-        }
-
-        throw new SQLException("Status type not found: " + entityType + "/" + statusCode);
-    }
-
     /**
      * Helper method to get meetings with a given SQL query
      */
@@ -3,6 +3,7 @@ package edu.community.service;
 import edu.community.model.Message;
 import edu.facilities.model.User;
 import edu.facilities.service.DatabaseConnection;
+import edu.facilities.service.UnreadCounters;
 
 import java.sql.*;
 import java.time.LocalDateTime;
@@ -26,7 +27,11 @@ public class MessageService {
             } else {
                 pstmt.setNull(7, Types.INTEGER);
             }
-            return pstmt.executeUpdate() > 0;
+            if (pstmt.executeUpdate() > 0) {
+                UnreadCounters.publishForUser(conn, message.getReceiverUserID(), 1, UnreadCounters.Kind.MESSAGES);
+                return true;
+            }
+            return false;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -66,18 +71,30 @@ public class MessageService {
     }
 
     public void markAsRead(int messageID) {
-        String sql = "UPDATE Messages SET IsRead = 1 WHERE MessageID = ?";
+        // Only an unread message changes the receiver's counters
+        String sql = "UPDATE Messages SET IsRead = TRUE WHERE MessageID = ? AND IsRead = FALSE " +
+                "RETURNING ReceiverUserID, MessageType";
         try (Connection conn = DatabaseConnection.getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, messageID);
-            pstmt.executeUpdate();
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    if ("STUDENT_STAFF".equals(rs.getString("MessageType"))) {
+                        UnreadCounters.publishForUser(conn, rs.getInt("ReceiverUserID"), -1,
+                                UnreadCounters.Kind.MESSAGES, UnreadCounters.Kind.STAFF_MESSAGES);
+                    } else {
+                        UnreadCounters.publishForUser(conn, rs.getInt("ReceiverUserID"), -1,
+                                UnreadCounters.Kind.MESSAGES);
+                    }
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
     public int getUnreadCount(int userID) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM Messages WHERE ReceiverUserID = ? AND IsRead = 0";
+        String sql = "SELECT COUNT(*) FROM Messages WHERE ReceiverUserID = ? AND IsRead = FALSE";
         try (Connection conn = DatabaseConnection.getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, userID);
@@ -3,6 +3,7 @@ package edu.community.service;
 import edu.community.model.Message;
 import edu.community.model.MessageThread;
 import edu.facilities.service.DatabaseConnection;
+import edu.facilities.service.UnreadCounters;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -88,6 +89,7 @@ public class ParentTeacherMessageService {
             boolean success = pstmt.executeUpdate() > 0;
             
             if (success) {
+                UnreadCounters.publishForUser(conn, teacherUserID, 1, UnreadCounters.Kind.MESSAGES);
                 // Update thread's last message date
                 updateThreadLastMessageDate(threadID);
             }
@@ -127,6 +129,9 @@ public class ParentTeacherMessageService {
             
             boolean success = pstmt.executeUpdate() > 0;
             
+            if (success) {
+                UnreadCounters.publishForUser(conn, originalMessage.getSenderUserID(), 1, UnreadCounters.Kind.MESSAGES);
+            }
             if (success && originalMessage.getThreadID() != null) {
                 updateThreadLastMessageDate(originalMessage.getThreadID());
             }
@@ -2,6 +2,7 @@ package edu.community.service;
 
 import edu.community.model.Message;
 import edu.facilities.service.DatabaseConnection;
+import edu.facilities.service.UnreadCounters;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -30,7 +31,12 @@ public class StudentStaffMessageService {
             pstmt.setString(3, subject);
             pstmt.setString(4, messageBody);
             
-            return pstmt.executeUpdate() > 0;
+            if (pstmt.executeUpdate() > 0) {
+                UnreadCounters.publishForUser(conn, staffUserID, 1,
+                                              UnreadCounters.Kind.MESSAGES, UnreadCounters.Kind.STAFF_MESSAGES);
+                return true;
+            }
+            return false;
         }
     }
 
@@ -126,7 +132,12 @@ public class StudentStaffMessageService {
             pstmt.setString(4, replyContent);
             pstmt.setInt(5, messageID);
             
-            return pstmt.executeUpdate() > 0;
+            if (pstmt.executeUpdate() > 0) {
+                UnreadCounters.publishForUser(conn, originalMessage.getSenderUserID(), 1,
+                                              UnreadCounters.Kind.MESSAGES, UnreadCounters.Kind.STAFF_MESSAGES);
+                return true;
+            }
+            return false;
         }
     }
 
@@ -134,13 +145,26 @@ public class StudentStaffMessageService {
      * Mark message as read
      */
     public void markAsRead(int messageID) throws SQLException {
-        String sql = "UPDATE Messages SET IsRead = TRUE WHERE MessageID = ?";
+        // Only an unread message changes the receiver's counters
+        String sql = "UPDATE Messages SET IsRead = TRUE WHERE MessageID = ? AND IsRead = FALSE " +
+                     "RETURNING ReceiverUserID, MessageType";
         
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, messageID);
-            pstmt.executeUpdate();
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    if ("STUDENT_STAFF".equals(rs.getString("MessageType"))) {
+                        UnreadCounters.publishForUser(conn, rs.getInt("ReceiverUserID"), -1,
+                                                      UnreadCounters.Kind.MESSAGES, UnreadCounters.Kind.STAFF_MESSAGES);
+                    } else {
+                        UnreadCounters.publishForUser(conn, rs.getInt("ReceiverUserID"), -1,
+                                                      UnreadCounters.Kind.MESSAGES);
+                    }
+                }
+            }
         }
     }
 
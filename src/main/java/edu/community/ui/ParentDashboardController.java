@@ -1,6 +1,7 @@
 package edu.community.ui;
 
 import edu.community.service.ParentTeacherMessageService;
+import edu.curriculum.model.AcademicTotals;
 import edu.curriculum.model.TranscriptEntry;
 import edu.curriculum.service.TranscriptViewService;
 import edu.facilities.model.Course;
@@ -208,11 +209,10 @@ public class ParentDashboardController implements Initializable {
             transcriptList.clear();
             transcriptList.addAll(transcriptEntries);
 
-            double gpa = transcriptService.calculateGPA(transcriptEntries);
-            int totalCredits = transcriptService.calculateTotalCredits(transcriptEntries);
+            AcademicTotals totals = transcriptService.getAcademicTotals(student);
 
-            gpaLabel.setText(String.format("GPA: %.2f", gpa));
-            totalCreditsLabel.setText("Total Credits: " + totalCredits);
+            gpaLabel.setText(String.format("GPA: %.2f", totals.getGpa()));
+            totalCreditsLabel.setText("Total Credits: " + totals.getGradedCredits());
 
         } catch (SQLException e) {
             showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load student data: " + e.getMessage());
@@ -0,0 +1,49 @@
+package edu.curriculum.model;
+
+/**
+ * Model representing a student's GPA and credit totals over their graded courses
+ * (a row of the StudentAcademicTotals ledger)
+ */
+public class AcademicTotals {
+    private String studentId;
+    private int gradedCourses;
+    private int gradedCredits;
+    private double gradePoints;
+
+    public AcademicTotals(String studentId, int gradedCourses, int gradedCredits, double gradePoints) {
+        this.studentId = studentId;
+        this.gradedCourses = gradedCourses;
+        this.gradedCredits = gradedCredits;
+        this.gradePoints = gradePoints;
+    }
+
+    // --- Getters ---
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public int getGradedCourses() {
+        return gradedCourses;
+    }
+
+    /**
+     * Credits of all graded courses, failed ones included
+     */
+    public int getGradedCredits() {
+        return gradedCredits;
+    }
+
+    /**
+     * Sum of grade points x credits
+     */
+    public double getGradePoints() {
+        return gradePoints;
+    }
+
+    /**
+     * Cumulative GPA (0.0 to 4.0); 0.0 without graded courses
+     */
+    public double getGpa() {
+        return gradedCredits == 0 ? 0.0 : gradePoints / gradedCredits;
+    }
+}
@@ -10,6 +10,7 @@ public class AssignmentSubmission {
     private Student student;
     private String submissionText;
     private String fileName;
+    private String filePath;
     private LocalDateTime submittedDate;
     private Integer score;
     private String feedback;
@@ -38,6 +39,9 @@ public class AssignmentSubmission {
     public Student getStudent() { return student; }
     public String getSubmissionText() { return submissionText; }
     public String getFileName() { return fileName; }
+    /** Where the submitted file is stored; empty if only a file name was given */
+    public String getFilePath() { return filePath; }
+    public boolean hasFile() { return filePath != null && !filePath.isEmpty(); }
     public LocalDateTime getSubmittedDate() { return submittedDate; }
     public Integer getScore() { return score; }
     public String getFeedback() { return feedback; }
@@ -49,6 +53,7 @@ public class AssignmentSubmission {
     public void setStudent(Student student) { this.student = student; }
     public void setSubmissionText(String submissionText) { this.submissionText = submissionText; }
     public void setFileName(String fileName) { this.fileName = fileName; }
+    public void setFilePath(String filePath) { this.filePath = filePath; }
     public void setSubmittedDate(LocalDateTime submittedDate) { this.submittedDate = submittedDate; }
     public void setScore(Integer score) { this.score = score; }
     public void setFeedback(String feedback) { this.feedback = feedback; }
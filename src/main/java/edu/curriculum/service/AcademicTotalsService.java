@@ -0,0 +1,95 @@
+package edu.curriculum.service;
+
+import edu.curriculum.model.AcademicTotals;
+import edu.facilities.service.DatabaseConnection;
+
+import java.sql.*;
+
+/**
+ * Service for the StudentAcademicTotals ledger: GPA and credit totals per student.
+ * Triggers on Enrollments and Courses keep the ledger up to date as grades are posted
+ * (GradeCalculationService.updateFinalGrade) and enrollments change status, so reading a
+ * student's totals is a primary key lookup. rebuild() is the reconciliation job; run it after
+ * bulk loads that bypassed the triggers or on a schedule, e.g. nightly through main().
+ */
+public class AcademicTotalsService {
+
+    /**
+     * Get a student's GPA and credit totals
+     * @param studentId The student user ID
+     * @return Totals; all zero if the student has no graded courses
+     */
+    public AcademicTotals getTotals(String studentId) throws SQLException {
+        int studentIdInt = Integer.parseInt(studentId);
+        String sql = "SELECT GradedCourses, GradedCredits, GradePoints FROM StudentAcademicTotals " +
+                    "WHERE StudentUserID = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, studentIdInt);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return new AcademicTotals(studentId, rs.getInt("GradedCourses"),
+                                              rs.getInt("GradedCredits"), rs.getDouble("GradePoints"));
+                }
+            }
+        }
+        return new AcademicTotals(studentId, 0, 0, 0.0);
+    }
+
+    /**
+     * Recompute every student's totals from Enrollments and correct the rows that drifted.
+     * The ledger is locked against trigger updates meanwhile (reads continue), so a grade
+     * posted during the rebuild cannot be lost or counted twice.
+     * @return Number of students whose totals were corrected
+     */
+    public int rebuild() throws SQLException {
+        String upsertSql = "INSERT INTO StudentAcademicTotals AS t (StudentUserID, GradedCourses, GradedCredits, GradePoints) " +
+                          "SELECT StudentUserID, GradedCourses, GradedCredits, GradePoints FROM StudentAcademicTotalsExpected " +
+                          "ON CONFLICT (StudentUserID) DO UPDATE SET " +
+                          "GradedCourses = EXCLUDED.GradedCourses, GradedCredits = EXCLUDED.GradedCredits, " +
+                          "GradePoints = EXCLUDED.GradePoints, UpdatedDate = CURRENT_TIMESTAMP " +
+                          "WHERE (t.GradedCourses, t.GradedCredits, t.GradePoints) IS DISTINCT FROM " +
+                          "(EXCLUDED.GradedCourses, EXCLUDED.GradedCredits, EXCLUDED.GradePoints)";
+        // Students left without graded courses keep a row, at zero
+        String clearSql = "UPDATE StudentAcademicTotals t SET GradedCourses = 0, GradedCredits = 0, GradePoints = 0, " +
+                         "UpdatedDate = CURRENT_TIMESTAMP " +
+                         "WHERE (t.GradedCourses, t.GradedCredits, t.GradePoints) IS DISTINCT FROM (0, 0, 0) " +
+                         "AND NOT EXISTS (SELECT 1 FROM StudentAcademicTotalsExpected x WHERE x.StudentUserID = t.StudentUserID)";
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            try (Statement stmt = conn.createStatement()) {
+                conn.setAutoCommit(false);
+                // Conflicts with the row-exclusive lock the triggers take, not with plain reads
+                stmt.execute("LOCK TABLE StudentAcademicTotals IN SHARE ROW EXCLUSIVE MODE");
+                int corrected = stmt.executeUpdate(upsertSql);
+                corrected += stmt.executeUpdate(clearSql);
+                conn.commit();
+                return corrected;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+        }
+    }
+
+    /**
+     * Run the reconciliation job once, e.g. from cron:
+     * java -cp <app classpath> edu.curriculum.service.AcademicTotalsService
+     */
+    public static void main(String[] args) throws SQLException {
+        long start = System.currentTimeMillis();
+        try {
+            int corrected = new AcademicTotalsService().rebuild();
+            System.out.println("✓ Academic totals rebuilt in " + (System.currentTimeMillis() - start) +
+                               " ms; " + corrected + " student(s) corrected");
+        } finally {
+            DatabaseConnection.closeConnection();
+        }
+    }
+}
@@ -349,21 +349,9 @@ public class AssignmentService {
      * Get course by ID (helper method)
      */
     private Course getCourseById(Connection conn, int courseId) throws SQLException {
-        String sql = "SELECT CourseID, Code, Name, Description, Credits, Department, Semester, Type, ProfessorUserID, CreatedDate " +
-                     "FROM Courses WHERE CourseID = ?";
-        
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, courseId);
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    // Use CourseService mapping logic
-                    edu.curriculum.service.CourseService courseService = new edu.curriculum.service.CourseService();
-                    return courseService.getCourseById(String.valueOf(courseId));
-                }
-            }
-        }
-        return null;
+        // Use CourseService mapping logic (returns null if the course does not exist)
+        edu.curriculum.service.CourseService courseService = new edu.curriculum.service.CourseService();
+        return courseService.getCourseById(String.valueOf(courseId));
     }
 
     /**
@@ -4,6 +4,7 @@ import edu.curriculum.model.Course;
 import edu.curriculum.model.CourseType;
 import edu.facilities.model.User;
 import edu.facilities.service.DatabaseConnection;
+import edu.facilities.service.ReferenceDataCache;
 
 import java.sql.*;
 import java.time.LocalDateTime;
@@ -15,6 +16,8 @@ import java.util.List;
  */
 public class CourseService {
 
+    private final ReferenceDataCache referenceData = ReferenceDataCache.getInstance();
+
     /**
      * Get all courses from the database
      * @return List of all courses
@@ -260,10 +263,7 @@ public class CourseService {
         // Enroll student
         try (Connection conn = DatabaseConnection.getConnection()) {
             // Get StatusTypeID for ENROLLED status
-            int enrolledStatusTypeId = getEnrollmentStatusTypeId(conn, "ENROLLED");
-            if (enrolledStatusTypeId == 0) {
-                throw new SQLException("ENROLLED status type not found");
-            }
+            int enrolledStatusTypeId = referenceData.getStatusTypeId("ENROLLMENT", "ENROLLED");
             
             String sql = "INSERT INTO Enrollments (StudentUserID, CourseID, EnrollmentDate, StatusTypeID) VALUES (?, ?, CURRENT_TIMESTAMP, ?)";
             
@@ -315,19 +315,19 @@ public class CourseService {
 
         try (Connection conn = DatabaseConnection.getConnection()) {
             // Get DepartmentID from department name
-            int departmentId = getDepartmentIdByName(conn, department);
+            int departmentId = referenceData.findDepartmentId(department);
             if (departmentId == 0) {
                 throw new SQLException("Department not found: " + department);
             }
             
             // Get SemesterID from semester code
-            int semesterId = getSemesterIdByCode(conn, semester);
+            int semesterId = referenceData.findSemesterId(semester);
             if (semesterId == 0) {
                 throw new SQLException("Semester not found: " + semester);
             }
             
             // Get CourseTypeID from type code
-            int courseTypeId = getCourseTypeIdByCode(conn, typeToString(type));
+            int courseTypeId = referenceData.findCourseTypeId(typeToString(type));
             if (courseTypeId == 0) {
                 throw new SQLException("Course type not found: " + typeToString(type));
             }
@@ -396,87 +396,6 @@ public class CourseService {
         return new Course(courseId, code, name, description, credits, department, semester, type, professor, createdDate);
     }
 
-    /**
-     * Get DepartmentID by department name
-     */
-    private int getDepartmentIdByName(Connection conn, String departmentName) throws SQLException {
-        if (departmentName == null || departmentName.isBlank()) {
-            return 0;
-        }
-        
-        String sql = "SELECT DepartmentID FROM Departments WHERE Name = ? OR Code = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, departmentName);
-            pstmt.setString(2, departmentName);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("DepartmentID");
-                }
-            }
-        }
-        return 0;
-    }
-
-    /**
-     * Get SemesterID by semester code
-     */
-    private int getSemesterIdByCode(Connection conn, String semesterCode) throws SQLException {
-        if (semesterCode == null || semesterCode.isBlank()) {
-            return 0;
-        }
-        
-        String sql = "SELECT SemesterID FROM Semesters WHERE Code = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, semesterCode);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("SemesterID");
-                }
-            }
-        }
-        return 0;
-    }
-
-    /**
-     * Get CourseTypeID by type code
-     */
-    private int getCourseTypeIdByCode(Connection conn, String typeCode) throws SQLException {
-        if (typeCode == null || typeCode.isBlank()) {
-            return 0;
-        }
-        
-        String sql = "SELECT CourseTypeID FROM CourseTypes WHERE TypeCode = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, typeCode);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("CourseTypeID");
-                }
-            }
-        }
-        return 0;
-    }
-
-    /**
-     * Get StatusTypeID for enrollment status
-     */
-    private int getEnrollmentStatusTypeId(Connection conn, String statusCode) throws SQLException {
-        if (statusCode == null || statusCode.isBlank()) {
-            return 0;
-        }
-        
-        String sql = "SELECT StatusTypeID FROM StatusTypes WHERE EntityType = 'ENROLLMENT' AND StatusCode = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, statusCode);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("StatusTypeID");
-                }
-            }
-        }
-        return 0;
-    }
-
     /**
      * Get user by ID
      */
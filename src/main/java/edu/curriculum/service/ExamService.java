@@ -4,13 +4,22 @@ import edu.curriculum.model.Course;
 import edu.curriculum.model.Exam;
 import edu.curriculum.model.ExamGrade;
 import edu.facilities.service.DatabaseConnection;
+import edu.facilities.service.ReferenceDataCache;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Service for managing exam data using SQL Server database
@@ -18,6 +27,21 @@ import java.util.Map;
  */
 public class ExamService {
 
+    // Comments left NULL keep the comments already recorded
+    private static final String UPSERT_GRADE_SQL =
+        "INSERT INTO ExamGrades (ExamID, StudentUserID, PointsEarned, Comments, GradedDate) " +
+        "VALUES (?, ?, ?, COALESCE(?, ''), CURRENT_TIMESTAMP) " +
+        "ON CONFLICT (ExamID, StudentUserID) DO UPDATE SET PointsEarned = EXCLUDED.PointsEarned, " +
+        "Comments = COALESCE(?, ExamGrades.Comments), GradedDate = CURRENT_TIMESTAMP";
+
+    private final ReferenceDataCache referenceData = ReferenceDataCache.getInstance();
+
+    /**
+     * A grade to record: points (null clears them) and comments (null keeps the current ones)
+     */
+    public record GradeEntry(Integer pointsEarned, String comments) {
+    }
+
     /**
      * Get exams by course ID
      */
@@ -221,24 +245,28 @@ public class ExamService {
             return new ArrayList<>();
         }
 
-        List<String> studentIds = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return new ArrayList<>(getEnrolledStudentIds(conn, examIdInt));
+        }
+    }
+
+    private Set<String> getEnrolledStudentIds(Connection conn, int examId) throws SQLException {
+        Set<String> studentIds = new LinkedHashSet<>();
         String sql = "SELECT DISTINCT e.StudentUserID " +
                      "FROM Enrollments e " +
                      "INNER JOIN Exams ex ON e.CourseID = ex.CourseID " +
-                     "WHERE ex.ExamID = ? AND e.Status = 'ENROLLED'";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, examIdInt);
-            
+                     "WHERE ex.ExamID = ? AND e.StatusTypeID = ?";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, examId);
+            pstmt.setInt(2, referenceData.getStatusTypeId("ENROLLMENT", "ENROLLED"));
+
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
                     studentIds.add(String.valueOf(rs.getInt("StudentUserID")));
                 }
             }
         }
-        
         return studentIds;
     }
 
@@ -258,50 +286,197 @@ public class ExamService {
             return null;
         }
 
-        // Check if grade already exists
-        ExamGrade existingGrade = getExamGrade(examId, studentId);
-        
-        if (existingGrade != null) {
-            // Update existing grade
-            String sql = "UPDATE ExamGrades SET PointsEarned = ?, Comments = ?, GradedDate = GETDATE() " +
-                         "WHERE ExamID = ? AND StudentUserID = ?";
-            
-            try (Connection conn = DatabaseConnection.getConnection();
-                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                
-                if (pointsEarned != null) {
-                    pstmt.setInt(1, pointsEarned);
-                } else {
-                    pstmt.setNull(1, Types.INTEGER);
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UPSERT_GRADE_SQL)) {
+            setGradeParameters(pstmt, examIdInt, studentIdInt, new GradeEntry(pointsEarned, comments));
+            pstmt.executeUpdate();
+        }
+
+        return getExamGrade(examId, studentId);
+    }
+
+    /**
+     * Record or update the grades of many students at once (US 2.13), e.g. a whole class.
+     * Every row is checked first: the student must be enrolled in the exam's course and the
+     * points between 0 and the exam's total. The valid rows are then upserted as one batch in
+     * a single transaction.
+     * @param grades Grade per student ID; results come back in its iteration order
+     * @return One result per row, saying whether it was saved or why it was rejected
+     * @throws IllegalArgumentException if the exam does not exist
+     */
+    public List<GradeResult> recordExamGrades(String examId, Map<String, GradeEntry> grades) throws SQLException {
+        List<GradeResult> results = new ArrayList<>();
+        if (examId == null || examId.isBlank() || grades == null || grades.isEmpty()) {
+            return results;
+        }
+
+        int examIdInt;
+        try {
+            examIdInt = Integer.parseInt(examId);
+        } catch (NumberFormatException e) {
+            return results;
+        }
+
+        Exam exam = getExamById(examId);
+        if (exam == null) {
+            throw new IllegalArgumentException("Exam not found");
+        }
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            Set<String> enrolled = getEnrolledStudentIds(conn, examIdInt);
+
+            // Validate the whole batch before writing any of it
+            Map<Integer, GradeEntry> valid = new LinkedHashMap<>();
+            for (Map.Entry<String, GradeEntry> row : grades.entrySet()) {
+                String studentId = row.getKey() != null ? row.getKey().trim() : "";
+                GradeEntry entry = row.getValue() != null ? row.getValue() : new GradeEntry(null, null);
+                String problem = validateGrade(exam, enrolled, studentId, entry);
+                if (problem == null) {
+                    valid.put(Integer.parseInt(studentId), entry);
                 }
-                pstmt.setString(2, comments);
-                pstmt.setInt(3, examIdInt);
-                pstmt.setInt(4, studentIdInt);
-                
-                pstmt.executeUpdate();
+                results.add(new GradeResult(studentId, problem == null, problem));
             }
+            if (valid.isEmpty()) {
+                return results;
+            }
+
+            boolean originalAutoCommit = conn.getAutoCommit();
+            try (PreparedStatement pstmt = conn.prepareStatement(UPSERT_GRADE_SQL)) {
+                conn.setAutoCommit(false);
+                for (Map.Entry<Integer, GradeEntry> row : valid.entrySet()) {
+                    setGradeParameters(pstmt, examIdInt, row.getKey(), row.getValue());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+        }
+
+        System.out.println("✓ Recorded " + results.stream().filter(GradeResult::saved).count() +
+                           " of " + results.size() + " grade(s) for exam " + examId);
+        return results;
+    }
+
+    /**
+     * Record grades from a CSV file through recordExamGrades. Columns: student ID, points
+     * (empty clears them) and optionally comments; a header line is skipped, and fields may
+     * be quoted. Unreadable lines and students listed twice are reported as rejected rows.
+     * @return Results of the unreadable lines first, then of every student listed
+     * @throws IllegalArgumentException if the exam does not exist
+     */
+    public List<GradeResult> importExamGradesCsv(String examId, Path csvFile) throws SQLException, IOException {
+        List<GradeResult> rejected = new ArrayList<>();
+        Map<String, GradeEntry> grades = new LinkedHashMap<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                    line = line.substring(1); // Byte order mark written by Excel
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = splitCsvLine(line);
+                String studentId = fields.get(0).trim();
+                if (lineNumber == 1 && !studentId.chars().allMatch(Character::isDigit)) {
+                    continue; // Header
+                }
+                if (fields.size() < 2) {
+                    rejected.add(new GradeResult("Line " + lineNumber, false, "Expected student ID and points"));
+                    continue;
+                }
+
+                Integer points = null;
+                String pointsText = fields.get(1).trim();
+                if (!pointsText.isEmpty()) {
+                    try {
+                        points = Integer.parseInt(pointsText);
+                    } catch (NumberFormatException e) {
+                        rejected.add(new GradeResult("Line " + lineNumber, false, "Points are not a number: " + pointsText));
+                        continue;
+                    }
+                }
+                String comments = fields.size() > 2 ? fields.get(2) : null;
+
+                if (grades.putIfAbsent(studentId, new GradeEntry(points, comments)) != null) {
+                    rejected.add(new GradeResult("Line " + lineNumber, false,
+                                                 "Student " + studentId + " is listed more than once"));
+                }
+            }
+        }
+
+        List<GradeResult> results = new ArrayList<>(rejected);
+        results.addAll(recordExamGrades(examId, grades));
+        return results;
+    }
+
+    /**
+     * @return Why the row cannot be saved, or null if it can
+     */
+    private String validateGrade(Exam exam, Set<String> enrolled, String studentId, GradeEntry entry) {
+        try {
+            if (!enrolled.contains(String.valueOf(Integer.parseInt(studentId)))) {
+                return "Student is not enrolled in this course";
+            }
+        } catch (NumberFormatException e) {
+            return "Invalid student ID";
+        }
+        Integer points = entry.pointsEarned();
+        if (points != null && (points < 0 || points > exam.getTotalPoints())) {
+            return "Points must be between 0 and " + exam.getTotalPoints();
+        }
+        return null;
+    }
+
+    private void setGradeParameters(PreparedStatement pstmt, int examId, int studentId, GradeEntry entry) throws SQLException {
+        pstmt.setInt(1, examId);
+        pstmt.setInt(2, studentId);
+        if (entry.pointsEarned() != null) {
+            pstmt.setInt(3, entry.pointsEarned());
         } else {
-            // Insert new grade
-            String sql = "INSERT INTO ExamGrades (ExamID, StudentUserID, PointsEarned, Comments, GradedDate) " +
-                         "VALUES (?, ?, ?, ?, GETDATE())";
-            
-            try (Connection conn = DatabaseConnection.getConnection();
-                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                
-                pstmt.setInt(1, examIdInt);
-                pstmt.setInt(2, studentIdInt);
-                if (pointsEarned != null) {
-                    pstmt.setInt(3, pointsEarned);
+            pstmt.setNull(3, Types.INTEGER);
+        }
+        pstmt.setString(4, entry.comments());
+        pstmt.setString(5, entry.comments());
+    }
+
+    /**
+     * Split one CSV line; fields may be quoted, with "" for a quote inside one
+     */
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
                 } else {
-                    pstmt.setNull(3, Types.INTEGER);
+                    field.append(c);
                 }
-                pstmt.setString(4, comments);
-                
-                pstmt.executeUpdate();
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
             }
         }
-        
-        return getExamGrade(examId, studentId);
+        fields.add(field.toString());
+        return fields;
     }
 
     /**
@@ -331,7 +506,7 @@ public class ExamService {
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToExamGrade(rs, conn);
+                    return mapResultSetToExamGrade(rs, getExamById(examId));
                 }
             }
         }
@@ -354,6 +529,11 @@ public class ExamService {
         }
 
         List<ExamGrade> grades = new ArrayList<>();
+        // Every row belongs to the same exam, so it is loaded once
+        Exam exam = getExamById(examId);
+        if (exam == null) {
+            return grades;
+        }
         String sql = "SELECT ExamGradeID, ExamID, StudentUserID, PointsEarned, Comments, GradedDate " +
                      "FROM ExamGrades WHERE ExamID = ?";
         
@@ -364,10 +544,7 @@ public class ExamService {
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    ExamGrade grade = mapResultSetToExamGrade(rs, conn);
-                    if (grade != null) {
-                        grades.add(grade);
-                    }
+                    grades.add(mapResultSetToExamGrade(rs, exam));
                 }
             }
         }
@@ -414,15 +591,13 @@ public class ExamService {
     /**
      * Map ResultSet row to ExamGrade object
      */
-    private ExamGrade mapResultSetToExamGrade(ResultSet rs, Connection conn) throws SQLException {
+    private ExamGrade mapResultSetToExamGrade(ResultSet rs, Exam exam) throws SQLException {
         String gradeId = String.valueOf(rs.getInt("ExamGradeID"));
-        int examIdInt = rs.getInt("ExamID");
         int studentIdInt = rs.getInt("StudentUserID");
         Integer pointsEarned = rs.getObject("PointsEarned") != null ? rs.getInt("PointsEarned") : null;
         String comments = rs.getString("Comments");
         Timestamp gradedDateTs = rs.getTimestamp("GradedDate");
         
-        Exam exam = getExamById(String.valueOf(examIdInt));
         if (exam == null) {
             return null;
         }
@@ -0,0 +1,199 @@
+package edu.curriculum.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+
+/**
+ * Chunked file copies for course material and submission files, for uploads into the
+ * server's storage and downloads out of it. Meant to run on background workers.
+ *
+ * Plain copies use FileChannel.transferTo, so the kernel moves the bytes without copying them
+ * through the JVM heap. Copies that also hash the content (the material blob store) map each
+ * chunk of the source into memory and hand the same buffer to the digest and the target
+ * channel, so the file is still read only once.
+ *
+ * Bytes go to a partial file that is moved onto the target when complete. Cancelling the task
+ * (interrupting its thread) or an I/O error stops the copy after the current chunk and leaves
+ * the partial file; copying the same, unchanged source to the same partial file later
+ * continues where it stopped. A sidecar file next to the partial records which source
+ * (path, size and modification time) it holds, so a different or changed source starts over
+ * from the beginning instead of being appended to foreign bytes. A partial file is locked
+ * while in use, so two copies never write to the same one.
+ */
+public final class FileTransfer {
+
+    static final int CHUNK_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * Receives progress after every chunk, on the copying thread
+     */
+    @FunctionalInterface
+    public interface Progress {
+        void onProgress(long transferred, long total);
+    }
+
+    /**
+     * Thrown when another copy is already writing the partial file
+     */
+    public static class BusyException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        BusyException(Path partial) {
+            super("Another transfer is writing " + partial);
+        }
+    }
+
+    private FileTransfer() {
+    }
+
+    /**
+     * Copy a file, replacing the target, resuming an earlier interrupted copy to the same target
+     * @param progress May be null
+     * @return Size of the file
+     */
+    public static long copy(Path source, Path target, Progress progress) throws IOException {
+        return copy(source, target, partialFor(target), null, progress);
+    }
+
+    /**
+     * Copy a file through an explicit partial file, optionally hashing it
+     * @param partial Where the bytes go until the copy is complete
+     * @param digest Updated with every byte of the file, including any part copied by an
+     *               earlier attempt (may be null)
+     * @param progress May be null
+     * @return Size of the file
+     * @throws InterruptedIOException if the thread was interrupted (the task was cancelled)
+     * @throws BusyException if another copy is writing the same partial file
+     */
+    public static long copy(Path source, Path target, Path partial, MessageDigest digest, Progress progress)
+            throws IOException {
+        Path directory = partial.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        String identity = sourceIdentity(source);
+        Path sidecar = sidecarFor(partial);
+
+        long size;
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                StandardOpenOption.WRITE)) {
+            // Closing the channel releases the lock if the copy fails
+            FileLock lock = lock(out, partial);
+            size = in.size();
+            boolean resumable = Files.exists(sidecar) && identity.equals(Files.readString(sidecar));
+            long position = resumable && out.size() <= size ? out.size() : 0;
+            if (digest != null && position > 0) {
+                digestPrefix(out, position, digest);
+            }
+            out.truncate(position);
+            out.position(position);
+            if (!resumable) {
+                Files.writeString(sidecar, identity);
+            }
+            report(progress, position, size);
+
+            while (position < size) {
+                checkCancelled();
+                long chunk = Math.min(CHUNK_SIZE, size - position);
+                if (digest == null) {
+                    long copied = in.transferTo(position, chunk, out);
+                    if (copied == 0) {
+                        throw new IOException(source + " shrank while being copied");
+                    }
+                    position += copied;
+                } else {
+                    MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, position, chunk);
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    position += chunk;
+                }
+                report(progress, position, size);
+            }
+            // A cancel that arrived during the last chunk still stops the copy here, before
+            // the caller goes on to its database work
+            checkCancelled();
+            lock.release();
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(sidecar);
+        return size;
+    }
+
+    /**
+     * The partial file copy() uses for a target
+     */
+    public static Path partialFor(Path target) {
+        return target.resolveSibling(target.getFileName() + ".part");
+    }
+
+    /**
+     * Delete a partial file and the record of its source
+     */
+    public static void deletePartial(Path partial) throws IOException {
+        Files.deleteIfExists(partial);
+        Files.deleteIfExists(sidecarFor(partial));
+    }
+
+    /**
+     * Path, size and modification time of a source; a partial file is only resumed from the
+     * source with the same identity
+     */
+    static String sourceIdentity(Path source) throws IOException {
+        return source.toAbsolutePath() + "|" + Files.size(source) + "|" + Files.getLastModifiedTime(source);
+    }
+
+    private static Path sidecarFor(Path partial) {
+        return partial.resolveSibling(partial.getFileName() + ".source");
+    }
+
+    private static FileLock lock(FileChannel channel, Path partial) throws IOException {
+        try {
+            FileLock lock = channel.tryLock();
+            if (lock != null) {
+                return lock;
+            }
+        } catch (OverlappingFileLockException e) {
+            // Held by another copy in this JVM
+        }
+        throw new BusyException(partial);
+    }
+
+    private static void digestPrefix(FileChannel channel, long length, MessageDigest digest) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long position = 0;
+        while (position < length) {
+            checkCancelled();
+            buffer.clear().limit((int) Math.min(buffer.capacity(), length - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Partial file shrank while being resumed");
+            }
+            buffer.flip();
+            digest.update(buffer);
+            position += read;
+        }
+    }
+
+    private static void checkCancelled() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Transfer cancelled");
+        }
+    }
+
+    private static void report(Progress progress, long transferred, long total) {
+        if (progress != null) {
+            progress.onProgress(transferred, total);
+        }
+    }
+}
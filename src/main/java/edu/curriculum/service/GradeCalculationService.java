@@ -2,10 +2,13 @@ package edu.curriculum.service;
 
 import edu.curriculum.model.*;
 import edu.facilities.service.DatabaseConnection;
+import edu.facilities.service.ReferenceDataCache;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service for calculating final grades using weight distributions
@@ -13,10 +16,43 @@ import java.util.List;
  */
 public class GradeCalculationService {
 
-    private AssignmentService assignmentService = new AssignmentService();
-    private SubmissionService submissionService = new SubmissionService();
-    private QuizService quizService = new QuizService();
-    private ExamService examService = new ExamService();
+    private static final int ASSIGNMENTS = 0;
+    private static final int QUIZZES = 1;
+    private static final int EXAMS = 2;
+    private static final int CATEGORY_COUNT = 3;
+
+    // Per-student totals for one course; parameters are CourseID, then StudentUserID twice
+    // (NULL for the whole course), then any extra parameters
+    private static final String ASSIGNMENT_TOTALS_SQL =
+            "SELECT s.StudentUserID, SUM(s.Score) AS Earned, SUM(s.TotalPoints) AS Possible " +
+            "FROM (SELECT DISTINCT ON (sub.AssignmentID, sub.StudentUserID) " +
+            "             sub.StudentUserID, sub.Score, a.TotalPoints " +
+            "      FROM AssignmentSubmissions sub " +
+            "      INNER JOIN Assignments a ON sub.AssignmentID = a.AssignmentID " +
+            "      WHERE a.CourseID = ? AND (CAST(? AS INT) IS NULL OR sub.StudentUserID = ?) " +
+            "      ORDER BY sub.AssignmentID, sub.StudentUserID, sub.SubmittedDate DESC, sub.SubmissionID DESC) s " +
+            "WHERE s.Score IS NOT NULL " +
+            "GROUP BY s.StudentUserID";
+
+    private static final String QUIZ_TOTALS_SQL =
+            "SELECT b.StudentUserID, SUM(b.BestScore) AS Earned, SUM(b.TotalPoints) AS Possible " +
+            "FROM (SELECT qa.StudentUserID, MAX(qa.Score) AS BestScore, q.TotalPoints " +
+            "      FROM QuizAttempts qa " +
+            "      INNER JOIN Quizzes q ON qa.QuizID = q.QuizID " +
+            "      WHERE q.CourseID = ? AND (CAST(? AS INT) IS NULL OR qa.StudentUserID = ?) " +
+            "      AND qa.StatusTypeID = ? AND qa.Score IS NOT NULL " +
+            "      GROUP BY q.QuizID, q.TotalPoints, qa.StudentUserID) b " +
+            "GROUP BY b.StudentUserID";
+
+    private static final String EXAM_TOTALS_SQL =
+            "SELECT g.StudentUserID, SUM(g.PointsEarned) AS Earned, SUM(e.TotalPoints) AS Possible " +
+            "FROM ExamGrades g " +
+            "INNER JOIN Exams e ON g.ExamID = e.ExamID " +
+            "WHERE e.CourseID = ? AND (CAST(? AS INT) IS NULL OR g.StudentUserID = ?) " +
+            "AND g.PointsEarned IS NOT NULL " +
+            "GROUP BY g.StudentUserID";
+
+    private final ReferenceDataCache referenceData = ReferenceDataCache.getInstance();
 
     /**
      * Save or update grade weights for a course
@@ -119,141 +155,87 @@ public class GradeCalculationService {
             return null; // No weights configured
         }
 
-        double assignmentsAverage = calculateAssignmentsAverage(courseId, studentId);
-        double quizzesAverage = calculateQuizzesAverage(courseId, studentId);
-        double examsAverage = calculateExamsAverage(courseId, studentId);
-
-        // Check if we have at least one category with grades
-        boolean hasAssignments = !Double.isNaN(assignmentsAverage);
-        boolean hasQuizzes = !Double.isNaN(quizzesAverage);
-        boolean hasExams = !Double.isNaN(examsAverage);
-
-        if (!hasAssignments && !hasQuizzes && !hasExams) {
-            return null; // No grades available
-        }
-
-        // Calculate weighted average
-        double weightedTotal = 0.0;
-        double totalWeight = 0.0;
-
-        if (hasAssignments) {
-            weightedTotal += assignmentsAverage * weights.getAssignmentsWeight();
-            totalWeight += weights.getAssignmentsWeight();
-        }
-        if (hasQuizzes) {
-            weightedTotal += quizzesAverage * weights.getQuizzesWeight();
-            totalWeight += weights.getQuizzesWeight();
-        }
-        if (hasExams) {
-            weightedTotal += examsAverage * weights.getExamsWeight();
-            totalWeight += weights.getExamsWeight();
-        }
-
-        if (totalWeight == 0) {
+        int studentIdInt;
+        try {
+            studentIdInt = Integer.parseInt(studentId);
+        } catch (NumberFormatException e) {
             return null;
         }
 
-        // Normalize if not all categories have grades
-        return weightedTotal / totalWeight;
-    }
-
-    /**
-     * Calculate average percentage for assignments
-     */
-    private double calculateAssignmentsAverage(String courseId, String studentId) throws SQLException {
-        List<Assignment> assignments = assignmentService.getAssignmentsByCourse(courseId);
-        if (assignments.isEmpty()) {
-            return Double.NaN;
-        }
-
-        double totalPointsEarned = 0.0;
-        double totalPointsPossible = 0.0;
-        int gradedCount = 0;
-
-        for (Assignment assignment : assignments) {
-            AssignmentSubmission submission = submissionService.getSubmission(assignment.getId(), studentId);
-            if (submission != null && submission.getScore() != null) {
-                totalPointsEarned += submission.getScore();
-                totalPointsPossible += assignment.getTotalPoints();
-                gradedCount++;
-            }
-        }
-
-        if (gradedCount == 0 || totalPointsPossible == 0) {
-            return Double.NaN;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            double[] percentages = calculatePercentages(conn, Integer.parseInt(courseId),
+                                                        new int[] { studentIdInt }, weights);
+            return Double.isNaN(percentages[0]) ? null : percentages[0];
         }
-
-        return (totalPointsEarned / totalPointsPossible) * 100.0;
     }
 
     /**
-     * Calculate average percentage for quizzes (using best attempt)
+     * Weighted final percentages for a whole roster. Points earned and possible are summed
+     * per student and category by one grouped query per category, then combined in memory.
+     * Only graded items count: an assignment uses the student's latest submission, a quiz the
+     * best completed attempt. Categories without graded items are left out and the remaining
+     * weights are normalized. NaN means no grades at all.
      */
-    private double calculateQuizzesAverage(String courseId, String studentId) throws SQLException {
-        List<Quiz> quizzes = quizService.getQuizzesByCourse(courseId);
-        if (quizzes.isEmpty()) {
-            return Double.NaN;
+    private double[] calculatePercentages(Connection conn, int courseId, int[] studentIds,
+                                          CourseGradeWeights weights) throws SQLException {
+        Map<Integer, Integer> rosterIndex = new HashMap<>();
+        for (int i = 0; i < studentIds.length; i++) {
+            rosterIndex.put(studentIds[i], i);
         }
-
-        double totalPointsEarned = 0.0;
-        double totalPointsPossible = 0.0;
-        int gradedCount = 0;
-
-        for (Quiz quiz : quizzes) {
-            List<QuizAttempt> attempts = quizService.getQuizAttempts(quiz.getId(), studentId);
-            if (!attempts.isEmpty()) {
-                // Find best attempt
-                Integer bestScore = null;
-                for (QuizAttempt attempt : attempts) {
-                    if (attempt.getScore() != null && attempt.getStatus() == QuizAttemptStatus.COMPLETED) {
-                        if (bestScore == null || attempt.getScore() > bestScore) {
-                            bestScore = attempt.getScore();
-                        }
-                    }
-                }
-                
-                if (bestScore != null) {
-                    totalPointsEarned += bestScore;
-                    totalPointsPossible += quiz.getTotalPoints();
-                    gradedCount++;
+        // A single student is filtered in SQL, a roster is read for the whole course
+        Integer onlyStudent = studentIds.length == 1 ? studentIds[0] : null;
+
+        double[][] earned = new double[CATEGORY_COUNT][studentIds.length];
+        double[][] possible = new double[CATEGORY_COUNT][studentIds.length];
+        loadCategoryTotals(conn, ASSIGNMENT_TOTALS_SQL, ASSIGNMENTS, courseId, onlyStudent, rosterIndex, earned, possible);
+        loadCategoryTotals(conn, QUIZ_TOTALS_SQL, QUIZZES, courseId, onlyStudent, rosterIndex, earned, possible,
+                           referenceData.getStatusTypeId("QUIZ_ATTEMPT", "COMPLETED"));
+        loadCategoryTotals(conn, EXAM_TOTALS_SQL, EXAMS, courseId, onlyStudent, rosterIndex, earned, possible);
+
+        double[] categoryWeights = new double[CATEGORY_COUNT];
+        categoryWeights[ASSIGNMENTS] = weights.getAssignmentsWeight();
+        categoryWeights[QUIZZES] = weights.getQuizzesWeight();
+        categoryWeights[EXAMS] = weights.getExamsWeight();
+
+        double[] percentages = new double[studentIds.length];
+        for (int i = 0; i < studentIds.length; i++) {
+            double weightedTotal = 0.0;
+            double totalWeight = 0.0;
+            for (int c = 0; c < CATEGORY_COUNT; c++) {
+                if (possible[c][i] > 0) {
+                    weightedTotal += (earned[c][i] / possible[c][i]) * 100.0 * categoryWeights[c];
+                    totalWeight += categoryWeights[c];
                 }
             }
+            percentages[i] = totalWeight == 0 ? Double.NaN : weightedTotal / totalWeight;
         }
-
-        if (gradedCount == 0 || totalPointsPossible == 0) {
-            return Double.NaN;
-        }
-
-        return (totalPointsEarned / totalPointsPossible) * 100.0;
+        return percentages;
     }
 
     /**
-     * Calculate average percentage for exams
+     * Add one category's per-student point totals into the roster arrays
      */
-    private double calculateExamsAverage(String courseId, String studentId) throws SQLException {
-        List<Exam> exams = examService.getExamsByCourse(courseId);
-        if (exams.isEmpty()) {
-            return Double.NaN;
-        }
-
-        double totalPointsEarned = 0.0;
-        double totalPointsPossible = 0.0;
-        int gradedCount = 0;
-
-        for (Exam exam : exams) {
-            ExamGrade examGrade = examService.getExamGrade(exam.getId(), studentId);
-            if (examGrade != null && examGrade.getPointsEarned() != null) {
-                totalPointsEarned += examGrade.getPointsEarned();
-                totalPointsPossible += exam.getTotalPoints();
-                gradedCount++;
+    private void loadCategoryTotals(Connection conn, String sql, int category, int courseId, Integer onlyStudent,
+                                    Map<Integer, Integer> rosterIndex, double[][] earned, double[][] possible,
+                                    int... extraParams) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, courseId);
+            pstmt.setObject(2, onlyStudent, Types.INTEGER);
+            pstmt.setObject(3, onlyStudent, Types.INTEGER);
+            for (int i = 0; i < extraParams.length; i++) {
+                pstmt.setInt(4 + i, extraParams[i]);
             }
-        }
 
-        if (gradedCount == 0 || totalPointsPossible == 0) {
-            return Double.NaN;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Integer index = rosterIndex.get(rs.getInt("StudentUserID"));
+                    if (index != null) {
+                        earned[category][index] = rs.getDouble("Earned");
+                        possible[category][index] = rs.getDouble("Possible");
+                    }
+                }
+            }
         }
-
-        return (totalPointsEarned / totalPointsPossible) * 100.0;
     }
 
     /**
@@ -277,47 +259,68 @@ public class GradeCalculationService {
     }
 
     /**
-     * Get all students enrolled in a course with their calculated final grades
+     * Get all students enrolled in a course with their calculated final grades.
+     * Uses a fixed number of queries regardless of roster size and item count.
      */
     public List<StudentFinalGrade> getStudentFinalGrades(String courseId) throws SQLException {
         List<StudentFinalGrade> grades = new ArrayList<>();
+        int courseIdInt = Integer.parseInt(courseId);
+        CourseGradeWeights weights = getGradeWeights(courseId);
         
         // Get all enrollments for this course
         String sql = "SELECT e.EnrollmentID, e.StudentUserID, e.Grade, " +
                     "u.Username " +
                     "FROM Enrollments e " +
                     "INNER JOIN Users u ON e.StudentUserID = u.UserID " +
-                    "WHERE e.CourseID = ? AND e.Status = 'ENROLLED'";
+                    "WHERE e.CourseID = ? AND e.StatusTypeID = ? " +
+                    "ORDER BY u.Username";
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            int courseIdInt = Integer.parseInt(courseId);
-            pstmt.setInt(1, courseIdInt);
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    String studentId = String.valueOf(rs.getInt("StudentUserID"));
-                    String studentName = rs.getString("Username");
-                    String currentGrade = rs.getString("Grade");
-                    
-                    Double calculatedPercentage = calculateFinalGrade(courseId, studentId);
-                    String calculatedGrade = null;
-                    if (calculatedPercentage != null) {
-                        calculatedGrade = percentageToLetterGrade(calculatedPercentage);
+        List<String[]> roster = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, courseIdInt);
+                pstmt.setInt(2, referenceData.getStatusTypeId("ENROLLMENT", "ENROLLED"));
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        roster.add(new String[] {
+                                String.valueOf(rs.getInt("EnrollmentID")),
+                                String.valueOf(rs.getInt("StudentUserID")),
+                                rs.getString("Username"),
+                                rs.getString("Grade")
+                        });
                     }
-                    
-                    grades.add(new StudentFinalGrade(
-                            String.valueOf(rs.getInt("EnrollmentID")),
-                            studentId,
-                            studentName,
-                            courseId,
-                            calculatedPercentage,
-                            calculatedGrade,
-                            currentGrade
-                    ));
                 }
             }
+
+            int[] studentIds = new int[roster.size()];
+            for (int i = 0; i < studentIds.length; i++) {
+                studentIds[i] = Integer.parseInt(roster.get(i)[1]);
+            }
+            double[] percentages = null;
+            if (weights != null && studentIds.length > 0) {
+                percentages = calculatePercentages(conn, courseIdInt, studentIds, weights);
+            }
+
+            for (int i = 0; i < roster.size(); i++) {
+                String[] row = roster.get(i);
+                Double calculatedPercentage = null;
+                String calculatedGrade = null;
+                if (percentages != null && !Double.isNaN(percentages[i])) {
+                    calculatedPercentage = percentages[i];
+                    calculatedGrade = percentageToLetterGrade(calculatedPercentage);
+                }
+                
+                grades.add(new StudentFinalGrade(
+                        row[0],
+                        row[1],
+                        row[2],
+                        courseId,
+                        calculatedPercentage,
+                        calculatedGrade,
+                        row[3]
+                ));
+            }
         }
         
         return grades;
@@ -0,0 +1,10 @@
+package edu.curriculum.service;
+
+/**
+ * Outcome of one row of a bulk grade entry
+ * (ExamService.recordExamGrades, SubmissionService.gradeSubmissions)
+ * @param id The student or submission ID the row was for ("Line n" for an unreadable CSV line)
+ * @param message Why the row was rejected; null if it was saved
+ */
+public record GradeResult(String id, boolean saved, String message) {
+}
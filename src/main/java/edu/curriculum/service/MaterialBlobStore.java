@@ -0,0 +1,235 @@
+package edu.curriculum.service;
+
+import edu.facilities.service.DatabaseConnection;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Content-addressed store for uploaded course material files.
+ *
+ * Each distinct file content is stored once, named by the hex SHA-256 of its bytes in a
+ * directory sharded by the first two byte pairs (blobs/ab/cd/abcd...), so uploading the same
+ * slide deck to six sections keeps one copy and no directory grows unbounded. The hash is
+ * computed while the upload is copied in (FileTransfer), so the file is read only once, and
+ * a cancelled upload of a file resumes when the same unchanged file is uploaded again.
+ *
+ * The MaterialBlobs row of a blob counts the CourseMaterials rows referencing it (a trigger
+ * maintains the count). Placing and freeing a blob's file both happen while its row is locked
+ * in the caller's transaction, so an upload and a delete of the same content cannot race.
+ */
+public class MaterialBlobStore {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Path root;
+
+    /**
+     * @param root Directory holding the blobs; created on first upload
+     */
+    public MaterialBlobStore(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * An uploaded file copied into the store's staging area, not yet referenced
+     */
+    public record StagedBlob(String sha256, long sizeBytes, Path stagingFile) {
+    }
+
+    /**
+     * Copy a file into the staging area, hashing it on the way
+     * @param progress May be null
+     * @throws java.io.InterruptedIOException if the thread was interrupted; the bytes copied
+     *         so far are kept for the next attempt
+     */
+    public StagedBlob stage(Path source, FileTransfer.Progress progress) throws IOException {
+        Path staging = root.resolve("tmp");
+        Path stagingFile = staging.resolve(UUID.randomUUID().toString());
+
+        MessageDigest digest = sha256();
+        long size;
+        try {
+            size = FileTransfer.copy(source, stagingFile, staging.resolve(resumeKey(source) + ".part"), digest, progress);
+        } catch (FileTransfer.BusyException e) {
+            // The same file is being uploaded by another request right now; copy it separately
+            digest.reset();
+            Path partial = FileTransfer.partialFor(stagingFile);
+            try {
+                size = FileTransfer.copy(source, stagingFile, partial, digest, progress);
+            } finally {
+                FileTransfer.deletePartial(partial);
+            }
+        }
+        return new StagedBlob(HEX.formatHex(digest.digest()), size, stagingFile);
+    }
+
+    /**
+     * Name of the partial file for a source, the same for every upload of that file until it changes
+     */
+    private static String resumeKey(Path source) throws IOException {
+        String identity = FileTransfer.sourceIdentity(source);
+        return HEX.formatHex(sha256().digest(identity.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Make a staged blob permanent within the caller's transaction. Its MaterialBlobs row is
+     * created or locked, and the staged file moved into place unless the content is already
+     * stored. The caller then inserts the CourseMaterials row referencing it.
+     * If the transaction rolls back, a file placed here stays and is reused by the next
+     * upload of the same content.
+     * @param conn Connection with auto-commit off
+     * @return Path of the stored file, for CourseMaterials.FilePath
+     */
+    public Path place(Connection conn, StagedBlob blob) throws SQLException, IOException {
+        // The no-op update takes the row lock when the blob already exists
+        String sql = "INSERT INTO MaterialBlobs (Sha256, SizeBytes) VALUES (?, ?) " +
+                    "ON CONFLICT (Sha256) DO UPDATE SET SizeBytes = EXCLUDED.SizeBytes";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, blob.sha256());
+            pstmt.setLong(2, blob.sizeBytes());
+            pstmt.executeUpdate();
+        }
+
+        Path target = pathFor(blob.sha256());
+        if (Files.exists(target)) {
+            Files.deleteIfExists(blob.stagingFile());
+        } else {
+            Files.createDirectories(target.getParent());
+            Files.move(blob.stagingFile(), target, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return target;
+    }
+
+    /**
+     * Delete a staged file that was not placed (e.g. the upload failed validation)
+     */
+    public void discard(StagedBlob blob) {
+        try {
+            Files.deleteIfExists(blob.stagingFile());
+        } catch (IOException e) {
+            System.err.println("⚠ Could not delete staged upload " + blob.stagingFile() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Free a blob within the caller's transaction if no material references it any more.
+     * The file is moved aside rather than deleted, so a rollback can restore it; call
+     * Release.finish once the transaction has ended.
+     * @param conn Connection with auto-commit off, after the referencing row was deleted
+     * @return The pending release, or null if the blob is still referenced
+     */
+    public Release releaseIfUnreferenced(Connection conn, String sha256) throws SQLException, IOException {
+        String sql = "DELETE FROM MaterialBlobs WHERE Sha256 = ? AND RefCount = 0";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, sha256);
+            if (pstmt.executeUpdate() == 0) {
+                return null;
+            }
+        }
+
+        Path file = pathFor(sha256);
+        Path removed = file.resolveSibling(file.getFileName() + ".deleting");
+        if (Files.exists(file)) {
+            Files.move(file, removed, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return new Release(file, removed);
+    }
+
+    /**
+     * A blob file moved aside by releaseIfUnreferenced
+     */
+    public static final class Release {
+        private final Path file;
+        private final Path removed;
+
+        private Release(Path file, Path removed) {
+            this.file = file;
+            this.removed = removed;
+        }
+
+        /**
+         * Delete the file if the transaction committed, put it back if it rolled back
+         */
+        public void finish(boolean committed) {
+            try {
+                if (committed) {
+                    Files.deleteIfExists(removed);
+                } else if (Files.exists(removed)) {
+                    Files.move(removed, file, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                System.err.println("⚠ Could not " + (committed ? "delete " : "restore ") + removed + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Free every blob nothing references, e.g. after courses were deleted together with
+     * their materials
+     * @return Number of blobs freed
+     */
+    public int purgeUnreferenced() throws SQLException, IOException {
+        List<String> unreferenced = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT Sha256 FROM MaterialBlobs WHERE RefCount = 0")) {
+            while (rs.next()) {
+                unreferenced.add(rs.getString("Sha256"));
+            }
+        }
+
+        int freed = 0;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            try {
+                conn.setAutoCommit(false);
+                for (String sha256 : unreferenced) {
+                    Release release = null;
+                    boolean committed = false;
+                    try {
+                        release = releaseIfUnreferenced(conn, sha256);
+                        conn.commit();
+                        committed = true;
+                    } catch (SQLException | IOException e) {
+                        conn.rollback();
+                        throw e;
+                    } finally {
+                        if (release != null) {
+                            release.finish(committed);
+                            freed += committed ? 1 : 0;
+                        }
+                    }
+                }
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+        }
+        return freed;
+    }
+
+    /**
+     * Where a blob's file lives: root/ab/cd/abcd...
+     */
+    public Path pathFor(String sha256) {
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -10,7 +10,6 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -26,6 +25,8 @@ public class MaterialService {
     private static final long MAX_FILE_SIZE_BYTES = 50 * 1024 * 1024; // 50 MB
     private static final String MATERIALS_DIR = "course_materials"; // Directory to store uploaded files
 
+    private final MaterialBlobStore blobStore = new MaterialBlobStore(Paths.get(MATERIALS_DIR, "blobs"));
+
     /**
      * Upload a course material
      * US 2.5 - Supports PDF, DOCX, PPTX, Links (max 50MB)
@@ -33,6 +34,18 @@ public class MaterialService {
     public CourseMaterial uploadMaterial(String courseId, String title, String description,
                                         MaterialType materialType, File file, String linkUrl,
                                         String uploadedByUserId) throws SQLException, IllegalArgumentException, IOException {
+        return uploadMaterial(courseId, title, description, materialType, file, linkUrl, uploadedByUserId, null);
+    }
+
+    /**
+     * Upload a course material, reporting the file copy's progress. Run it on a background
+     * worker; cancelling the task stops the copy, and uploading the same file again resumes it.
+     * @param progress Called from the copying thread (may be null)
+     */
+    public CourseMaterial uploadMaterial(String courseId, String title, String description,
+                                        MaterialType materialType, File file, String linkUrl,
+                                        String uploadedByUserId, FileTransfer.Progress progress)
+            throws SQLException, IllegalArgumentException, IOException {
         if (courseId == null || courseId.isBlank() || title == null || title.isBlank()) {
             throw new IllegalArgumentException("Course ID and Title are required");
         }
@@ -45,6 +58,7 @@ public class MaterialService {
         String filePath = null;
         long fileSize = 0;
         String fileName = null;
+        MaterialBlobStore.StagedBlob blob = null;
 
         if (materialType == MaterialType.LINK) {
             if (linkUrl == null || linkUrl.isBlank()) {
@@ -72,77 +86,65 @@ public class MaterialService {
                     formatFileSize(fileSize));
             }
 
-            // Create materials directory if it doesn't exist
-            Path materialsPath = Paths.get(MATERIALS_DIR);
-            if (!Files.exists(materialsPath)) {
-                Files.createDirectories(materialsPath);
-            }
-
-            // Generate unique filename
-            String uniqueFileName = System.currentTimeMillis() + "_" + file.getName();
-            Path targetPath = materialsPath.resolve(uniqueFileName);
-
-            // Copy file to materials directory
-            Files.copy(file.toPath(), targetPath, StandardCopyOption.REPLACE_EXISTING);
-
-            filePath = targetPath.toString();
+            // Copy into the blob store, hashing on the way; identical content is kept once
+            blob = blobStore.stage(file.toPath(), progress);
+            fileSize = blob.sizeBytes();
             fileName = file.getName();
         }
 
         // Insert into database
-        Connection conn = DatabaseConnection.getConnection();
-        boolean originalAutoCommit = conn.getAutoCommit();
-
-        try {
-            conn.setAutoCommit(false);
-
-            String sql = "INSERT INTO CourseMaterials (CourseID, Title, Description, MaterialType, " +
-                        "FileName, FilePath, FileSizeBytes, UploadDate, UploadedByUserID) " +
-                        "VALUES (?, ?, ?, ?, ?, ?, ?, GETDATE(), ?)";
-
-            int materialId;
-            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-                pstmt.setInt(1, Integer.parseInt(courseId));
-                pstmt.setString(2, title);
-                pstmt.setString(3, description);
-                pstmt.setString(4, materialType.toString());
-                pstmt.setString(5, fileName);
-                pstmt.setString(6, filePath);
-                pstmt.setLong(7, fileSize);
-                pstmt.setInt(8, Integer.parseInt(uploadedByUserId));
-
-                int rowsAffected = pstmt.executeUpdate();
-                if (rowsAffected > 0) {
-                    try (ResultSet keys = pstmt.getGeneratedKeys()) {
-                        if (keys.next()) {
-                            materialId = keys.getInt(1);
-                        } else {
-                            conn.rollback();
-                            throw new SQLException("Failed to get generated material ID");
-                        }
-                    }
-                } else {
-                    conn.rollback();
-                    throw new SQLException("Failed to insert material");
+        String materialId;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            try {
+                conn.setAutoCommit(false);
+                if (blob != null) {
+                    filePath = blobStore.place(conn, blob).toString();
                 }
+                materialId = insertMaterial(conn, courseId, title, description, materialType,
+                                            fileName, filePath, fileSize, blob, uploadedByUserId);
+                conn.commit();
+            } catch (SQLException | IOException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+        } finally {
+            if (blob != null) {
+                blobStore.discard(blob);  // No-op once placed
             }
+        }
+        return getMaterialById(materialId);
+    }
 
-            conn.commit();
-            return getMaterialById(String.valueOf(materialId));
-
-        } catch (SQLException e) {
-            conn.rollback();
-            // Clean up uploaded file if database insert failed
-            if (filePath != null && !materialType.equals(MaterialType.LINK)) {
-                try {
-                    Files.deleteIfExists(Paths.get(filePath));
-                } catch (Exception ex) {
-                    System.err.println("Failed to delete uploaded file: " + ex.getMessage());
+    private String insertMaterial(Connection conn, String courseId, String title, String description,
+                                  MaterialType materialType, String fileName, String filePath, long fileSize,
+                                  MaterialBlobStore.StagedBlob blob, String uploadedByUserId) throws SQLException {
+        String sql = "INSERT INTO CourseMaterials (CourseID, Title, Description, MaterialType, " +
+                    "FileName, FilePath, FileSizeBytes, BlobSha256, UploadDate, UploadedByUserID) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, ?)";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            pstmt.setInt(1, Integer.parseInt(courseId));
+            pstmt.setString(2, title);
+            pstmt.setString(3, description);
+            pstmt.setString(4, materialType.toString());
+            pstmt.setString(5, fileName);
+            pstmt.setString(6, filePath);
+            pstmt.setLong(7, fileSize);
+            pstmt.setString(8, blob != null ? blob.sha256() : null);
+            pstmt.setInt(9, Integer.parseInt(uploadedByUserId));
+
+            if (pstmt.executeUpdate() == 0) {
+                throw new SQLException("Failed to insert material");
+            }
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    return String.valueOf(keys.getInt(1));
                 }
+                throw new SQLException("Failed to get generated material ID");
             }
-            throw e;
-        } finally {
-            conn.setAutoCommit(originalAutoCommit);
         }
     }
 
@@ -265,7 +267,8 @@ public class MaterialService {
     }
 
     /**
-     * Delete a material
+     * Delete a material. Its file is removed with it unless another material still
+     * references the same stored content.
      */
     public boolean deleteMaterial(String materialId) throws SQLException {
         if (materialId == null || materialId.isBlank()) {
@@ -279,24 +282,74 @@ public class MaterialService {
             return false;
         }
 
-        // Get material to delete associated file
-        CourseMaterial material = getMaterialById(materialId);
-        if (material != null && !material.isLink()) {
+        String sql = "DELETE FROM CourseMaterials WHERE MaterialID = ? " +
+                    "RETURNING MaterialType, FilePath, BlobSha256";
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            MaterialBlobStore.Release release = null;
+            boolean committed = false;
             try {
-                Files.deleteIfExists(Paths.get(material.getFilePath()));
-            } catch (Exception e) {
-                System.err.println("Failed to delete file: " + e.getMessage());
+                conn.setAutoCommit(false);
+                String legacyFilePath = null;
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setInt(1, materialIdInt);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        if (!rs.next()) {
+                            conn.rollback();
+                            return false;
+                        }
+                        String blobSha256 = rs.getString("BlobSha256");
+                        if (blobSha256 != null) {
+                            release = blobStore.releaseIfUnreferenced(conn, blobSha256);
+                        } else if (!MaterialType.LINK.name().equals(rs.getString("MaterialType"))) {
+                            // Uploaded before the blob store; the file belongs to this material alone
+                            legacyFilePath = rs.getString("FilePath");
+                        }
+                    }
+                }
+                conn.commit();
+                committed = true;
+
+                if (legacyFilePath != null) {
+                    try {
+                        Files.deleteIfExists(Paths.get(legacyFilePath));
+                    } catch (Exception e) {
+                        System.err.println("Failed to delete file: " + e.getMessage());
+                    }
+                }
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } catch (IOException e) {
+                conn.rollback();
+                throw new SQLException("Failed to release material file: " + e.getMessage(), e);
+            } finally {
+                if (release != null) {
+                    release.finish(committed);
+                }
+                conn.setAutoCommit(originalAutoCommit);
             }
         }
+    }
 
-        String sql = "DELETE FROM CourseMaterials WHERE MaterialID = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, materialIdInt);
-            return pstmt.executeUpdate() > 0;
+    /**
+     * Copy a material's file out of the store, e.g. to a location the student chose.
+     * Run it on a background worker; cancelling the task stops the copy, and downloading to
+     * the same target again resumes it.
+     * @param progress Called from the copying thread (may be null)
+     * @throws IllegalArgumentException if the material is a link or its file is missing
+     */
+    public void downloadMaterial(CourseMaterial material, Path target, FileTransfer.Progress progress) throws IOException {
+        if (material == null || material.isLink()) {
+            throw new IllegalArgumentException("Only file materials can be downloaded");
+        }
+        Path source = Paths.get(material.getFilePath());
+        if (!Files.exists(source)) {
+            throw new IllegalArgumentException("The material file could not be found on the server.");
         }
+        FileTransfer.copy(source, target, progress);
     }
 
     // Helper methods
@@ -5,17 +5,49 @@ import edu.curriculum.model.AssignmentSubmission;
 import edu.curriculum.model.SubmissionStatus;
 import edu.facilities.model.Student;
 import edu.facilities.service.DatabaseConnection;
+import edu.facilities.service.ReferenceDataCache;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Service for managing assignment submission data using SQL Server database
  */
 public class SubmissionService {
 
+    private static final String SUBMISSIONS_DIR = "assignment_submissions"; // Directory to store submitted files
+    private static final String SUBMISSION_SELECT =
+        "SELECT SubmissionID, AssignmentID, StudentUserID, SubmissionText, FileName, FilePath, " +
+        "SubmittedDate, Score, Feedback, StatusTypeID, GradedDate FROM AssignmentSubmissions ";
+
+    // Submissions with their student, for loaders that already have the assignments
+    private static final String SUBMISSION_WITH_STUDENT_SELECT =
+        "SELECT s.SubmissionID, s.AssignmentID, s.StudentUserID, s.SubmissionText, s.FileName, s.FilePath, " +
+        "s.SubmittedDate, s.Score, s.Feedback, s.StatusTypeID, s.GradedDate, u.USERNAME " +
+        "FROM AssignmentSubmissions s " +
+        "INNER JOIN Assignments a ON a.AssignmentID = s.AssignmentID " +
+        "INNER JOIN Users u ON u.UserID = s.StudentUserID " +
+        "INNER JOIN UserRoles ur ON u.UserID = ur.UserID AND ur.IsPrimary = true " +
+        "INNER JOIN UserTypes ut ON ur.UserTypeID = ut.UserTypeID AND ut.TypeCode = 'STUDENT' ";
+
+    private final ReferenceDataCache referenceData = ReferenceDataCache.getInstance();
+
+    /**
+     * A grade to give a submission
+     */
+    public record SubmissionGrade(String submissionId, int score, String feedback) {
+    }
+
     /**
      * Submit an assignment
      * US 2.8 - Validates deadline and allows late submissions if configured
@@ -29,6 +61,35 @@ public class SubmissionService {
      */
     public AssignmentSubmission submitAssignment(String assignmentId, String studentId,
                                                   String submissionText, String fileName) throws SQLException {
+        try {
+            return submit(assignmentId, studentId, submissionText, fileName, null, null);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);  // Unreachable: no file is copied
+        }
+    }
+
+    /**
+     * Submit an assignment with a file, which is copied into the submission store
+     * (assignment_submissions/assignment/student/) under a name of its own, replacing a
+     * previously submitted one once the submission row points at the new file.
+     * Run it on a background worker; cancelling the task stops the copy, and submitting the
+     * same file again resumes it.
+     * @param file The submitted file
+     * @param progress Called from the copying thread (may be null)
+     * @throws IOException if the file cannot be copied
+     */
+    public AssignmentSubmission submitAssignment(String assignmentId, String studentId, String submissionText,
+                                                  File file, FileTransfer.Progress progress)
+            throws SQLException, IOException {
+        if (file == null || !file.isFile()) {
+            throw new IllegalArgumentException("File not found");
+        }
+        return submit(assignmentId, studentId, submissionText, file.getName(), file, progress);
+    }
+
+    private AssignmentSubmission submit(String assignmentId, String studentId, String submissionText,
+                                        String fileName, File file, FileTransfer.Progress progress)
+            throws SQLException, IOException {
         if (assignmentId == null || assignmentId.isBlank() || studentId == null || studentId.isBlank()) {
             return null;
         }
@@ -62,8 +123,34 @@ public class SubmissionService {
             }
         }
 
+        // Copy the file only once the submission is known to be accepted
+        String filePath = "";
+        if (file != null) {
+            filePath = storeSubmissionFile(assignmentIdInt, studentIdInt, file, progress).toString();
+        }
+
+        AssignmentSubmission saved = null;
+        try {
+            saved = saveSubmission(assignmentId, studentId, assignmentIdInt, studentIdInt, submissionText,
+                                   fileName, filePath, isLate);
+        } finally {
+            // No row references the copied file if saving failed
+            if (saved == null && !filePath.isEmpty()) {
+                deleteStoredFile(filePath);
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Insert the submission row, or update the existing one and then delete the file it replaced
+     * @param filePath Stored file, or empty if none was submitted
+     */
+    private AssignmentSubmission saveSubmission(String assignmentId, String studentId, int assignmentIdInt,
+                                                int studentIdInt, String submissionText, String fileName,
+                                                String filePath, boolean isLate) throws SQLException {
         // Check if already submitted
-        String checkSql = "SELECT SubmissionID FROM AssignmentSubmissions WHERE AssignmentID = ? AND StudentUserID = ?";
+        String checkSql = "SELECT SubmissionID, FilePath FROM AssignmentSubmissions WHERE AssignmentID = ? AND StudentUserID = ?";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement checkStmt = conn.prepareStatement(checkSql)) {
             
@@ -73,18 +160,25 @@ public class SubmissionService {
             try (ResultSet rs = checkStmt.executeQuery()) {
                 if (rs.next()) {
                     System.out.println("Student " + studentId + " has already submitted assignment " + assignmentId);
+                    String previousFilePath = rs.getString("FilePath");
                     // Update existing submission
-                    return updateSubmission(assignmentId, studentId, submissionText, fileName, isLate);
+                    AssignmentSubmission updated = updateSubmission(assignmentId, studentId, submissionText,
+                                                                    fileName, filePath, isLate);
+                    if (updated != null && !filePath.isEmpty()) {
+                        deleteReplacedFile(previousFilePath, filePath);
+                    }
+                    return updated;
                 }
             }
         }
 
-        // US 2.8 - Status should be "SUBMITTED" (changed from PENDING when student submits)
-        String status = isLate ? "SUBMITTED_LATE" : "SUBMITTED";
+        // US 2.8 - Status should be "SUBMITTED" (changed from PENDING when student submits);
+        // lateness is recorded by SubmittedDate being after the due date
+        int statusTypeId = referenceData.getStatusTypeId("SUBMISSION", "SUBMITTED");
         
         // Create new submission
-        String sql = "INSERT INTO AssignmentSubmissions (AssignmentID, StudentUserID, SubmissionText, FileName, SubmittedDate, Status) " +
-                     "VALUES (?, ?, ?, ?, GETDATE(), ?)";
+        String sql = "INSERT INTO AssignmentSubmissions (AssignmentID, StudentUserID, SubmissionText, FileName, FilePath, SubmittedDate, StatusTypeID) " +
+                     "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP, ?)";
         
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
@@ -92,8 +186,9 @@ public class SubmissionService {
             pstmt.setInt(1, assignmentIdInt);
             pstmt.setInt(2, studentIdInt);
             pstmt.setString(3, submissionText);
-            pstmt.setString(4, fileName);
-            pstmt.setString(5, status);
+            pstmt.setString(4, fileName != null ? fileName : "");
+            pstmt.setString(5, filePath);
+            pstmt.setInt(6, statusTypeId);
             
             int rowsAffected = pstmt.executeUpdate();
             
@@ -113,24 +208,28 @@ public class SubmissionService {
 
     /**
      * Update existing submission
+     * @param filePath Stored file, or empty to keep the one submitted before
      */
-    private AssignmentSubmission updateSubmission(String assignmentId, String studentId,
-                                                  String submissionText, String fileName, boolean isLate) throws SQLException {
+    private AssignmentSubmission updateSubmission(String assignmentId, String studentId, String submissionText,
+                                                  String fileName, String filePath, boolean isLate) throws SQLException {
         int assignmentIdInt = Integer.parseInt(assignmentId);
         int studentIdInt = Integer.parseInt(studentId);
 
-        String status = isLate ? "SUBMITTED_LATE" : "SUBMITTED";
-        String sql = "UPDATE AssignmentSubmissions SET SubmissionText = ?, FileName = ?, SubmittedDate = GETDATE(), Status = ? " +
+        String sql = "UPDATE AssignmentSubmissions SET SubmissionText = ?, FileName = ?, " +
+                     "FilePath = CASE WHEN ? = '' THEN FilePath ELSE ? END, " +
+                     "SubmittedDate = CURRENT_TIMESTAMP, StatusTypeID = ? " +
                      "WHERE AssignmentID = ? AND StudentUserID = ?";
         
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, submissionText);
-            pstmt.setString(2, fileName);
-            pstmt.setString(3, status);
-            pstmt.setInt(4, assignmentIdInt);
-            pstmt.setInt(5, studentIdInt);
+            pstmt.setString(2, fileName != null ? fileName : "");
+            pstmt.setString(3, filePath);
+            pstmt.setString(4, filePath);
+            pstmt.setInt(5, referenceData.getStatusTypeId("SUBMISSION", "SUBMITTED"));
+            pstmt.setInt(6, assignmentIdInt);
+            pstmt.setInt(7, studentIdInt);
             
             int rowsAffected = pstmt.executeUpdate();
             
@@ -164,9 +263,7 @@ public class SubmissionService {
             return null;
         }
 
-        String sql = "SELECT SubmissionID, AssignmentID, StudentUserID, SubmissionText, FileName, " +
-                     "SubmittedDate, Score, Feedback, Status, GradedDate " +
-                     "FROM AssignmentSubmissions WHERE AssignmentID = ? AND StudentUserID = ?";
+        String sql = SUBMISSION_SELECT + "WHERE AssignmentID = ? AND StudentUserID = ?";
         
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -201,27 +298,75 @@ public class SubmissionService {
             return new ArrayList<>();
         }
 
+        // Every row belongs to the same assignment, so it is loaded once
+        Assignment assignment = getAssignmentById(assignmentIdInt);
+        if (assignment == null) {
+            return new ArrayList<>();
+        }
+
+        String sql = SUBMISSION_WITH_STUDENT_SELECT + "WHERE s.AssignmentID = ? ORDER BY s.SubmittedDate";
+        List<AssignmentSubmission> submissions =
+            loadSubmissions(sql, assignmentIdInt, Map.of(assignmentIdInt, assignment));
+
+        System.out.println("Retrieved " + submissions.size() + " submissions for assignment " + assignmentId);
+        return submissions;
+    }
+
+    /**
+     * Get all submissions to every assignment of a course in one query, e.g. for the gradebook
+     * @param courseId The course ID
+     * @return Submissions ordered by assignment due date, then submission date
+     * @throws SQLException if database error occurs
+     */
+    public List<AssignmentSubmission> getSubmissionsByCourse(String courseId) throws SQLException {
+        if (courseId == null || courseId.isBlank()) {
+            return new ArrayList<>();
+        }
+
+        int courseIdInt;
+        try {
+            courseIdInt = Integer.parseInt(courseId);
+        } catch (NumberFormatException e) {
+            return new ArrayList<>();
+        }
+
+        Map<Integer, Assignment> assignments = new HashMap<>();
+        for (Assignment assignment : new AssignmentService().getAssignmentsByCourse(courseId)) {
+            assignments.put(Integer.parseInt(assignment.getId()), assignment);
+        }
+        if (assignments.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String sql = SUBMISSION_WITH_STUDENT_SELECT + "WHERE a.CourseID = ? ORDER BY a.DueDate, s.AssignmentID, s.SubmittedDate";
+        List<AssignmentSubmission> submissions = loadSubmissions(sql, courseIdInt, assignments);
+
+        System.out.println("Retrieved " + submissions.size() + " submissions for course " + courseId);
+        return submissions;
+    }
+
+    /**
+     * Run a SUBMISSION_WITH_STUDENT_SELECT query with one integer parameter
+     * @param assignments The assignments the rows can belong to, by ID; other rows are skipped
+     */
+    private List<AssignmentSubmission> loadSubmissions(String sql, int parameter, Map<Integer, Assignment> assignments)
+            throws SQLException {
         List<AssignmentSubmission> submissions = new ArrayList<>();
-        String sql = "SELECT SubmissionID, AssignmentID, StudentUserID, SubmissionText, FileName, " +
-                     "SubmittedDate, Score, Feedback, Status, GradedDate " +
-                     "FROM AssignmentSubmissions WHERE AssignmentID = ? ORDER BY SubmittedDate";
-        
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, assignmentIdInt);
-            
+
+            pstmt.setInt(1, parameter);
+
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    AssignmentSubmission submission = mapResultSetToSubmission(rs, conn);
-                    if (submission != null) {
-                        submissions.add(submission);
+                    Assignment assignment = assignments.get(rs.getInt("AssignmentID"));
+                    if (assignment != null) {
+                        Student student = new Student(String.valueOf(rs.getInt("StudentUserID")), rs.getString("USERNAME"), null);
+                        submissions.add(mapResultSetToSubmission(rs, assignment, student));
                     }
                 }
             }
         }
-        
-        System.out.println("Retrieved " + submissions.size() + " submissions for assignment " + assignmentId);
         return submissions;
     }
 
@@ -245,15 +390,16 @@ public class SubmissionService {
             return false;
         }
 
-        String sql = "UPDATE AssignmentSubmissions SET Score = ?, Feedback = ?, Status = 'GRADED', GradedDate = GETDATE() " +
+        String sql = "UPDATE AssignmentSubmissions SET Score = ?, Feedback = ?, StatusTypeID = ?, GradedDate = CURRENT_TIMESTAMP " +
                      "WHERE SubmissionID = ?";
         
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, score);
-            pstmt.setString(2, feedback);
-            pstmt.setInt(3, submissionIdInt);
+            pstmt.setString(2, feedback != null ? feedback : "");
+            pstmt.setInt(3, referenceData.getStatusTypeId("SUBMISSION", "GRADED"));
+            pstmt.setInt(4, submissionIdInt);
             
             int rowsAffected = pstmt.executeUpdate();
             
@@ -266,6 +412,92 @@ public class SubmissionService {
         return false;
     }
 
+    /**
+     * Grade many submissions at once, e.g. a whole class of an assignment. Every grade is
+     * checked first (the submission must exist and the score lie between 0 and its
+     * assignment's total points); the valid ones are then updated together, in one transaction.
+     * @param grades Grades in any order; a submission graded twice gets the later grade
+     * @return One result per grade, in the same order
+     * @throws SQLException if database error occurs
+     */
+    public List<GradeResult> gradeSubmissions(List<SubmissionGrade> grades) throws SQLException {
+        List<GradeResult> results = new ArrayList<>();
+        if (grades == null || grades.isEmpty()) {
+            return results;
+        }
+
+        Map<Integer, Integer> ids = new HashMap<>();  // Position in grades -> SubmissionID
+        for (int i = 0; i < grades.size(); i++) {
+            try {
+                ids.put(i, Integer.parseInt(grades.get(i).submissionId()));
+            } catch (NumberFormatException | NullPointerException e) {
+                // Reported as invalid below
+            }
+        }
+
+        String totalsSql = "SELECT s.SubmissionID, a.TotalPoints FROM AssignmentSubmissions s " +
+                          "INNER JOIN Assignments a ON a.AssignmentID = s.AssignmentID " +
+                          "WHERE s.SubmissionID = ANY(?)";
+        String updateSql = "UPDATE AssignmentSubmissions SET Score = ?, Feedback = ?, StatusTypeID = ?, " +
+                          "GradedDate = CURRENT_TIMESTAMP WHERE SubmissionID = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            Map<Integer, Integer> totalPoints = new HashMap<>();
+            if (!ids.isEmpty()) {
+                try (PreparedStatement pstmt = conn.prepareStatement(totalsSql)) {
+                    pstmt.setArray(1, conn.createArrayOf("integer", ids.values().stream().distinct().toArray()));
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            totalPoints.put(rs.getInt("SubmissionID"), rs.getInt("TotalPoints"));
+                        }
+                    }
+                }
+            }
+
+            int gradedStatusId = referenceData.getStatusTypeId("SUBMISSION", "GRADED");
+            int batched = 0;
+            boolean originalAutoCommit = conn.getAutoCommit();
+            try (PreparedStatement pstmt = conn.prepareStatement(updateSql)) {
+                conn.setAutoCommit(false);
+                for (int i = 0; i < grades.size(); i++) {
+                    SubmissionGrade grade = grades.get(i);
+                    Integer submissionId = ids.get(i);
+                    Integer maxPoints = submissionId != null ? totalPoints.get(submissionId) : null;
+                    String problem = null;
+                    if (submissionId == null) {
+                        problem = "Invalid submission ID";
+                    } else if (maxPoints == null) {
+                        problem = "Submission not found";
+                    } else if (grade.score() < 0 || grade.score() > maxPoints) {
+                        problem = "Score must be between 0 and " + maxPoints;
+                    }
+                    results.add(new GradeResult(grade.submissionId(), problem == null, problem));
+                    if (problem != null) {
+                        continue;
+                    }
+
+                    pstmt.setInt(1, grade.score());
+                    pstmt.setString(2, grade.feedback() != null ? grade.feedback() : "");
+                    pstmt.setInt(3, gradedStatusId);
+                    pstmt.setInt(4, submissionId);
+                    pstmt.addBatch();
+                    batched++;
+                }
+                if (batched > 0) {
+                    pstmt.executeBatch();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+            System.out.println("Graded " + batched + " of " + grades.size() + " submission(s)");
+        }
+        return results;
+    }
+
     /**
      * Get all submissions for a student
      * @param studentId The student user ID
@@ -285,9 +517,7 @@ public class SubmissionService {
         }
 
         List<AssignmentSubmission> submissions = new ArrayList<>();
-        String sql = "SELECT SubmissionID, AssignmentID, StudentUserID, SubmissionText, FileName, " +
-                     "SubmittedDate, Score, Feedback, Status, GradedDate " +
-                     "FROM AssignmentSubmissions WHERE StudentUserID = ? ORDER BY SubmittedDate DESC";
+        String sql = SUBMISSION_SELECT + "WHERE StudentUserID = ? ORDER BY SubmittedDate DESC";
         
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -312,17 +542,9 @@ public class SubmissionService {
      * Map ResultSet row to AssignmentSubmission object
      */
     private AssignmentSubmission mapResultSetToSubmission(ResultSet rs, Connection conn) throws SQLException {
-        String submissionId = String.valueOf(rs.getInt("SubmissionID"));
         int assignmentIdInt = rs.getInt("AssignmentID");
         int studentIdInt = rs.getInt("StudentUserID");
-        String submissionText = rs.getString("SubmissionText");
-        String fileName = rs.getString("FileName");
-        Timestamp submittedDateTs = rs.getTimestamp("SubmittedDate");
-        Integer score = rs.getObject("Score", Integer.class);
-        String feedback = rs.getString("Feedback");
-        String statusStr = rs.getString("Status");
-        Timestamp gradedDateTs = rs.getTimestamp("GradedDate");
-        
+
         Assignment assignment = getAssignmentById(conn, assignmentIdInt);
         if (assignment == null) {
             return null;
@@ -332,7 +554,24 @@ public class SubmissionService {
         if (student == null) {
             return null;
         }
-        
+
+        return mapResultSetToSubmission(rs, assignment, student);
+    }
+
+    /**
+     * Map ResultSet row to AssignmentSubmission object, with its assignment and student already known
+     */
+    private AssignmentSubmission mapResultSetToSubmission(ResultSet rs, Assignment assignment, Student student)
+            throws SQLException {
+        String submissionId = String.valueOf(rs.getInt("SubmissionID"));
+        String submissionText = rs.getString("SubmissionText");
+        String fileName = rs.getString("FileName");
+        Timestamp submittedDateTs = rs.getTimestamp("SubmittedDate");
+        Integer score = rs.getObject("Score", Integer.class);
+        String feedback = rs.getString("Feedback");
+        String statusStr = referenceData.getStatusCode(rs.getInt("StatusTypeID"));
+        Timestamp gradedDateTs = rs.getTimestamp("GradedDate");
+
         LocalDateTime submittedDate = null;
         if (submittedDateTs != null) {
             submittedDate = submittedDateTs.toLocalDateTime();
@@ -345,8 +584,54 @@ public class SubmissionService {
         
         SubmissionStatus status = stringToSubmissionStatus(statusStr);
         
-        return new AssignmentSubmission(submissionId, assignment, student, submissionText, fileName,
-                                       submittedDate, score, feedback, status, gradedDate);
+        AssignmentSubmission submission = new AssignmentSubmission(submissionId, assignment, student, submissionText,
+                                                                   fileName, submittedDate, score, feedback, status, gradedDate);
+        submission.setFilePath(rs.getString("FilePath"));
+        return submission;
+    }
+
+    /**
+     * Copy a submitted file to assignment_submissions/assignment/student/, named with a random
+     * prefix so a resubmission never overwrites the file the current row still points at.
+     * The partial file is named after the submitted file, so submitting it again resumes.
+     */
+    private Path storeSubmissionFile(int assignmentId, int studentId, File file,
+                                     FileTransfer.Progress progress) throws IOException {
+        String safeName = file.getName().replaceAll("[^A-Za-z0-9._-]", "_");
+        Path directory = Paths.get(SUBMISSIONS_DIR, String.valueOf(assignmentId), String.valueOf(studentId));
+        Path target = directory.resolve(UUID.randomUUID() + "_" + safeName);
+        FileTransfer.copy(file.toPath(), target, directory.resolve(safeName + ".part"), null, progress);
+        return target;
+    }
+
+    private void deleteReplacedFile(String previousFilePath, String filePath) {
+        if (previousFilePath == null || previousFilePath.isBlank() || previousFilePath.equals(filePath)) {
+            return;
+        }
+        deleteStoredFile(previousFilePath);
+    }
+
+    private void deleteStoredFile(String filePath) {
+        try {
+            Files.deleteIfExists(Paths.get(filePath));
+        } catch (IOException e) {
+            System.err.println("Failed to delete submission file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Copy a submission's stored file out of the submission store, e.g. for grading.
+     * Run it on a background worker; cancelling the task stops the copy, and downloading to
+     * the same target again resumes it.
+     * @param progress Called from the copying thread (may be null)
+     * @throws IllegalArgumentException if the submission has no stored file
+     */
+    public void downloadSubmissionFile(AssignmentSubmission submission, Path target,
+                                       FileTransfer.Progress progress) throws IOException {
+        if (submission == null || !submission.hasFile()) {
+            throw new IllegalArgumentException("This submission has no file");
+        }
+        FileTransfer.copy(Paths.get(submission.getFilePath()), target, progress);
     }
 
     /**
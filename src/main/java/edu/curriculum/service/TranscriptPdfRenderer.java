@@ -0,0 +1,280 @@
+package edu.curriculum.service;
+
+import edu.curriculum.model.AcademicTotals;
+import edu.curriculum.model.TranscriptEntry;
+import edu.facilities.model.User;
+import edu.facilities.service.DatabaseConnection;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.multipdf.LayerUtility;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Renders official transcripts as PDF files with Apache PDFBox, from the same data the
+ * transcript screen shows (TranscriptViewService entries and the GPA/credit ledger).
+ *
+ * The optional letterhead template (transcript.template, a PDF whose first page is drawn
+ * behind every page) and font (transcript.font, a TrueType file for names outside Latin-1;
+ * Helvetica otherwise) are read from disk once. Fonts are loaded once per rendering thread
+ * and reused for every document it renders, since PDFBox font objects are not thread-safe;
+ * a TrueType font is then only subset and embedded per document.
+ *
+ * Page content is buffered in temporary files rather than the heap while a document is
+ * built, and the document is written straight to a temporary file next to the target that
+ * is then moved into place, so a half-written transcript never appears under its final name.
+ * Safe for concurrent use; each call builds its own document.
+ */
+public class TranscriptPdfRenderer {
+
+    private static final PDRectangle PAGE_SIZE = PDRectangle.LETTER;
+    private static final float MARGIN = 50;
+    private static final float TOP = PAGE_SIZE.getHeight() - MARGIN;
+    private static final float BOTTOM = MARGIN + 30;
+    private static final float ROW_HEIGHT = 14;
+    private static final float TEXT_SIZE = 10;
+
+    // Column x positions: semester, code, course name, credits, grade
+    private static final float[] COLUMNS = { MARGIN, MARGIN + 90, MARGIN + 170, MARGIN + 420, MARGIN + 470 };
+    private static final float NAME_WIDTH = COLUMNS[3] - COLUMNS[2] - 10;
+
+    private final TranscriptViewService transcriptViewService = new TranscriptViewService();
+    private final byte[] template;
+    private final byte[] fontProgram;
+    private final ThreadLocal<Fonts> fonts = ThreadLocal.withInitial(this::loadFonts);
+
+    public TranscriptPdfRenderer() throws IOException {
+        this.template = readOptional(DatabaseConnection.getConfigValue("transcript.template", "TRANSCRIPT_TEMPLATE", ""));
+        this.fontProgram = readOptional(DatabaseConnection.getConfigValue("transcript.font", "TRANSCRIPT_FONT", ""));
+    }
+
+    private static byte[] readOptional(String path) throws IOException {
+        return path.isBlank() ? null : Files.readAllBytes(Path.of(path));
+    }
+
+    /**
+     * Fonts of one rendering thread: the parsed TrueType font, or the Helvetica pair
+     */
+    private record Fonts(TrueTypeFont trueType, PDFont regular, PDFont bold) {
+    }
+
+    private Fonts loadFonts() {
+        if (fontProgram == null) {
+            return new Fonts(null, new PDType1Font(Standard14Fonts.FontName.HELVETICA),
+                             new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD));
+        }
+        try {
+            return new Fonts(new TTFParser().parse(new RandomAccessReadBuffer(fontProgram)), null, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read transcript font", e);
+        }
+    }
+
+    /**
+     * Render a student's transcript to a file
+     * @param student The student
+     * @param reference Printed in the footer (e.g. the request number), or null
+     * @param target File to write; its directory is created if needed and an existing file is replaced
+     * @return Number of pages written
+     */
+    public int render(User student, String reference, Path target) throws SQLException, IOException {
+        List<TranscriptEntry> entries = transcriptViewService.getTranscriptEntries(student);
+        AcademicTotals totals = transcriptViewService.getAcademicTotals(student);
+
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        // Not Files.createTempFile: its owner-only permissions would carry over to the transcript
+        Path partial = directory.resolve(target.getFileName() + "." + UUID.randomUUID() + ".part");
+        try (PDDocument document = new PDDocument(IOUtils.createTempFileOnlyStreamCache());
+             PDDocument letterhead = template != null ? Loader.loadPDF(template) : null) {
+            Writer writer = new Writer(document, letterhead, reference);
+            writer.header(student, totals, entries.size());
+            for (TranscriptEntry entry : entries) {
+                writer.row(entry);
+            }
+            writer.finish();
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial, StandardOpenOption.CREATE_NEW,
+                                                                                   StandardOpenOption.WRITE))) {
+                document.save(out);
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return document.getNumberOfPages();
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    /**
+     * Lays out one document, starting a new page whenever the current one is full
+     */
+    private final class Writer {
+        private final PDDocument document;
+        private final PDFont regular;
+        private final PDFont bold;
+        private final PDFormXObject letterhead;
+        private final String reference;
+        private PDPageContentStream content;
+        private int pageNumber;
+        private float y;
+
+        Writer(PDDocument document, PDDocument template, String reference) throws IOException {
+            this.document = document;
+            this.reference = reference;
+            Fonts loaded;
+            try {
+                loaded = fonts.get();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (loaded.trueType() != null) {
+                regular = PDType0Font.load(document, loaded.trueType(), true);
+                bold = regular;
+            } else {
+                regular = loaded.regular();
+                bold = loaded.bold();
+            }
+            letterhead = template != null ? new LayerUtility(document).importPageAsForm(template, 0) : null;
+            newPage();
+        }
+
+        void header(User student, AcademicTotals totals, int courseCount) throws IOException {
+            text(bold, 16, MARGIN, y, "ACADEMIC TRANSCRIPT");
+            y -= ROW_HEIGHT * 2;
+            text(regular, 11, MARGIN, y, "Student: " + student.getUsername());
+            y -= ROW_HEIGHT;
+            text(regular, 11, MARGIN, y, "Student ID: " + student.getId());
+            y -= ROW_HEIGHT;
+            text(regular, 11, MARGIN, y, "Issued: " + LocalDate.now());
+            y -= ROW_HEIGHT * 2;
+            text(bold, 11, MARGIN, y, String.format("Cumulative GPA: %.2f", totals.getGpa()));
+            text(bold, 11, MARGIN + 170, y, "Total Credits: " + totals.getGradedCredits());
+            text(bold, 11, MARGIN + 320, y, "Courses: " + courseCount);
+            y -= ROW_HEIGHT * 2;
+            columnHeadings();
+        }
+
+        void row(TranscriptEntry entry) throws IOException {
+            if (y < BOTTOM) {
+                newPage();
+                columnHeadings();
+            }
+            text(regular, TEXT_SIZE, COLUMNS[0], y, entry.getSemester());
+            text(regular, TEXT_SIZE, COLUMNS[1], y, entry.getCourseCode());
+            text(regular, TEXT_SIZE, COLUMNS[2], y, truncate(regular, entry.getCourseName(), NAME_WIDTH));
+            text(regular, TEXT_SIZE, COLUMNS[3], y, String.valueOf(entry.getCredits()));
+            text(regular, TEXT_SIZE, COLUMNS[4], y, entry.getFinalGrade());
+            y -= ROW_HEIGHT;
+        }
+
+        void finish() throws IOException {
+            if (y < BOTTOM) {
+                newPage();
+            }
+            y -= ROW_HEIGHT;
+            text(regular, TEXT_SIZE, MARGIN, y, "*** End of transcript ***");
+            closePage();
+        }
+
+        private void columnHeadings() throws IOException {
+            String[] headings = { "Semester", "Code", "Course", "Credits", "Grade" };
+            for (int i = 0; i < headings.length; i++) {
+                text(bold, TEXT_SIZE, COLUMNS[i], y, headings[i]);
+            }
+            y -= 4;
+            content.moveTo(MARGIN, y);
+            content.lineTo(PAGE_SIZE.getWidth() - MARGIN, y);
+            content.stroke();
+            y -= ROW_HEIGHT;
+        }
+
+        private void newPage() throws IOException {
+            closePage();
+            PDPage page = new PDPage(PAGE_SIZE);
+            document.addPage(page);
+            content = new PDPageContentStream(document, page);
+            pageNumber++;
+            if (letterhead != null) {
+                content.drawForm(letterhead);
+            }
+            y = TOP;
+        }
+
+        private void closePage() throws IOException {
+            if (content == null) {
+                return;
+            }
+            String footer = "Page " + pageNumber + (reference != null ? "  -  Request #" + reference : "");
+            text(regular, 8, MARGIN, MARGIN, footer);
+            // Closing flushes the page content to the stream cache, so it stops taking heap
+            content.close();
+            content = null;
+        }
+
+        private void text(PDFont font, float size, float x, float yPosition, String value) throws IOException {
+            content.beginText();
+            content.setFont(font, size);
+            content.newLineAtOffset(x, yPosition);
+            content.showText(printable(font, value));
+            content.endText();
+        }
+    }
+
+    private static String truncate(PDFont font, String value, float maxWidth) throws IOException {
+        String text = printable(font, value);
+        if (font.getStringWidth(text) / 1000 * TEXT_SIZE <= maxWidth) {
+            return text;
+        }
+        while (!text.isEmpty() && font.getStringWidth(text + "...") / 1000 * TEXT_SIZE > maxWidth) {
+            text = text.substring(0, text.length() - 1);
+        }
+        return text + "...";
+    }
+
+    /**
+     * Replace characters the font cannot show (e.g. non-Latin names in Helvetica) with '?'
+     */
+    private static String printable(PDFont font, String value) throws IOException {
+        if (value == null) {
+            return "";
+        }
+        try {
+            font.encode(value);
+            return value;
+        } catch (IllegalArgumentException e) {
+            StringBuilder text = new StringBuilder(value.length());
+            value.codePoints().forEach(codePoint -> {
+                String character = new String(Character.toChars(codePoint));
+                try {
+                    font.encode(character);
+                    text.append(character);
+                } catch (IllegalArgumentException | IOException unsupported) {
+                    text.append('?');
+                }
+            });
+            return text.toString();
+        }
+    }
+}
@@ -1,10 +1,9 @@
 package edu.curriculum.service;
 
+import edu.curriculum.model.AcademicTotals;
 import edu.curriculum.model.TranscriptEntry;
-import edu.facilities.model.Enrollment;
-import edu.facilities.model.EnrollmentStatus;
 import edu.facilities.model.User;
-import edu.facilities.service.EnrollmentService;
+import edu.facilities.service.DatabaseConnection;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -16,7 +15,7 @@ import java.util.List;
  */
 public class TranscriptViewService {
 
-    private EnrollmentService enrollmentService = new EnrollmentService();
+    private AcademicTotalsService academicTotalsService = new AcademicTotalsService();
 
     /**
      * Get transcript entries for a student (completed courses with grades)
@@ -27,25 +26,30 @@ public class TranscriptViewService {
     public List<TranscriptEntry> getTranscriptEntries(User student) throws SQLException {
         List<TranscriptEntry> entries = new ArrayList<>();
 
-        // Get all enrollments (including completed ones)
-        List<Enrollment> enrollments = enrollmentService.getStudentEnrollments(student, false);
-
-        for (Enrollment enrollment : enrollments) {
-            // Only include completed or failed courses with grades
-            EnrollmentStatus status = enrollment.getStatus();
-            String grade = enrollment.getGrade();
-
-            if ((status == EnrollmentStatus.COMPLETED || status == EnrollmentStatus.FAILED) 
-                && grade != null && !grade.isEmpty()) {
-                
-                TranscriptEntry entry = new TranscriptEntry(
-                        enrollment.getCourse().getCode(),
-                        enrollment.getCourse().getName(),
-                        enrollment.getCourse().getCredits(),
-                        grade,
-                        enrollment.getCourse().getSemester()
-                );
-                entries.add(entry);
+        // Only completed or failed courses with grades, read in one query
+        String sql = "SELECT c.Code, c.Name, c.Credits, e.Grade, s.Code AS Semester " +
+                    "FROM Enrollments e " +
+                    "INNER JOIN Courses c ON e.CourseID = c.CourseID " +
+                    "INNER JOIN Semesters s ON c.SemesterID = s.SemesterID " +
+                    "INNER JOIN StatusTypes st ON e.StatusTypeID = st.StatusTypeID " +
+                    "WHERE e.StudentUserID = ? AND st.EntityType = 'ENROLLMENT' " +
+                    "AND st.StatusCode IN ('COMPLETED', 'FAILED') AND e.Grade <> ''";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, Integer.parseInt(student.getId()));
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    entries.add(new TranscriptEntry(
+                            rs.getString("Code"),
+                            rs.getString("Name"),
+                            rs.getInt("Credits"),
+                            rs.getString("Grade"),
+                            rs.getString("Semester")
+                    ));
+                }
             }
         }
 
@@ -58,6 +62,15 @@ public class TranscriptViewService {
         return entries;
     }
 
+    /**
+     * Get cumulative GPA and credit totals for a student from the StudentAcademicTotals
+     * ledger, which matches calculateGPA and calculateTotalCredits over getTranscriptEntries
+     * without reading the transcript
+     */
+    public AcademicTotals getAcademicTotals(User student) throws SQLException {
+        return academicTotalsService.getTotals(student.getId());
+    }
+
     /**
      * Calculate cumulative GPA for a student
      * @param entries List of transcript entries
@@ -2,6 +2,7 @@ package edu.curriculum.ui;
 
 import edu.curriculum.model.Assignment;
 import edu.curriculum.model.AssignmentSubmission;
+import edu.curriculum.service.GradeResult;
 import edu.curriculum.service.SubmissionService;
 import edu.facilities.model.Student;
 import edu.facilities.service.AuthService;
@@ -72,6 +73,8 @@ public class GradeSubmissionsController {
         SpinnerValueFactory<Integer> scoreFactory = new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 1000, 0);
         scoreSpinner.setValueFactory(scoreFactory);
 
+        submissionsTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+
         // Add selection listener to update spinner max value
         submissionsTable.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
             if (newSelection != null && assignment != null) {
@@ -166,9 +169,10 @@ public class GradeSubmissionsController {
 
     @FXML
     private void handleSaveGrade() {
-        AssignmentSubmission selectedSubmission = submissionsTable.getSelectionModel().getSelectedItem();
+        // Several selected submissions (Ctrl/Shift+click) all get the same score and feedback
+        List<AssignmentSubmission> selectedSubmissions = List.copyOf(submissionsTable.getSelectionModel().getSelectedItems());
 
-        if (selectedSubmission == null) {
+        if (selectedSubmissions.isEmpty()) {
             showWarning("No Selection", "Please select a submission to grade");
             return;
         }
@@ -188,11 +192,18 @@ public class GradeSubmissionsController {
         String feedback = feedbackArea.getText().trim();
 
         try {
-            boolean success = submissionService.gradeSubmission(
-                    selectedSubmission.getId(), score, feedback);
-
-            if (success) {
-                showSuccess("Submission graded successfully!");
+            List<SubmissionService.SubmissionGrade> grades = selectedSubmissions.stream()
+                    .map(submission -> new SubmissionService.SubmissionGrade(submission.getId(), score, feedback))
+                    .toList();
+            long graded = submissionService.gradeSubmissions(grades).stream()
+                    .filter(GradeResult::saved)
+                    .count();
+
+            if (graded == grades.size()) {
+                showSuccess(graded == 1 ? "Submission graded successfully!" : graded + " submissions graded successfully!");
+                loadSubmissions();
+            } else if (graded > 0) {
+                showWarning("Partially Graded", graded + " of " + grades.size() + " submissions were graded.");
                 loadSubmissions();
             } else {
                 showError("Error", "Failed to grade submission.");
@@ -3,7 +3,6 @@ package edu.curriculum.ui;
 import edu.curriculum.model.Assignment;
 import edu.curriculum.model.AssignmentSubmission;
 import edu.curriculum.model.Course;
-import edu.curriculum.service.AssignmentService;
 import edu.curriculum.service.CourseService;
 import edu.curriculum.service.SubmissionService;
 import edu.facilities.model.User;
@@ -55,7 +54,6 @@ public class GradebookController {
     private Map<String, Course> courseMap = new HashMap<>();
     
     private CourseService courseService = new CourseService();
-    private AssignmentService assignmentService = new AssignmentService();
     private SubmissionService submissionService = new SubmissionService();
     private AuthService authService = AuthService.getInstance();
 
@@ -174,46 +172,42 @@ public class GradebookController {
         try {
             gradesList.clear();
 
-            // Get all assignments for this course
-            List<Assignment> assignments = assignmentService.getAssignmentsByCourse(course.getId());
-            
-            if (assignments.isEmpty()) {
-                statusLabel.setText("No assignments found for " + course.getCode());
+            // Get all submissions for all assignments of this course in one query
+            List<AssignmentSubmission> submissions = submissionService.getSubmissionsByCourse(course.getId());
+
+            if (submissions.isEmpty()) {
+                statusLabel.setText("No submissions found for " + course.getCode());
                 statusLabel.setVisible(true);
                 updateStatistics();
                 return;
             }
 
-            // Get all submissions for all assignments
-            for (Assignment assignment : assignments) {
-                List<AssignmentSubmission> submissions = submissionService.getSubmissionsByAssignment(assignment.getId());
+            for (AssignmentSubmission submission : submissions) {
+                Assignment assignment = submission.getAssignment();
+                GradebookEntry entry = new GradebookEntry();
+                entry.studentName = submission.getStudent().getUsername();
+                entry.studentId = submission.getStudent().getId();
+                entry.assignmentTitle = assignment.getTitle();
+                entry.maxPoints = String.valueOf(assignment.getTotalPoints());
+                
+                if (submission.getScore() != null) {
+                    entry.score = String.valueOf(submission.getScore());
+                    double percentage = (submission.getScore().doubleValue() / assignment.getTotalPoints()) * 100;
+                    entry.percentage = String.format("%.1f%%", percentage);
+                } else {
+                    entry.score = "Not Graded";
+                    entry.percentage = "N/A";
+                }
+                
+                entry.status = submission.getStatus().toString();
                 
-                for (AssignmentSubmission submission : submissions) {
-                    GradebookEntry entry = new GradebookEntry();
-                    entry.studentName = submission.getStudent().getUsername();
-                    entry.studentId = submission.getStudent().getId();
-                    entry.assignmentTitle = assignment.getTitle();
-                    entry.maxPoints = String.valueOf(assignment.getTotalPoints());
-                    
-                    if (submission.getScore() != null) {
-                        entry.score = String.valueOf(submission.getScore());
-                        double percentage = (submission.getScore().doubleValue() / assignment.getTotalPoints()) * 100;
-                        entry.percentage = String.format("%.1f%%", percentage);
-                    } else {
-                        entry.score = "Not Graded";
-                        entry.percentage = "N/A";
-                    }
-                    
-                    entry.status = submission.getStatus().toString();
-                    
-                    if (submission.getSubmittedDate() != null) {
-                        entry.submittedDate = submission.getSubmittedDate().format(DATE_TIME_FORMATTER);
-                    } else {
-                        entry.submittedDate = "Not Submitted";
-                    }
-                    
-                    gradesList.add(entry);
+                if (submission.getSubmittedDate() != null) {
+                    entry.submittedDate = submission.getSubmittedDate().format(DATE_TIME_FORMATTER);
+                } else {
+                    entry.submittedDate = "Not Submitted";
                 }
+                
+                gradesList.add(entry);
             }
 
             gradesTable.setItems(gradesList);
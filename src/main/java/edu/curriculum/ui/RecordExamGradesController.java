@@ -3,7 +3,9 @@ package edu.curriculum.ui;
 import edu.curriculum.model.Exam;
 import edu.curriculum.model.ExamGrade;
 import edu.curriculum.service.ExamService;
+import edu.curriculum.service.GradeResult;
 import edu.facilities.service.AuthService;
+import edu.facilities.ui.BackgroundExecutor;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -13,11 +15,14 @@ import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
+import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -37,12 +42,14 @@ public class RecordExamGradesController {
     @FXML private TableColumn<Map<String, Object>, String> percentageColumn;
     @FXML private TableColumn<Map<String, Object>, String> commentsColumn;
     @FXML private Button saveButton;
+    @FXML private Button importCsvButton;
     @FXML private Button backButton;
 
     private Exam exam;
     private ExamService examService = new ExamService();
     private AuthService authService = AuthService.getInstance();
     private ObservableList<Map<String, Object>> studentsList = FXCollections.observableArrayList();
+    private BackgroundExecutor.Scope backgroundScope;
 
     public void setExam(Exam exam) {
         this.exam = exam;
@@ -54,6 +61,8 @@ public class RecordExamGradesController {
 
     @FXML
     public void initialize() {
+        backgroundScope = new BackgroundExecutor.Scope().bindTo(studentsTable);
+
         // Check if user is logged in
         if (!authService.isLoggedIn()) {
             showError("Access Denied", "Please login to record exam grades.");
@@ -328,45 +337,106 @@ public class RecordExamGradesController {
 
     @FXML
     private void handleSave() {
-        try {
-            if (exam == null) {
-                showError("Error", "No exam selected.");
-                return;
-            }
+        if (exam == null) {
+            showError("Error", "No exam selected.");
+            return;
+        }
 
-            int savedCount = 0;
-            for (Map<String, Object> student : studentsList) {
-                String studentId = student.get("studentId").toString();
-                Object pointsObj = student.get("pointsEarned");
-                Integer pointsEarned = null;
-                
-                if (pointsObj != null) {
-                    try {
-                        pointsEarned = Integer.parseInt(pointsObj.toString());
-                    } catch (NumberFormatException e) {
-                        // Skip invalid entries
-                        continue;
-                    }
+        Map<String, ExamService.GradeEntry> grades = new LinkedHashMap<>();
+        for (Map<String, Object> student : studentsList) {
+            String studentId = student.get("studentId").toString();
+            Object pointsObj = student.get("pointsEarned");
+            Integer pointsEarned = null;
+
+            if (pointsObj != null) {
+                try {
+                    pointsEarned = Integer.parseInt(pointsObj.toString());
+                } catch (NumberFormatException e) {
+                    // Skip invalid entries
+                    continue;
                 }
+            }
 
-                String comments = student.get("comments") != null ? 
-                    student.get("comments").toString() : "";
+            String comments = student.get("comments") != null ?
+                student.get("comments").toString() : "";
+            grades.put(studentId, new ExamService.GradeEntry(pointsEarned, comments));
+        }
 
-                ExamGrade grade = examService.recordExamGrade(
-                    exam.getId(), studentId, pointsEarned, comments
-                );
+        // All grades are written in one transaction
+        recordGrades(() -> examService.recordExamGrades(exam.getId(), grades));
+    }
 
-                if (grade != null) {
-                    savedCount++;
+    /**
+     * US 2.13 - Import grades from a CSV file (student ID, points, optional comments)
+     */
+    @FXML
+    private void handleImportCsv() {
+        if (exam == null) {
+            showError("Error", "No exam selected.");
+            return;
+        }
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Import Grades");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        File file = fileChooser.showOpenDialog(importCsvButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        recordGrades(() -> examService.importExamGradesCsv(exam.getId(), file.toPath()));
+    }
+
+    /**
+     * Run a bulk grade entry in the background, then report it and reload the table
+     */
+    private void recordGrades(BackgroundExecutor.ServiceCall<List<GradeResult>> call) {
+        setSaving(true);
+        backgroundScope.run("recordGrades", call,
+            results -> {
+                setSaving(false);
+                showResults(results);
+                loadStudents(); // Refresh to show updated data
+            },
+            e -> {
+                setSaving(false);
+                if (e instanceof IOException) {
+                    showError("Import Error", "Failed to read the CSV file: " + e.getMessage());
+                } else {
+                    showError("Database Error", "Failed to save grades: " + e.getMessage());
                 }
-            }
+                e.printStackTrace();
+            });
+    }
 
+    private void showResults(List<GradeResult> results) {
+        long savedCount = results.stream().filter(GradeResult::saved).count();
+        List<GradeResult> rejected = results.stream().filter(result -> !result.saved()).toList();
+        if (rejected.isEmpty()) {
             showSuccess("Saved grades for " + savedCount + " student(s)!");
-            loadStudents(); // Refresh to show updated data
-        } catch (SQLException e) {
-            showError("Database Error", "Failed to save grades: " + e.getMessage());
-            e.printStackTrace();
+            return;
+        }
+
+        StringBuilder message = new StringBuilder("Saved grades for " + savedCount + " student(s). " +
+                                                  rejected.size() + " row(s) were not saved:\n");
+        int shown = Math.min(rejected.size(), 15);
+        for (GradeResult result : rejected.subList(0, shown)) {
+            message.append("\n").append(result.id()).append(": ").append(result.message());
+        }
+        if (rejected.size() > shown) {
+            message.append("\n... and ").append(rejected.size() - shown).append(" more");
         }
+
+        Alert alert = new Alert(Alert.AlertType.WARNING);
+        alert.setTitle("Grades Partially Saved");
+        alert.setHeaderText(null);
+        alert.setContentText(message.toString());
+        alert.showAndWait();
+    }
+
+    private void setSaving(boolean saving) {
+        saveButton.setDisable(saving);
+        importCsvButton.setDisable(saving);
     }
 
     @FXML
@@ -386,6 +456,7 @@ public class RecordExamGradesController {
 
     private void disableAllControls() {
         if (saveButton != null) saveButton.setDisable(true);
+        if (importCsvButton != null) importCsvButton.setDisable(true);
         if (studentsTable != null) studentsTable.setDisable(true);
     }
 
@@ -5,10 +5,16 @@ import edu.curriculum.model.AssignmentSubmission;
 import edu.curriculum.service.SubmissionService;
 import edu.facilities.model.User;
 import edu.facilities.service.AuthService;
+import edu.facilities.ui.BackgroundExecutor;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
+import java.io.File;
+import java.io.IOException;
 import java.sql.SQLException;
 import java.time.format.DateTimeFormatter;
 
@@ -24,6 +30,7 @@ public class SubmitAssignmentController {
     @FXML private Label instructionsLabel;
     @FXML private TextArea submissionTextArea;
     @FXML private TextField fileNameField;
+    @FXML private Button browseFileButton;
     @FXML private Button submitButton;
     @FXML private Button cancelButton;
     @FXML private Label statusLabel;
@@ -32,6 +39,10 @@ public class SubmitAssignmentController {
     private Assignment assignment;
     private SubmissionService submissionService = new SubmissionService();
     private AuthService authService = AuthService.getInstance();
+    private BackgroundExecutor.Scope backgroundScope;
+    private Task<AssignmentSubmission> submitTask;
+    private BackgroundExecutor.Interruption submitInterruption;
+    private File selectedFile;
 
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
@@ -52,6 +63,8 @@ public class SubmitAssignmentController {
             return;
         }
 
+        // Closing the window cancels a submission still copying its file
+        backgroundScope = new BackgroundExecutor.Scope().bindTo(submitButton);
         System.out.println("SubmitAssignmentController initialized");
     }
 
@@ -102,40 +115,107 @@ public class SubmitAssignmentController {
             return;
         }
 
-        try {
-            User currentUser = authService.getCurrentUser();
-            if (currentUser == null) {
-                showError("Error", "User not logged in.");
-                return;
-            }
+        User currentUser = authService.getCurrentUser();
+        if (currentUser == null) {
+            showError("Error", "User not logged in.");
+            return;
+        }
 
-            String submissionText = submissionTextArea.getText().trim();
-            String fileName = fileNameField.getText().trim();
+        String submissionText = submissionTextArea.getText().trim();
+        String fileName = fileNameField.getText().trim();
+        File file = selectedFile;
 
-            // Submit assignment
-            AssignmentSubmission submission = submissionService.submitAssignment(
-                    assignment.getId(), currentUser.getId(), submissionText, fileName);
+        // Submit assignment in the background; a selected file is copied with progress shown here.
+        // Only the copy can be cancelled, not the save that follows it
+        BackgroundExecutor.Interruption interruption = file != null ? new BackgroundExecutor.Interruption() : null;
+        submitInterruption = interruption;
+        setSubmitting(true);
+        submitTask = backgroundScope.run("submit",
+            () -> file != null
+                ? submissionService.submitAssignment(assignment.getId(), currentUser.getId(), submissionText, file,
+                    (copied, total) -> {
+                        interruption.progress(copied, total);
+                        Platform.runLater(() -> {
+                            if (submitTask != null && copied >= total) {
+                                cancelButton.setDisable(true);
+                                showStatus("Saving submission...");
+                            } else if (submitTask != null) {
+                                showStatus("Uploading " + file.getName() + ": " + copied * 100 / total + "%");
+                            }
+                        });
+                    })
+                : submissionService.submitAssignment(assignment.getId(), currentUser.getId(), submissionText, fileName),
+            interruption,
+            submission -> {
+                setSubmitting(false);
+                if (submission != null) {
+                    showSuccess("Assignment submitted successfully!");
+                    closeWindow();
+                } else {
+                    showError("Error", "Failed to submit assignment.");
+                }
+            },
+            error -> {
+                setSubmitting(false);
+                statusLabel.setVisible(false);
+                if (error instanceof IllegalArgumentException) {
+                    // US 2.8 - Handle deadline validation errors
+                    showError("Submission Error", error.getMessage());
+                } else if (error instanceof IOException) {
+                    showError("File Error", "Failed to upload file: " + error.getMessage());
+                    error.printStackTrace();
+                } else {
+                    showError("Database Error", "Failed to submit assignment: " + error.getMessage());
+                    error.printStackTrace();
+                }
+            });
+    }
 
-            if (submission != null) {
-                showSuccess("Assignment submitted successfully!");
-                closeWindow();
-            } else {
-                showError("Error", "Failed to submit assignment.");
-            }
-        } catch (IllegalArgumentException e) {
-            // US 2.8 - Handle deadline validation errors
-            showError("Submission Error", e.getMessage());
-        } catch (SQLException e) {
-            showError("Database Error", "Failed to submit assignment: " + e.getMessage());
-            e.printStackTrace();
+    @FXML
+    private void handleBrowseFile() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Select Submission File");
+        File file = fileChooser.showOpenDialog(browseFileButton.getScene().getWindow());
+        if (file != null) {
+            selectedFile = file;
+            fileNameField.setText(file.getName());
         }
     }
 
     @FXML
     private void handleCancel() {
+        if (submitTask != null) {
+            if (submitInterruption == null || !submitInterruption.cancel(submitTask)) {
+                return;  // Already saving
+            }
+            // The part already copied is kept, so submitting the same file again resumes it
+            setSubmitting(false);
+            showStatus("Upload cancelled");
+            return;
+        }
         closeWindow();
     }
 
+    /**
+     * Lock the form while submitting; Cancel then stops the upload instead of closing
+     */
+    private void setSubmitting(boolean submitting) {
+        if (!submitting) {
+            submitTask = null;
+            submitInterruption = null;
+        }
+        submitButton.setDisable(submitting);
+        cancelButton.setDisable(submitting && submitInterruption == null);
+        browseFileButton.setDisable(submitting);
+        submissionTextArea.setDisable(submitting);
+        cancelButton.setText(submitting ? "Cancel Upload" : "Cancel");
+    }
+
+    private void showStatus(String message) {
+        statusLabel.setText(message);
+        statusLabel.setVisible(true);
+    }
+
     /**
      * Validate form inputs
      */
@@ -166,6 +246,7 @@ public class SubmitAssignmentController {
     private void disableAllControls() {
         if (submissionTextArea != null) submissionTextArea.setDisable(true);
         if (fileNameField != null) fileNameField.setDisable(true);
+        if (browseFileButton != null) browseFileButton.setDisable(true);
         if (submitButton != null) submitButton.setDisable(true);
     }
 
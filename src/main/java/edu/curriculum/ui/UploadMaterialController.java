@@ -7,6 +7,9 @@ import edu.facilities.model.Course;
 import edu.facilities.service.CourseService;
 import edu.facilities.model.User;
 import edu.facilities.service.AuthService;
+import edu.facilities.ui.BackgroundExecutor;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.FileChooser;
@@ -49,6 +52,9 @@ public class UploadMaterialController {
     private AuthService authService = AuthService.getInstance();
     private Map<String, Course> courseMap = new HashMap<>();
     private File selectedFile;
+    private BackgroundExecutor.Scope backgroundScope;
+    private Task<CourseMaterial> uploadTask;
+    private BackgroundExecutor.Interruption uploadInterruption;
 
     @FXML
     public void initialize() {
@@ -94,6 +100,9 @@ public class UploadMaterialController {
         linkUrlField.setVisible(false);
         linkUrlField.setManaged(false);
 
+        // Closing the window cancels an upload still copying its file
+        backgroundScope = new BackgroundExecutor.Scope().bindTo(uploadButton);
+
         // Load professor's courses
         loadCourses();
     }
@@ -180,58 +189,107 @@ public class UploadMaterialController {
             return;
         }
 
-        try {
-            User currentUser = authService.getCurrentUser();
-            if (currentUser == null) {
-                showError("Authentication Error", "User session expired. Please login again.");
-                return;
-            }
-
-            // Get selected course
-            String selectedCourseDisplay = courseComboBox.getValue();
-            if (selectedCourseDisplay == null || !courseMap.containsKey(selectedCourseDisplay)) {
-                courseError.setText("Please select a course");
-                courseError.setVisible(true);
-                return;
-            }
-
-            Course selectedCourse = courseMap.get(selectedCourseDisplay);
+        User currentUser = authService.getCurrentUser();
+        if (currentUser == null) {
+            showError("Authentication Error", "User session expired. Please login again.");
+            return;
+        }
 
-            // Get form values
-            String title = titleField.getText().trim();
-            String description = descriptionArea.getText().trim();
-            MaterialType materialType = MaterialType.valueOf(materialTypeComboBox.getValue());
-            String linkUrl = materialType == MaterialType.LINK ? linkUrlField.getText().trim() : null;
+        // Get selected course
+        String selectedCourseDisplay = courseComboBox.getValue();
+        if (selectedCourseDisplay == null || !courseMap.containsKey(selectedCourseDisplay)) {
+            courseError.setText("Please select a course");
+            courseError.setVisible(true);
+            return;
+        }
 
-            // Upload material
-            CourseMaterial material = materialService.uploadMaterial(
+        Course selectedCourse = courseMap.get(selectedCourseDisplay);
+
+        // Get form values
+        String title = titleField.getText().trim();
+        String description = descriptionArea.getText().trim();
+        MaterialType materialType = MaterialType.valueOf(materialTypeComboBox.getValue());
+        String linkUrl = materialType == MaterialType.LINK ? linkUrlField.getText().trim() : null;
+        File file = selectedFile;
+
+        // Upload material in the background; the copy reports its progress here.
+        // Only the copy can be cancelled, not the save that follows it
+        BackgroundExecutor.Interruption interruption =
+            materialType != MaterialType.LINK ? new BackgroundExecutor.Interruption() : null;
+        uploadInterruption = interruption;
+        setUploading(true);
+        uploadTask = backgroundScope.run("upload",
+            () -> materialService.uploadMaterial(
                 selectedCourse.getId(), title, description, materialType,
-                selectedFile, linkUrl, currentUser.getId()
-            );
+                file, linkUrl, currentUser.getId(),
+                (copied, total) -> {
+                    interruption.progress(copied, total);
+                    Platform.runLater(() -> {
+                        if (uploadTask != null && copied >= total) {
+                            cancelButton.setDisable(true);
+                            statusLabel.setText("Saving material...");
+                        } else if (uploadTask != null) {
+                            statusLabel.setText("Uploading " + file.getName() + ": " + copied * 100 / total + "%");
+                        }
+                    });
+                }
+            ),
+            interruption,
+            material -> {
+                setUploading(false);
+                if (material != null) {
+                    showSuccess("Material uploaded successfully!");
+                    clearForm();
+                    statusLabel.setText("Upload successful!");
+                } else {
+                    showError("Error", "Failed to upload material.");
+                }
+            },
+            error -> {
+                setUploading(false);
+                statusLabel.setText("");
+                if (error instanceof IllegalArgumentException) {
+                    showError("Validation Error", error.getMessage());
+                } else if (error instanceof SQLException) {
+                    showError("Database Error", "Failed to upload material: " + error.getMessage());
+                    error.printStackTrace();
+                } else if (error instanceof IOException) {
+                    showError("File Error", "Failed to save file: " + error.getMessage());
+                    error.printStackTrace();
+                } else {
+                    showError("Error", "An unexpected error occurred: " + error.getMessage());
+                    error.printStackTrace();
+                }
+            });
+    }
 
-            if (material != null) {
-                showSuccess("Material uploaded successfully!");
-                clearForm();
-                statusLabel.setText("Upload successful!");
-            } else {
-                showError("Error", "Failed to upload material.");
-            }
-        } catch (IllegalArgumentException e) {
-            showError("Validation Error", e.getMessage());
-        } catch (SQLException e) {
-            showError("Database Error", "Failed to upload material: " + e.getMessage());
-            e.printStackTrace();
-        } catch (IOException e) {
-            showError("File Error", "Failed to save file: " + e.getMessage());
-            e.printStackTrace();
-        } catch (Exception e) {
-            showError("Error", "An unexpected error occurred: " + e.getMessage());
-            e.printStackTrace();
+    /**
+     * Lock the form while an upload runs; Cancel then stops the upload instead of closing
+     */
+    private void setUploading(boolean uploading) {
+        if (!uploading) {
+            uploadTask = null;
+            uploadInterruption = null;
         }
+        uploadButton.setDisable(uploading);
+        cancelButton.setDisable(uploading && uploadInterruption == null);
+        browseFileButton.setDisable(uploading);
+        courseComboBox.setDisable(uploading);
+        materialTypeComboBox.setDisable(uploading);
+        cancelButton.setText(uploading ? "Cancel Upload" : "Cancel");
     }
 
     @FXML
     private void handleCancel() {
+        if (uploadTask != null) {
+            if (uploadInterruption == null || !uploadInterruption.cancel(uploadTask)) {
+                return;  // Already saving
+            }
+            // The part already copied is kept, so uploading the same file again resumes it
+            setUploading(false);
+            statusLabel.setText("Upload cancelled");
+            return;
+        }
         closeWindow();
     }
 
@@ -4,6 +4,8 @@ import edu.curriculum.model.CourseMaterial;
 import edu.curriculum.service.MaterialService;
 import edu.facilities.model.User;
 import edu.facilities.service.AuthService;
+import edu.facilities.ui.BackgroundExecutor;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -13,7 +15,9 @@ import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
+import javafx.concurrent.Task;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
 import java.io.File;
@@ -49,6 +53,9 @@ public class ViewMaterialsController {
     private ObservableList<CourseMaterial> materialsList = FXCollections.observableArrayList();
     private MaterialService materialService = new MaterialService();
     private AuthService authService = AuthService.getInstance();
+    private BackgroundExecutor.Scope backgroundScope;
+    private Task<Void> downloadTask;
+    private BackgroundExecutor.Interruption downloadInterruption;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
@@ -59,6 +66,8 @@ public class ViewMaterialsController {
             return;
         }
 
+        // Leaving the screen cancels a download still running
+        backgroundScope = new BackgroundExecutor.Scope().bindTo(materialsTable);
         setupTableColumns();
         loadMaterials();
     }
@@ -151,6 +160,16 @@ public class ViewMaterialsController {
 
     @FXML
     private void handleDownload() {
+        if (downloadTask != null) {
+            if (!downloadInterruption.cancel(downloadTask)) {
+                return;  // Already complete
+            }
+            // The part already copied is kept, so downloading to the same file again resumes it
+            setDownloading(false);
+            statusLabel.setText("Download cancelled");
+            return;
+        }
+
         CourseMaterial selectedMaterial = materialsTable.getSelectionModel().getSelectedItem();
         if (selectedMaterial == null) {
             showWarning("No Selection", "Please select a material to download.");
@@ -162,33 +181,77 @@ public class ViewMaterialsController {
             return;
         }
 
-        try {
-            Path sourcePath = Paths.get(selectedMaterial.getFilePath());
-            if (!Files.exists(sourcePath)) {
-                showError("File Not Found", "The material file could not be found on the server.");
-                return;
-            }
+        Path sourcePath = Paths.get(selectedMaterial.getFilePath());
+        if (!Files.exists(sourcePath)) {
+            showError("File Not Found", "The material file could not be found on the server.");
+            return;
+        }
 
-            // Open file location
-            File file = sourcePath.toFile();
-            try {
-                // Use ProcessBuilder to open file location
-                String os = System.getProperty("os.name").toLowerCase();
-                if (os.contains("win")) {
-                    new ProcessBuilder("explorer.exe", "/select,", file.getAbsolutePath()).start();
-                } else if (os.contains("mac")) {
-                    new ProcessBuilder("open", "-R", file.getAbsolutePath()).start();
-                } else {
-                    // Linux
-                    new ProcessBuilder("xdg-open", file.getParent()).start();
-                }
-                showInfo("File Location", "File location opened");
-            } catch (Exception e) {
-                showInfo("File Path", "File path: " + selectedMaterial.getFilePath());
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save Course Material");
+        fileChooser.setInitialFileName(selectedMaterial.getFileName());
+        File file = fileChooser.showSaveDialog(downloadButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        BackgroundExecutor.Interruption interruption = new BackgroundExecutor.Interruption();
+        downloadInterruption = interruption;
+        setDownloading(true);
+        downloadTask = backgroundScope.run("download",
+            () -> {
+                materialService.downloadMaterial(selectedMaterial, file.toPath(),
+                    (copied, total) -> {
+                        interruption.progress(copied, total);
+                        Platform.runLater(() -> {
+                            if (downloadTask != null) {
+                                statusLabel.setText("Downloading " + file.getName() + ": " +
+                                                    (total == 0 ? 100 : copied * 100 / total) + "%");
+                            }
+                        });
+                    });
+                return null;
+            },
+            interruption,
+            result -> {
+                setDownloading(false);
+                statusLabel.setText("Saved " + file.getName());
+                openFileLocation(file);
+            },
+            error -> {
+                setDownloading(false);
+                statusLabel.setText("");
+                showError("Error", "Failed to download file: " + error.getMessage());
+                error.printStackTrace();
+            });
+    }
+
+    /**
+     * While a download runs the Download button cancels it
+     */
+    private void setDownloading(boolean downloading) {
+        if (!downloading) {
+            downloadTask = null;
+            downloadInterruption = null;
+        }
+        downloadButton.setText(downloading ? "Cancel Download" : "Download");
+        materialsTable.setDisable(downloading);
+    }
+
+    private void openFileLocation(File file) {
+        try {
+            // Use ProcessBuilder to open file location
+            String os = System.getProperty("os.name").toLowerCase();
+            if (os.contains("win")) {
+                new ProcessBuilder("explorer.exe", "/select,", file.getAbsolutePath()).start();
+            } else if (os.contains("mac")) {
+                new ProcessBuilder("open", "-R", file.getAbsolutePath()).start();
+            } else {
+                // Linux
+                new ProcessBuilder("xdg-open", file.getParent()).start();
             }
         } catch (Exception e) {
-            showError("Error", "Failed to access file: " + e.getMessage());
-            e.printStackTrace();
+            showInfo("File Saved", "File saved to: " + file.getAbsolutePath());
         }
     }
 
@@ -1,5 +1,7 @@
 package edu.facilities;
 
+import edu.facilities.service.ReferenceDataCache;
+import edu.facilities.ui.BackgroundExecutor;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -15,6 +17,12 @@ public class Main extends Application {
 
     @Override
     public void start(Stage primaryStage) {
+        // Warm the lookup tables in the background so the first screens don't pay for it
+        BackgroundExecutor.submit(() -> {
+            ReferenceDataCache.getInstance().preload();
+            return null;
+        }, null, e -> System.err.println("Could not preload reference data: " + e.getMessage()));
+
         try {
             // Try to load login.fxml first, if it doesn't exist, try dashboard
             Parent root;
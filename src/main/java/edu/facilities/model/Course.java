@@ -26,6 +26,7 @@ public class Course {
     private List<User> professors;
     private List<Course> prerequisites;
     private List<CourseAttribute> attributes;
+    private boolean relationsLoaded;
     
     public Course() {
         this.professors = new ArrayList<>();
@@ -181,6 +182,18 @@ public class Course {
         this.attributes = attributes;
     }
     
+    /**
+     * False when the course was loaded without professors, prerequisites and attributes
+     * (see CourseService.loadCourseDetails)
+     */
+    public boolean isRelationsLoaded() {
+        return relationsLoaded;
+    }
+    
+    public void setRelationsLoaded(boolean relationsLoaded) {
+        this.relationsLoaded = relationsLoaded;
+    }
+    
     public boolean hasAvailableSeats() {
         return currentSeats < maxSeats;
     }
@@ -16,6 +16,8 @@ import java.util.List;
  */
 public class AdmissionService {
 
+    private final ReferenceDataCache referenceData = ReferenceDataCache.getInstance();
+
     /**
      * Get all admission applications
      * @return List of all applications
@@ -178,7 +180,7 @@ public class AdmissionService {
         }
 
         // Get StatusTypeID for the new status
-        int statusTypeId = getStatusTypeId(statusToString(newStatus), "ADMISSION");
+        int statusTypeId = referenceData.getStatusTypeId("ADMISSION", statusToString(newStatus));
         
         String sql = "UPDATE AdmissionApplications SET StatusTypeID = ?, ReviewedDate = CURRENT_TIMESTAMP, " +
                     "ReviewedByUserID = ?, Notes = ? WHERE ApplicationID = ?";
@@ -358,24 +360,6 @@ public class AdmissionService {
         Integer reviewedByUserId;
         String notes;
     }
-    
-    /**
-     * Get StatusTypeID from StatusTypes table
-     */
-    private int getStatusTypeId(String statusCode, String entityType) throws SQLException {
-        String sql = "SELECT StatusTypeID FROM StatusTypes WHERE StatusCode = ? AND EntityType = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, statusCode);
-            pstmt.setString(2, entityType);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("StatusTypeID");
-                }
-            }
-        }
-        throw new SQLException("Status type not found: " + statusCode + " for entity: " + entityType);
-    }
 }
 
 
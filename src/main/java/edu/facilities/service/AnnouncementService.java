@@ -5,7 +5,10 @@ import edu.facilities.model.User;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service for managing announcements
@@ -13,94 +16,179 @@ import java.util.List;
  */
 public class AnnouncementService {
     
+    // Ids per IN (...) list when loading attachments and links, well below SQL Server's 2100 parameter limit
+    private static final int RELATION_BATCH_SIZE = 500;
+    
+    // Published announcements a user of the given role can see; their unread ones make up the unread count
+    private static final String VISIBLE_TO_ROLE = "a.IsActive = 1 " +
+                                                  "AND a.IsArchived = 0 " +
+                                                  "AND a.Status = 'PUBLISHED' " +
+                                                  "AND (a.TargetRole IS NULL OR a.TargetRole = ?) " +
+                                                  "AND (a.ExpiryDate IS NULL OR a.ExpiryDate >= CURRENT_TIMESTAMP) ";
+    
+    private static final String PRIORITY_RANK = "CASE a.Priority " +
+                                                "  WHEN 'URGENT' THEN 1 " +
+                                                "  WHEN 'HIGH' THEN 2 " +
+                                                "  WHEN 'NORMAL' THEN 3 " +
+                                                "  WHEN 'LOW' THEN 4 " +
+                                                "  ELSE 5 " +
+                                                "END";
+    
     /**
      * Get all announcements visible to a user (filtered by role)
      */
     public List<Announcement> getAnnouncementsForUser(User user, boolean includeRead) throws SQLException {
-        String userType = user.getUserType();
+        return getAnnouncementFeed(user, includeRead, null, 0).getAnnouncements();
+    }
+    
+    /**
+     * Get one page of the announcements visible to a user, most urgent and newest first,
+     * with read flags, attachments and links. Costs three queries whatever the page size.
+     * @param includeRead false to skip announcements the user has already read
+     * @param after Last announcement of the previous page, or null for the first page
+     * @param pageSize Announcements per page, or 0 for all
+     */
+    public AnnouncementPage getAnnouncementFeed(User user, boolean includeRead, Announcement after,
+                                                int pageSize) throws SQLException {
+        String filter = VISIBLE_TO_ROLE +
+                        (includeRead ? "" : "AND ars.AnnouncementID IS NULL ");
+        return loadAnnouncements(user, filter, List.of(user.getUserType()), PRIORITY_RANK,
+                                 "COALESCE(a.PublishDate, a.CreatedDate)", after, pageSize);
+    }
+    
+    /**
+     * Get all announcements for admin/staff (including drafts and archived)
+     */
+    public List<Announcement> getAllAnnouncementsForAdmin(boolean includeArchived) throws SQLException {
+        return getAllAnnouncementsForAdmin(null, includeArchived, null, 0).getAnnouncements();
+    }
+    
+    /**
+     * Get one page of all announcements for admin/staff, newest first, with the viewer's read flags
+     * @param viewer User whose read flags to include, or null to leave them unset
+     * @param after Last announcement of the previous page, or null for the first page
+     * @param pageSize Announcements per page, or 0 for all
+     */
+    public AnnouncementPage getAllAnnouncementsForAdmin(User viewer, boolean includeArchived, Announcement after,
+                                                        int pageSize) throws SQLException {
+        String filter = "a.IsActive = 1 " +
+                        (includeArchived ? "" : "AND a.IsArchived = 0 ");
+        return loadAnnouncements(viewer, filter, List.of(), "0", "a.CreatedDate", after, pageSize);
+    }
+    
+    /**
+     * One page of announcements
+     */
+    public static class AnnouncementPage {
+        private final List<Announcement> announcements;
+        private final boolean hasMore;
         
-        String sql = "SELECT a.AnnouncementID, a.Title, a.Content, a.TargetRole, a.CreatedByUserID, " +
-                    "a.CreatedDate, a.PublishDate, a.ExpiryDate, a.IsActive, a.IsArchived, " +
-                    "a.Status, a.Priority, a.LastModifiedDate, a.LastModifiedByUserID " +
-                    "FROM Announcements a " +
-                    "WHERE a.IsActive = 1 " +
-                    "AND a.IsArchived = 0 " +
-                    "AND a.Status = 'PUBLISHED' " +
-                    "AND (a.TargetRole IS NULL OR a.TargetRole = ?) " +
-                    "AND (a.ExpiryDate IS NULL OR a.ExpiryDate >= GETDATE()) " +
-                    "ORDER BY " +
-                    "CASE a.Priority " +
-                    "  WHEN 'URGENT' THEN 1 " +
-                    "  WHEN 'HIGH' THEN 2 " +
-                    "  WHEN 'NORMAL' THEN 3 " +
-                    "  WHEN 'LOW' THEN 4 " +
-                    "END, " +
-                    "a.PublishDate DESC";
+        AnnouncementPage(List<Announcement> announcements, boolean hasMore) {
+            this.announcements = announcements;
+            this.hasMore = hasMore;
+        }
         
-        List<Announcement> announcements = new ArrayList<>();
+        public List<Announcement> getAnnouncements() {
+            return announcements;
+        }
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, userType);
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Announcement announcement = mapResultSetToAnnouncement(rs);
-                    loadAnnouncementRelations(announcement, conn);
-                    
-                    // Check if user has read this announcement
-                    if (includeRead || !hasUserReadAnnouncement(user, announcement.getId(), conn)) {
-                        announcement.setRead(hasUserReadAnnouncement(user, announcement.getId(), conn));
-                        announcements.add(announcement);
-                    }
-                }
-            }
+        public boolean hasMore() {
+            return hasMore;
         }
         
-        return announcements;
+        /**
+         * Last announcement on this page, or null if the page is empty
+         */
+        public Announcement getLastAnnouncement() {
+            return announcements.isEmpty() ? null : announcements.get(announcements.size() - 1);
+        }
     }
     
     /**
-     * Get all announcements for admin/staff (including drafts and archived)
+     * Load announcements with the viewer's read flag joined in, then their attachments and links in batches.
+     * Pages use a keyset on (rank, sort date, AnnouncementID), so later pages cost the same as the first.
+     * @param filter WHERE conditions on Announcements a (and AnnouncementReadStatus ars)
+     * @param rankSql Expression ranking rows before the sort date, e.g. priority
+     * @param dateSql Expression sorted newest first within a rank
+     * @param limit Page size, or 0 to load everything
      */
-    public List<Announcement> getAllAnnouncementsForAdmin(boolean includeArchived) throws SQLException {
-        String sql = "SELECT a.AnnouncementID, a.Title, a.Content, a.TargetRole, a.CreatedByUserID, " +
-                    "a.CreatedDate, a.PublishDate, a.ExpiryDate, a.IsActive, a.IsArchived, " +
-                    "a.Status, a.Priority, a.LastModifiedDate, a.LastModifiedByUserID " +
-                    "FROM Announcements a " +
-                    "WHERE a.IsActive = 1 " +
-                    (includeArchived ? "" : "AND a.IsArchived = 0 ") +
-                    "ORDER BY a.CreatedDate DESC";
+    private AnnouncementPage loadAnnouncements(User viewer, String filter, List<Object> filterParams,
+                                               String rankSql, String dateSql, Announcement after,
+                                               int limit) throws SQLException {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Page size cannot be negative");
+        }
+        
+        StringBuilder sql = new StringBuilder(
+            "SELECT f.* FROM (" +
+            "SELECT a.AnnouncementID, a.Title, a.Content, a.TargetRole, a.CreatedByUserID, " +
+            "a.CreatedDate, a.PublishDate, a.ExpiryDate, a.IsActive, a.IsArchived, " +
+            "a.Status, a.Priority, a.LastModifiedDate, a.LastModifiedByUserID, " +
+            "CASE WHEN ars.AnnouncementID IS NULL THEN 0 ELSE 1 END AS IsRead, " +
+            rankSql + " AS SortRank, " + dateSql + " AS SortDate " +
+            "FROM Announcements a " +
+            "LEFT JOIN AnnouncementReadStatus ars ON ars.AnnouncementID = a.AnnouncementID AND ars.UserID = ? " +
+            "WHERE " + filter +
+            ") f ");
+        List<Object> params = new ArrayList<>();
+        params.add(viewer != null ? Integer.parseInt(viewer.getId()) : 0);
+        params.addAll(filterParams);
+        
+        if (after != null) {
+            // The previous page's last row, read back so its sort keys match the database exactly
+            sql.append("WHERE EXISTS (SELECT 1 FROM (" +
+                       "SELECT " + rankSql + " AS SortRank, " + dateSql + " AS SortDate " +
+                       "FROM Announcements a WHERE a.AnnouncementID = ?) c " +
+                       "WHERE f.SortRank > c.SortRank " +
+                       "OR (f.SortRank = c.SortRank AND (f.SortDate < c.SortDate " +
+                       "OR (f.SortDate = c.SortDate AND f.AnnouncementID < ?)))) ");
+            params.add(Integer.parseInt(after.getId()));
+            params.add(Integer.parseInt(after.getId()));
+        }
+        sql.append("ORDER BY f.SortRank, f.SortDate DESC, f.AnnouncementID DESC ");
+        if (limit > 0) {
+            // Standard syntax, understood by both SQL Server and PostgreSQL
+            sql.append("OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY");
+            params.add(limit + 1);
+        }
         
         List<Announcement> announcements = new ArrayList<>();
+        boolean hasMore = false;
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Announcement announcement = mapResultSetToAnnouncement(rs);
-                    loadAnnouncementRelations(announcement, conn);
-                    announcements.add(announcement);
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+                for (int i = 0; i < params.size(); i++) {
+                    pstmt.setObject(i + 1, params.get(i));
+                }
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        if (limit > 0 && announcements.size() == limit) {
+                            hasMore = true;
+                            break;
+                        }
+                        Announcement announcement = mapResultSetToAnnouncement(rs);
+                        announcement.setRead(rs.getInt("IsRead") == 1);
+                        announcements.add(announcement);
+                    }
                 }
             }
+            loadAnnouncementRelations(announcements, conn);
         }
         
-        return announcements;
+        return new AnnouncementPage(announcements, hasMore);
     }
     
     /**
-     * Get unread announcements count for a user
+     * Get unread announcements count for a user (the unread entries of their feed).
+     * Screens should go through UnreadCounters, which runs this once and then follows notifications.
      */
     public int getUnreadCount(User user) throws SQLException {
         String userType = user.getUserType();
         
         String sql = "SELECT COUNT(*) AS UnreadCount " +
                     "FROM Announcements a " +
-                    "WHERE a.IsActive = 1 " +
-                    "AND (a.TargetRole IS NULL OR a.TargetRole = ?) " +
-                    "AND (a.ExpiryDate IS NULL OR a.ExpiryDate >= GETDATE()) " +
+                    "WHERE " + VISIBLE_TO_ROLE +
                     "AND NOT EXISTS ( " +
                     "  SELECT 1 FROM AnnouncementReadStatus ars " +
                     "  WHERE ars.AnnouncementID = a.AnnouncementID " +
@@ -133,7 +221,7 @@ public class AnnouncementService {
         }
         
         String sql = "INSERT INTO AnnouncementReadStatus (AnnouncementID, UserID, ReadDate) " +
-                    "VALUES (?, ?, GETDATE())";
+                    "VALUES (?, ?, CURRENT_TIMESTAMP)";
         
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -142,6 +230,10 @@ public class AnnouncementService {
             pstmt.setInt(2, Integer.parseInt(user.getId()));
             
             int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0 && isVisibleTo(conn, user, announcementId)) {
+                UnreadCounters.publishForUser(conn, Integer.parseInt(user.getId()), -1,
+                                              UnreadCounters.Kind.ANNOUNCEMENTS);
+            }
             return rowsAffected > 0;
         } catch (SQLException e) {
             if (e.getErrorCode() == 2627 || e.getMessage().contains("UNIQUE")) {
@@ -152,6 +244,22 @@ public class AnnouncementService {
         }
     }
     
+    /**
+     * Whether an announcement counts towards the user's unread count when unread
+     */
+    private boolean isVisibleTo(Connection conn, User user, String announcementId) throws SQLException {
+        String sql = "SELECT 1 FROM Announcements a WHERE a.AnnouncementID = ? AND " + VISIBLE_TO_ROLE;
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, Integer.parseInt(announcementId));
+            pstmt.setString(2, user.getUserType());
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+    
     /**
      * Create a new announcement (US 3.1)
      * @param title Required
@@ -175,7 +283,7 @@ public class AnnouncementService {
             
             String sql = "INSERT INTO Announcements (Title, Content, TargetRole, CreatedByUserID, Priority, " +
                         "Status, PublishDate, ExpiryDate, CreatedDate, IsActive, IsArchived) " +
-                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, GETDATE(), 1, 0)";
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, 1, 0)";
             
             try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
                 pstmt.setString(1, title);
@@ -209,6 +317,11 @@ public class AnnouncementService {
                     try (ResultSet keys = pstmt.getGeneratedKeys()) {
                         if (keys.next()) {
                             int announcementId = keys.getInt(1);
+                            if ("PUBLISHED".equals(status)) {
+                                boolean everyone = targetRole == null || targetRole.isEmpty() || "ALL".equals(targetRole);
+                                UnreadCounters.publishForRole(conn, everyone ? null : targetRole, 1,
+                                                              UnreadCounters.Kind.ANNOUNCEMENTS);
+                            }
                             conn.commit();
                             return getAnnouncementById(String.valueOf(announcementId));
                         }
@@ -248,7 +361,7 @@ public class AnnouncementService {
             // Save edit history
             String historySql = "INSERT INTO AnnouncementEditHistory (AnnouncementID, EditedByUserID, EditDate, " +
                               "PreviousTitle, PreviousContent, PreviousTargetRole) " +
-                              "VALUES (?, ?, GETDATE(), ?, ?, ?)";
+                              "VALUES (?, ?, CURRENT_TIMESTAMP, ?, ?, ?)";
             
             try (PreparedStatement historyPstmt = conn.prepareStatement(historySql)) {
                 historyPstmt.setInt(1, Integer.parseInt(announcementId));
@@ -261,7 +374,7 @@ public class AnnouncementService {
             
             // Update announcement
             String sql = "UPDATE Announcements SET Title = ?, Content = ?, TargetRole = ?, Priority = ?, " +
-                        "Status = ?, PublishDate = ?, ExpiryDate = ?, LastModifiedDate = GETDATE(), " +
+                        "Status = ?, PublishDate = ?, ExpiryDate = ?, LastModifiedDate = CURRENT_TIMESTAMP, " +
                         "LastModifiedByUserID = ? WHERE AnnouncementID = ?";
             
             try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -294,6 +407,8 @@ public class AnnouncementService {
                 pstmt.setInt(9, Integer.parseInt(announcementId));
                 
                 int rowsAffected = pstmt.executeUpdate();
+                // Status, audience and expiry may all have changed
+                UnreadCounters.publishResync(conn, UnreadCounters.Kind.ANNOUNCEMENTS);
                 conn.commit();
                 return rowsAffected > 0;
             }
@@ -317,6 +432,9 @@ public class AnnouncementService {
             
             pstmt.setInt(1, Integer.parseInt(announcementId));
             int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                UnreadCounters.publishResync(conn, UnreadCounters.Kind.ANNOUNCEMENTS);
+            }
             return rowsAffected > 0;
         }
     }
@@ -332,6 +450,9 @@ public class AnnouncementService {
             
             pstmt.setInt(1, Integer.parseInt(announcementId));
             int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                UnreadCounters.publishResync(conn, UnreadCounters.Kind.ANNOUNCEMENTS);
+            }
             return rowsAffected > 0;
         }
     }
@@ -341,7 +462,7 @@ public class AnnouncementService {
      */
     public boolean addAttachment(String announcementId, String fileName, String filePath, Long fileSize, String mimeType) throws SQLException {
         String sql = "INSERT INTO AnnouncementAttachments (AnnouncementID, FileName, FilePath, FileSize, MimeType, UploadedDate) " +
-                    "VALUES (?, ?, ?, ?, ?, GETDATE())";
+                    "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
         
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -366,7 +487,7 @@ public class AnnouncementService {
      */
     public boolean addLink(String announcementId, String linkText, String linkUrl) throws SQLException {
         String sql = "INSERT INTO AnnouncementLinks (AnnouncementID, LinkText, LinkURL, CreatedDate) " +
-                    "VALUES (?, ?, ?, GETDATE())";
+                    "VALUES (?, ?, ?, CURRENT_TIMESTAMP)";
         
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -411,56 +532,69 @@ public class AnnouncementService {
     }
     
     /**
-     * Load attachments and links for an announcement
+     * Load attachments and links for a list of announcements, one query per relation and batch of ids
      */
-    private void loadAnnouncementRelations(Announcement announcement, Connection conn) throws SQLException {
-        // Load attachments
-        String attachmentsSql = "SELECT AttachmentID, FileName, FilePath, FileSize, MimeType, UploadedDate " +
-                               "FROM AnnouncementAttachments WHERE AnnouncementID = ?";
+    private void loadAnnouncementRelations(List<Announcement> announcements, Connection conn) throws SQLException {
+        Map<Integer, Announcement> byId = new HashMap<>();
+        for (Announcement announcement : announcements) {
+            announcement.setAttachments(new ArrayList<>());
+            announcement.setLinks(new ArrayList<>());
+            byId.put(Integer.parseInt(announcement.getId()), announcement);
+        }
+        List<Integer> ids = new ArrayList<>(byId.keySet());
         
-        try (PreparedStatement pstmt = conn.prepareStatement(attachmentsSql)) {
-            pstmt.setInt(1, Integer.parseInt(announcement.getId()));
+        for (int from = 0; from < ids.size(); from += RELATION_BATCH_SIZE) {
+            List<Integer> batch = ids.subList(from, Math.min(from + RELATION_BATCH_SIZE, ids.size()));
+            String placeholders = String.join(", ", Collections.nCopies(batch.size(), "?"));
             
-            try (ResultSet rs = pstmt.executeQuery()) {
-                List<Announcement.AnnouncementAttachment> attachments = new ArrayList<>();
-                while (rs.next()) {
-                    Announcement.AnnouncementAttachment attachment = new Announcement.AnnouncementAttachment();
-                    attachment.setId(String.valueOf(rs.getInt("AttachmentID")));
-                    attachment.setFileName(rs.getString("FileName"));
-                    attachment.setFilePath(rs.getString("FilePath"));
-                    attachment.setFileSize(rs.getLong("FileSize"));
-                    attachment.setMimeType(rs.getString("MimeType"));
-                    Timestamp uploadedDate = rs.getTimestamp("UploadedDate");
-                    if (uploadedDate != null) {
-                        attachment.setUploadedDate(uploadedDate.toLocalDateTime());
+            // Load attachments
+            String attachmentsSql = "SELECT AnnouncementID, AttachmentID, FileName, FilePath, FileSize, MimeType, UploadedDate " +
+                                   "FROM AnnouncementAttachments WHERE AnnouncementID IN (" + placeholders + ")";
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(attachmentsSql)) {
+                for (int i = 0; i < batch.size(); i++) {
+                    pstmt.setInt(i + 1, batch.get(i));
+                }
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Announcement.AnnouncementAttachment attachment = new Announcement.AnnouncementAttachment();
+                        attachment.setId(String.valueOf(rs.getInt("AttachmentID")));
+                        attachment.setFileName(rs.getString("FileName"));
+                        attachment.setFilePath(rs.getString("FilePath"));
+                        attachment.setFileSize(rs.getLong("FileSize"));
+                        attachment.setMimeType(rs.getString("MimeType"));
+                        Timestamp uploadedDate = rs.getTimestamp("UploadedDate");
+                        if (uploadedDate != null) {
+                            attachment.setUploadedDate(uploadedDate.toLocalDateTime());
+                        }
+                        byId.get(rs.getInt("AnnouncementID")).getAttachments().add(attachment);
                     }
-                    attachments.add(attachment);
                 }
-                announcement.setAttachments(attachments);
             }
-        }
-        
-        // Load links
-        String linksSql = "SELECT LinkID, LinkText, LinkURL, CreatedDate " +
-                         "FROM AnnouncementLinks WHERE AnnouncementID = ?";
-        
-        try (PreparedStatement pstmt = conn.prepareStatement(linksSql)) {
-            pstmt.setInt(1, Integer.parseInt(announcement.getId()));
             
-            try (ResultSet rs = pstmt.executeQuery()) {
-                List<Announcement.AnnouncementLink> links = new ArrayList<>();
-                while (rs.next()) {
-                    Announcement.AnnouncementLink link = new Announcement.AnnouncementLink();
-                    link.setId(String.valueOf(rs.getInt("LinkID")));
-                    link.setLinkText(rs.getString("LinkText"));
-                    link.setLinkUrl(rs.getString("LinkURL"));
-                    Timestamp createdDate = rs.getTimestamp("CreatedDate");
-                    if (createdDate != null) {
-                        link.setCreatedDate(createdDate.toLocalDateTime());
+            // Load links
+            String linksSql = "SELECT AnnouncementID, LinkID, LinkText, LinkURL, CreatedDate " +
+                             "FROM AnnouncementLinks WHERE AnnouncementID IN (" + placeholders + ")";
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(linksSql)) {
+                for (int i = 0; i < batch.size(); i++) {
+                    pstmt.setInt(i + 1, batch.get(i));
+                }
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Announcement.AnnouncementLink link = new Announcement.AnnouncementLink();
+                        link.setId(String.valueOf(rs.getInt("LinkID")));
+                        link.setLinkText(rs.getString("LinkText"));
+                        link.setLinkUrl(rs.getString("LinkURL"));
+                        Timestamp createdDate = rs.getTimestamp("CreatedDate");
+                        if (createdDate != null) {
+                            link.setCreatedDate(createdDate.toLocalDateTime());
+                        }
+                        byId.get(rs.getInt("AnnouncementID")).getLinks().add(link);
                     }
-                    links.add(link);
                 }
-                announcement.setLinks(links);
             }
         }
     }
@@ -482,7 +616,7 @@ public class AnnouncementService {
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
                     Announcement announcement = mapResultSetToAnnouncement(rs);
-                    loadAnnouncementRelations(announcement, conn);
+                    loadAnnouncementRelations(List.of(announcement), conn);
                     return announcement;
                 }
             }
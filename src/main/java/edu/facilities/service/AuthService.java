@@ -203,30 +203,23 @@ public class AuthService {
                 if (rs.next()) {
                     int userId = rs.getInt("UserID");
                     
-                    // Get UserTypeID from UserTypes table
-                    String getTypeIdSql = "SELECT UserTypeID FROM UserTypes WHERE TypeCode = ?";
-                    try (PreparedStatement typeStmt = conn.prepareStatement(getTypeIdSql)) {
-                        typeStmt.setString(1, userType.toUpperCase());
-                        try (ResultSet typeRs = typeStmt.executeQuery()) {
-                            if (typeRs.next()) {
-                                int userTypeId = typeRs.getInt("UserTypeID");
-                                
-                                // Insert into UserRoles junction table
-                                String insertRoleSql = "INSERT INTO UserRoles (UserID, UserTypeID, IsPrimary) VALUES (?, ?, ?)";
-                                try (PreparedStatement roleStmt = conn.prepareStatement(insertRoleSql)) {
-                                    roleStmt.setInt(1, userId);
-                                    roleStmt.setInt(2, userTypeId);
-                                    roleStmt.setBoolean(3, true); // Set as primary role
-                                    roleStmt.executeUpdate();
-                                }
-                                
-                                System.out.println("User registered: " + username + " (" + userType + ")");
-                                return true;
-                            } else {
-                                System.err.println("Error: UserType '" + userType + "' not found in UserTypes table");
-                                return false;
-                            }
+                    // Get UserTypeID from the reference data cache
+                    int userTypeId = ReferenceDataCache.getInstance().findUserTypeId(userType);
+                    if (userTypeId != 0) {
+                        // Insert into UserRoles junction table
+                        String insertRoleSql = "INSERT INTO UserRoles (UserID, UserTypeID, IsPrimary) VALUES (?, ?, ?)";
+                        try (PreparedStatement roleStmt = conn.prepareStatement(insertRoleSql)) {
+                            roleStmt.setInt(1, userId);
+                            roleStmt.setInt(2, userTypeId);
+                            roleStmt.setBoolean(3, true); // Set as primary role
+                            roleStmt.executeUpdate();
                         }
+                        
+                        System.out.println("User registered: " + username + " (" + userType + ")");
+                        return true;
+                    } else {
+                        System.err.println("Error: UserType '" + userType + "' not found in UserTypes table");
+                        return false;
                     }
                 }
             }
@@ -0,0 +1,16 @@
+package edu.facilities.service;
+
+/**
+ * Thrown when a booking cannot be placed because the room is not available for the
+ * requested time slot: another CONFIRMED booking overlaps it, or the room is not in
+ * AVAILABLE status. Extends IllegalArgumentException so existing callers that report
+ * validation errors keep working.
+ */
+public class BookingConflictException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BookingConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,392 @@
+package edu.facilities.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of CONFIRMED bookings and room status per room, so BookingService can
+ * answer availability checks without a database round trip.
+ *
+ * Each room keeps its bookings in arrays sorted by start time together with a running
+ * maximum of end times, so an overlap check is a binary search plus a short backwards scan.
+ * Only bookings ending after a lookback horizon are held; older time slots are left to the
+ * database. The database stays the source of truth: BookingService reports its own writes,
+ * and a change counter maintained by triggers on Bookings and Rooms (BookingIndexVersion)
+ * is polled every few seconds so changes made by other clients cause a reload.
+ * Uses singleton pattern so every BookingService shares one index.
+ */
+public class BookingIndex {
+
+    private static BookingIndex instance;
+
+    private final boolean enabled = Boolean.parseBoolean(
+        DatabaseConnection.getConfigValue("booking.index.enabled", "BOOKING_INDEX_ENABLED", "true"));
+    private final long refreshIntervalNanos = Long.parseLong(
+        DatabaseConnection.getConfigValue("booking.index.refresh.seconds", "BOOKING_INDEX_REFRESH_SECONDS", "5")) * 1_000_000_000L;
+    private final long lookbackDays = Long.parseLong(
+        DatabaseConnection.getConfigValue("booking.index.lookback.days", "BOOKING_INDEX_LOOKBACK_DAYS", "1"));
+
+    private final ReferenceDataCache referenceData = ReferenceDataCache.getInstance();
+
+    private volatile Snapshot snapshot;
+    private volatile boolean stale = true;
+    private volatile long lastCheckedAt;
+    // Last BookingIndexVersion seen, or -1 when the table is missing and the index reloads on every check
+    private long knownVersion = -1;
+
+    private BookingIndex() {
+        // Private constructor for singleton
+    }
+
+    /**
+     * Get singleton instance
+     */
+    public static synchronized BookingIndex getInstance() {
+        if (instance == null) {
+            instance = new BookingIndex();
+        }
+        return instance;
+    }
+
+    /**
+     * Check a time slot against the index
+     * @param excludeBookingId Booking to ignore (the one being moved), or 0
+     * @return Whether the room exists, is AVAILABLE and has no overlapping CONFIRMED booking;
+     *         null if the index cannot answer (disabled, unknown room, or slot before the horizon)
+     */
+    Boolean isRoomAvailable(int roomId, LocalDateTime startTime, LocalDateTime endTime,
+                            int excludeBookingId) throws SQLException {
+        if (!enabled) {
+            return null;
+        }
+        refreshIfDue();
+
+        Snapshot current = snapshot;
+        long start = toKey(startTime);
+        if (current == null || start < current.horizon) {
+            return null;
+        }
+        RoomSchedule room = current.rooms.get(roomId);
+        if (room == null) {
+            return null;
+        }
+        return room.available && !room.overlaps(start, toKey(endTime), excludeBookingId);
+    }
+
+    /**
+     * Record a booking that was just inserted or moved as CONFIRMED
+     * @param conn Connection the write was made on, used to read the change counter
+     */
+    synchronized void bookingConfirmed(Connection conn, int bookingId, int roomId,
+                                       LocalDateTime startTime, LocalDateTime endTime) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        removeBooking(current, bookingId);
+        long end = toKey(endTime);
+        RoomSchedule room = current.rooms.get(roomId);
+        if (room == null) {
+            stale = true;
+        } else if (end > current.horizon) {
+            current.rooms.put(roomId, room.with(bookingId, toKey(startTime), end));
+            current.bookingRooms.put(bookingId, roomId);
+        }
+        acknowledgeWrite(conn);
+    }
+
+    /**
+     * Record a booking that was just cancelled or deleted
+     * @param conn Connection the write was made on, used to read the change counter
+     */
+    synchronized void bookingRemoved(Connection conn, int bookingId) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        removeBooking(current, bookingId);
+        acknowledgeWrite(conn);
+    }
+
+    /**
+     * Reload everything on the next check, e.g. after a room's status changed
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Compare the change counter with the one the index was built from, at most once per
+     * refresh interval, and reload if another client has written since
+     */
+    private void refreshIfDue() throws SQLException {
+        if (!stale && snapshot != null && System.nanoTime() - lastCheckedAt < refreshIntervalNanos) {
+            return;
+        }
+        synchronized (this) {
+            if (!stale && snapshot != null && System.nanoTime() - lastCheckedAt < refreshIntervalNanos) {
+                return;
+            }
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                if (stale || snapshot == null || knownVersion < 0 || readVersion(conn) != knownVersion) {
+                    reload(conn);
+                }
+            }
+            lastCheckedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Rebuild the index from the database. The counter and the rows are read in one
+     * REPEATABLE READ transaction so they describe the same state.
+     */
+    private void reload(Connection conn) throws SQLException {
+        boolean originalAutoCommit = conn.getAutoCommit();
+        int originalIsolation = conn.getTransactionIsolation();
+        LocalDateTime horizon = LocalDateTime.now().minusDays(lookbackDays);
+        Map<Integer, Boolean> roomAvailable = new HashMap<>();
+        Map<Integer, List<long[]>> roomBookings = new HashMap<>();
+        long version;
+        try {
+            conn.setAutoCommit(false);
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            version = readVersion(conn);
+
+            String roomSql = "SELECT r.RoomID, st.StatusCode as Status " +
+                             "FROM Rooms r " +
+                             "LEFT JOIN StatusTypes st ON r.StatusTypeID = st.StatusTypeID AND st.EntityType = 'ROOM'";
+            try (PreparedStatement pstmt = conn.prepareStatement(roomSql);
+                 ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    roomAvailable.put(rs.getInt("RoomID"), "AVAILABLE".equalsIgnoreCase(rs.getString("Status")));
+                }
+            }
+
+            String bookingSql = "SELECT BookingID, RoomID, BookingDate, EndDate FROM Bookings " +
+                                "WHERE StatusTypeID = ? AND EndDate > ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(bookingSql)) {
+                pstmt.setInt(1, referenceData.getStatusTypeId("BOOKING", "CONFIRMED"));
+                pstmt.setTimestamp(2, Timestamp.valueOf(horizon));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        roomBookings.computeIfAbsent(rs.getInt("RoomID"), k -> new ArrayList<>()).add(new long[] {
+                            rs.getInt("BookingID"),
+                            toKey(rs.getTimestamp("BookingDate").toLocalDateTime()),
+                            toKey(rs.getTimestamp("EndDate").toLocalDateTime())
+                        });
+                    }
+                }
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setTransactionIsolation(originalIsolation);
+            conn.setAutoCommit(originalAutoCommit);
+        }
+
+        Snapshot loaded = new Snapshot(toKey(horizon));
+        int bookings = 0;
+        for (Map.Entry<Integer, Boolean> room : roomAvailable.entrySet()) {
+            List<long[]> rows = roomBookings.getOrDefault(room.getKey(), List.of());
+            loaded.rooms.put(room.getKey(), RoomSchedule.of(room.getValue(), rows));
+            for (long[] row : rows) {
+                loaded.bookingRooms.put((int) row[0], room.getKey());
+            }
+            bookings += rows.size();
+        }
+        snapshot = loaded;
+        knownVersion = version;
+        stale = false;
+        System.out.println("Booking index loaded: " + loaded.rooms.size() + " rooms, " + bookings + " bookings");
+    }
+
+    /**
+     * After one of our own writes, move the known counter forward if nobody else wrote in
+     * between, so the write does not trigger a needless reload
+     */
+    private void acknowledgeWrite(Connection conn) {
+        if (knownVersion < 0) {
+            return;
+        }
+        try {
+            long version = readVersion(conn);
+            if (version == knownVersion + 1) {
+                knownVersion = version;
+            }
+        } catch (SQLException e) {
+            stale = true;
+        }
+    }
+
+    /**
+     * Current value of the change counter, or -1 if BookingIndexVersion does not exist
+     */
+    private long readVersion(Connection conn) throws SQLException {
+        if (knownVersion == -1 && snapshot != null) {
+            return -1;
+        }
+        String sql = "SELECT Version FROM BookingIndexVersion WHERE VersionID = 1";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getLong("Version") : -1;
+        } catch (SQLException e) {
+            if (!"42P01".equals(e.getSQLState())) {
+                throw e;
+            }
+            // Schema without the change counter: fall back to reloading every refresh interval
+            System.err.println("⚠ BookingIndexVersion table not found; booking index will reload every check");
+            if (!conn.getAutoCommit()) {
+                conn.rollback();
+            }
+            return -1;
+        }
+    }
+
+    private void removeBooking(Snapshot current, int bookingId) {
+        Integer roomId = current.bookingRooms.remove(bookingId);
+        if (roomId != null) {
+            current.rooms.computeIfPresent(roomId, (id, room) -> room.without(bookingId));
+        }
+    }
+
+    /**
+     * Microseconds since the epoch, the precision of a PostgreSQL TIMESTAMP
+     */
+    private static long toKey(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    /**
+     * Everything loaded by one reload; rooms are replaced copy-on-write as bookings change
+     */
+    private static class Snapshot {
+        final long horizon;
+        final Map<Integer, RoomSchedule> rooms = new ConcurrentHashMap<>();
+        final Map<Integer, Integer> bookingRooms = new ConcurrentHashMap<>();
+
+        Snapshot(long horizon) {
+            this.horizon = horizon;
+        }
+    }
+
+    /**
+     * Immutable schedule of one room: bookings sorted by start, with maxEnds[i] the latest
+     * end among bookings 0..i
+     */
+    private static class RoomSchedule {
+        final boolean available;
+        final int[] bookingIds;
+        final long[] starts;
+        final long[] ends;
+        final long[] maxEnds;
+
+        private RoomSchedule(boolean available, int[] bookingIds, long[] starts, long[] ends) {
+            this.available = available;
+            this.bookingIds = bookingIds;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = new long[ends.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < ends.length; i++) {
+                max = Math.max(max, ends[i]);
+                maxEnds[i] = max;
+            }
+        }
+
+        /**
+         * Build from rows of {bookingId, start, end}
+         */
+        static RoomSchedule of(boolean available, List<long[]> rows) {
+            long[][] sorted = rows.toArray(new long[0][]);
+            Arrays.sort(sorted, (a, b) -> Long.compare(a[1], b[1]));
+            int[] ids = new int[sorted.length];
+            long[] starts = new long[sorted.length];
+            long[] ends = new long[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                ids[i] = (int) sorted[i][0];
+                starts[i] = sorted[i][1];
+                ends[i] = sorted[i][2];
+            }
+            return new RoomSchedule(available, ids, starts, ends);
+        }
+
+        /**
+         * Same overlap rule as the SQL check: an existing booking conflicts when it starts
+         * before the requested end and ends after the requested start
+         */
+        boolean overlaps(long start, long end, int excludeBookingId) {
+            // Bookings at index < candidates start before the requested end
+            int candidates = firstStartAtOrAfter(end);
+            for (int i = candidates - 1; i >= 0 && maxEnds[i] > start; i--) {
+                if (ends[i] > start && bookingIds[i] != excludeBookingId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        RoomSchedule with(int bookingId, long start, long end) {
+            int at = firstStartAtOrAfter(start);
+            int n = starts.length;
+            int[] ids = new int[n + 1];
+            long[] newStarts = new long[n + 1];
+            long[] newEnds = new long[n + 1];
+            System.arraycopy(bookingIds, 0, ids, 0, at);
+            System.arraycopy(starts, 0, newStarts, 0, at);
+            System.arraycopy(ends, 0, newEnds, 0, at);
+            ids[at] = bookingId;
+            newStarts[at] = start;
+            newEnds[at] = end;
+            System.arraycopy(bookingIds, at, ids, at + 1, n - at);
+            System.arraycopy(starts, at, newStarts, at + 1, n - at);
+            System.arraycopy(ends, at, newEnds, at + 1, n - at);
+            return new RoomSchedule(available, ids, newStarts, newEnds);
+        }
+
+        RoomSchedule without(int bookingId) {
+            for (int i = 0; i < bookingIds.length; i++) {
+                if (bookingIds[i] == bookingId) {
+                    int n = bookingIds.length;
+                    int[] ids = new int[n - 1];
+                    long[] newStarts = new long[n - 1];
+                    long[] newEnds = new long[n - 1];
+                    System.arraycopy(bookingIds, 0, ids, 0, i);
+                    System.arraycopy(starts, 0, newStarts, 0, i);
+                    System.arraycopy(ends, 0, newEnds, 0, i);
+                    System.arraycopy(bookingIds, i + 1, ids, i, n - i - 1);
+                    System.arraycopy(starts, i + 1, newStarts, i, n - i - 1);
+                    System.arraycopy(ends, i + 1, newEnds, i, n - i - 1);
+                    return new RoomSchedule(available, ids, newStarts, newEnds);
+                }
+            }
+            return this;
+        }
+
+        private int firstStartAtOrAfter(long time) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < time) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
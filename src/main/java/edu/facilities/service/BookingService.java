@@ -16,6 +16,14 @@ import java.util.List;
  */
 public class BookingService {
     
+    // SQLSTATE raised by PostgreSQL for an exclusion constraint violation
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final String TIME_SLOT_TAKEN = "Room is not available for the requested time slot. " +
+                                                  "Please choose a different time or room.";
+    
+    private final ReferenceDataCache referenceData = ReferenceDataCache.getInstance();
+    private final BookingIndex bookingIndex = BookingIndex.getInstance();
+    
     /**
      * Check if a room is available for booking at a specific time slot
      * @param roomId The room ID (RoomID from database)
@@ -25,6 +33,12 @@ public class BookingService {
      * @throws SQLException if database error occurs
      */
     public boolean isRoomAvailable(int roomId, LocalDateTime startTime, LocalDateTime endTime) throws SQLException {
+        // Answer from the in-memory index when it covers this slot
+        Boolean indexed = bookingIndex.isRoomAvailable(roomId, startTime, endTime, 0);
+        if (indexed != null) {
+            return indexed;
+        }
+        
         // Check if room exists and is in AVAILABLE status
         String roomCheckSql = "SELECT st.StatusCode as Status " +
                               "FROM Rooms r " +
@@ -105,7 +119,8 @@ public class BookingService {
      * @param purpose Optional purpose/description
      * @return Booking object if successful, null otherwise
      * @throws SQLException if database error occurs
-     * @throws IllegalArgumentException if room is not available or invalid parameters
+     * @throws BookingConflictException if the room is not available for the time slot
+     * @throws IllegalArgumentException if parameters are invalid
      */
     public Booking createBooking(Room room, User user, LocalDateTime startTime, 
                                  LocalDateTime endTime, String purpose) throws SQLException {
@@ -128,18 +143,6 @@ public class BookingService {
             throw new IllegalArgumentException("Only professors and staff can book rooms. Your role: " + userType);
         }
         
-        // Get RoomID from room code
-        int roomId = getRoomIdByCode(room.getId());
-        if (roomId == -1) {
-            throw new IllegalArgumentException("Room with code '" + room.getId() + "' not found");
-        }
-        
-        // Check availability
-        if (!isRoomAvailable(roomId, startTime, endTime)) {
-            throw new IllegalArgumentException("Room is not available for the requested time slot. " +
-                                               "Please choose a different time or room.");
-        }
-        
         // Get UserID
         int userId;
         try {
@@ -148,51 +151,60 @@ public class BookingService {
             throw new IllegalArgumentException("Invalid user ID: " + user.getId());
         }
         
-        // Insert booking
-        Connection conn = DatabaseConnection.getConnection();
-        int statusTypeId = getStatusTypeId(conn, "BOOKING", "CONFIRMED");
+        // Insert booking in one statement: the room must exist and be AVAILABLE, and the
+        // EX_Bookings_Room_Period exclusion constraint rejects overlapping CONFIRMED bookings,
+        // so two concurrent requests for the same slot cannot both succeed
+        int statusTypeId = referenceData.getStatusTypeId("BOOKING", "CONFIRMED");
+        int availableRoomStatusId = referenceData.getStatusTypeId("ROOM", "AVAILABLE");
         
         String sql = "INSERT INTO Bookings (RoomID, UserID, BookingDate, EndDate, Purpose, StatusTypeID) " +
-                    "VALUES (?, ?, ?, ?, ?, ?)";
+                    "SELECT r.RoomID, ?, ?, ?, ?, ? FROM Rooms r WHERE r.Code = ? AND r.StatusTypeID = ? " +
+                    "RETURNING BookingID, RoomID";
         
-        try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setInt(1, roomId);
-            pstmt.setInt(2, userId);
-            pstmt.setTimestamp(3, Timestamp.valueOf(startTime));
-            pstmt.setTimestamp(4, Timestamp.valueOf(endTime));
-            pstmt.setString(5, purpose != null ? purpose : "");
-            pstmt.setInt(6, statusTypeId);
-            
-            int rowsAffected = pstmt.executeUpdate();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, userId);
+            pstmt.setTimestamp(2, Timestamp.valueOf(startTime));
+            pstmt.setTimestamp(3, Timestamp.valueOf(endTime));
+            pstmt.setString(4, purpose != null ? purpose : "");
+            pstmt.setInt(5, statusTypeId);
+            pstmt.setString(6, room.getId());
+            pstmt.setInt(7, availableRoomStatusId);
             
-            if (rowsAffected > 0) {
-                // Get generated booking ID
-                try (ResultSet keys = pstmt.getGeneratedKeys()) {
-                    if (keys.next()) {
-                        int bookingId = keys.getInt(1);
-                        String bookingIdStr = String.valueOf(bookingId);
-                        
-                        // Create and return Booking object
-                        Booking booking = new Booking(
-                            bookingIdStr,
-                            room,
-                            user,
-                            startTime,
-                            endTime,
-                            purpose,
-                            BookingStatus.CONFIRMED,
-                            LocalDateTime.now()
-                        );
-                        
-                        System.out.println("Booking created successfully: ID=" + bookingIdStr + 
-                                         ", Room=" + room.getId() + ", User=" + user.getUsername());
-                        return booking;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    IllegalArgumentException error = roomNotBookable(room.getId());
+                    if (error != null) {
+                        throw error;
                     }
+                    return null;
                 }
+                int bookingId = rs.getInt("BookingID");
+                String bookingIdStr = String.valueOf(bookingId);
+                bookingIndex.bookingConfirmed(conn, bookingId, rs.getInt("RoomID"), startTime, endTime);
+                
+                // Create and return Booking object
+                Booking booking = new Booking(
+                    bookingIdStr,
+                    room,
+                    user,
+                    startTime,
+                    endTime,
+                    purpose,
+                    BookingStatus.CONFIRMED,
+                    LocalDateTime.now()
+                );
+                
+                System.out.println("Booking created successfully: ID=" + bookingIdStr + 
+                                 ", Room=" + room.getId() + ", User=" + user.getUsername());
+                return booking;
             }
+        } catch (SQLException e) {
+            if (isBookingConflict(e)) {
+                throw new BookingConflictException(TIME_SLOT_TAKEN);
+            }
+            throw e;
         }
-        
-        return null;
     }
     
     /**
@@ -292,17 +304,20 @@ public class BookingService {
             throw new IllegalArgumentException("Invalid booking ID format");
         }
         
-        Connection conn = DatabaseConnection.getConnection();
-        int cancelledStatusTypeId = getStatusTypeId(conn, "BOOKING", "CANCELLED");
-        int confirmedStatusTypeId = getStatusTypeId(conn, "BOOKING", "CONFIRMED");
+        int cancelledStatusTypeId = referenceData.getStatusTypeId("BOOKING", "CANCELLED");
+        int confirmedStatusTypeId = referenceData.getStatusTypeId("BOOKING", "CONFIRMED");
         
         String sql = "UPDATE Bookings SET StatusTypeID = ? WHERE BookingID = ? AND StatusTypeID = ?";
         
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, cancelledStatusTypeId);
             pstmt.setInt(2, bookingIdInt);
             pstmt.setInt(3, confirmedStatusTypeId);
             int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                bookingIndex.bookingRemoved(conn, bookingIdInt);
+            }
             return rowsAffected > 0;
         }
     }
@@ -353,57 +368,62 @@ public class BookingService {
             throw new IllegalArgumentException("Can only update confirmed bookings");
         }
         
-        // Get RoomID from room code
-        int newRoomId = getRoomIdByCode(newRoom.getId());
-        if (newRoomId == -1) {
-            throw new IllegalArgumentException("Room with code '" + newRoom.getId() + "' not found");
-        }
+        // Move the booking in one statement; as in createBooking the target room must be
+        // AVAILABLE and the exclusion constraint rejects overlaps (the booking's own old
+        // slot is not a conflict because it is the row being updated)
+        int confirmedStatusTypeId = referenceData.getStatusTypeId("BOOKING", "CONFIRMED");
+        int availableRoomStatusId = referenceData.getStatusTypeId("ROOM", "AVAILABLE");
+        String sql = "UPDATE Bookings b SET RoomID = r.RoomID, BookingDate = ?, EndDate = ?, Purpose = ? " +
+                    "FROM Rooms r " +
+                    "WHERE b.BookingID = ? AND b.StatusTypeID = ? AND r.Code = ? AND r.StatusTypeID = ? " +
+                    "RETURNING b.RoomID";
         
-        // Check if the new time slot is available
-        // Exclude the current booking from availability check
-        if (!isRoomAvailableExcludingBooking(newRoomId, newStartTime, newEndTime, bookingIdInt)) {
-            throw new IllegalArgumentException("Room is not available for the requested time slot. " +
-                                             "Please choose a different time or room.");
-        }
-        
-        // Update the booking
-        Connection conn = DatabaseConnection.getConnection();
-        int confirmedStatusTypeId = getStatusTypeId(conn, "BOOKING", "CONFIRMED");
-        String sql = "UPDATE Bookings SET RoomID = ?, BookingDate = ?, EndDate = ?, Purpose = ? " +
-                    "WHERE BookingID = ? AND StatusTypeID = ?";
-        
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, newRoomId);
-            pstmt.setTimestamp(2, Timestamp.valueOf(newStartTime));
-            pstmt.setTimestamp(3, Timestamp.valueOf(newEndTime));
-            pstmt.setString(4, newPurpose != null ? newPurpose : "");
-            pstmt.setInt(5, bookingIdInt);
-            pstmt.setInt(6, confirmedStatusTypeId);
-            
-            int rowsAffected = pstmt.executeUpdate();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setTimestamp(1, Timestamp.valueOf(newStartTime));
+            pstmt.setTimestamp(2, Timestamp.valueOf(newEndTime));
+            pstmt.setString(3, newPurpose != null ? newPurpose : "");
+            pstmt.setInt(4, bookingIdInt);
+            pstmt.setInt(5, confirmedStatusTypeId);
+            pstmt.setString(6, newRoom.getId());
+            pstmt.setInt(7, availableRoomStatusId);
             
-            if (rowsAffected > 0) {
-                // Get updated room info
-                Room updatedRoom = getRoomById(conn, newRoomId, newRoom.getId());
-                if (updatedRoom == null) {
-                    updatedRoom = newRoom; // Fallback to provided room
+            int newRoomId;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    IllegalArgumentException error = roomNotBookable(newRoom.getId());
+                    if (error != null) {
+                        throw error;
+                    }
+                    return null; // Booking was cancelled in the meantime
                 }
-                
-                // Return updated booking
-                return new Booking(
-                    bookingId,
-                    updatedRoom,
-                    currentBooking.getUser(),
-                    newStartTime,
-                    newEndTime,
-                    newPurpose,
-                    BookingStatus.CONFIRMED,
-                    currentBooking.getCreatedAt()
-                );
+                newRoomId = rs.getInt("RoomID");
+            }
+            bookingIndex.bookingConfirmed(conn, bookingIdInt, newRoomId, newStartTime, newEndTime);
+            
+            // Get updated room info
+            Room updatedRoom = getRoomById(conn, newRoomId, newRoom.getId());
+            if (updatedRoom == null) {
+                updatedRoom = newRoom; // Fallback to provided room
+            }
+            
+            // Return updated booking
+            return new Booking(
+                bookingId,
+                updatedRoom,
+                currentBooking.getUser(),
+                newStartTime,
+                newEndTime,
+                newPurpose,
+                BookingStatus.CONFIRMED,
+                currentBooking.getCreatedAt()
+            );
+        } catch (SQLException e) {
+            if (isBookingConflict(e)) {
+                throw new BookingConflictException(TIME_SLOT_TAKEN);
             }
+            throw e;
         }
-        
-        return null;
     }
     
     /**
@@ -457,66 +477,6 @@ public class BookingService {
         return null;
     }
     
-    /**
-     * Check if a room is available excluding a specific booking (for update operations)
-     * @param roomId The room ID
-     * @param startTime The requested start time
-     * @param endTime The requested end time
-     * @param excludeBookingId The booking ID to exclude from conflict check
-     * @return true if room is available, false if there's a conflict
-     * @throws SQLException if database error occurs
-     */
-    private boolean isRoomAvailableExcludingBooking(int roomId, LocalDateTime startTime, 
-                                                    LocalDateTime endTime, int excludeBookingId) throws SQLException {
-        // Check if room exists and is in AVAILABLE status
-        String roomCheckSql = "SELECT st.StatusCode as Status " +
-                              "FROM Rooms r " +
-                              "LEFT JOIN StatusTypes st ON r.StatusTypeID = st.StatusTypeID AND st.EntityType = 'ROOM' " +
-                              "WHERE r.RoomID = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(roomCheckSql)) {
-            
-            pstmt.setInt(1, roomId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (!rs.next()) {
-                    return false; // Room doesn't exist
-                }
-                String status = rs.getString("Status");
-                if (!"AVAILABLE".equalsIgnoreCase(status)) {
-                    return false; // Room is not available
-                }
-            }
-        }
-        
-        // Check for overlapping bookings, excluding the current booking
-        Connection conn2 = DatabaseConnection.getConnection();
-        String conflictSql = "SELECT COUNT(*) AS ConflictCount FROM Bookings b " +
-                            "INNER JOIN StatusTypes st ON b.StatusTypeID = st.StatusTypeID AND st.EntityType = 'BOOKING' " +
-                            "WHERE b.RoomID = ? AND st.StatusCode = 'CONFIRMED' AND b.BookingID != ? " +
-                            "AND ((b.BookingDate <= ? AND b.EndDate > ?) OR " +
-                            "     (b.BookingDate < ? AND b.EndDate >= ?) OR " +
-                            "     (b.BookingDate >= ? AND b.EndDate <= ?))";
-        
-        try (PreparedStatement conflictPstmt = conn2.prepareStatement(conflictSql)) {
-            conflictPstmt.setInt(1, roomId);
-            conflictPstmt.setInt(2, excludeBookingId);
-            conflictPstmt.setTimestamp(3, Timestamp.valueOf(startTime));
-            conflictPstmt.setTimestamp(4, Timestamp.valueOf(startTime));
-            conflictPstmt.setTimestamp(5, Timestamp.valueOf(endTime));
-            conflictPstmt.setTimestamp(6, Timestamp.valueOf(endTime));
-            conflictPstmt.setTimestamp(7, Timestamp.valueOf(startTime));
-            conflictPstmt.setTimestamp(8, Timestamp.valueOf(endTime));
-            
-            try (ResultSet rs = conflictPstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("ConflictCount") == 0;
-                }
-            }
-        }
-        
-        return true;
-    }
-    
     /**
      * Get all bookings for a specific room
      * @param roomCode The room code
@@ -585,6 +545,41 @@ public class BookingService {
     
     // Helper methods
     
+    /**
+     * Whether a failed write was rejected by the EX_Bookings_Room_Period exclusion constraint
+     */
+    private boolean isBookingConflict(SQLException e) {
+        return EXCLUSION_VIOLATION.equals(e.getSQLState());
+    }
+    
+    /**
+     * Explain why a booking write for this room matched no row
+     * @return The error to report, or null if the room exists and is AVAILABLE
+     */
+    private IllegalArgumentException roomNotBookable(String roomCode) throws SQLException {
+        String sql = "SELECT st.StatusCode as Status " +
+                     "FROM Rooms r " +
+                     "LEFT JOIN StatusTypes st ON r.StatusTypeID = st.StatusTypeID AND st.EntityType = 'ROOM' " +
+                     "WHERE r.Code = ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, roomCode);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return new IllegalArgumentException("Room with code '" + roomCode + "' not found");
+                }
+                String status = rs.getString("Status");
+                if (!"AVAILABLE".equalsIgnoreCase(status)) {
+                    return new BookingConflictException("Room " + roomCode + " cannot be booked right now (status: " +
+                                                        status + "). Please choose a different room.");
+                }
+            }
+        }
+        return null;
+    }
+    
     private int getRoomIdByCode(String roomCode) throws SQLException {
         String sql = "SELECT RoomID FROM Rooms WHERE Code = ?";
         
@@ -846,23 +841,6 @@ public class BookingService {
         return false;
     }
     
-    /**
-     * Get StatusTypeID from StatusTypes table by EntityType and StatusCode
-     */
-    private int getStatusTypeId(Connection conn, String entityType, String statusCode) throws SQLException {
-        String sql = "SELECT StatusTypeID FROM StatusTypes WHERE EntityType = ? AND StatusCode = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, entityType);
-            pstmt.setString(2, statusCode.toUpperCase());
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("StatusTypeID");
-                }
-            }
-        }
-        throw new SQLException("StatusType with EntityType '" + entityType + "' and StatusCode '" + statusCode + "' not found");
-    }
-    
     /**
      * Get count of future bookings for a room (legacy method)
      * @param roomId The room code
@@ -875,7 +853,7 @@ public class BookingService {
         }
         
         Connection conn = DatabaseConnection.getConnection();
-        int confirmedStatusTypeId = getStatusTypeId(conn, "BOOKING", "CONFIRMED");
+        int confirmedStatusTypeId = referenceData.getStatusTypeId("BOOKING", "CONFIRMED");
         String sql = "SELECT COUNT(*) AS BookingCount FROM Bookings b " +
                     "INNER JOIN StatusTypes st ON b.StatusTypeID = st.StatusTypeID AND st.EntityType = 'BOOKING' " +
                     "WHERE b.RoomID = ? AND b.BookingDate >= CURRENT_TIMESTAMP AND st.StatusCode = 'CONFIRMED'";
@@ -906,7 +884,7 @@ public class BookingService {
         }
         
         Connection conn = DatabaseConnection.getConnection();
-        int confirmedStatusTypeId = getStatusTypeId(conn, "BOOKING", "CONFIRMED");
+        int confirmedStatusTypeId = referenceData.getStatusTypeId("BOOKING", "CONFIRMED");
         String sql = "SELECT b.BookingDate FROM Bookings b " +
                     "INNER JOIN StatusTypes st ON b.StatusTypeID = st.StatusTypeID AND st.EntityType = 'BOOKING' " +
                     "WHERE b.RoomID = ? AND b.BookingDate >= CURRENT_TIMESTAMP AND st.StatusCode = 'CONFIRMED' " +
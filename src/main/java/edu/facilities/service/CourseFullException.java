@@ -0,0 +1,15 @@
+package edu.facilities.service;
+
+/**
+ * Thrown when a student cannot enroll because the course has no seat left. The student can
+ * join the course's waitlist instead. Extends IllegalArgumentException so existing callers
+ * that report validation errors keep working.
+ */
+public class CourseFullException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CourseFullException(String message) {
+        super(message);
+    }
+}
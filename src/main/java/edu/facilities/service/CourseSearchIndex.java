@@ -0,0 +1,164 @@
+package edu.facilities.service;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory prefix index over the course catalog, used by CourseService.searchCourses when
+ * search.mode=local or when the database has no SearchPrefixVector column (an older schema).
+ *
+ * Every word of a course's code, name, department and description is inserted into a trie;
+ * each trie node keeps the courses having a word with that prefix and the best weight of
+ * the field it came from (code 4, name 3, department 2, description 1), mirroring the A-D
+ * weights of the PostgreSQL search vector. A query matches courses that have every term as
+ * a prefix and scores them by the sum of the weights. The trie is rebuilt when a course
+ * changes in this client and after search.index.refresh.seconds, so edits from other
+ * clients show up within that time.
+ * Uses singleton pattern so all screens share one index.
+ */
+public class CourseSearchIndex {
+
+    public static final int CODE_WEIGHT = 4;
+    public static final int NAME_WEIGHT = 3;
+    public static final int DEPARTMENT_WEIGHT = 2;
+    public static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final long MAX_AGE_MILLIS = Long.parseLong(
+        DatabaseConnection.getConfigValue("search.index.refresh.seconds", "SEARCH_INDEX_REFRESH_SECONDS", "300")) * 1000;
+
+    private static CourseSearchIndex instance;
+
+    private volatile Node root;
+    private volatile long loadedAt;
+
+    private CourseSearchIndex() {
+        // Private constructor for singleton
+    }
+
+    /**
+     * Get singleton instance
+     */
+    public static synchronized CourseSearchIndex getInstance() {
+        if (instance == null) {
+            instance = new CourseSearchIndex();
+        }
+        return instance;
+    }
+
+    /**
+     * Split search text into lower-case words, the way both search paths see it
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String term : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Drop the index; the next search rebuilds it
+     */
+    public void invalidate() {
+        root = null;
+    }
+
+    /**
+     * Find the courses matching every term of the keyword as a word prefix
+     * @return Score per CourseID (higher is better); empty if nothing matches
+     */
+    public Map<Integer, Integer> search(String keyword) throws SQLException {
+        List<String> terms = terms(keyword);
+        Map<Integer, Integer> scores = new HashMap<>();
+        if (terms.isEmpty()) {
+            return scores;
+        }
+        Node index = current();
+
+        for (int i = 0; i < terms.size(); i++) {
+            Node node = index.find(terms.get(i));
+            if (node == null) {
+                return new HashMap<>();
+            }
+            if (i == 0) {
+                scores.putAll(node.postings);
+            } else {
+                // Keep only courses matching every term so far
+                scores.keySet().retainAll(node.postings.keySet());
+                scores.replaceAll((courseId, score) -> score + node.postings.get(courseId));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    private Node current() throws SQLException {
+        Node current = root;
+        if (current != null && System.currentTimeMillis() - loadedAt < MAX_AGE_MILLIS) {
+            return current;
+        }
+        synchronized (this) {
+            if (root == current || root == null) {
+                root = build();
+                loadedAt = System.currentTimeMillis();
+            }
+            return root;
+        }
+    }
+
+    private static Node build() throws SQLException {
+        String sql = "SELECT c.CourseID, c.Code, c.Name, c.Description, d.Name AS Department " +
+                    "FROM Courses c LEFT JOIN Departments d ON c.DepartmentID = d.DepartmentID";
+        Node root = new Node();
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                int courseId = rs.getInt("CourseID");
+                root.add(courseId, rs.getString("Code"), CODE_WEIGHT);
+                root.add(courseId, rs.getString("Name"), NAME_WEIGHT);
+                root.add(courseId, rs.getString("Department"), DEPARTMENT_WEIGHT);
+                root.add(courseId, rs.getString("Description"), DESCRIPTION_WEIGHT);
+            }
+        }
+        return root;
+    }
+
+    private static final class Node {
+        final Map<Character, Node> children = new HashMap<>();
+        // CourseID -> best field weight of a word passing through this node
+        final Map<Integer, Integer> postings = new HashMap<>();
+
+        void add(int courseId, String field, int weight) {
+            for (String word : terms(field)) {
+                Node node = this;
+                for (int i = 0; i < word.length(); i++) {
+                    node = node.children.computeIfAbsent(word.charAt(i), c -> new Node());
+                    node.postings.merge(courseId, weight, Math::max);
+                }
+            }
+        }
+
+        Node find(String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            return node;
+        }
+    }
+}
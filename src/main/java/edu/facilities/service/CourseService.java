@@ -8,7 +8,10 @@ import edu.facilities.model.User;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service for managing courses in the catalog
@@ -16,6 +19,16 @@ import java.util.List;
  */
 public class CourseService {
     
+    // Advisory lock serializing prerequisite changes, so two of them cannot close a cycle together
+    private static final int PREREQUISITE_LOCK_KEY = 2004;
+    
+    // search.mode=local (or a schema without the Courses search vectors) searches the in-memory
+    // CourseSearchIndex instead of PostgreSQL full-text search
+    private static volatile boolean localSearch = "local".equalsIgnoreCase(
+        DatabaseConnection.getConfigValue("search.mode", "SEARCH_MODE", "postgres"));
+    
+    private final ReferenceDataCache referenceData = ReferenceDataCache.getInstance();
+    
     /**
      * Create a new course
      */
@@ -27,9 +40,9 @@ public class CourseService {
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             
-            int departmentId = getDepartmentIdByName(department);
-            int semesterId = getSemesterIdByCode(semester);
-            int courseTypeId = getCourseTypeIdByCode(type.toString());
+            int departmentId = referenceData.getDepartmentId(department);
+            int semesterId = referenceData.getSemesterId(semester);
+            int courseTypeId = referenceData.getCourseTypeId(type.toString());
             
             pstmt.setString(1, code);
             pstmt.setString(2, name);
@@ -46,6 +59,7 @@ public class CourseService {
                 try (ResultSet keys = pstmt.getGeneratedKeys()) {
                     if (keys.next()) {
                         int courseId = keys.getInt(1);
+                        CourseSearchIndex.getInstance().invalidate();
                         return getCourseById(String.valueOf(courseId));
                     }
                 }
@@ -67,9 +81,9 @@ public class CourseService {
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            int departmentId = getDepartmentIdByName(department);
-            int semesterId = getSemesterIdByCode(semester);
-            int courseTypeId = getCourseTypeIdByCode(type.toString());
+            int departmentId = referenceData.getDepartmentId(department);
+            int semesterId = referenceData.getSemesterId(semester);
+            int courseTypeId = referenceData.getCourseTypeId(type.toString());
             
             pstmt.setString(1, code);
             pstmt.setString(2, name);
@@ -82,6 +96,9 @@ public class CourseService {
             pstmt.setInt(9, Integer.parseInt(courseId));
             
             int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                CourseSearchIndex.getInstance().invalidate();
+            }
             return rowsAffected > 0;
         }
     }
@@ -148,7 +165,7 @@ public class CourseService {
                 if (rs.next()) {
                     Course course = mapResultSetToCourse(rs);
                     // Load related data
-                    loadCourseRelations(course, conn);
+                    loadCourseRelations(List.of(course), conn);
                     return course;
                 }
             }
@@ -178,7 +195,7 @@ public class CourseService {
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
                     Course course = mapResultSetToCourse(rs);
-                    loadCourseRelations(course, conn);
+                    loadCourseRelations(List.of(course), conn);
                     return course;
                 }
             }
@@ -191,6 +208,14 @@ public class CourseService {
      * Get all courses (optionally filter by active status)
      */
     public List<Course> getAllCourses(boolean activeOnly) throws SQLException {
+        return getAllCourses(activeOnly, true);
+    }
+    
+    /**
+     * Get all courses; with withRelations false professors, prerequisites and attributes
+     * are left empty until loadCourseDetails is called for a course
+     */
+    public List<Course> getAllCourses(boolean activeOnly, boolean withRelations) throws SQLException {
         String sql = "SELECT c.CourseID, c.Code, c.Name, c.Description, c.Credits, " +
                     "d.Name as Department, s.Code as Semester, ct.TypeCode as Type, " +
                     "c.MaxSeats, c.CurrentSeats, c.IsActive, c.CreatedDate, c.UpdatedDate " +
@@ -208,9 +233,10 @@ public class CourseService {
              ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
-                Course course = mapResultSetToCourse(rs);
-                loadCourseRelations(course, conn);
-                courses.add(course);
+                courses.add(mapResultSetToCourse(rs));
+            }
+            if (withRelations) {
+                loadCourseRelations(courses, conn);
             }
         }
         
@@ -221,6 +247,43 @@ public class CourseService {
      * Search courses by keyword (searches code, name, description, department)
      */
     public List<Course> searchCourses(String keyword, boolean activeOnly) throws SQLException {
+        return searchCourses(keyword, activeOnly, true);
+    }
+    
+    /**
+     * Search courses by keyword, optionally without loading relations (see getAllCourses).
+     * Every word of the keyword must start a word of the course (so partial input works for
+     * type-ahead); results are ranked by where the words matched, code first, then name,
+     * department and description. An empty keyword returns all courses.
+     */
+    public List<Course> searchCourses(String keyword, boolean activeOnly, boolean withRelations) throws SQLException {
+        List<String> terms = CourseSearchIndex.terms(keyword);
+        if (terms.isEmpty()) {
+            return getAllCourses(activeOnly, withRelations);
+        }
+        
+        if (!localSearch) {
+            try {
+                return searchIndexedCourses(terms, activeOnly, withRelations);
+            } catch (SQLException e) {
+                // 42703 undefined column / 42883 undefined function: schema without full-text search
+                if (!"42703".equals(e.getSQLState()) && !"42883".equals(e.getSQLState())) {
+                    throw e;
+                }
+                System.err.println("⚠ Full-text course search unavailable (" + e.getMessage() +
+                                   "); searching in memory instead");
+                localSearch = true;
+            }
+        }
+        return searchLocalCourses(keyword, activeOnly, withRelations);
+    }
+    
+    /**
+     * Search through the GIN-indexed Courses.SearchPrefixVector, each word as a prefix of an
+     * unstemmed word; courses where the words also match whole (stemmed) words rank higher
+     */
+    private List<Course> searchIndexedCourses(List<String> terms, boolean activeOnly, boolean withRelations)
+            throws SQLException {
         String sql = "SELECT c.CourseID, c.Code, c.Name, c.Description, c.Credits, " +
                     "d.Name as Department, s.Code as Semester, ct.TypeCode as Type, " +
                     "c.MaxSeats, c.CurrentSeats, c.IsActive, c.CreatedDate, c.UpdatedDate " +
@@ -228,28 +291,74 @@ public class CourseService {
                     "INNER JOIN Departments d ON c.DepartmentID = d.DepartmentID " +
                     "INNER JOIN Semesters s ON c.SemesterID = s.SemesterID " +
                     "INNER JOIN CourseTypes ct ON c.CourseTypeID = ct.CourseTypeID " +
-                    "WHERE (c.Code LIKE ? OR c.Name LIKE ? OR c.Description LIKE ? OR d.Name LIKE ?) " +
+                    "CROSS JOIN to_tsquery('simple', ?) AS q " +
+                    "CROSS JOIN to_tsquery('english', ?) AS w " +
+                    "WHERE c.SearchPrefixVector @@ q " +
                     (activeOnly ? "AND c.IsActive = TRUE " : "") +
-                    "ORDER BY c.Code";
+                    "ORDER BY ts_rank_cd(c.SearchPrefixVector, q) + ts_rank_cd(c.SearchVector, w) DESC, c.Code";
         
+        // Terms hold only letters and digits, so they need no tsquery escaping
+        String query = String.join(":* & ", terms) + ":*";
+        String words = String.join(" | ", terms);
         List<Course> courses = new ArrayList<>();
-        String searchPattern = "%" + keyword + "%";
         
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setString(1, searchPattern);
-            pstmt.setString(2, searchPattern);
-            pstmt.setString(3, searchPattern);
-            pstmt.setString(4, searchPattern);
+            pstmt.setString(1, query);
+            pstmt.setString(2, words);
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    Course course = mapResultSetToCourse(rs);
-                    loadCourseRelations(course, conn);
-                    courses.add(course);
+                    courses.add(mapResultSetToCourse(rs));
                 }
             }
+            if (withRelations) {
+                loadCourseRelations(courses, conn);
+            }
+        }
+        
+        return courses;
+    }
+    
+    /**
+     * Search through the in-memory CourseSearchIndex, then load the matching rows so seat
+     * counts and status are current
+     */
+    private List<Course> searchLocalCourses(String keyword, boolean activeOnly, boolean withRelations)
+            throws SQLException {
+        Map<Integer, Integer> scores = CourseSearchIndex.getInstance().search(keyword);
+        List<Course> courses = new ArrayList<>();
+        if (scores.isEmpty()) {
+            return courses;
+        }
+        
+        String sql = "SELECT c.CourseID, c.Code, c.Name, c.Description, c.Credits, " +
+                    "d.Name as Department, s.Code as Semester, ct.TypeCode as Type, " +
+                    "c.MaxSeats, c.CurrentSeats, c.IsActive, c.CreatedDate, c.UpdatedDate " +
+                    "FROM Courses c " +
+                    "INNER JOIN Departments d ON c.DepartmentID = d.DepartmentID " +
+                    "INNER JOIN Semesters s ON c.SemesterID = s.SemesterID " +
+                    "INNER JOIN CourseTypes ct ON c.CourseTypeID = ct.CourseTypeID " +
+                    "WHERE c.CourseID = ANY(?) " +
+                    (activeOnly ? "AND c.IsActive = TRUE " : "");
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setArray(1, conn.createArrayOf("integer", scores.keySet().toArray()));
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    courses.add(mapResultSetToCourse(rs));
+                }
+            }
+            courses.sort(Comparator
+                .comparing((Course course) -> scores.get(Integer.parseInt(course.getId()))).reversed()
+                .thenComparing(Course::getCode));
+            if (withRelations) {
+                loadCourseRelations(courses, conn);
+            }
         }
         
         return courses;
@@ -259,6 +368,14 @@ public class CourseService {
      * Filter courses by department, semester, type
      */
     public List<Course> filterCourses(String department, String semester, CourseType type, boolean activeOnly) throws SQLException {
+        return filterCourses(department, semester, type, activeOnly, true);
+    }
+    
+    /**
+     * Filter courses by department, semester, type, optionally without loading relations (see getAllCourses)
+     */
+    public List<Course> filterCourses(String department, String semester, CourseType type, boolean activeOnly,
+                                      boolean withRelations) throws SQLException {
         StringBuilder sql = new StringBuilder(
             "SELECT c.CourseID, c.Code, c.Name, c.Description, c.Credits, " +
             "d.Name as Department, s.Code as Semester, ct.TypeCode as Type, " +
@@ -301,11 +418,12 @@ public class CourseService {
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    Course course = mapResultSetToCourse(rs);
-                    loadCourseRelations(course, conn);
-                    courses.add(course);
+                    courses.add(mapResultSetToCourse(rs));
                 }
             }
+            if (withRelations) {
+                loadCourseRelations(courses, conn);
+            }
         }
         
         return courses;
@@ -353,24 +471,49 @@ public class CourseService {
     
     /**
      * Add a prerequisite to a course
+     * The prerequisite graph is reloaded inside the transaction, under a lock all prerequisite
+     * changes take, so the cycle check sees every committed change
+     * @return false if the prerequisite already exists
+     * @throws IllegalArgumentException if the prerequisite (indirectly) requires the course itself
      */
     public boolean addPrerequisite(String courseId, String prerequisiteCourseId) throws SQLException {
-        String sql = "INSERT INTO Prerequisites (CourseID, PrerequisiteCourseID) VALUES (?, ?)";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, Integer.parseInt(courseId));
-            pstmt.setInt(2, Integer.parseInt(prerequisiteCourseId));
-            
-            int rowsAffected = pstmt.executeUpdate();
-            return rowsAffected > 0;
-        } catch (SQLException e) {
-            if (e.getErrorCode() == 2627 || e.getMessage().contains("UNIQUE")) {
-                // Duplicate entry - prerequisite already exists
-                return false;
+        int course = Integer.parseInt(courseId);
+        int prerequisite = Integer.parseInt(prerequisiteCourseId);
+        String sql = "INSERT INTO Prerequisites (CourseID, PrerequisiteCourseID) VALUES (?, ?) ON CONFLICT DO NOTHING";
+        
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            try {
+                conn.setAutoCommit(false);
+                lockPrerequisites(conn);
+                
+                PrerequisiteGraph.Snapshot graph = PrerequisiteGraph.getInstance().reload(conn);
+                if (graph.wouldCreateCycle(course, prerequisite)) {
+                    throw new IllegalArgumentException(course == prerequisite
+                        ? "A course cannot be its own prerequisite."
+                        : "This prerequisite would create a cycle: it already requires the course.");
+                }
+                
+                int rowsAffected;
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setInt(1, course);
+                    pstmt.setInt(2, prerequisite);
+                    rowsAffected = pstmt.executeUpdate();
+                }
+                if (rowsAffected > 0) {
+                    PrerequisiteGraph.publishChange(conn);
+                }
+                conn.commit();
+                if (rowsAffected > 0) {
+                    PrerequisiteGraph.getInstance().invalidate();
+                }
+                return rowsAffected > 0;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
             }
-            throw e;
         }
     }
     
@@ -380,14 +523,49 @@ public class CourseService {
     public boolean removePrerequisite(String courseId, String prerequisiteCourseId) throws SQLException {
         String sql = "DELETE FROM Prerequisites WHERE CourseID = ? AND PrerequisiteCourseID = ?";
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, Integer.parseInt(courseId));
-            pstmt.setInt(2, Integer.parseInt(prerequisiteCourseId));
-            
-            int rowsAffected = pstmt.executeUpdate();
-            return rowsAffected > 0;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            try {
+                conn.setAutoCommit(false);
+                lockPrerequisites(conn);
+                
+                int rowsAffected;
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setInt(1, Integer.parseInt(courseId));
+                    pstmt.setInt(2, Integer.parseInt(prerequisiteCourseId));
+                    rowsAffected = pstmt.executeUpdate();
+                }
+                if (rowsAffected > 0) {
+                    PrerequisiteGraph.publishChange(conn);
+                }
+                conn.commit();
+                if (rowsAffected > 0) {
+                    PrerequisiteGraph.getInstance().invalidate();
+                }
+                return rowsAffected > 0;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+        }
+    }
+    
+    /**
+     * Codes of every course a course requires, directly or through its prerequisites' prerequisites
+     */
+    public List<String> getAllPrerequisiteCodes(String courseId) throws SQLException {
+        int course = Integer.parseInt(courseId);
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return PrerequisiteGraph.getInstance().currentFor(conn, course).allPrerequisiteCodes(course);
+        }
+    }
+    
+    private void lockPrerequisites(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT pg_advisory_xact_lock(?)")) {
+            pstmt.setInt(1, PREREQUISITE_LOCK_KEY);
+            pstmt.execute();
         }
     }
     
@@ -561,16 +739,28 @@ public class CourseService {
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    Course course = mapResultSetToCourse(rs);
-                    loadCourseRelations(course, conn);
-                    courses.add(course);
+                    courses.add(mapResultSetToCourse(rs));
                 }
             }
+            loadCourseRelations(courses, conn);
         }
 
         return courses;
     }
     
+    /**
+     * Load professors, prerequisites and attributes into a course that was listed without them.
+     * Does nothing if they are already loaded.
+     */
+    public void loadCourseDetails(Course course) throws SQLException {
+        if (course == null || course.isRelationsLoaded()) {
+            return;
+        }
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            loadCourseRelations(List.of(course), conn);
+        }
+    }
+    
     // Helper methods
     
     private Course mapResultSetToCourse(ResultSet rs) throws SQLException {
@@ -600,20 +790,37 @@ public class CourseService {
         return course;
     }
     
-    private void loadCourseRelations(Course course, Connection conn) throws SQLException {
+    /**
+     * Load professors, prerequisites and attributes for all given courses with one
+     * CourseID = ANY(?) query per relation, then attach the rows to their course
+     */
+    private void loadCourseRelations(List<Course> courses, Connection conn) throws SQLException {
+        if (courses.isEmpty()) {
+            return;
+        }
+        
+        Map<Integer, Course> byId = new HashMap<>();
+        for (Course course : courses) {
+            course.setProfessors(new ArrayList<>());
+            course.setPrerequisites(new ArrayList<>());
+            course.setAttributes(new ArrayList<>());
+            course.setRelationsLoaded(true);
+            byId.put(Integer.parseInt(course.getId()), course);
+        }
+        Array courseIds = conn.createArrayOf("integer", byId.keySet().toArray());
+        
         // Load professors
-        String professorsSql = "SELECT u.UserID, u.Username, u.Email, ut.TypeCode as UserType " +
+        String professorsSql = "SELECT cp.CourseID, u.UserID, u.Username, u.Email, ut.TypeCode as UserType " +
                                "FROM CourseProfessors cp " +
                                "INNER JOIN Users u ON cp.ProfessorUserID = u.UserID " +
                                "INNER JOIN UserRoles ur ON u.UserID = ur.UserID AND ur.IsPrimary = true " +
                                "INNER JOIN UserTypes ut ON ur.UserTypeID = ut.UserTypeID " +
-                               "WHERE cp.CourseID = ?";
+                               "WHERE cp.CourseID = ANY(?)";
         
         try (PreparedStatement pstmt = conn.prepareStatement(professorsSql)) {
-            pstmt.setInt(1, Integer.parseInt(course.getId()));
+            pstmt.setArray(1, courseIds);
             
             try (ResultSet rs = pstmt.executeQuery()) {
-                List<User> professors = new ArrayList<>();
                 while (rs.next()) {
                     // Create Professor object
                     User professor = new edu.facilities.model.Professor(
@@ -621,14 +828,13 @@ public class CourseService {
                         rs.getString("Username"),
                         null // Password not needed
                     );
-                    professors.add(professor);
+                    byId.get(rs.getInt("CourseID")).getProfessors().add(professor);
                 }
-                course.setProfessors(professors);
             }
         }
         
         // Load prerequisites
-        String prerequisitesSql = "SELECT c.CourseID, c.Code, c.Name, c.Description, c.Credits, " +
+        String prerequisitesSql = "SELECT p.CourseID as ForCourseID, c.CourseID, c.Code, c.Name, c.Description, c.Credits, " +
                                   "d.Name as Department, s.Code as Semester, ct.TypeCode as Type, " +
                                   "c.MaxSeats, c.CurrentSeats, c.IsActive, c.CreatedDate, c.UpdatedDate " +
                                   "FROM Prerequisites p " +
@@ -636,35 +842,31 @@ public class CourseService {
                                   "INNER JOIN Departments d ON c.DepartmentID = d.DepartmentID " +
                                   "INNER JOIN Semesters s ON c.SemesterID = s.SemesterID " +
                                   "INNER JOIN CourseTypes ct ON c.CourseTypeID = ct.CourseTypeID " +
-                                  "WHERE p.CourseID = ?";
+                                  "WHERE p.CourseID = ANY(?)";
         
         try (PreparedStatement pstmt = conn.prepareStatement(prerequisitesSql)) {
-            pstmt.setInt(1, Integer.parseInt(course.getId()));
+            pstmt.setArray(1, courseIds);
             
             try (ResultSet rs = pstmt.executeQuery()) {
-                List<Course> prerequisites = new ArrayList<>();
                 while (rs.next()) {
                     Course prereq = mapResultSetToCourse(rs);
-                    prerequisites.add(prereq);
+                    byId.get(rs.getInt("ForCourseID")).getPrerequisites().add(prereq);
                 }
-                course.setPrerequisites(prerequisites);
             }
         }
         
         // Load attributes
         String attributesSql = "SELECT AttributeID, CourseID, AttributeName, AttributeValue, " +
                              "AttributeType, CreatedDate, UpdatedDate " +
-                             "FROM CourseAttributes WHERE CourseID = ?";
+                             "FROM CourseAttributes WHERE CourseID = ANY(?)";
         
         try (PreparedStatement pstmt = conn.prepareStatement(attributesSql)) {
-            pstmt.setInt(1, Integer.parseInt(course.getId()));
+            pstmt.setArray(1, courseIds);
             
             try (ResultSet rs = pstmt.executeQuery()) {
-                List<CourseAttribute> attributes = new ArrayList<>();
                 while (rs.next()) {
-                    attributes.add(mapResultSetToCourseAttribute(rs));
+                    byId.get(rs.getInt("CourseID")).getAttributes().add(mapResultSetToCourseAttribute(rs));
                 }
-                course.setAttributes(attributes);
             }
         }
     }
@@ -689,68 +891,5 @@ public class CourseService {
         
         return attr;
     }
-    
-    /**
-     * Get DepartmentID by department name
-     */
-    private int getDepartmentIdByName(String departmentName) throws SQLException {
-        String sql = "SELECT DepartmentID FROM Departments WHERE Name = ?";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, departmentName);
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("DepartmentID");
-                }
-            }
-        }
-        
-        throw new SQLException("Department not found: " + departmentName);
-    }
-    
-    /**
-     * Get SemesterID by semester code
-     */
-    private int getSemesterIdByCode(String semesterCode) throws SQLException {
-        String sql = "SELECT SemesterID FROM Semesters WHERE Code = ?";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, semesterCode);
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("SemesterID");
-                }
-            }
-        }
-        
-        throw new SQLException("Semester not found: " + semesterCode);
-    }
-    
-    /**
-     * Get CourseTypeID by type code
-     */
-    private int getCourseTypeIdByCode(String typeCode) throws SQLException {
-        String sql = "SELECT CourseTypeID FROM CourseTypes WHERE TypeCode = ?";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, typeCode);
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("CourseTypeID");
-                }
-            }
-        }
-        
-        throw new SQLException("CourseType not found: " + typeCode);
-    }
 }
 
@@ -2,15 +2,19 @@ package edu.facilities.service;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
 import java.io.InputStream;
 import java.sql.Connection;
+import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Database connection utility for Supabase (PostgreSQL) with connection pooling
  * Uses HikariCP for efficient connection management
- * Configuration priority: database.local.properties > environment variables > defaults
+ * Configuration priority: system properties > database.local.properties > environment variables > defaults
  */
 public class DatabaseConnection {
 
@@ -23,6 +27,9 @@ public class DatabaseConnection {
     private static final String USERNAME = getConfigValue("supabase.user", "SUPABASE_USER", "postgres");
     private static final String PASSWORD = getConfigValue("supabase.password", "SUPABASE_PASSWORD", "");
     
+    // Full JDBC URL override (e.g. a local PostgreSQL for benchmarks); when set, host/port/database are ignored
+    private static final String JDBC_URL = getConfigValue("db.url", "DB_URL", "");
+    
     private static final boolean USE_POOLER = Boolean.parseBoolean(
         getConfigValue("supabase.use.pooler", "SUPABASE_USE_POOLER", "true"));
     
@@ -42,6 +49,12 @@ public class DatabaseConnection {
 
     private static HikariDataSource dataSource = null;
 
+    // Run before the pool closes, e.g. to write buffered counters
+    private static final List<Runnable> beforeCloseActions = new CopyOnWriteArrayList<>();
+
+    // Receives pool wait/usage timings, e.g. from the load simulator; none by default
+    private static MetricsTrackerFactory metricsTrackerFactory = null;
+
     /**
      * Load configuration from properties file
      * Priority: database.local.properties > database.properties
@@ -76,10 +89,16 @@ public class DatabaseConnection {
     }
 
     /**
-     * Get config value with priority: properties file > environment variable > default
+     * Get config value with priority: system property > properties file > environment variable > default
      */
-    private static String getConfigValue(String propKey, String envKey, String defaultValue) {
-        // First try properties file
+    public static String getConfigValue(String propKey, String envKey, String defaultValue) {
+        // System properties (-Dkey=value) win so tools like the benchmarks can point the pool elsewhere
+        String sysValue = System.getProperty(propKey);
+        if (sysValue != null && !sysValue.trim().isEmpty()) {
+            return sysValue.trim();
+        }
+        
+        // Then try properties file
         String value = config.getProperty(propKey);
         if (value != null && !value.trim().isEmpty() && !value.equals("YOUR_PASSWORD_HERE")) {
             return value.trim();
@@ -108,7 +127,9 @@ public class DatabaseConnection {
             
             // Build connection URL
             String jdbcUrl;
-            if (USE_POOLER) {
+            if (!JDBC_URL.isEmpty()) {
+                jdbcUrl = JDBC_URL;
+            } else if (USE_POOLER) {
                 // Supabase connection pooler (recommended for production)
                 // Port 6543 uses transaction mode pooling
                 jdbcUrl = String.format(
@@ -153,12 +174,15 @@ public class DatabaseConnection {
             
             // Pool name for monitoring
             hikariConfig.setPoolName("SupabasePool");
+            if (metricsTrackerFactory != null) {
+                hikariConfig.setMetricsTrackerFactory(metricsTrackerFactory);
+            }
             
             // Create the data source
             dataSource = new HikariDataSource(hikariConfig);
             
             System.out.println("✓ Connection pool initialized:");
-            System.out.println("  - Host: " + HOST + ":" + PORT);
+            System.out.println("  - Host: " + (JDBC_URL.isEmpty() ? HOST + ":" + PORT : JDBC_URL));
             System.out.println("  - Database: " + DATABASE);
             System.out.println("  - Mode: " + (USE_POOLER ? "Connection Pooler" : "Direct Connection"));
             System.out.println("  - Pool Size: " + MIN_POOL_SIZE + "-" + MAX_POOL_SIZE);
@@ -172,6 +196,8 @@ public class DatabaseConnection {
 
     /**
      * Get a database connection from the pool
+     * Unless db.instrumentation.enabled is false, the connection is wrapped so its
+     * statements and hold time are recorded in {@link SqlStatistics}
      * @return Connection object
      * @throws SQLException if connection fails
      */
@@ -185,6 +211,9 @@ public class DatabaseConnection {
             if (connection == null || connection.isClosed()) {
                 throw new SQLException("Failed to get connection from pool");
             }
+            if (SqlStatistics.getInstance().isEnabled()) {
+                return InstrumentedConnection.wrap(connection);
+            }
             return connection;
         } catch (SQLException e) {
             System.err.println("✗ Failed to get connection from pool: " + e.getMessage());
@@ -192,11 +221,47 @@ public class DatabaseConnection {
         }
     }
 
+    /**
+     * Open a dedicated, unpooled connection for LISTEN.
+     * The transaction-mode pooler does not keep session state such as LISTEN between
+     * transactions, so this goes to notifications.listen.url or, failing that, to the
+     * direct port (notifications.listen.port) of the configured host.
+     * The caller owns the connection and must close it.
+     */
+    static Connection openListenerConnection() throws SQLException {
+        String url = getConfigValue("notifications.listen.url", "NOTIFICATIONS_LISTEN_URL", "");
+        if (url.isEmpty()) {
+            url = !JDBC_URL.isEmpty() ? JDBC_URL : String.format(
+                "jdbc:postgresql://%s:%s/%s?sslmode=require",
+                HOST, getConfigValue("notifications.listen.port", "NOTIFICATIONS_LISTEN_PORT", "5432"), DATABASE
+            );
+        }
+        return DriverManager.getConnection(url, USERNAME, PASSWORD);
+    }
+
+    /**
+     * Run an action while the pool is still open, right before it closes
+     */
+    public static void addBeforeCloseAction(Runnable action) {
+        beforeCloseActions.add(action);
+    }
+
+    /**
+     * Have the pool report connection wait and usage times to a tracker.
+     * Only affects a pool created afterwards, so call it before the first getConnection.
+     */
+    public static synchronized void setMetricsTrackerFactory(MetricsTrackerFactory factory) {
+        metricsTrackerFactory = factory;
+    }
+
     /**
      * Close the connection pool (call this on application shutdown)
      */
     public static void closeConnection() {
         if (dataSource != null && !dataSource.isClosed()) {
+            for (Runnable action : beforeCloseActions) {
+                action.run();
+            }
             dataSource.close();
             dataSource = null;
             System.out.println("✓ Connection pool closed");
@@ -18,142 +18,232 @@ public class EnrollmentService {
     
     private static final int MAX_CREDITS = 18; // Maximum credits a student can enroll in
     
+    // First key of the per-student advisory lock taken while enrolling
+    private static final int ENROLLMENT_LOCK_KEY = 2003;
+    private static final String UNIQUE_VIOLATION = "23505";
+    
+    // Waitlist entries examined per query when promoting after a drop
+    private static final int PROMOTION_BATCH_SIZE = 20;
+    
+    private final ReferenceDataCache referenceData = ReferenceDataCache.getInstance();
+    
     /**
      * Enroll a student in a course
      * US 2.3 - Validates prerequisites, seat availability, and 18 credit limit
+     * 
+     * Validation and the seat reservation run in one transaction against current data, not the
+     * possibly stale Course passed in. The seat is taken by a conditional UPDATE
+     * (CurrentSeats < MaxSeats) in the same statement as the enrollment INSERT, so a course
+     * cannot overfill however many students click at once, and the course row is only locked
+     * for that one statement and the commit. Enrollments of one student are serialized with an
+     * advisory lock so two parallel requests cannot both pass the credit limit, and the unique
+     * index on (student, course) for ENROLLED rows backs up the duplicate check.
+     * 
+     * @throws CourseFullException if the course has no seat left; the student can join its waitlist
      */
     public Enrollment enrollStudent(User student, Course course) throws SQLException, IllegalArgumentException {
-        // Validation 1: Check if course has available seats
-        if (!course.hasAvailableSeats()) {
-            throw new IllegalArgumentException("Course " + course.getCode() + " is full. No available seats.");
-        }
-        
-        // Validation 2: Check prerequisites
-        if (!hasCompletedPrerequisites(student, course)) {
-            List<Course> prerequisites = course.getPrerequisites();
-            StringBuilder prereqList = new StringBuilder();
-            for (Course prereq : prerequisites) {
-                if (prereqList.length() > 0) prereqList.append(", ");
-                prereqList.append(prereq.getCode());
-            }
-            throw new IllegalArgumentException(
-                "Prerequisites not met. Required: " + prereqList.toString() + 
-                ". Please complete these courses before enrolling.");
-        }
+        int studentId = Integer.parseInt(student.getId());
+        int courseId = Integer.parseInt(course.getId());
         
-        // Validation 3: Check if student is already enrolled
-        if (isEnrolled(student, course)) {
-            throw new IllegalArgumentException("You are already enrolled in " + course.getCode());
-        }
+        int enrollmentId;
         
-        // Validation 4: Check 18 credit limit
-        int currentCredits = getTotalEnrolledCredits(student);
-        if (currentCredits + course.getCredits() > MAX_CREDITS) {
-            throw new IllegalArgumentException(
-                "Enrollment would exceed maximum credit limit of " + MAX_CREDITS + " credits. " +
-                "Current credits: " + currentCredits + ", Course credits: " + course.getCredits() + ".");
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            
+            try {
+                conn.setAutoCommit(false);
+                lockStudent(conn, studentId);
+                
+                EnrollmentCheck check = checkEnrollment(conn, studentId, courseId);
+                if (!check.seatAvailable) {
+                    throw new CourseFullException("Course " + check.code + " is full. No available seats.");
+                }
+                
+                enrollmentId = reserveSeat(conn, studentId, courseId, course);
+                if (enrollmentId == 0) {
+                    throw new CourseFullException("Course " + check.code + " is full. No available seats.");
+                }
+                
+                // A student who got in directly no longer needs their place in the queue
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "DELETE FROM CourseWaitlist WHERE CourseID = ? AND StudentUserID = ?")) {
+                    pstmt.setInt(1, courseId);
+                    pstmt.setInt(2, studentId);
+                    pstmt.executeUpdate();
+                }
+                
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                if (UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                    throw new IllegalArgumentException("You are already enrolled in " + course.getCode());
+                }
+                throw e;
+            } catch (RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                try {
+                    conn.setAutoCommit(originalAutoCommit);
+                } catch (SQLException e) {
+                    System.err.println("Error restoring auto-commit: " + e.getMessage());
+                }
+            }
         }
         
-        // All validations passed - enroll the student
-        Connection conn = DatabaseConnection.getConnection();
-        boolean originalAutoCommit = conn.getAutoCommit();
-        
-        try {
-            conn.setAutoCommit(false);
-            
-            // Insert enrollment
-            String enrollmentSql = "INSERT INTO Enrollments (StudentUserID, CourseID, EnrollmentDate, Status) " +
-                                 "VALUES (?, ?, GETDATE(), 'ENROLLED')";
+        return getEnrollmentById(String.valueOf(enrollmentId));
+    }
+    
+    /**
+     * Drop a student from a course
+     * Only an ENROLLED enrollment is dropped and gives its seat back, so dropping twice
+     * cannot free a seat that was never taken. If that opens a seat, the first eligible
+     * student on the course's waitlist is enrolled in the same transaction and notified.
+     */
+    public boolean dropEnrollment(String enrollmentId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
             
-            try (PreparedStatement pstmt = conn.prepareStatement(enrollmentSql, Statement.RETURN_GENERATED_KEYS)) {
-                pstmt.setInt(1, Integer.parseInt(student.getId()));
-                pstmt.setInt(2, Integer.parseInt(course.getId()));
+            try {
+                conn.setAutoCommit(false);
                 
-                int rowsAffected = pstmt.executeUpdate();
+                // Update enrollment status to DROPPED
+                String sql = "UPDATE Enrollments SET StatusTypeID = ? " +
+                            "WHERE EnrollmentID = ? AND StatusTypeID = ? " +
+                            "RETURNING CourseID";
                 
-                if (rowsAffected > 0) {
-                    // Update course seat count
-                    String updateSeatsSql = "UPDATE Courses SET CurrentSeats = CurrentSeats + 1 WHERE CourseID = ?";
-                    try (PreparedStatement updatePstmt = conn.prepareStatement(updateSeatsSql)) {
-                        updatePstmt.setInt(1, Integer.parseInt(course.getId()));
-                        updatePstmt.executeUpdate();
-                    }
-                    
-                    conn.commit();
+                int courseId;
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setInt(1, referenceData.getStatusTypeId("ENROLLMENT", "DROPPED"));
+                    pstmt.setInt(2, Integer.parseInt(enrollmentId));
+                    pstmt.setInt(3, referenceData.getStatusTypeId("ENROLLMENT", "ENROLLED"));
                     
-                    // Get the created enrollment
-                    try (ResultSet keys = pstmt.getGeneratedKeys()) {
-                        if (keys.next()) {
-                            int enrollmentId = keys.getInt(1);
-                            return getEnrollmentById(String.valueOf(enrollmentId));
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        if (!rs.next()) {
+                            conn.rollback();
+                            return false;
                         }
+                        courseId = rs.getInt("CourseID");
                     }
                 }
-            }
-            
-            conn.rollback();
-            return null;
-            
-        } catch (SQLException e) {
-            conn.rollback();
-            throw e;
-        } finally {
-            try {
-                conn.setAutoCommit(originalAutoCommit);
+                
+                // Give the seat back; the course row stays locked until commit, so the
+                // opened seat cannot be taken by anyone but the waitlist
+                String updateSeatsSql = "UPDATE Courses SET CurrentSeats = CurrentSeats - 1 " +
+                                       "WHERE CourseID = ? AND CurrentSeats > 0 " +
+                                       "RETURNING CurrentSeats < MaxSeats AS SeatOpen";
+                boolean seatOpen = false;
+                try (PreparedStatement pstmt = conn.prepareStatement(updateSeatsSql)) {
+                    pstmt.setInt(1, courseId);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        seatOpen = rs.next() && rs.getBoolean("SeatOpen");
+                    }
+                }
+                
+                if (seatOpen) {
+                    promoteFromWaitlist(conn, courseId);
+                }
+                
+                conn.commit();
+                return true;
             } catch (SQLException e) {
-                System.err.println("Error restoring auto-commit: " + e.getMessage());
+                conn.rollback();
+                throw e;
+            } finally {
+                try {
+                    conn.setAutoCommit(originalAutoCommit);
+                } catch (SQLException e) {
+                    System.err.println("Error restoring auto-commit: " + e.getMessage());
+                }
             }
         }
     }
     
     /**
-     * Drop a student from a course
+     * Put a student on a full course's waitlist
+     * The student must be able to enroll apart from the missing seat (prerequisites, not
+     * already enrolled, credit limit). Joining again keeps the original place.
+     * @return The student's position in the queue, starting at 1
      */
-    public boolean dropEnrollment(String enrollmentId) throws SQLException {
-        // Get enrollment first to get course ID
-        Enrollment enrollment = getEnrollmentById(enrollmentId);
-        if (enrollment == null) {
-            return false;
-        }
-        
-        Connection conn = DatabaseConnection.getConnection();
-        boolean originalAutoCommit = conn.getAutoCommit();
+    public int joinWaitlist(User student, Course course) throws SQLException, IllegalArgumentException {
+        int studentId = Integer.parseInt(student.getId());
+        int courseId = Integer.parseInt(course.getId());
         
-        try {
-            conn.setAutoCommit(false);
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
             
-            // Update enrollment status to DROPPED
-            String sql = "UPDATE Enrollments SET Status = 'DROPPED' WHERE EnrollmentID = ?";
-            
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setInt(1, Integer.parseInt(enrollmentId));
+            try {
+                conn.setAutoCommit(false);
+                lockStudent(conn, studentId);
                 
-                int rowsAffected = pstmt.executeUpdate();
+                EnrollmentCheck check = checkEnrollment(conn, studentId, courseId);
+                if (check.seatAvailable) {
+                    throw new IllegalArgumentException("Course " + check.code + " has available seats. Please enroll directly.");
+                }
                 
-                if (rowsAffected > 0) {
-                    // Decrease course seat count
-                    String updateSeatsSql = "UPDATE Courses SET CurrentSeats = CurrentSeats - 1 WHERE CourseID = ?";
-                    try (PreparedStatement updatePstmt = conn.prepareStatement(updateSeatsSql)) {
-                        updatePstmt.setInt(1, Integer.parseInt(enrollment.getCourse().getId()));
-                        updatePstmt.executeUpdate();
-                    }
-                    
-                    conn.commit();
-                    return true;
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "INSERT INTO CourseWaitlist (CourseID, StudentUserID) VALUES (?, ?) " +
+                        "ON CONFLICT (CourseID, StudentUserID) DO NOTHING")) {
+                    pstmt.setInt(1, courseId);
+                    pstmt.setInt(2, studentId);
+                    pstmt.executeUpdate();
+                }
+                
+                int position = getWaitlistPosition(conn, studentId, courseId);
+                conn.commit();
+                return position;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                try {
+                    conn.setAutoCommit(originalAutoCommit);
+                } catch (SQLException e) {
+                    System.err.println("Error restoring auto-commit: " + e.getMessage());
                 }
             }
+        }
+    }
+    
+    /**
+     * Take a student off a course's waitlist
+     * @return true if the student was waiting
+     */
+    public boolean leaveWaitlist(User student, Course course) throws SQLException {
+        String sql = "DELETE FROM CourseWaitlist WHERE CourseID = ? AND StudentUserID = ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            conn.rollback();
-            return false;
+            pstmt.setInt(1, Integer.parseInt(course.getId()));
+            pstmt.setInt(2, Integer.parseInt(student.getId()));
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+    
+    /**
+     * Get a student's position on a course's waitlist
+     * @return Position starting at 1, or 0 if the student is not waiting
+     */
+    public int getWaitlistPosition(User student, Course course) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return getWaitlistPosition(conn, Integer.parseInt(student.getId()), Integer.parseInt(course.getId()));
+        }
+    }
+    
+    /**
+     * Get the number of students waiting for a course
+     */
+    public int getWaitlistLength(Course course) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM CourseWaitlist WHERE CourseID = ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-        } catch (SQLException e) {
-            conn.rollback();
-            throw e;
-        } finally {
-            try {
-                conn.setAutoCommit(originalAutoCommit);
-            } catch (SQLException e) {
-                System.err.println("Error restoring auto-commit: " + e.getMessage());
+            pstmt.setInt(1, Integer.parseInt(course.getId()));
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
             }
         }
     }
@@ -216,7 +306,7 @@ public class EnrollmentService {
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    User student = mapResultSetToUser(rs, 19); // Starting from column 19
+                    User student = mapResultSetToUser(rs, 20); // Starting from column 20
                     return mapResultSetToEnrollment(rs, student, conn);
                 }
             }
@@ -232,12 +322,13 @@ public class EnrollmentService {
         String sql = "SELECT SUM(c.Credits) AS TotalCredits " +
                     "FROM Enrollments e " +
                     "INNER JOIN Courses c ON e.CourseID = c.CourseID " +
-                    "WHERE e.StudentUserID = ? AND e.Status = 'ENROLLED'";
+                    "WHERE e.StudentUserID = ? AND e.StatusTypeID = ?";
         
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, Integer.parseInt(student.getId()));
+            pstmt.setInt(2, referenceData.getStatusTypeId("ENROLLMENT", "ENROLLED"));
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
@@ -250,71 +341,229 @@ public class EnrollmentService {
         return 0;
     }
     
+    // Helper methods
+    
     /**
-     * Check if student has completed all prerequisites for a course
+     * Serialize enrollment changes of one student until the transaction ends
      */
-    private boolean hasCompletedPrerequisites(User student, Course course) throws SQLException {
-        List<Course> prerequisites = course.getPrerequisites();
-        
-        if (prerequisites.isEmpty()) {
-            return true; // No prerequisites
+    private void lockStudent(Connection conn, int studentId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT pg_advisory_xact_lock(?, ?)")) {
+            pstmt.setInt(1, ENROLLMENT_LOCK_KEY);
+            pstmt.setInt(2, studentId);
+            pstmt.execute();
         }
-        
-        // Get all completed courses for the student (prerequisites must be COMPLETED, not just ENROLLED)
-        String sql = "SELECT DISTINCT c.CourseID " +
-                    "FROM Enrollments e " +
-                    "INNER JOIN Courses c ON e.CourseID = c.CourseID " +
-                    "WHERE e.StudentUserID = ? AND e.Status = 'COMPLETED'";
-        
-        List<Integer> completedCourseIds = new ArrayList<>();
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, Integer.parseInt(student.getId()));
+    }
+    
+    private boolean tryLockStudent(Connection conn, int studentId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT pg_try_advisory_xact_lock(?, ?)")) {
+            pstmt.setInt(1, ENROLLMENT_LOCK_KEY);
+            pstmt.setInt(2, studentId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+    
+    /**
+     * Everything the enrollment validations need, in one round trip
+     * @throws IllegalArgumentException if the student cannot take the course (other than it being full)
+     */
+    private EnrollmentCheck checkEnrollment(Connection conn, int studentId, int courseId) throws SQLException {
+        int enrolledStatusId = referenceData.getStatusTypeId("ENROLLMENT", "ENROLLED");
+        
+        String checkSql = "SELECT c.Code, c.Name, c.Credits, c.IsActive, c.MaxSeats, c.CurrentSeats, " +
+                         "EXISTS (SELECT 1 FROM Enrollments e " +
+                         "        WHERE e.StudentUserID = ? AND e.CourseID = c.CourseID AND e.StatusTypeID = ?) AS AlreadyEnrolled, " +
+                         "ARRAY(SELECT e.CourseID FROM Enrollments e " +
+                         "      WHERE e.StudentUserID = ? AND e.StatusTypeID = ?) AS CompletedCourses, " +
+                         "(SELECT COALESCE(SUM(ec.Credits), 0) FROM Enrollments e " +
+                         " INNER JOIN Courses ec ON e.CourseID = ec.CourseID " +
+                         " WHERE e.StudentUserID = ? AND e.StatusTypeID = ?) AS CurrentCredits " +
+                         "FROM Courses c WHERE c.CourseID = ?";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(checkSql)) {
+            pstmt.setInt(1, studentId);
+            pstmt.setInt(2, enrolledStatusId);
+            pstmt.setInt(3, studentId);
+            pstmt.setInt(4, referenceData.getStatusTypeId("ENROLLMENT", "COMPLETED"));
+            pstmt.setInt(5, studentId);
+            pstmt.setInt(6, enrolledStatusId);
+            pstmt.setInt(7, courseId);
             
             try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    completedCourseIds.add(rs.getInt("CourseID"));
+                if (!rs.next()) {
+                    throw new IllegalArgumentException("The course no longer exists.");
+                }
+                EnrollmentCheck check = new EnrollmentCheck();
+                check.code = rs.getString("Code");
+                check.name = rs.getString("Name");
+                check.seatAvailable = rs.getInt("CurrentSeats") < rs.getInt("MaxSeats");
+                int credits = rs.getInt("Credits");
+                
+                // Validation 1: Check if course is open
+                if (!rs.getBoolean("IsActive")) {
+                    throw new IllegalArgumentException("Course " + check.code + " is not open for enrollment.");
+                }
+                
+                // Validation 2: Check prerequisites (must be COMPLETED, not just ENROLLED)
+                PrerequisiteGraph.Snapshot prerequisites = PrerequisiteGraph.getInstance().currentFor(conn, courseId);
+                List<Integer> completed = new ArrayList<>();
+                for (Integer completedCourseId : (Integer[]) rs.getArray("CompletedCourses").getArray()) {
+                    completed.add(completedCourseId);
                 }
+                List<String> missingPrerequisites = prerequisites.missingPrerequisiteCodes(courseId, prerequisites.toBitSet(completed));
+                if (!missingPrerequisites.isEmpty()) {
+                    throw new IllegalArgumentException(
+                        "Prerequisites for " + check.code + " not met. Required: " + String.join(", ", missingPrerequisites) +
+                        ". Please complete these courses before enrolling.");
+                }
+                
+                // Validation 3: Check if student is already enrolled
+                if (rs.getBoolean("AlreadyEnrolled")) {
+                    throw new IllegalArgumentException("You are already enrolled in " + check.code);
+                }
+                
+                // Validation 4: Check 18 credit limit
+                int currentCredits = rs.getInt("CurrentCredits");
+                if (currentCredits + credits > MAX_CREDITS) {
+                    throw new IllegalArgumentException(
+                        "Enrolling in " + check.code + " would exceed maximum credit limit of " + MAX_CREDITS + " credits. " +
+                        "Current credits: " + currentCredits + ", Course credits: " + credits + ".");
+                }
+                return check;
             }
         }
-        
-        // Check if all prerequisites are in completed courses
-        for (Course prereq : prerequisites) {
-            int prereqId = Integer.parseInt(prereq.getId());
-            if (!completedCourseIds.contains(prereqId)) {
-                return false;
+    }
+    
+    /**
+     * Take a seat and insert the enrollment in one statement
+     * @return The new EnrollmentID, or 0 if the last seat just went
+     */
+    private int reserveSeat(Connection conn, int studentId, int courseId, Course course) throws SQLException {
+        String enrollSql = "WITH seat AS (" +
+                          "  UPDATE Courses SET CurrentSeats = CurrentSeats + 1 " +
+                          "  WHERE CourseID = ? AND CurrentSeats < MaxSeats " +
+                          "  RETURNING CourseID, CurrentSeats" +
+                          ") " +
+                          "INSERT INTO Enrollments (StudentUserID, CourseID, EnrollmentDate, StatusTypeID) " +
+                          "SELECT ?, seat.CourseID, CURRENT_TIMESTAMP, ? FROM seat " +
+                          "RETURNING EnrollmentID, (SELECT CurrentSeats FROM seat) AS CurrentSeats";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(enrollSql)) {
+            pstmt.setInt(1, courseId);
+            pstmt.setInt(2, studentId);
+            pstmt.setInt(3, referenceData.getStatusTypeId("ENROLLMENT", "ENROLLED"));
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return 0;
+                }
+                if (course != null) {
+                    course.setCurrentSeats(rs.getInt("CurrentSeats"));
+                }
+                return rs.getInt("EnrollmentID");
             }
         }
-        
-        return true;
     }
     
     /**
-     * Check if student is already enrolled in a course
+     * Enroll the first eligible student waiting for a course whose freed seat the caller holds
+     * locked. Students who can no longer take the course are removed from the queue and told
+     * why. A student with an enrollment of their own in progress is passed over for this seat
+     * rather than waited for, as that enrollment may be waiting for the course row we hold.
+     * @return The promoted student's ID, or 0 if nobody took the seat
      */
-    private boolean isEnrolled(User student, Course course) throws SQLException {
-        String sql = "SELECT COUNT(*) AS Count FROM Enrollments " +
-                    "WHERE StudentUserID = ? AND CourseID = ? AND Status = 'ENROLLED'";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    private int promoteFromWaitlist(Connection conn, int courseId) throws SQLException {
+        String candidatesSql = "SELECT WaitlistID, StudentUserID FROM CourseWaitlist " +
+                              "WHERE CourseID = ? AND WaitlistID > ? " +
+                              "ORDER BY WaitlistID " +
+                              "LIMIT " + PROMOTION_BATCH_SIZE + " FOR UPDATE SKIP LOCKED";
+        int lastWaitlistId = 0;
+        
+        while (true) {
+            List<int[]> candidates = new ArrayList<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(candidatesSql)) {
+                pstmt.setInt(1, courseId);
+                pstmt.setInt(2, lastWaitlistId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        candidates.add(new int[] { rs.getInt("WaitlistID"), rs.getInt("StudentUserID") });
+                    }
+                }
+            }
+            if (candidates.isEmpty()) {
+                return 0;
+            }
             
-            pstmt.setInt(1, Integer.parseInt(student.getId()));
-            pstmt.setInt(2, Integer.parseInt(course.getId()));
+            for (int[] candidate : candidates) {
+                lastWaitlistId = candidate[0];
+                int studentId = candidate[1];
+                if (!tryLockStudent(conn, studentId)) {
+                    continue;
+                }
+                
+                EnrollmentCheck check;
+                try {
+                    check = checkEnrollment(conn, studentId, courseId);
+                } catch (IllegalArgumentException e) {
+                    removeFromWaitlist(conn, candidate[0]);
+                    notifyStudent(conn, studentId, "Removed from waitlist",
+                        "You were removed from a course waitlist because you can no longer enroll: " + e.getMessage());
+                    continue;
+                }
+                
+                if (reserveSeat(conn, studentId, courseId, null) == 0) {
+                    return 0;
+                }
+                removeFromWaitlist(conn, candidate[0]);
+                notifyStudent(conn, studentId, "Enrolled in " + check.code + " from the waitlist",
+                    "A seat opened in " + check.code + " - " + check.name +
+                    " and you have been enrolled from the waitlist.");
+                return studentId;
+            }
+        }
+    }
+    
+    private void removeFromWaitlist(Connection conn, int waitlistId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM CourseWaitlist WHERE WaitlistID = ?")) {
+            pstmt.setInt(1, waitlistId);
+            pstmt.executeUpdate();
+        }
+    }
+    
+    private int getWaitlistPosition(Connection conn, int studentId, int courseId) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM CourseWaitlist w " +
+                    "WHERE w.CourseID = ? AND w.WaitlistID <= " +
+                    "(SELECT WaitlistID FROM CourseWaitlist WHERE CourseID = ? AND StudentUserID = ?)";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, courseId);
+            pstmt.setInt(2, courseId);
+            pstmt.setInt(3, studentId);
             
             try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("Count") > 0;
-                }
+                return rs.next() ? rs.getInt(1) : 0;
             }
         }
-        
-        return false;
     }
     
-    // Helper methods
+    /**
+     * Leave a system message in the student's inbox; it becomes visible, and their unread
+     * count moves, only if the surrounding transaction commits
+     */
+    private void notifyStudent(Connection conn, int studentId, String subject, String body) throws SQLException {
+        String sql = "INSERT INTO Messages (SenderUserID, ReceiverUserID, Subject, MessageBody, SentDate, IsRead, MessageType) " +
+                    "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP, FALSE, 'SYSTEM')";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, studentId);
+            pstmt.setInt(2, studentId);
+            pstmt.setString(3, subject);
+            pstmt.setString(4, body);
+            pstmt.executeUpdate();
+        }
+        UnreadCounters.publishForUser(conn, studentId, 1, UnreadCounters.Kind.MESSAGES);
+    }
     
     private Enrollment mapResultSetToEnrollment(ResultSet rs, User student, Connection conn) throws SQLException {
         Enrollment enrollment = new Enrollment();
@@ -398,10 +647,13 @@ public class EnrollmentService {
         
         // Load prerequisites
         String prerequisitesSql = "SELECT c.CourseID, c.Code, c.Name, c.Description, c.Credits, " +
-                                  "c.Department, c.Semester, c.Type, c.MaxSeats, c.CurrentSeats, " +
+                                  "d.Name as Department, sem.Code as Semester, ct.TypeCode as Type, c.MaxSeats, c.CurrentSeats, " +
                                   "c.IsActive, c.CreatedDate, c.UpdatedDate " +
                                   "FROM Prerequisites p " +
                                   "INNER JOIN Courses c ON p.PrerequisiteCourseID = c.CourseID " +
+                                  "LEFT JOIN Departments d ON c.DepartmentID = d.DepartmentID " +
+                                  "LEFT JOIN Semesters sem ON c.SemesterID = sem.SemesterID " +
+                                  "LEFT JOIN CourseTypes ct ON c.CourseTypeID = ct.CourseTypeID " +
                                   "WHERE p.CourseID = ?";
         
         try (PreparedStatement pstmt = conn.prepareStatement(prerequisitesSql)) {
@@ -450,5 +702,14 @@ public class EnrollmentService {
                 );
         }
     }
+    
+    /**
+     * Result of checkEnrollment for a student the course would accept
+     */
+    private static class EnrollmentCheck {
+        String code;
+        String name;
+        boolean seatAvailable;
+    }
 }
 
@@ -17,6 +17,8 @@ import java.util.List;
  */
 public class EquipmentService {
 
+    private final ReferenceDataCache referenceData = ReferenceDataCache.getInstance();
+
     /**
      * Get all available equipment of a specific type
      * @param equipmentTypeName The name of the equipment type to search for
@@ -204,8 +206,8 @@ public class EquipmentService {
         }
         
         // Get status type IDs
-        int activeStatusId = getStatusTypeId("ACTIVE", "ALLOCATION");
-        int allocatedStatusId = getStatusTypeId("ALLOCATED", "EQUIPMENT");
+        int activeStatusId = referenceData.getStatusTypeId("ALLOCATION", "ACTIVE");
+        int allocatedStatusId = referenceData.getStatusTypeId("EQUIPMENT", "ALLOCATED");
         
         // Determine allocation type and insert accordingly
         String sql;
@@ -237,7 +239,7 @@ public class EquipmentService {
                 pstmt.setInt(1, equipmentIdInt);
                 
                 if (isDepartmentAllocation) {
-                    int departmentId = getDepartmentIdByName(department);
+                    int departmentId = referenceData.getDepartmentId(department);
                     pstmt.setInt(2, departmentId);
                     pstmt.setInt(3, allocatedByUserIdInt);
                     pstmt.setString(4, notes != null ? notes : "");
@@ -314,8 +316,8 @@ public class EquipmentService {
         }
         
         // Get status type IDs
-        int returnedStatusId = getStatusTypeId("RETURNED", "ALLOCATION");
-        int availableStatusId = getStatusTypeId("AVAILABLE", "EQUIPMENT");
+        int returnedStatusId = referenceData.getStatusTypeId("ALLOCATION", "RETURNED");
+        int availableStatusId = referenceData.getStatusTypeId("EQUIPMENT", "AVAILABLE");
         
         // Determine which table to update (try user allocations first, then department)
         String checkSql = "SELECT 'USER' as AllocationType FROM EquipmentUserAllocations WHERE AllocationID = ? " +
@@ -485,7 +487,7 @@ public class EquipmentService {
         }
         
         // Get available status type ID
-        int availableStatusId = getStatusTypeId("AVAILABLE", "EQUIPMENT");
+        int availableStatusId = referenceData.getStatusTypeId("EQUIPMENT", "AVAILABLE");
         
         String sql = "INSERT INTO Equipment (EquipmentTypeID, SerialNumber, StatusTypeID, Location, Notes) " +
                     "VALUES (?, ?, ?, ?, ?)";
@@ -539,7 +541,7 @@ public class EquipmentService {
         }
         
         // Get active status type ID
-        int activeStatusId = getStatusTypeId("ACTIVE", "LICENSE");
+        int activeStatusId = referenceData.getStatusTypeId("LICENSE", "ACTIVE");
         
         String sql = "INSERT INTO SoftwareLicenses " +
                     "(SoftwareName, LicenseKey, Vendor, PurchaseDate, ExpiryDate, Cost, Quantity, UsedQuantity, StatusTypeID, Notes, CreatedDate, UpdatedDate) " +
@@ -901,54 +903,5 @@ public class EquipmentService {
                                   cost, quantity, usedQuantity, status, notes, created, updated);
     }
 
-    /**
-     * Get status type ID by status code and entity type
-     * @param statusCode The status code (e.g., "ACTIVE", "AVAILABLE")
-     * @param entityType The entity type (e.g., "EQUIPMENT", "LICENSE", "ALLOCATION")
-     * @return Status type ID
-     * @throws SQLException if status not found or database error occurs
-     */
-    private int getStatusTypeId(String statusCode, String entityType) throws SQLException {
-        String sql = "SELECT StatusTypeID FROM StatusTypes WHERE StatusCode = ? AND EntityType = ?";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, statusCode);
-            pstmt.setString(2, entityType);
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("StatusTypeID");
-                }
-            }
-        }
-        
-        throw new SQLException("Status type not found: " + statusCode + " for entity: " + entityType);
-    }
-
-    /**
-     * Get department ID by department name
-     * @param departmentName The department name
-     * @return Department ID
-     * @throws SQLException if department not found or database error occurs
-     */
-    private int getDepartmentIdByName(String departmentName) throws SQLException {
-        String sql = "SELECT DepartmentID FROM Departments WHERE Name = ?";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, departmentName);
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("DepartmentID");
-                }
-            }
-        }
-        
-        throw new SQLException("Department not found: " + departmentName);
-    }
 }
 
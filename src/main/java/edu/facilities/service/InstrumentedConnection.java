@@ -0,0 +1,194 @@
+package edu.facilities.service;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Dynamic proxies around pooled JDBC objects that report into {@link SqlStatistics}.
+ * The connection proxy remembers which service method checked it out and for how long;
+ * statement proxies time every execute call against its normalized SQL; result-set
+ * proxies count the rows actually read. Query latency is measured up to the moment
+ * executeQuery returns, so row fetching in the caller's loop is not included.
+ */
+final class InstrumentedConnection {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+        "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private InstrumentedConnection() {
+    }
+
+    /**
+     * Wrap a pooled connection for the method that is asking for it
+     */
+    static Connection wrap(Connection connection) {
+        ConnectionHandler handler = new ConnectionHandler(connection, callerOf());
+        return proxy(Connection.class, handler);
+    }
+
+    /**
+     * First stack frame outside the database layer, e.g. "BookingService.isRoomAvailable"
+     */
+    private static String callerOf() {
+        return STACK_WALKER.walk(frames -> frames
+            .filter(f -> !f.getClassName().equals(DatabaseConnection.class.getName())
+                      && !f.getClassName().startsWith(InstrumentedConnection.class.getName()))
+            .findFirst()
+            .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1) + "." + f.getMethodName())
+            .orElse("(unknown)"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(InstrumentedConnection.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+        private final String caller;
+        private final long checkedOutAt = System.nanoTime();
+        private int statementsExecuted = 0;
+        private boolean closed = false;
+        private Connection self;
+
+        ConnectionHandler(Connection target, String caller) {
+            this.target = target;
+            this.caller = caller;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            self = (Connection) proxy;
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        SqlStatistics.getInstance().recordConnectionHold(caller, System.nanoTime() - checkedOutAt, statementsExecuted);
+                    }
+                    return InstrumentedConnection.invoke(target, method, args);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    return InstrumentedConnection.invoke(target, method, args);
+                case "prepareStatement":
+                case "prepareCall":
+                case "createStatement":
+                    Object statement = InstrumentedConnection.invoke(target, method, args);
+                    String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                    Class<?> type = method.getName().equals("prepareCall") ? CallableStatement.class
+                                  : method.getName().equals("prepareStatement") ? PreparedStatement.class
+                                  : Statement.class;
+                    return proxy(type, new StatementHandler(statement, sql, this));
+                default:
+                    return InstrumentedConnection.invoke(target, method, args);
+            }
+        }
+    }
+
+    private static class StatementHandler implements InvocationHandler {
+        private final Object target;
+        private final String preparedSql;
+        private final ConnectionHandler connection;
+        private SqlStatistics.StatementEntry lastEntry;
+        private String batchSql;
+        private Object self;
+
+        StatementHandler(Object target, String preparedSql, ConnectionHandler connection) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            self = proxy;
+            String name = method.getName();
+            if (name.equals("getConnection")) {
+                return connection.self;
+            }
+            if (name.equals("addBatch") && args != null && args.length == 1 && batchSql == null) {
+                batchSql = (String) args[0];
+            }
+            if (name.equals("getResultSet")) {
+                return wrapResultSet(InstrumentedConnection.invoke(target, method, args), lastEntry);
+            }
+            if (!EXECUTE_METHODS.contains(name) || !SqlStatistics.getInstance().isEnabled()) {
+                return InstrumentedConnection.invoke(target, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0]
+                       : preparedSql != null ? preparedSql : batchSql;
+            SqlStatistics.StatementEntry entry = SqlStatistics.getInstance().statement(sql);
+            lastEntry = entry;
+            connection.statementsExecuted++;
+
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = InstrumentedConnection.invoke(target, method, args);
+                failed = false;
+                return countRows(result, entry);
+            } finally {
+                entry.record(System.nanoTime() - start, failed);
+                if (name.startsWith("executeBatch") || name.startsWith("executeLargeBatch")) {
+                    batchSql = null;
+                }
+            }
+        }
+
+        private Object countRows(Object result, SqlStatistics.StatementEntry entry) {
+            if (result instanceof ResultSet) {
+                return wrapResultSet(result, entry);
+            }
+            if (result instanceof Integer count && count > 0) {
+                entry.rows.add(count);
+            } else if (result instanceof Long count && count > 0) {
+                entry.rows.add(count);
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    entry.rows.add(Math.max(count, 0));
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    entry.rows.add(Math.max(count, 0));
+                }
+            }
+            return result;
+        }
+
+        private Object wrapResultSet(Object resultSet, SqlStatistics.StatementEntry entry) {
+            if (resultSet == null || entry == null) {
+                return resultSet;
+            }
+            Object target = resultSet;
+            return proxy(ResultSet.class, (rsProxy, method, args) -> {
+                Object result = InstrumentedConnection.invoke(target, method, args);
+                if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                    entry.rows.increment();
+                } else if (method.getName().equals("getStatement")) {
+                    return self;
+                }
+                return result;
+            });
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package edu.facilities.service;
+
+import java.sql.Connection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process stand-in for the PostgreSQL bus, for tests and single-client use.
+ * Notifications only reach subscribers in this JVM, and are delivered right away on a
+ * dispatcher thread rather than when the publishing transaction commits.
+ */
+public class LocalNotificationBus extends NotificationBus {
+
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "local-notifications");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public void publish(Connection conn, String channel, String payload) {
+        checkChannel(channel);
+        dispatcher.execute(() -> dispatch(channel, payload));
+    }
+}
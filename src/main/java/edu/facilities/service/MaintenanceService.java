@@ -19,10 +19,14 @@ import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class MaintenanceService {
 
+    private final ReferenceDataCache referenceData = ReferenceDataCache.getInstance();
+
     public MaintenanceTicket createTicket(Room room,
                                           User reporter,
                                           String description) throws SQLException {
@@ -44,7 +48,7 @@ public class MaintenanceService {
         Connection conn = DatabaseConnection.getConnection();
         try {
             // Get StatusTypeID for NEW status
-            int statusTypeId = getStatusTypeId(conn, "TICKET", "NEW");
+            int statusTypeId = referenceData.getStatusTypeId("TICKET", "NEW");
             
             int roomId = getRoomIdByCode(conn, room.getId());
             if (roomId == -1) {
@@ -215,6 +219,30 @@ public class MaintenanceService {
         return null;
     }
 
+    /**
+     * Columns for a ticket together with its room, reporter and (staff) assignee, so a
+     * page of tickets is built from one query instead of three lookups per ticket.
+     * AssignedToUserID = 0 means unassigned; assignees whose primary role is not STAFF
+     * are left out, as before.
+     */
+    private static final String TICKET_SELECT =
+            "SELECT t.TicketID, t.Description, tst.StatusCode as TicketStatus, t.CreatedDate, t.ResolvedDate, " +
+            "r.RoomID, r.Code, r.Name, rt.TypeCode as Type, r.Capacity, r.Location, rst.StatusCode as Status, " +
+            "rep.UserID as ReporterID, rep.Username as ReporterUsername, rept.TypeCode as ReporterType, " +
+            "asg.UserID as AssigneeID, asg.Username as AssigneeUsername " +
+            "FROM MaintenanceTickets t " +
+            "INNER JOIN Rooms r ON t.RoomID = r.RoomID " +
+            "LEFT JOIN RoomTypes rt ON r.RoomTypeID = rt.RoomTypeID " +
+            "LEFT JOIN StatusTypes rst ON r.StatusTypeID = rst.StatusTypeID AND rst.EntityType = 'ROOM' " +
+            "LEFT JOIN StatusTypes tst ON t.StatusTypeID = tst.StatusTypeID AND tst.EntityType = 'TICKET' " +
+            "INNER JOIN Users rep ON t.ReporterUserID = rep.UserID " +
+            "LEFT JOIN UserRoles repr ON rep.UserID = repr.UserID AND repr.IsPrimary = true " +
+            "LEFT JOIN UserTypes rept ON repr.UserTypeID = rept.UserTypeID " +
+            "LEFT JOIN (UserRoles asgr " +
+            "           INNER JOIN UserTypes asgt ON asgr.UserTypeID = asgt.UserTypeID AND asgt.TypeCode = 'STAFF') " +
+            "       ON t.AssignedToUserID > 0 AND asgr.UserID = t.AssignedToUserID AND asgr.IsPrimary = true " +
+            "LEFT JOIN Users asg ON asgr.UserID = asg.UserID ";
+
     /**
      * Get a single ticket by ID
      * @param ticketId The ticket ID
@@ -232,368 +260,223 @@ public class MaintenanceService {
         } catch (NumberFormatException e) {
             return null;
         }
-        
-        String sql = "SELECT t.TicketID, t.RoomID, t.ReporterUserID, " +
-                "t.AssignedToUserID, " +
-                "t.Description, st.StatusCode as Status, t.CreatedDate, t.ResolvedDate, " +
-                "r.Code as RoomCode, r.Name as RoomName " +
-                "FROM MaintenanceTickets t " +
-                "LEFT JOIN Rooms r ON t.RoomID = r.RoomID " +
-                "LEFT JOIN StatusTypes st ON t.StatusTypeID = st.StatusTypeID AND st.EntityType = 'TICKET' " +
-                "WHERE t.TicketID = ?";
 
-        Connection conn = DatabaseConnection.getConnection();
-        if (conn == null || conn.isClosed()) {
-            throw new SQLException("Database connection is closed or invalid");
-        }
-        
-        TicketData data = null;
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, ticketIdInt);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    data = new TicketData();
-                    data.ticketId = rs.getInt("TicketID");
-                    data.roomId = rs.getInt("RoomID");
-                    data.reporterId = rs.getInt("ReporterUserID");
-                    data.assignedToId = rs.getObject("AssignedToUserID", Integer.class);
-                    data.description = rs.getString("Description");
-                    data.statusStr = rs.getString("Status");
-                    data.createdDate = rs.getTimestamp("CreatedDate");
-                    data.resolvedDate = rs.getTimestamp("ResolvedDate");
-                    data.roomCode = rs.getString("RoomCode");
-                }
-            }
-        }
-        
-        if (data != null) {
-            return createTicketFromData(data, conn);
-        }
-        return null;
+        List<MaintenanceTicket> tickets = loadTickets("TicketID", ticketIdInt, null, null, 0).getTickets();
+        return tickets.isEmpty() ? null : tickets.get(0);
     }
     
     /**
      * Get all maintenance tickets (for admins)
-     * Note: Requires MaintenanceTickets table to have AssignedToUserID column (nullable)
-     * If column doesn't exist, run: ALTER TABLE MaintenanceTickets ADD AssignedToUserID INT NULL;
-     * @return List of all maintenance tickets
+     * @return List of all maintenance tickets, newest first
      */
     public List<MaintenanceTicket> getAllTickets() throws SQLException {
-        List<MaintenanceTicket> tickets = new ArrayList<>();
-        // Check if AssignedToUserID column exists, if not use a simpler query
-        String sql = "SELECT t.TicketID, t.RoomID, t.ReporterUserID, " +
-                "t.AssignedToUserID, " +
-                "t.Description, st.StatusCode as Status, t.CreatedDate, t.ResolvedDate, " +
-                "r.Code as RoomCode, r.Name as RoomName " +
-                "FROM MaintenanceTickets t " +
-                "LEFT JOIN Rooms r ON t.RoomID = r.RoomID " +
-                "LEFT JOIN StatusTypes st ON t.StatusTypeID = st.StatusTypeID AND st.EntityType = 'TICKET' " +
-                "ORDER BY t.CreatedDate DESC";
-
-        // Get connection - ensure it's valid and stays open
-        Connection conn = DatabaseConnection.getConnection();
-        if (conn == null || conn.isClosed()) {
-            throw new SQLException("Database connection is closed or invalid");
-        }
-        
-        // Ensure connection is still valid before processing
-        if (conn.isClosed()) {
-            conn = DatabaseConnection.getConnection(); // Get a fresh connection
+        return loadTickets(null, 0, null, null, 0).getTickets();
+    }
+
+    /**
+     * Get one page of all maintenance tickets (for admins), newest first
+     * @param status Only tickets with this status, or null for all
+     * @param after Last ticket of the previous page, or null for the first page
+     * @param pageSize Maximum number of tickets to return
+     * @return The page, with a flag telling whether more tickets follow
+     */
+    public TicketPage getAllTickets(TicketStatus status, MaintenanceTicket after, int pageSize) throws SQLException {
+        return loadTickets(null, 0, status, after, requirePageSize(pageSize));
+    }
+
+    /**
+     * Get tickets created by a specific user (reporter)
+     * @param reporterUserId The user ID of the reporter
+     * @return List of tickets created by the user
+     * @throws SQLException if database error occurs
+     */
+    public List<MaintenanceTicket> getTicketsByReporter(String reporterUserId) throws SQLException {
+        return loadTickets("ReporterUserID", parseUserId(reporterUserId, "reporter"), null, null, 0).getTickets();
+    }
+
+    /**
+     * Get one page of tickets created by a specific user (reporter), newest first
+     * @see #getAllTickets(TicketStatus, MaintenanceTicket, int)
+     */
+    public TicketPage getTicketsByReporter(String reporterUserId, TicketStatus status,
+                                           MaintenanceTicket after, int pageSize) throws SQLException {
+        return loadTickets("ReporterUserID", parseUserId(reporterUserId, "reporter"), status, after,
+                           requirePageSize(pageSize));
+    }
+
+    /**
+     * Get tickets assigned to a specific staff member
+     * @param staffUserId The user ID of the staff member
+     * @return List of tickets assigned to the staff member
+     */
+    public List<MaintenanceTicket> getTicketsByAssignee(String staffUserId) throws SQLException {
+        return loadTickets("AssignedToUserID", parseUserId(staffUserId, "staff"), null, null, 0).getTickets();
+    }
+
+    /**
+     * Get one page of tickets assigned to a specific staff member, newest first
+     * @see #getAllTickets(TicketStatus, MaintenanceTicket, int)
+     */
+    public TicketPage getTicketsByAssignee(String staffUserId, TicketStatus status,
+                                           MaintenanceTicket after, int pageSize) throws SQLException {
+        return loadTickets("AssignedToUserID", parseUserId(staffUserId, "staff"), status, after,
+                           requirePageSize(pageSize));
+    }
+
+    /**
+     * One page of tickets, newest first. Pass the last ticket to the next call to continue.
+     */
+    public static class TicketPage {
+        private final List<MaintenanceTicket> tickets;
+        private final boolean hasMore;
+
+        TicketPage(List<MaintenanceTicket> tickets, boolean hasMore) {
+            this.tickets = tickets;
+            this.hasMore = hasMore;
         }
-        
-        // First, read all ticket data into a list to avoid ResultSet conflicts
-        List<TicketData> ticketDataList = new ArrayList<>();
-        PreparedStatement stmt = null;
-        ResultSet rs = null;
-        try {
-            stmt = conn.prepareStatement(sql);
-            rs = stmt.executeQuery();
-            
-            System.out.println("Querying all tickets from database...");
-            int count = 0;
-            while (rs.next()) {
-                TicketData data = new TicketData();
-                data.ticketId = rs.getInt("TicketID");
-                data.roomId = rs.getInt("RoomID");
-                data.reporterId = rs.getInt("ReporterUserID");
-                data.assignedToId = rs.getObject("AssignedToUserID", Integer.class);
-                data.description = rs.getString("Description");
-                data.statusStr = rs.getString("Status");
-                data.createdDate = rs.getTimestamp("CreatedDate");
-                data.resolvedDate = rs.getTimestamp("ResolvedDate");
-                data.roomCode = rs.getString("RoomCode");
-                ticketDataList.add(data);
-                count++;
-            }
-            System.out.println("Found " + count + " tickets in database");
-        } finally {
-            // Close ResultSet and PreparedStatement but keep connection open
-            if (rs != null) {
-                try { rs.close(); } catch (SQLException e) { /* ignore */ }
-            }
-            if (stmt != null) {
-                try { stmt.close(); } catch (SQLException e) { /* ignore */ }
-            }
+
+        public List<MaintenanceTicket> getTickets() {
+            return tickets;
         }
-        
-        // Verify connection is still valid before processing tickets
-        if (conn.isClosed()) {
-            System.err.println("Connection closed after query, getting new connection...");
-            conn = DatabaseConnection.getConnection();
+
+        public boolean hasMore() {
+            return hasMore;
         }
-        
-        // Now process each ticket data to create MaintenanceTicket objects
-        System.out.println("Processing " + ticketDataList.size() + " tickets...");
-        for (TicketData data : ticketDataList) {
-            try {
-                // Verify connection before each ticket
-                if (conn.isClosed()) {
-                    System.err.println("Connection closed, getting new connection for ticket " + data.ticketId);
-                    conn = DatabaseConnection.getConnection();
-                }
-                
-                MaintenanceTicket ticket = createTicketFromData(data, conn);
-                if (ticket != null) {
-                    tickets.add(ticket);
-                    System.out.println("Successfully loaded ticket ID: " + data.ticketId);
-                } else {
-                    System.err.println("Failed to create ticket object for ticket ID " + data.ticketId + " (returned null)");
-                }
-            } catch (Exception e) {
-                System.err.println("Error creating ticket from data for ticket ID " + data.ticketId + ": " + e.getMessage());
-                e.printStackTrace();
-            }
+
+        /**
+         * Last ticket on this page, or null if the page is empty
+         */
+        public MaintenanceTicket getLastTicket() {
+            return tickets.isEmpty() ? null : tickets.get(tickets.size() - 1);
         }
-        
-        System.out.println("Total tickets loaded: " + tickets.size() + " out of " + ticketDataList.size() + " found in database");
-        return tickets;
     }
-    
+
     /**
-     * Helper class to store ticket data from ResultSet
+     * Load tickets with their rooms and users in one query.
+     * Pages use a keyset on (CreatedDate, TicketID) rather than OFFSET, so later pages cost
+     * the same as the first and tickets created meanwhile do not shift rows between pages.
+     * @param column MaintenanceTickets column to match against value, or null for no filter
+     * @param status Ticket status to filter on, or null for all
+     * @param after Last ticket of the previous page, or null to start at the newest
+     * @param limit Page size, or 0 to load everything
      */
-    private static class TicketData {
-        int ticketId;
-        int roomId;
-        int reporterId;
-        Integer assignedToId;
-        String description;
-        String statusStr;
-        Timestamp createdDate;
-        Timestamp resolvedDate;
-        String roomCode;
+    private TicketPage loadTickets(String column, int value, TicketStatus status,
+                                   MaintenanceTicket after, int limit) throws SQLException {
+        StringBuilder sql = new StringBuilder(TICKET_SELECT).append("WHERE 1 = 1 ");
+        List<Object> params = new ArrayList<>();
+        if (column != null) {
+            sql.append("AND t.").append(column).append(" = ? ");
+            params.add(value);
+        }
+        if (status != null) {
+            sql.append("AND t.StatusTypeID = ? ");
+            params.add(referenceData.getStatusTypeId("TICKET", ticketStatusToStatusCode(status)));
+        }
+        if (after != null) {
+            sql.append("AND (t.CreatedDate, t.TicketID) < (?, ?) ");
+            params.add(Timestamp.valueOf(after.getCreatedAt()));
+            params.add(Integer.parseInt(after.getId()));
+        }
+        sql.append("ORDER BY t.CreatedDate DESC, t.TicketID DESC");
+        if (limit > 0) {
+            // One extra row tells whether there is another page
+            sql.append(" LIMIT ?");
+            params.add(limit + 1);
+        }
+
+        List<MaintenanceTicket> tickets = new ArrayList<>();
+        Map<Integer, Room> rooms = new HashMap<>();
+        Map<Integer, User> users = new HashMap<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tickets.add(mapResultSetToTicket(rs, rooms, users));
+                }
+            }
+        }
+
+        boolean hasMore = limit > 0 && tickets.size() > limit;
+        if (hasMore) {
+            tickets.remove(tickets.size() - 1);
+        }
+        return new TicketPage(tickets, hasMore);
     }
-    
+
     /**
-     * Create MaintenanceTicket from TicketData
+     * Map a TICKET_SELECT row to a ticket. Rooms and users seen earlier in the same load
+     * are reused from the given maps, so a room with twenty tickets is one Room object.
      */
-    private MaintenanceTicket createTicketFromData(TicketData data, Connection conn) throws SQLException {
-        // Get Room object
-        Room room = getRoomById(conn, data.roomId, data.roomCode);
+    private MaintenanceTicket mapResultSetToTicket(ResultSet rs, Map<Integer, Room> rooms,
+                                                   Map<Integer, User> users) throws SQLException {
+        int roomId = rs.getInt("RoomID");
+        Room room = rooms.get(roomId);
         if (room == null) {
-            System.err.println("Room not found for ticket " + data.ticketId);
-            return null;
+            room = mapResultSetToRoom(rs);
+            rooms.put(roomId, room);
         }
 
-        // Get Reporter User object
-        User reporter = getUserById(conn, data.reporterId);
+        int reporterId = rs.getInt("ReporterID");
+        User reporter = users.get(reporterId);
         if (reporter == null) {
-            System.err.println("Reporter not found for ticket " + data.ticketId);
-            return null;
+            reporter = createUser(String.valueOf(reporterId), rs.getString("ReporterUsername"),
+                                  rs.getString("ReporterType"));
+            users.put(reporterId, reporter);
         }
-        
-        // Get Assignee Staff object if assigned
+
         Staff assignee = null;
-        if (data.assignedToId != null) {
-            assignee = getStaffById(conn, data.assignedToId);
-            if (assignee == null) {
-                System.err.println("Warning: Ticket " + data.ticketId + " assigned to non-staff user ID " + data.assignedToId);
+        int assigneeId = rs.getInt("AssigneeID");
+        if (!rs.wasNull()) {
+            if (users.get(assigneeId) instanceof Staff staff) {
+                assignee = staff;
+            } else {
+                assignee = new Staff(String.valueOf(assigneeId), rs.getString("AssigneeUsername"), null);
+                users.put(assigneeId, assignee);
             }
         }
 
         // Convert status string to enum
         TicketStatus status = TicketStatus.NEW;
-        if (data.statusStr != null) {
+        String statusStr = rs.getString("TicketStatus");
+        if (statusStr != null) {
             try {
-                status = TicketStatus.valueOf(data.statusStr.toUpperCase());
+                status = TicketStatus.valueOf(statusStr.toUpperCase());
             } catch (IllegalArgumentException e) {
                 status = TicketStatus.NEW;
             }
         }
 
-        // Convert timestamps
-        LocalDateTime created = data.createdDate != null ? data.createdDate.toLocalDateTime() : LocalDateTime.now();
-        LocalDateTime resolved = data.resolvedDate != null ? data.resolvedDate.toLocalDateTime() : null;
+        Timestamp createdDate = rs.getTimestamp("CreatedDate");
+        Timestamp resolvedDate = rs.getTimestamp("ResolvedDate");
 
         return new MaintenanceTicket(
-                String.valueOf(data.ticketId),
+                String.valueOf(rs.getInt("TicketID")),
                 room,
                 reporter,
                 assignee,
-                data.description,
+                rs.getString("Description"),
                 status,
-                created,
-                resolved
+                createdDate.toLocalDateTime(),
+                resolvedDate != null ? resolvedDate.toLocalDateTime() : null
         );
     }
 
-    /**
-     * Get tickets created by a specific user (reporter)
-     * @param reporterUserId The user ID of the reporter
-     * @return List of tickets created by the user
-     * @throws SQLException if database error occurs
-     */
-    public List<MaintenanceTicket> getTicketsByReporter(String reporterUserId) throws SQLException {
-        List<MaintenanceTicket> tickets = new ArrayList<>();
-        int reporterId;
+    private int parseUserId(String userId, String role) {
         try {
-            reporterId = Integer.parseInt(reporterUserId);
+            return Integer.parseInt(userId);
         } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("Invalid reporter user ID: " + reporterUserId);
+            throw new IllegalArgumentException("Invalid " + role + " user ID: " + userId);
         }
-
-        String sql = "SELECT t.TicketID, t.RoomID, t.ReporterUserID, " +
-                "t.AssignedToUserID, " +
-                "t.Description, st.StatusCode as Status, t.CreatedDate, t.ResolvedDate, " +
-                "r.Code as RoomCode, r.Name as RoomName " +
-                "FROM MaintenanceTickets t " +
-                "LEFT JOIN Rooms r ON t.RoomID = r.RoomID " +
-                "LEFT JOIN StatusTypes st ON t.StatusTypeID = st.StatusTypeID AND st.EntityType = 'TICKET' " +
-                "WHERE t.ReporterUserID = ? " +
-                "ORDER BY t.CreatedDate DESC";
-
-        // Get connection - ensure it's valid
-        Connection conn = DatabaseConnection.getConnection();
-        if (conn == null || conn.isClosed()) {
-            throw new SQLException("Database connection is closed or invalid");
-        }
-        
-        // First, read all ticket data into a list to avoid ResultSet conflicts
-        List<TicketData> ticketDataList = new ArrayList<>();
-        PreparedStatement stmt = null;
-        ResultSet rs = null;
-        try {
-            stmt = conn.prepareStatement(sql);
-            stmt.setInt(1, reporterId);
-
-            rs = stmt.executeQuery();
-            while (rs.next()) {
-                TicketData data = new TicketData();
-                data.ticketId = rs.getInt("TicketID");
-                data.roomId = rs.getInt("RoomID");
-                data.reporterId = rs.getInt("ReporterUserID");
-                data.assignedToId = rs.getObject("AssignedToUserID", Integer.class);
-                data.description = rs.getString("Description");
-                data.statusStr = rs.getString("Status");
-                data.createdDate = rs.getTimestamp("CreatedDate");
-                data.resolvedDate = rs.getTimestamp("ResolvedDate");
-                data.roomCode = rs.getString("RoomCode");
-                ticketDataList.add(data);
-            }
-        } finally {
-            if (rs != null) {
-                try { rs.close(); } catch (SQLException e) { /* ignore */ }
-            }
-            if (stmt != null) {
-                try { stmt.close(); } catch (SQLException e) { /* ignore */ }
-            }
-        }
-        
-        // Verify connection is still valid before processing tickets
-        if (conn.isClosed()) {
-            System.err.println("Connection closed after query, getting new connection...");
-            conn = DatabaseConnection.getConnection();
-        }
-        
-        // Now process each ticket data to create MaintenanceTicket objects
-        for (TicketData data : ticketDataList) {
-            try {
-                // Verify connection before each ticket
-                if (conn.isClosed()) {
-                    System.err.println("Connection closed, getting new connection for ticket " + data.ticketId);
-                    conn = DatabaseConnection.getConnection();
-                }
-                
-                MaintenanceTicket ticket = createTicketFromData(data, conn);
-                if (ticket != null) {
-                    tickets.add(ticket);
-                }
-            } catch (Exception e) {
-                System.err.println("Error creating ticket from data for ticket ID " + data.ticketId + ": " + e.getMessage());
-                e.printStackTrace();
-            }
-        }
-        
-        return tickets;
     }
 
-    /**
-     * Get tickets assigned to a specific staff member
-     * Note: Requires MaintenanceTickets table to have AssignedToUserID column
-     * @param staffUserId The user ID of the staff member
-     * @return List of tickets assigned to the staff member
-     */
-    public List<MaintenanceTicket> getTicketsByAssignee(String staffUserId) throws SQLException {
-        List<MaintenanceTicket> tickets = new ArrayList<>();
-        int assigneeId;
-        try {
-            assigneeId = Integer.parseInt(staffUserId);
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("Invalid staff user ID: " + staffUserId);
-        }
-
-        String sql = "SELECT t.TicketID, t.RoomID, t.ReporterUserID, " +
-                "t.AssignedToUserID, " +
-                "t.Description, st.StatusCode as Status, t.CreatedDate, t.ResolvedDate, " +
-                "r.Code as RoomCode, r.Name as RoomName " +
-                "FROM MaintenanceTickets t " +
-                "LEFT JOIN Rooms r ON t.RoomID = r.RoomID " +
-                "LEFT JOIN StatusTypes st ON t.StatusTypeID = st.StatusTypeID AND st.EntityType = 'TICKET' " +
-                "WHERE t.AssignedToUserID = ? " +
-                "ORDER BY t.CreatedDate DESC";
-
-        // Get connection - ensure it's valid
-        Connection conn = DatabaseConnection.getConnection();
-        if (conn == null || conn.isClosed()) {
-            throw new SQLException("Database connection is closed or invalid");
-        }
-        
-        // First, read all ticket data into a list to avoid ResultSet conflicts
-        List<TicketData> ticketDataList = new ArrayList<>();
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, assigneeId);
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    TicketData data = new TicketData();
-                    data.ticketId = rs.getInt("TicketID");
-                    data.roomId = rs.getInt("RoomID");
-                    data.reporterId = rs.getInt("ReporterUserID");
-                    data.assignedToId = rs.getObject("AssignedToUserID", Integer.class);
-                    data.description = rs.getString("Description");
-                    data.statusStr = rs.getString("Status");
-                    data.createdDate = rs.getTimestamp("CreatedDate");
-                    data.resolvedDate = rs.getTimestamp("ResolvedDate");
-                    data.roomCode = rs.getString("RoomCode");
-                    ticketDataList.add(data);
-                }
-            }
-        }
-        
-        // Now process each ticket data to create MaintenanceTicket objects
-        for (TicketData data : ticketDataList) {
-            try {
-                MaintenanceTicket ticket = createTicketFromData(data, conn);
-                if (ticket != null) {
-                    tickets.add(ticket);
-                }
-            } catch (Exception e) {
-                System.err.println("Error creating ticket from data for ticket ID " + data.ticketId + ": " + e.getMessage());
-                e.printStackTrace();
-            }
+    private int requirePageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
         }
-        
-        return tickets;
+        return pageSize;
     }
 
     /**
@@ -621,7 +504,7 @@ public class MaintenanceService {
         Connection conn = DatabaseConnection.getConnection();
         // Convert TicketStatus to status code string
         String statusCode = ticketStatusToStatusCode(newStatus);
-        int statusTypeId = getStatusTypeId(conn, "TICKET", statusCode);
+        int statusTypeId = referenceData.getStatusTypeId("TICKET", statusCode);
         
         String sql = "UPDATE MaintenanceTickets SET StatusTypeID = ?";
         
@@ -717,51 +600,6 @@ public class MaintenanceService {
         return staffUsers;
     }
 
-    /**
-     * Get room by ID and code using the provided connection
-     */
-    private Room getRoomById(Connection conn, int roomId, String roomCode) throws SQLException {
-        // Validate connection first
-        if (conn == null || conn.isClosed()) {
-            throw new SQLException("Connection is closed or invalid in getRoomById");
-        }
-        
-        try {
-            String sql;
-            PreparedStatement pstmt;
-            
-            if (roomCode != null && !roomCode.isBlank()) {
-                // Query by room code
-                sql = "SELECT r.RoomID, r.Code, r.Name, rt.TypeCode as Type, r.Capacity, r.Location, st.StatusCode as Status " +
-                      "FROM Rooms r " +
-                      "LEFT JOIN RoomTypes rt ON r.RoomTypeID = rt.RoomTypeID " +
-                      "LEFT JOIN StatusTypes st ON r.StatusTypeID = st.StatusTypeID AND st.EntityType = 'ROOM' " +
-                      "WHERE r.Code = ?";
-                pstmt = conn.prepareStatement(sql);
-                pstmt.setString(1, roomCode);
-            } else {
-                // Query by RoomID
-                sql = "SELECT r.RoomID, r.Code, r.Name, rt.TypeCode as Type, r.Capacity, r.Location, st.StatusCode as Status " +
-                      "FROM Rooms r " +
-                      "LEFT JOIN RoomTypes rt ON r.RoomTypeID = rt.RoomTypeID " +
-                      "LEFT JOIN StatusTypes st ON r.StatusTypeID = st.StatusTypeID AND st.EntityType = 'ROOM' " +
-                      "WHERE r.RoomID = ?";
-                pstmt = conn.prepareStatement(sql);
-                pstmt.setInt(1, roomId);
-            }
-            
-            try (pstmt; ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return mapResultSetToRoom(rs);
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error getting room by ID: " + e.getMessage());
-            throw e;
-        }
-        return null;
-    }
-    
     /**
      * Map ResultSet to Room object
      */
@@ -797,32 +635,6 @@ public class MaintenanceService {
         return new Room(code, name, type, capacity, location, status);
     }
 
-    /**
-     * Get user by ID
-     */
-    private User getUserById(Connection conn, int userId) throws SQLException {
-        // Validate connection first
-        if (conn == null || conn.isClosed()) {
-            throw new SQLException("Connection is closed or invalid in getUserById");
-        }
-        
-        String sql = "SELECT UserID, Username, Email, UserType FROM Users WHERE UserID = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, userId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    String id = String.valueOf(rs.getInt("UserID"));
-                    String username = rs.getString("Username");
-                    String userType = rs.getString("UserType");
-                    
-                    // Create appropriate concrete User instance based on userType
-                    return createUser(id, username, userType);
-                }
-            }
-        }
-        return null;
-    }
-    
     /**
      * Create appropriate User instance based on userType
      * @param id User ID
@@ -872,49 +684,6 @@ public class MaintenanceService {
         return null;
     }
     
-    /**
-     * Get Staff user by ID
-     * @param conn Database connection
-     * @param userId User ID
-     * @return Staff object if user is Staff, null otherwise
-     */
-    private Staff getStaffById(Connection conn, int userId) throws SQLException {
-        String sql = "SELECT u.UserID, u.Username, u.Email, ut.TypeCode as UserType " +
-                     "FROM Users u " +
-                     "INNER JOIN UserRoles ur ON u.UserID = ur.UserID " +
-                     "INNER JOIN UserTypes ut ON ur.UserTypeID = ut.UserTypeID " +
-                     "WHERE u.UserID = ? AND ut.TypeCode = 'STAFF' AND ur.IsPrimary = true";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, userId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    String id = String.valueOf(rs.getInt("UserID"));
-                    String username = rs.getString("Username");
-                    // Create Staff object directly since we know it's Staff
-                    return new Staff(id, username, null);
-                }
-            }
-        }
-        return null;
-    }
-    
-    /**
-     * Get StatusTypeID from StatusTypes table by EntityType and StatusCode
-     */
-    private int getStatusTypeId(Connection conn, String entityType, String statusCode) throws SQLException {
-        String sql = "SELECT StatusTypeID FROM StatusTypes WHERE EntityType = ? AND StatusCode = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, entityType);
-            pstmt.setString(2, statusCode.toUpperCase());
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("StatusTypeID");
-                }
-            }
-        }
-        throw new SQLException("StatusType with EntityType '" + entityType + "' and StatusCode '" + statusCode + "' not found");
-    }
-    
     /**
      * Convert TicketStatus enum to status code string for database
      */
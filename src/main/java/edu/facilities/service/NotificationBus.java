@@ -0,0 +1,117 @@
+package edu.facilities.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Publish/subscribe channel between clients for small change notifications.
+ * The default implementation uses PostgreSQL LISTEN/NOTIFY, so a notification published
+ * inside a transaction reaches every client once that transaction commits.
+ * notifications.mode=local switches to an in-process bus (tests, offline use).
+ * Uses singleton pattern so every service publishes to, and listens on, the same bus.
+ */
+public abstract class NotificationBus {
+
+    // Channel names end up in LISTEN statements, so keep them to plain identifiers
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private static NotificationBus instance;
+
+    private final Map<String, List<Listener>> listeners = new ConcurrentHashMap<>();
+
+    /**
+     * Get singleton instance
+     */
+    public static synchronized NotificationBus getInstance() {
+        if (instance == null) {
+            String mode = DatabaseConnection.getConfigValue("notifications.mode", "NOTIFICATIONS_MODE", "postgres");
+            instance = "local".equalsIgnoreCase(mode) ? new LocalNotificationBus() : new PostgresNotificationBus();
+        }
+        return instance;
+    }
+
+    /**
+     * Replace the bus, e.g. with a LocalNotificationBus in tests. Only affects later subscriptions.
+     */
+    public static synchronized void setInstance(NotificationBus bus) {
+        instance = bus;
+    }
+
+    /**
+     * Receives the notifications of one channel, on the bus's own thread
+     */
+    public interface Listener {
+        void onNotification(String payload);
+
+        /**
+         * Notifications may have been missed (e.g. the listening connection was re-established),
+         * so any state built from them should be reloaded
+         */
+        default void onResync() {
+        }
+    }
+
+    public interface Subscription {
+        void cancel();
+    }
+
+    /**
+     * Publish a notification
+     * @param conn Connection the change was written on; the notification goes out when it commits
+     */
+    public abstract void publish(Connection conn, String channel, String payload) throws SQLException;
+
+    /**
+     * Start receiving the notifications of a channel
+     */
+    public Subscription subscribe(String channel, Listener listener) {
+        checkChannel(channel);
+        listeners.computeIfAbsent(channel, k -> new CopyOnWriteArrayList<>()).add(listener);
+        channelAdded(channel);
+        return () -> listeners.getOrDefault(channel, List.of()).remove(listener);
+    }
+
+    /**
+     * Called after the first subscription to a channel
+     */
+    protected void channelAdded(String channel) {
+    }
+
+    protected Set<String> channels() {
+        return listeners.keySet();
+    }
+
+    protected void dispatch(String channel, String payload) {
+        for (Listener listener : listeners.getOrDefault(channel, List.of())) {
+            try {
+                listener.onNotification(payload);
+            } catch (RuntimeException e) {
+                System.err.println("⚠ Notification listener failed on " + channel + ": " + e.getMessage());
+            }
+        }
+    }
+
+    protected void dispatchResync() {
+        for (List<Listener> channelListeners : listeners.values()) {
+            for (Listener listener : channelListeners) {
+                try {
+                    listener.onResync();
+                } catch (RuntimeException e) {
+                    System.err.println("⚠ Notification listener failed to resync: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    protected static void checkChannel(String channel) {
+        if (channel == null || !CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel: " + channel);
+        }
+    }
+}
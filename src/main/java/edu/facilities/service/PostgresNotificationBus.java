@@ -0,0 +1,90 @@
+package edu.facilities.service;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Notification bus on PostgreSQL LISTEN/NOTIFY.
+ * Publishing is a pg_notify call on the writer's own connection, so it is delivered when that
+ * transaction commits and dropped if it rolls back. Receiving needs a session that stays put,
+ * which the transaction-mode pooler does not give, so one daemon thread holds a dedicated
+ * connection (DatabaseConnection.openListenerConnection) and polls it for notifications.
+ * After every (re)connect listeners are told to resync, since anything sent while the
+ * connection was down is lost.
+ */
+final class PostgresNotificationBus extends NotificationBus {
+
+    private static final int POLL_MILLIS = 500;
+    private static final long MIN_BACKOFF_MILLIS = 1_000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private Thread listenerThread;
+
+    @Override
+    public void publish(Connection conn, String channel, String payload) throws SQLException {
+        checkChannel(channel);
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT pg_notify(?, ?)")) {
+            pstmt.setString(1, channel);
+            pstmt.setString(2, payload);
+            pstmt.execute();
+        }
+    }
+
+    @Override
+    protected synchronized void channelAdded(String channel) {
+        // The listener thread picks up new channels on its next poll
+        if (listenerThread == null) {
+            listenerThread = new Thread(this::listen, "notification-listener");
+            listenerThread.setDaemon(true);
+            listenerThread.start();
+        }
+    }
+
+    private void listen() {
+        long backoff = MIN_BACKOFF_MILLIS;
+        while (true) {
+            try (Connection conn = DatabaseConnection.openListenerConnection();
+                 Statement stmt = conn.createStatement()) {
+                PGConnection pgConnection = conn.unwrap(PGConnection.class);
+                Set<String> listening = new HashSet<>();
+                boolean connected = false;
+
+                while (true) {
+                    for (String channel : channels()) {
+                        if (listening.add(channel)) {
+                            stmt.execute("LISTEN " + channel);
+                        }
+                    }
+                    if (!connected) {
+                        connected = true;
+                        backoff = MIN_BACKOFF_MILLIS;
+                        dispatchResync();
+                    }
+
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getName(), notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                System.err.println("⚠ Notification listener disconnected, retrying in " + backoff + " ms: " + e.getMessage());
+            }
+
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                return;
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+}
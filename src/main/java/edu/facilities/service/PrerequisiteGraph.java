@@ -0,0 +1,319 @@
+package edu.facilities.service;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory copy of the Prerequisites table as a DAG over all courses, so enrollment checks
+ * and "what does this course ultimately require" need no recursive queries.
+ *
+ * Courses get dense indexes; each one has a bitset of its direct prerequisites and one of its
+ * transitive closure, computed once per load in topological order. A student's completed
+ * courses become a bitset too, and eligibility is then a bitset difference. The snapshot is
+ * dropped when a prerequisite is added or removed, here or (through NotificationBus) in any
+ * other client, and when a course it does not know is looked up; the next call reloads it.
+ * Uses singleton pattern so all services share one graph.
+ */
+public class PrerequisiteGraph {
+
+    static final String CHANNEL = "prerequisites";
+
+    // A course missing from the snapshot only triggers a reload if the snapshot is at least
+    // this old, so lookups of a course without prerequisites cannot turn into a reload storm
+    private static final long MISS_RELOAD_INTERVAL = 5000;
+
+    private static PrerequisiteGraph instance;
+
+    private volatile Snapshot snapshot;
+    private NotificationBus.Subscription subscription;
+
+    private PrerequisiteGraph() {
+        // Private constructor for singleton
+    }
+
+    /**
+     * Get singleton instance
+     */
+    public static synchronized PrerequisiteGraph getInstance() {
+        if (instance == null) {
+            instance = new PrerequisiteGraph();
+        }
+        return instance;
+    }
+
+    /**
+     * Drop the snapshot; the next lookup reloads it
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * Tell every client that the Prerequisites table changed. Call invalidate() after the
+     * commit as well, so this client cannot keep a graph reloaded before the change committed.
+     * @param conn Connection the change was written on; the notification goes out when it commits
+     */
+    public static void publishChange(Connection conn) {
+        try {
+            NotificationBus.getInstance().publish(conn, CHANNEL, "changed");
+        } catch (SQLException e) {
+            // The change itself stands; other clients catch up when they next miss a course
+            System.err.println("⚠ Could not publish prerequisite change: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reload the graph on a connection that is inside a transaction, so a check made
+     * with the result sees everything committed before it (and the transaction's own changes)
+     */
+    public Snapshot reload(Connection conn) throws SQLException {
+        Snapshot loaded = load(conn);
+        snapshot = loaded;
+        return loaded;
+    }
+
+    /**
+     * Get the current graph, loading it if needed
+     */
+    public Snapshot current() throws SQLException {
+        Snapshot current = snapshot;
+        if (current != null) {
+            subscribe();
+            return current;
+        }
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return currentFor(conn, -1);
+        }
+    }
+
+    /**
+     * Get the graph, loading it on the caller's connection if needed (so a caller holding a
+     * pooled connection never waits for a second one), and reloading it if it does not know
+     * the course yet because the course was created after the snapshot was loaded
+     * @param courseId Course about to be looked up, or -1
+     */
+    public Snapshot currentFor(Connection conn, int courseId) throws SQLException {
+        subscribe();
+        Snapshot current = snapshot;
+        if (current != null && (courseId < 0 || current.indexOf(courseId) >= 0
+                                || current.ageMillis() < MISS_RELOAD_INTERVAL)) {
+            return current;
+        }
+        synchronized (this) {
+            // Another thread may have loaded it while this one waited
+            Snapshot latest = snapshot;
+            if (latest != null && latest != current) {
+                return latest;
+            }
+            return reload(conn);
+        }
+    }
+
+    private synchronized void subscribe() {
+        if (subscription != null) {
+            return;
+        }
+        subscription = NotificationBus.getInstance().subscribe(CHANNEL, new NotificationBus.Listener() {
+            @Override
+            public void onNotification(String payload) {
+                invalidate();
+            }
+
+            @Override
+            public void onResync() {
+                invalidate();
+            }
+        });
+    }
+
+    private static Snapshot load(Connection conn) throws SQLException {
+        Map<Integer, Integer> indexes = new HashMap<>();
+        List<Integer> ids = new ArrayList<>();
+        List<String> codes = new ArrayList<>();
+        try (Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT CourseID, Code FROM Courses ORDER BY CourseID")) {
+                while (rs.next()) {
+                    indexes.put(rs.getInt("CourseID"), ids.size());
+                    ids.add(rs.getInt("CourseID"));
+                    codes.add(rs.getString("Code"));
+                }
+            }
+
+            BitSet[] direct = new BitSet[ids.size()];
+            for (int i = 0; i < direct.length; i++) {
+                direct[i] = new BitSet();
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT CourseID, PrerequisiteCourseID FROM Prerequisites")) {
+                while (rs.next()) {
+                    Integer course = indexes.get(rs.getInt("CourseID"));
+                    Integer prerequisite = indexes.get(rs.getInt("PrerequisiteCourseID"));
+                    if (course != null && prerequisite != null) {
+                        direct[course].set(prerequisite);
+                    }
+                }
+            }
+            return new Snapshot(indexes, ids.stream().mapToInt(Integer::intValue).toArray(),
+                                codes.toArray(new String[0]), direct);
+        }
+    }
+
+    /**
+     * An immutable view of the graph at one point in time
+     */
+    public static final class Snapshot {
+
+        private final Map<Integer, Integer> indexes;
+        private final int[] courseIds;
+        private final String[] codes;
+        private final BitSet[] direct;
+        private final BitSet[] closure;
+        private final long loadedAt = System.currentTimeMillis();
+
+        private Snapshot(Map<Integer, Integer> indexes, int[] courseIds, String[] codes, BitSet[] direct) {
+            this.indexes = indexes;
+            this.courseIds = courseIds;
+            this.codes = codes;
+            this.direct = direct;
+            this.closure = closure(direct);
+        }
+
+        /**
+         * Closure of every course in topological order (Kahn's algorithm over the reversed
+         * edges), so each course's prerequisites are complete before it is reached. Courses on
+         * a cycle already in the table never reach in-degree zero; they keep the closure of
+         * what they were reached from and the cycle is reported.
+         */
+        private static BitSet[] closure(BitSet[] direct) {
+            int n = direct.length;
+            int[] pending = new int[n];
+            List<List<Integer>> dependents = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                dependents.add(new ArrayList<>());
+            }
+            for (int course = 0; course < n; course++) {
+                pending[course] = direct[course].cardinality();
+                for (int p = direct[course].nextSetBit(0); p >= 0; p = direct[course].nextSetBit(p + 1)) {
+                    dependents.get(p).add(course);
+                }
+            }
+
+            BitSet[] closure = new BitSet[n];
+            int[] queue = new int[n];
+            int head = 0;
+            int tail = 0;
+            for (int course = 0; course < n; course++) {
+                closure[course] = (BitSet) direct[course].clone();
+                if (pending[course] == 0) {
+                    queue[tail++] = course;
+                }
+            }
+            while (head < tail) {
+                int prerequisite = queue[head++];
+                for (int course : dependents.get(prerequisite)) {
+                    closure[course].or(closure[prerequisite]);
+                    if (--pending[course] == 0) {
+                        queue[tail++] = course;
+                    }
+                }
+            }
+            if (tail < n) {
+                System.err.println("⚠ Prerequisites contain a cycle through " + (n - tail) +
+                                   " course(s); their required courses may be incomplete");
+            }
+            return closure;
+        }
+
+        int indexOf(int courseId) {
+            Integer index = indexes.get(courseId);
+            return index != null ? index : -1;
+        }
+
+        long ageMillis() {
+            return System.currentTimeMillis() - loadedAt;
+        }
+
+        /**
+         * Turn course IDs (e.g. a student's completed courses) into a bitset over this graph
+         */
+        public BitSet toBitSet(Collection<Integer> courseIds) {
+            BitSet bits = new BitSet(this.courseIds.length);
+            for (int courseId : courseIds) {
+                int index = indexOf(courseId);
+                if (index >= 0) {
+                    bits.set(index);
+                }
+            }
+            return bits;
+        }
+
+        /**
+         * Whether every direct prerequisite of the course is in the given set
+         * @param completed Bitset from toBitSet
+         */
+        public boolean isEligible(int courseId, BitSet completed) {
+            int index = indexOf(courseId);
+            if (index < 0) {
+                return true;
+            }
+            BitSet missing = (BitSet) direct[index].clone();
+            missing.andNot(completed);
+            return missing.isEmpty();
+        }
+
+        /**
+         * Codes of the direct prerequisites that are not in the given set, sorted
+         * @return Empty list if the student may take the course
+         */
+        public List<String> missingPrerequisiteCodes(int courseId, BitSet completed) {
+            int index = indexOf(courseId);
+            if (index < 0) {
+                return List.of();
+            }
+            BitSet missing = (BitSet) direct[index].clone();
+            missing.andNot(completed);
+            return codesOf(missing);
+        }
+
+        /**
+         * Codes of every course the course requires, directly or through other prerequisites, sorted
+         */
+        public List<String> allPrerequisiteCodes(int courseId) {
+            int index = indexOf(courseId);
+            return index >= 0 ? codesOf(closure[index]) : List.of();
+        }
+
+        /**
+         * Whether the course requires the other one, directly or indirectly
+         */
+        public boolean requires(int courseId, int prerequisiteCourseId) {
+            int index = indexOf(courseId);
+            int prerequisite = indexOf(prerequisiteCourseId);
+            return index >= 0 && prerequisite >= 0 && closure[index].get(prerequisite);
+        }
+
+        /**
+         * Whether making prerequisiteCourseId a prerequisite of courseId would close a cycle,
+         * i.e. the prerequisite already (indirectly) requires the course, or they are the same
+         */
+        public boolean wouldCreateCycle(int courseId, int prerequisiteCourseId) {
+            return courseId == prerequisiteCourseId || requires(prerequisiteCourseId, courseId);
+        }
+
+        private List<String> codesOf(BitSet courses) {
+            List<String> result = new ArrayList<>(courses.cardinality());
+            for (int i = courses.nextSetBit(0); i >= 0; i = courses.nextSetBit(i + 1)) {
+                result.add(codes[i]);
+            }
+            result.sort(null);
+            return result;
+        }
+    }
+}
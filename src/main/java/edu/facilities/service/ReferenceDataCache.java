@@ -0,0 +1,313 @@
+package edu.facilities.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Process-wide cache of the small lookup tables (StatusTypes, UserTypes, Departments,
+ * Semesters, CourseTypes, RoomTypes) that every service resolves codes against.
+ * All tables are loaded together into an immutable snapshot, keyed by (entityType, code)
+ * and by ID. The snapshot is replaced on explicit refresh, when it is older than
+ * db.reference.refresh.interval, or when a lookup misses (a row may have just been added).
+ * Uses singleton pattern so all services share one snapshot.
+ */
+public class ReferenceDataCache {
+
+    public static final String STATUS = "STATUS";
+    public static final String USER_TYPE = "USER_TYPE";
+    public static final String DEPARTMENT = "DEPARTMENT";
+    public static final String SEMESTER = "SEMESTER";
+    public static final String COURSE_TYPE = "COURSE_TYPE";
+    public static final String ROOM_TYPE = "ROOM_TYPE";
+
+    private static final long REFRESH_INTERVAL = Long.parseLong(
+        DatabaseConnection.getConfigValue("db.reference.refresh.interval", "DB_REFERENCE_REFRESH_INTERVAL", "600000"));
+
+    // A missing code only triggers a reload if the snapshot is at least this old,
+    // so repeated lookups of a bad code cannot turn into a reload storm
+    private static final long MISS_RELOAD_INTERVAL = 5000;
+
+    private static ReferenceDataCache instance;
+
+    private volatile Snapshot snapshot;
+
+    private ReferenceDataCache() {
+        // Private constructor for singleton
+    }
+
+    /**
+     * Get singleton instance
+     */
+    public static synchronized ReferenceDataCache getInstance() {
+        if (instance == null) {
+            instance = new ReferenceDataCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Load all reference tables if they are not loaded yet (call at startup)
+     * @throws SQLException if database error occurs
+     */
+    public void preload() throws SQLException {
+        current();
+    }
+
+    /**
+     * Reload all reference tables now (e.g. after an admin adds a department)
+     * @throws SQLException if database error occurs
+     */
+    public synchronized void refresh() throws SQLException {
+        snapshot = load();
+    }
+
+    /**
+     * Get StatusTypeID by entity type and status code
+     * @param entityType The entity type (e.g., "BOOKING", "ROOM", "TICKET")
+     * @param statusCode The status code (e.g., "CONFIRMED", "AVAILABLE")
+     * @return StatusTypeID
+     * @throws SQLException if status type not found or database error occurs
+     */
+    public int getStatusTypeId(String entityType, String statusCode) throws SQLException {
+        int id = findId(STATUS, statusKey(entityType, statusCode));
+        if (id == 0) {
+            throw new SQLException("StatusType with EntityType '" + entityType + "' and StatusCode '" + statusCode + "' not found");
+        }
+        return id;
+    }
+
+    /**
+     * Get the status code for a StatusTypeID
+     * @return Status code, or null if unknown
+     */
+    public String getStatusCode(int statusTypeId) throws SQLException {
+        String key = findCode(STATUS, statusTypeId);
+        return key != null ? key.substring(key.indexOf('|') + 1) : null;
+    }
+
+    /**
+     * Get UserTypeID by type code
+     * @return UserTypeID, or 0 if not found
+     */
+    public int findUserTypeId(String typeCode) throws SQLException {
+        return findId(USER_TYPE, upper(typeCode));
+    }
+
+    /**
+     * Get DepartmentID by department name or code
+     * @return DepartmentID, or 0 if not found
+     */
+    public int findDepartmentId(String nameOrCode) throws SQLException {
+        return findId(DEPARTMENT, nameOrCode);
+    }
+
+    /**
+     * Get DepartmentID by department name or code
+     * @throws SQLException if department not found or database error occurs
+     */
+    public int getDepartmentId(String nameOrCode) throws SQLException {
+        int id = findDepartmentId(nameOrCode);
+        if (id == 0) {
+            throw new SQLException("Department not found: " + nameOrCode);
+        }
+        return id;
+    }
+
+    /**
+     * Get SemesterID by semester code
+     * @return SemesterID, or 0 if not found
+     */
+    public int findSemesterId(String semesterCode) throws SQLException {
+        return findId(SEMESTER, semesterCode);
+    }
+
+    /**
+     * Get SemesterID by semester code
+     * @throws SQLException if semester not found or database error occurs
+     */
+    public int getSemesterId(String semesterCode) throws SQLException {
+        int id = findSemesterId(semesterCode);
+        if (id == 0) {
+            throw new SQLException("Semester not found: " + semesterCode);
+        }
+        return id;
+    }
+
+    /**
+     * Get CourseTypeID by type code
+     * @return CourseTypeID, or 0 if not found
+     */
+    public int findCourseTypeId(String typeCode) throws SQLException {
+        return findId(COURSE_TYPE, upper(typeCode));
+    }
+
+    /**
+     * Get CourseTypeID by type code
+     * @throws SQLException if course type not found or database error occurs
+     */
+    public int getCourseTypeId(String typeCode) throws SQLException {
+        int id = findCourseTypeId(typeCode);
+        if (id == 0) {
+            throw new SQLException("CourseType not found: " + typeCode);
+        }
+        return id;
+    }
+
+    /**
+     * Get RoomTypeID by type code
+     * @throws SQLException if room type not found or database error occurs
+     */
+    public int getRoomTypeId(String typeCode) throws SQLException {
+        int id = findId(ROOM_TYPE, upper(typeCode));
+        if (id == 0) {
+            throw new SQLException("RoomType with code '" + typeCode + "' not found");
+        }
+        return id;
+    }
+
+    /**
+     * Look up an ID by entity type and code
+     * @param entityType One of the entity type constants of this class
+     * @param code The code (status keys are "ENTITYTYPE|STATUSCODE")
+     * @return The ID, or 0 if not found
+     * @throws SQLException if database error occurs
+     */
+    public int findId(String entityType, String code) throws SQLException {
+        if (code == null || code.isBlank()) {
+            return 0;
+        }
+        Snapshot data = current();
+        Integer id = data.lookup(entityType, code);
+        if (id == null && data.isOlderThan(MISS_RELOAD_INTERVAL)) {
+            data = reloadIfUnchanged(data);
+            id = data.lookup(entityType, code);
+        }
+        return id != null ? id : 0;
+    }
+
+    /**
+     * Look up a code by entity type and ID
+     * @return The code, or null if not found
+     * @throws SQLException if database error occurs
+     */
+    public String findCode(String entityType, int id) throws SQLException {
+        Snapshot data = current();
+        String code = data.reverseLookup(entityType, id);
+        if (code == null && data.isOlderThan(MISS_RELOAD_INTERVAL)) {
+            data = reloadIfUnchanged(data);
+            code = data.reverseLookup(entityType, id);
+        }
+        return code;
+    }
+
+    private Snapshot current() throws SQLException {
+        Snapshot data = snapshot;
+        if (data == null || data.isOlderThan(REFRESH_INTERVAL)) {
+            data = reloadIfUnchanged(data);
+        }
+        return data;
+    }
+
+    /**
+     * Reload unless another thread already replaced the snapshot we looked at
+     */
+    private synchronized Snapshot reloadIfUnchanged(Snapshot seen) throws SQLException {
+        if (snapshot == seen) {
+            snapshot = load();
+        }
+        return snapshot;
+    }
+
+    private Snapshot load() throws SQLException {
+        Map<String, Map<String, Integer>> byCode = new HashMap<>();
+        Map<String, Map<Integer, String>> byId = new HashMap<>();
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            loadTable(conn, "SELECT StatusTypeID AS ID, EntityType || '|' || StatusCode AS Code FROM StatusTypes",
+                      STATUS, true, byCode, byId);
+            loadTable(conn, "SELECT UserTypeID AS ID, TypeCode AS Code FROM UserTypes",
+                      USER_TYPE, true, byCode, byId);
+            loadTable(conn, "SELECT SemesterID AS ID, Code FROM Semesters",
+                      SEMESTER, false, byCode, byId);
+            loadTable(conn, "SELECT CourseTypeID AS ID, TypeCode AS Code FROM CourseTypes",
+                      COURSE_TYPE, true, byCode, byId);
+            loadTable(conn, "SELECT RoomTypeID AS ID, TypeCode AS Code FROM RoomTypes",
+                      ROOM_TYPE, true, byCode, byId);
+            // Departments are looked up by name in most services and by code in others,
+            // so both are indexed; the reverse lookup returns the name
+            loadTable(conn, "SELECT DepartmentID AS ID, Code FROM Departments",
+                      DEPARTMENT, false, byCode, byId);
+            loadTable(conn, "SELECT DepartmentID AS ID, Name AS Code FROM Departments",
+                      DEPARTMENT, false, byCode, byId);
+        }
+
+        Map<String, Map<String, Integer>> frozenByCode = new HashMap<>();
+        byCode.forEach((type, map) -> frozenByCode.put(type, Collections.unmodifiableMap(map)));
+        Map<String, Map<Integer, String>> frozenById = new HashMap<>();
+        byId.forEach((type, map) -> frozenById.put(type, Collections.unmodifiableMap(map)));
+
+        System.out.println("✓ Reference data loaded: " + frozenById.getOrDefault(STATUS, Map.of()).size() +
+                           " status types, " + frozenById.getOrDefault(DEPARTMENT, Map.of()).size() + " departments, " +
+                           frozenById.getOrDefault(SEMESTER, Map.of()).size() + " semesters");
+        return new Snapshot(Collections.unmodifiableMap(frozenByCode), Collections.unmodifiableMap(frozenById),
+                            System.currentTimeMillis());
+    }
+
+    private void loadTable(Connection conn, String sql, String entityType, boolean upperCaseCodes,
+                           Map<String, Map<String, Integer>> byCode,
+                           Map<String, Map<Integer, String>> byId) throws SQLException {
+        Map<String, Integer> codes = byCode.computeIfAbsent(entityType, k -> new HashMap<>());
+        Map<Integer, String> ids = byId.computeIfAbsent(entityType, k -> new HashMap<>());
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                int id = rs.getInt("ID");
+                String code = rs.getString("Code");
+                if (code == null) {
+                    continue;
+                }
+                codes.put(upperCaseCodes ? code.toUpperCase() : code, id);
+                ids.put(id, code);
+            }
+        }
+    }
+
+    private static String statusKey(String entityType, String statusCode) {
+        if (entityType == null || statusCode == null) {
+            return null;
+        }
+        return upper(entityType) + "|" + upper(statusCode);
+    }
+
+    private static String upper(String code) {
+        return code != null ? code.trim().toUpperCase() : null;
+    }
+
+    /**
+     * Immutable view of all reference tables at one point in time
+     */
+    private record Snapshot(Map<String, Map<String, Integer>> byCode,
+                            Map<String, Map<Integer, String>> byId,
+                            long loadedAt) {
+
+        Integer lookup(String entityType, String code) {
+            Map<String, Integer> codes = byCode.get(entityType);
+            return codes != null ? codes.get(code) : null;
+        }
+
+        String reverseLookup(String entityType, int id) {
+            Map<Integer, String> ids = byId.get(entityType);
+            return ids != null ? ids.get(id) : null;
+        }
+
+        boolean isOlderThan(long millis) {
+            return System.currentTimeMillis() - loadedAt >= millis;
+        }
+    }
+}
@@ -5,7 +5,9 @@ import edu.facilities.model.RoomStatus;
 import edu.facilities.model.RoomType;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -13,6 +15,8 @@ import java.util.List;
  */
 public class RoomService {
 
+    private final ReferenceDataCache referenceData = ReferenceDataCache.getInstance();
+
     /**
      * Get all rooms from the database
      * @return List of all rooms
@@ -67,6 +71,75 @@ public class RoomService {
         return rooms;
     }
 
+    /**
+     * Find every AVAILABLE room that is free for the whole time window, in one query.
+     * Rooms are ranked by best capacity fit (smallest room that still seats minCapacity first).
+     * A required equipment item matches either the room's RoomEquipment rows or the equipment
+     * part of its location string ("Building|Floor|Equipment"), case-insensitively.
+     * @param startTime Start of the window
+     * @param endTime End of the window (exclusive)
+     * @param minCapacity Minimum number of seats (0 for any)
+     * @param type Room type, or null for any type
+     * @param equipment Required equipment names, may be empty
+     * @return Free rooms, best fit first
+     * @throws SQLException if database error occurs
+     */
+    public List<Room> findFreeRooms(LocalDateTime startTime, LocalDateTime endTime, int minCapacity,
+                                    RoomType type, Collection<String> equipment) throws SQLException {
+        if (startTime == null || endTime == null || !endTime.isAfter(startTime)) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        
+        List<String> required = new ArrayList<>();
+        if (equipment != null) {
+            for (String item : equipment) {
+                if (item != null && !item.isBlank()) {
+                    required.add(item.trim().toLowerCase());
+                }
+            }
+        }
+        
+        // The overlap test uses BookedPeriod so it is answered by the EX_Bookings_Room_Period index
+        String sql = "SELECT r.RoomID, r.Code, r.Name, rt.TypeCode as Type, " +
+                     "r.Capacity, r.Location, 'AVAILABLE' as Status " +
+                     "FROM Rooms r " +
+                     "LEFT JOIN RoomTypes rt ON r.RoomTypeID = rt.RoomTypeID " +
+                     "WHERE r.StatusTypeID = ? AND r.Capacity >= ? " +
+                     "AND (?::int IS NULL OR r.RoomTypeID = ?) " +
+                     "AND NOT EXISTS (SELECT 1 FROM Bookings b " +
+                     "                WHERE b.RoomID = r.RoomID AND b.StatusTypeID = ? " +
+                     "                AND b.BookedPeriod && tsrange(?, ?, '[)')) " +
+                     "AND NOT EXISTS (SELECT 1 FROM unnest(?::text[]) req(Name) " +
+                     "                WHERE strpos(lower(split_part(COALESCE(r.Location, ''), '|', 3)), req.Name) = 0 " +
+                     "                AND NOT EXISTS (SELECT 1 FROM RoomEquipment re " +
+                     "                                INNER JOIN EquipmentType et ON re.EquipmentTypeID = et.EquipmentTypeID " +
+                     "                                WHERE re.RoomID = r.RoomID AND lower(et.Name) = req.Name)) " +
+                     "ORDER BY r.Capacity, r.Code";
+        
+        List<Room> rooms = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            Integer roomTypeId = type != null ? referenceData.getRoomTypeId(typeToString(type)) : null;
+            pstmt.setInt(1, referenceData.getStatusTypeId("ROOM", "AVAILABLE"));
+            pstmt.setInt(2, Math.max(minCapacity, 0));
+            pstmt.setObject(3, roomTypeId, Types.INTEGER);
+            pstmt.setObject(4, roomTypeId, Types.INTEGER);
+            pstmt.setInt(5, referenceData.getStatusTypeId("BOOKING", "CONFIRMED"));
+            pstmt.setTimestamp(6, Timestamp.valueOf(startTime));
+            pstmt.setTimestamp(7, Timestamp.valueOf(endTime));
+            pstmt.setArray(8, conn.createArrayOf("text", required.toArray()));
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rooms.add(mapResultSetToRoom(rs));
+                }
+            }
+        }
+        
+        return rooms;
+    }
+
     /**
      * Create a new room in the database
      * @param roomCode The room code/identifier
@@ -81,9 +154,9 @@ public class RoomService {
                           int capacity, String location, RoomStatus status) throws SQLException {
         Connection conn = DatabaseConnection.getConnection();
         // Get RoomTypeID
-        int roomTypeId = getRoomTypeId(conn, typeToString(type));
+        int roomTypeId = referenceData.getRoomTypeId(typeToString(type));
         // Get StatusTypeID for ROOM entity
-        int statusTypeId = getStatusTypeId(conn, "ROOM", statusToString(status));
+        int statusTypeId = referenceData.getStatusTypeId("ROOM", statusToString(status));
         
         String sql = "INSERT INTO Rooms (Code, Name, RoomTypeID, Capacity, Location, StatusTypeID) VALUES (?, ?, ?, ?, ?, ?)";
         
@@ -162,6 +235,7 @@ public class RoomService {
                 if (rowsAffected > 0) {
                     // Commit the transaction
                     conn.commit();
+                    BookingIndex.getInstance().invalidate();
                     System.out.println("Successfully deleted room: " + roomCode);
                     return true;
                 } else {
@@ -250,7 +324,7 @@ public class RoomService {
      */
     public void updateRoomType(String roomCode, RoomType type) throws SQLException {
         Connection conn = DatabaseConnection.getConnection();
-        int roomTypeId = getRoomTypeId(conn, typeToString(type));
+        int roomTypeId = referenceData.getRoomTypeId(typeToString(type));
         String sql = "UPDATE Rooms SET RoomTypeID = ? WHERE Code = ?";
         
         try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -296,7 +370,7 @@ public class RoomService {
      */
     public void updateRoomStatus(String roomCode, RoomStatus status) throws SQLException {
         Connection conn = DatabaseConnection.getConnection();
-        int statusTypeId = getStatusTypeId(conn, "ROOM", statusToString(status));
+        int statusTypeId = referenceData.getStatusTypeId("ROOM", statusToString(status));
         String sql = "UPDATE Rooms SET StatusTypeID = ? WHERE Code = ?";
         
         try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -307,6 +381,7 @@ public class RoomService {
             if (rowsAffected == 0) {
                 throw new SQLException("Room with code '" + roomCode + "' not found");
             }
+            BookingIndex.getInstance().invalidate();
         }
     }
 
@@ -385,8 +460,8 @@ public class RoomService {
     public void updateRoom(String originalRoomCode, String newRoomCode, String roomName,
                           RoomType type, int capacity, String location, RoomStatus status) throws SQLException {
         Connection conn = DatabaseConnection.getConnection();
-        int roomTypeId = getRoomTypeId(conn, typeToString(type));
-        int statusTypeId = getStatusTypeId(conn, "ROOM", statusToString(status));
+        int roomTypeId = referenceData.getRoomTypeId(typeToString(type));
+        int statusTypeId = referenceData.getStatusTypeId("ROOM", statusToString(status));
         
         String sql = "UPDATE Rooms SET Code = ?, Name = ?, RoomTypeID = ?, Capacity = ?, Location = ?, StatusTypeID = ? WHERE Code = ?";
         
@@ -403,6 +478,7 @@ public class RoomService {
             if (rowsAffected == 0) {
                 throw new SQLException("Room with code '" + originalRoomCode + "' not found");
             }
+            BookingIndex.getInstance().invalidate();
         }
     }
 
@@ -460,38 +536,5 @@ public class RoomService {
             default: return RoomStatus.AVAILABLE;
         }
     }
-    
-    /**
-     * Get RoomTypeID from RoomTypes table by TypeCode
-     */
-    private int getRoomTypeId(Connection conn, String typeCode) throws SQLException {
-        String sql = "SELECT RoomTypeID FROM RoomTypes WHERE TypeCode = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, typeCode.toUpperCase());
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("RoomTypeID");
-                }
-            }
-        }
-        throw new SQLException("RoomType with code '" + typeCode + "' not found");
-    }
-    
-    /**
-     * Get StatusTypeID from StatusTypes table by EntityType and StatusCode
-     */
-    private int getStatusTypeId(Connection conn, String entityType, String statusCode) throws SQLException {
-        String sql = "SELECT StatusTypeID FROM StatusTypes WHERE EntityType = ? AND StatusCode = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, entityType);
-            pstmt.setString(2, statusCode.toUpperCase());
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("StatusTypeID");
-                }
-            }
-        }
-        throw new SQLException("StatusType with EntityType '" + entityType + "' and StatusCode '" + statusCode + "' not found");
-    }
 }
 
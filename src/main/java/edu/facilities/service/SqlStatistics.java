@@ -0,0 +1,245 @@
+package edu.facilities.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import javax.management.ObjectName;
+
+/**
+ * Per-SQL call counts, row counts and latency histograms, plus connection-hold times per
+ * calling service method, collected by the instrumented connections DatabaseConnection
+ * hands out. SQL text is normalized (literals and IN-lists replaced by ?) so the same
+ * query issued in a loop shows up as one row with a high call count, which is what an
+ * N+1 pattern looks like. Readable from the diagnostics screen and over JMX.
+ * Uses singleton pattern so every connection reports into the same registry.
+ */
+public class SqlStatistics implements SqlStatisticsMXBean {
+
+    private static final String OBJECT_NAME = "edu.facilities:type=SqlStatistics";
+
+    // Distinct statements tracked before new ones are lumped together, so ad-hoc SQL
+    // built by string concatenation cannot grow the registry without bound
+    private static final int MAX_STATEMENTS = 2000;
+    private static final String OTHER_STATEMENTS = "(other statements)";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private static SqlStatistics instance;
+
+    private final Map<String, StatementEntry> statements = new ConcurrentHashMap<>();
+    private final Map<String, String> normalized = new ConcurrentHashMap<>();
+    private final Map<String, CallerEntry> callers = new ConcurrentHashMap<>();
+    private volatile boolean enabled = Boolean.parseBoolean(
+        DatabaseConnection.getConfigValue("db.instrumentation.enabled", "DB_INSTRUMENTATION_ENABLED", "true"));
+
+    private SqlStatistics() {
+        // Private constructor for singleton
+    }
+
+    /**
+     * Get singleton instance (registers the JMX bean on first use)
+     */
+    public static synchronized SqlStatistics getInstance() {
+        if (instance == null) {
+            instance = new SqlStatistics();
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(instance, new ObjectName(OBJECT_NAME));
+            } catch (Exception e) {
+                System.err.println("⚠ Could not register SQL statistics with JMX: " + e.getMessage());
+            }
+        }
+        return instance;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Statistics for every normalized statement, most total time first
+     */
+    public List<StatementSnapshot> getStatementStats() {
+        List<StatementSnapshot> result = new ArrayList<>();
+        statements.forEach((sql, entry) -> result.add(entry.snapshot(sql)));
+        result.sort(Comparator.comparingDouble(StatementSnapshot::totalMillis).reversed());
+        return result;
+    }
+
+    /**
+     * Connection-hold statistics for every calling method, most total hold time first
+     */
+    public List<CallerSnapshot> getCallerStats() {
+        List<CallerSnapshot> result = new ArrayList<>();
+        callers.forEach((caller, entry) -> result.add(entry.snapshot(caller)));
+        result.sort(Comparator.comparingDouble(CallerSnapshot::totalHoldMillis).reversed());
+        return result;
+    }
+
+    @Override
+    public long getTotalCalls() {
+        long total = 0;
+        for (StatementEntry entry : statements.values()) {
+            total += entry.calls.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public int getDistinctStatements() {
+        return statements.size();
+    }
+
+    @Override
+    public String[] getTopStatements() {
+        return getStatementStats().stream()
+            .map(s -> String.format("calls=%d rows=%d total=%.1fms p50=%.2fms p95=%.2fms p99=%.2fms errors=%d | %s",
+                                    s.calls(), s.rows(), s.totalMillis(), s.p50Millis(), s.p95Millis(),
+                                    s.p99Millis(), s.errors(), s.sql()))
+            .toArray(String[]::new);
+    }
+
+    @Override
+    public String[] getConnectionHolds() {
+        return getCallerStats().stream()
+            .map(c -> String.format("checkouts=%d statements/checkout=%.1f total=%.1fms p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms | %s",
+                                    c.checkouts(), c.statementsPerCheckout(), c.totalHoldMillis(), c.p50Millis(),
+                                    c.p95Millis(), c.p99Millis(), c.maxMillis(), c.caller()))
+            .toArray(String[]::new);
+    }
+
+    @Override
+    public String getPoolStats() {
+        return DatabaseConnection.getPoolStats();
+    }
+
+    @Override
+    public void reset() {
+        statements.clear();
+        callers.clear();
+    }
+
+    /**
+     * Get the entry for a SQL text, creating it on first use
+     */
+    StatementEntry statement(String sql) {
+        String key = normalize(sql);
+        StatementEntry entry = statements.get(key);
+        if (entry == null) {
+            if (statements.size() >= MAX_STATEMENTS) {
+                key = OTHER_STATEMENTS;
+            }
+            entry = statements.computeIfAbsent(key, k -> new StatementEntry());
+        }
+        return entry;
+    }
+
+    /**
+     * Record that a caller returned its connection to the pool
+     */
+    void recordConnectionHold(String caller, long holdNanos, int statementsExecuted) {
+        CallerEntry entry = callers.computeIfAbsent(caller, k -> new CallerEntry());
+        entry.checkouts.increment();
+        entry.statements.add(statementsExecuted);
+        entry.totalHoldNanos.add(holdNanos);
+        entry.holds.record(holdNanos);
+    }
+
+    /**
+     * Collapse literals, IN-lists and whitespace so equivalent statements share one entry
+     */
+    String normalize(String sql) {
+        if (sql == null) {
+            return "(null)";
+        }
+        String cached = normalized.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String result = STRING_LITERAL.matcher(sql).replaceAll("?");
+        result = NUMBER_LITERAL.matcher(result).replaceAll("?");
+        result = WHITESPACE.matcher(result).replaceAll(" ").trim();
+        result = IN_LIST.matcher(result).replaceAll("(?)");
+        if (normalized.size() < MAX_STATEMENTS * 2) {
+            normalized.put(sql, result);
+        }
+        return result;
+    }
+
+    /**
+     * Running totals for one normalized statement
+     */
+    static class StatementEntry {
+        final LongAdder calls = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LatencyHistogram latency = new LatencyHistogram();
+
+        void record(long nanos, boolean failed) {
+            calls.increment();
+            totalNanos.add(nanos);
+            latency.record(nanos);
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        StatementSnapshot snapshot(String sql) {
+            return new StatementSnapshot(sql, calls.sum(), rows.sum(), errors.sum(), totalNanos.sum() / 1_000_000.0,
+                                         latency.percentileMillis(50), latency.percentileMillis(95),
+                                         latency.percentileMillis(99), latency.maxMillis());
+        }
+    }
+
+    /**
+     * Running totals for one calling method
+     */
+    private static class CallerEntry {
+        final LongAdder checkouts = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final LongAdder totalHoldNanos = new LongAdder();
+        final LatencyHistogram holds = new LatencyHistogram();
+
+        CallerSnapshot snapshot(String caller) {
+            return new CallerSnapshot(caller, checkouts.sum(), statements.sum(), totalHoldNanos.sum() / 1_000_000.0,
+                                      holds.percentileMillis(50), holds.percentileMillis(95),
+                                      holds.percentileMillis(99), holds.maxMillis());
+        }
+    }
+
+    /**
+     * Point-in-time statistics for one normalized statement (latencies in milliseconds)
+     */
+    public record StatementSnapshot(String sql, long calls, long rows, long errors, double totalMillis,
+                                    double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+
+        public double averageRows() {
+            return calls == 0 ? 0 : (double) rows / calls;
+        }
+    }
+
+    /**
+     * Point-in-time connection-hold statistics for one calling method (times in milliseconds)
+     */
+    public record CallerSnapshot(String caller, long checkouts, long statements, double totalHoldMillis,
+                                 double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+
+        public double statementsPerCheckout() {
+            return checkouts == 0 ? 0 : (double) statements / checkouts;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package edu.facilities.service;
+
+/**
+ * JMX view of the per-SQL statistics collected by DatabaseConnection.
+ * Registered as edu.facilities:type=SqlStatistics (open it with JConsole or VisualVM).
+ */
+public interface SqlStatisticsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getTotalCalls();
+
+    int getDistinctStatements();
+
+    /**
+     * One line per normalized SQL statement, most total time first
+     */
+    String[] getTopStatements();
+
+    /**
+     * One line per calling service method with its connection-hold statistics
+     */
+    String[] getConnectionHolds();
+
+    String getPoolStats();
+
+    void reset();
+}
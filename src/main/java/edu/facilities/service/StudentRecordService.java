@@ -16,6 +16,22 @@ import java.util.List;
  */
 public class StudentRecordService {
 
+    // GPA comes from the StudentAcademicTotals ledger once the student has graded courses;
+    // the stored Students.GPA (e.g. entered at admission) is only shown until then
+    private static final String STUDENT_RECORD_SELECT =
+            "SELECT u.UserID, u.USERNAME, u.Email, ut.TypeCode as UserType, " +
+            "s.StudentNumber, s.Major, d.Name as Department, s.EnrollmentDate, " +
+            "COALESCE(ROUND(t.GradePoints / NULLIF(t.GradedCredits, 0), 2), s.GPA) AS GPA, " +
+            "st.StatusCode as Status, s.AdmissionDate, yl.LevelName as YearLevel, s.Notes " +
+            "FROM Users u " +
+            "INNER JOIN UserRoles ur ON u.UserID = ur.UserID AND ur.IsPrimary = true " +
+            "INNER JOIN UserTypes ut ON ur.UserTypeID = ut.UserTypeID " +
+            "INNER JOIN Students s ON u.UserID = s.UserID " +
+            "LEFT JOIN Departments d ON s.DepartmentID = d.DepartmentID " +
+            "LEFT JOIN StatusTypes st ON s.StatusTypeID = st.StatusTypeID AND st.EntityType = 'STUDENT' " +
+            "LEFT JOIN YearLevels yl ON s.YearLevelID = yl.YearLevelID " +
+            "LEFT JOIN StudentAcademicTotals t ON t.StudentUserID = u.UserID ";
+
     /**
      * Get all student records
      * @return List of all students with their records
@@ -23,17 +39,7 @@ public class StudentRecordService {
      */
     public List<StudentRecord> getAllStudentRecords() throws SQLException {
         List<StudentRecord> records = new ArrayList<>();
-        String sql = "SELECT u.UserID, u.USERNAME, u.Email, ut.TypeCode as UserType, " +
-                    "s.StudentNumber, s.Major, d.Name as Department, " +
-                    "s.EnrollmentDate, s.GPA, st.StatusCode as Status, s.AdmissionDate, yl.LevelName as YearLevel, s.Notes " +
-                    "FROM Users u " +
-                    "INNER JOIN UserRoles ur ON u.UserID = ur.UserID AND ur.IsPrimary = true " +
-                    "INNER JOIN UserTypes ut ON ur.UserTypeID = ut.UserTypeID " +
-                    "INNER JOIN Students s ON u.UserID = s.UserID " +
-                    "LEFT JOIN Departments d ON s.DepartmentID = d.DepartmentID " +
-                    "LEFT JOIN StatusTypes st ON s.StatusTypeID = st.StatusTypeID AND st.EntityType = 'STUDENT' " +
-                    "LEFT JOIN YearLevels yl ON s.YearLevelID = yl.YearLevelID " +
-                    "ORDER BY u.USERNAME";
+        String sql = STUDENT_RECORD_SELECT + "ORDER BY u.USERNAME";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql);
@@ -66,12 +72,7 @@ public class StudentRecordService {
             return null;
         }
 
-        String sql = "SELECT u.UserID, u.USERNAME, u.Email, u.UserType, " +
-                    "s.StudentNumber, s.Major, s.Department, " +
-                    "s.EnrollmentDate, s.GPA, s.Status, s.AdmissionDate, s.YearLevel, s.Notes " +
-                    "FROM Users u " +
-                    "INNER JOIN Students s ON u.UserID = s.UserID " +
-                    "WHERE u.UserID = ?";
+        String sql = STUDENT_RECORD_SELECT + "WHERE u.UserID = ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -350,7 +351,9 @@ public class StudentRecordService {
         String major = rs.getString("Major");
         String department = rs.getString("Department");
         Date enrollmentDate = rs.getDate("EnrollmentDate");
-        Double gpa = rs.getObject("GPA", Double.class);
+        // The driver cannot convert NUMERIC to Double through getObject
+        java.math.BigDecimal gpaValue = rs.getBigDecimal("GPA");
+        Double gpa = gpaValue != null ? gpaValue.doubleValue() : null;
         String statusStr = rs.getString("Status");
         Date admissionDate = rs.getDate("AdmissionDate");
         String yearLevelStr = rs.getString("YearLevel");
@@ -1,14 +1,22 @@
 package edu.facilities.service;
 
+import edu.curriculum.service.TranscriptPdfRenderer;
 import edu.facilities.model.Student;
 import edu.facilities.model.TranscriptRequest;
 import edu.facilities.model.TranscriptStatus;
 import edu.facilities.model.User;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service for managing transcript requests
@@ -16,6 +24,30 @@ import java.util.List;
  */
 public class TranscriptService {
 
+    private static final String TRANSCRIPTS_DIR =
+        DatabaseConnection.getConfigValue("transcripts.dir", "TRANSCRIPTS_DIR", "transcripts");
+
+    private static final int BATCH_THREADS = Integer.parseInt(DatabaseConnection.getConfigValue(
+        "transcript.batch.threads", "TRANSCRIPT_BATCH_THREADS",
+        String.valueOf(Math.min(4, Runtime.getRuntime().availableProcessors()))));
+
+    private static final int RENDER_TIMEOUT_MINUTES = Integer.parseInt(DatabaseConnection.getConfigValue(
+        "transcript.render.timeout.minutes", "TRANSCRIPT_RENDER_TIMEOUT_MINUTES", "30"));
+
+    // Moves a request to IN_PROGRESS and marks it as being rendered; callers add the conditions
+    private static final String CLAIM_SQL =
+        "UPDATE TranscriptRequests SET StatusTypeID = ?, ProcessedByUserID = COALESCE(?, ProcessedByUserID), " +
+        "ProcessedDate = CURRENT_TIMESTAMP, RenderStartedDate = CURRENT_TIMESTAMP WHERE RequestID = ? ";
+
+    // Requests a batch takes: pending ones, and renders that started too long ago to still be running
+    private static final String BATCH_CLAIMABLE =
+        "(StatusTypeID = ? OR (StatusTypeID = ? AND RenderStartedDate < CURRENT_TIMESTAMP - make_interval(mins => ?))) ";
+
+    // Shared so the template and font are read once for every transcript rendered
+    private static TranscriptPdfRenderer renderer;
+
+    private final ReferenceDataCache referenceData = ReferenceDataCache.getInstance();
+
     /**
      * Create a new transcript request (Student)
      * US 2.2 - Student Request Transcript
@@ -77,7 +109,7 @@ public class TranscriptService {
         }
 
         // Get StatusTypeID for 'PENDING' status
-        int statusTypeId = getStatusTypeId("PENDING", "TRANSCRIPT");
+        int statusTypeId = referenceData.getStatusTypeId("TRANSCRIPT", "PENDING");
         
         String sql = "INSERT INTO TranscriptRequests " +
                     "(StudentUserID, RequestedByUserID, StatusTypeID, Purpose, RequestDate) " +
@@ -209,45 +241,42 @@ public class TranscriptService {
                     "WHERE tr.StudentUserID = ? AND st.EntityType = 'TRANSCRIPT' " +
                     "ORDER BY tr.RequestDate DESC";
 
-        Connection conn = DatabaseConnection.getConnection();
-        if (conn == null || conn.isClosed()) {
-            throw new SQLException("Database connection is closed or invalid");
-        }
-
-        List<TranscriptRequestData> requestDataList = new ArrayList<>();
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, studentId);
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            List<TranscriptRequestData> requestDataList = new ArrayList<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, studentId);
             
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    TranscriptRequestData data = new TranscriptRequestData();
-                    data.requestId = rs.getInt("RequestID");
-                    data.studentId = rs.getInt("StudentUserID");
-                    data.requestedById = rs.getInt("RequestedByUserID");
-                    data.processedById = rs.getObject("ProcessedByUserID", Integer.class);
-                    data.requestDate = rs.getTimestamp("RequestDate");
-                    data.processedDate = rs.getTimestamp("ProcessedDate");
-                    data.completedDate = rs.getTimestamp("CompletedDate");
-                    data.pickupDate = rs.getTimestamp("PickupDate");
-                    data.statusStr = rs.getString("Status");
-                    data.purpose = rs.getString("Purpose");
-                    data.notes = rs.getString("Notes");
-                    data.pdfPath = rs.getString("PDFPath");
-                    requestDataList.add(data);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        TranscriptRequestData data = new TranscriptRequestData();
+                        data.requestId = rs.getInt("RequestID");
+                        data.studentId = rs.getInt("StudentUserID");
+                        data.requestedById = rs.getInt("RequestedByUserID");
+                        data.processedById = rs.getObject("ProcessedByUserID", Integer.class);
+                        data.requestDate = rs.getTimestamp("RequestDate");
+                        data.processedDate = rs.getTimestamp("ProcessedDate");
+                        data.completedDate = rs.getTimestamp("CompletedDate");
+                        data.pickupDate = rs.getTimestamp("PickupDate");
+                        data.statusStr = rs.getString("Status");
+                        data.purpose = rs.getString("Purpose");
+                        data.notes = rs.getString("Notes");
+                        data.pdfPath = rs.getString("PDFPath");
+                        requestDataList.add(data);
+                    }
                 }
             }
-        }
 
-        // Convert to TranscriptRequest objects
-        for (TranscriptRequestData data : requestDataList) {
-            try {
-                TranscriptRequest request = createTranscriptRequestFromData(data, conn);
-                if (request != null) {
-                    requests.add(request);
+            // Convert to TranscriptRequest objects
+            for (TranscriptRequestData data : requestDataList) {
+                try {
+                    TranscriptRequest request = createTranscriptRequestFromData(data, conn);
+                    if (request != null) {
+                        requests.add(request);
+                    }
+                } catch (Exception e) {
+                    System.err.println("Error creating transcript request from data for ID " + data.requestId + ": " + e.getMessage());
+                    e.printStackTrace();
                 }
-            } catch (Exception e) {
-                System.err.println("Error creating transcript request from data for ID " + data.requestId + ": " + e.getMessage());
-                e.printStackTrace();
             }
         }
 
@@ -269,43 +298,40 @@ public class TranscriptService {
                     "WHERE st.EntityType = 'TRANSCRIPT' " +
                     "ORDER BY tr.RequestDate DESC";
 
-        Connection conn = DatabaseConnection.getConnection();
-        if (conn == null || conn.isClosed()) {
-            throw new SQLException("Database connection is closed or invalid");
-        }
-
-        List<TranscriptRequestData> requestDataList = new ArrayList<>();
-        try (PreparedStatement pstmt = conn.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            List<TranscriptRequestData> requestDataList = new ArrayList<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(sql);
+                 ResultSet rs = pstmt.executeQuery()) {
             
-            while (rs.next()) {
-                TranscriptRequestData data = new TranscriptRequestData();
-                data.requestId = rs.getInt("RequestID");
-                data.studentId = rs.getInt("StudentUserID");
-                data.requestedById = rs.getInt("RequestedByUserID");
-                data.processedById = rs.getObject("ProcessedByUserID", Integer.class);
-                data.requestDate = rs.getTimestamp("RequestDate");
-                data.processedDate = rs.getTimestamp("ProcessedDate");
-                data.completedDate = rs.getTimestamp("CompletedDate");
-                data.pickupDate = rs.getTimestamp("PickupDate");
-                data.statusStr = rs.getString("Status");
-                data.purpose = rs.getString("Purpose");
-                data.notes = rs.getString("Notes");
-                data.pdfPath = rs.getString("PDFPath");
-                requestDataList.add(data);
+                while (rs.next()) {
+                    TranscriptRequestData data = new TranscriptRequestData();
+                    data.requestId = rs.getInt("RequestID");
+                    data.studentId = rs.getInt("StudentUserID");
+                    data.requestedById = rs.getInt("RequestedByUserID");
+                    data.processedById = rs.getObject("ProcessedByUserID", Integer.class);
+                    data.requestDate = rs.getTimestamp("RequestDate");
+                    data.processedDate = rs.getTimestamp("ProcessedDate");
+                    data.completedDate = rs.getTimestamp("CompletedDate");
+                    data.pickupDate = rs.getTimestamp("PickupDate");
+                    data.statusStr = rs.getString("Status");
+                    data.purpose = rs.getString("Purpose");
+                    data.notes = rs.getString("Notes");
+                    data.pdfPath = rs.getString("PDFPath");
+                    requestDataList.add(data);
+                }
             }
-        }
 
-        // Convert to TranscriptRequest objects
-        for (TranscriptRequestData data : requestDataList) {
-            try {
-                TranscriptRequest request = createTranscriptRequestFromData(data, conn);
-                if (request != null) {
-                    requests.add(request);
+            // Convert to TranscriptRequest objects
+            for (TranscriptRequestData data : requestDataList) {
+                try {
+                    TranscriptRequest request = createTranscriptRequestFromData(data, conn);
+                    if (request != null) {
+                        requests.add(request);
+                    }
+                } catch (Exception e) {
+                    System.err.println("Error creating transcript request from data for ID " + data.requestId + ": " + e.getMessage());
+                    e.printStackTrace();
                 }
-            } catch (Exception e) {
-                System.err.println("Error creating transcript request from data for ID " + data.requestId + ": " + e.getMessage());
-                e.printStackTrace();
             }
         }
 
@@ -337,33 +363,34 @@ public class TranscriptService {
                     "INNER JOIN StatusTypes st ON tr.StatusTypeID = st.StatusTypeID " +
                     "WHERE tr.RequestID = ? AND st.EntityType = 'TRANSCRIPT'";
 
-        Connection conn = DatabaseConnection.getConnection();
-        TranscriptRequestData data = null;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            TranscriptRequestData data = null;
 
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, reqId);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, reqId);
             
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    data = new TranscriptRequestData();
-                    data.requestId = rs.getInt("RequestID");
-                    data.studentId = rs.getInt("StudentUserID");
-                    data.requestedById = rs.getInt("RequestedByUserID");
-                    data.processedById = rs.getObject("ProcessedByUserID", Integer.class);
-                    data.requestDate = rs.getTimestamp("RequestDate");
-                    data.processedDate = rs.getTimestamp("ProcessedDate");
-                    data.completedDate = rs.getTimestamp("CompletedDate");
-                    data.pickupDate = rs.getTimestamp("PickupDate");
-                    data.statusStr = rs.getString("Status");
-                    data.purpose = rs.getString("Purpose");
-                    data.notes = rs.getString("Notes");
-                    data.pdfPath = rs.getString("PDFPath");
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        data = new TranscriptRequestData();
+                        data.requestId = rs.getInt("RequestID");
+                        data.studentId = rs.getInt("StudentUserID");
+                        data.requestedById = rs.getInt("RequestedByUserID");
+                        data.processedById = rs.getObject("ProcessedByUserID", Integer.class);
+                        data.requestDate = rs.getTimestamp("RequestDate");
+                        data.processedDate = rs.getTimestamp("ProcessedDate");
+                        data.completedDate = rs.getTimestamp("CompletedDate");
+                        data.pickupDate = rs.getTimestamp("PickupDate");
+                        data.statusStr = rs.getString("Status");
+                        data.purpose = rs.getString("Purpose");
+                        data.notes = rs.getString("Notes");
+                        data.pdfPath = rs.getString("PDFPath");
+                    }
                 }
             }
-        }
 
-        if (data != null) {
-            return createTranscriptRequestFromData(data, conn);
+            if (data != null) {
+                return createTranscriptRequestFromData(data, conn);
+            }
         }
         return null;
     }
@@ -397,7 +424,7 @@ public class TranscriptService {
         }
 
         // Get StatusTypeID for the new status
-        int statusTypeId = getStatusTypeId(statusToString(newStatus), "TRANSCRIPT");
+        int statusTypeId = referenceData.getStatusTypeId("TRANSCRIPT", statusToString(newStatus));
         
         // Build update SQL based on status
         String sql = "UPDATE TranscriptRequests SET StatusTypeID = ?";
@@ -451,35 +478,232 @@ public class TranscriptService {
     }
 
     /**
-     * Generate transcript PDF (simplified - returns path)
-     * In a real implementation, this would generate an actual PDF file
+     * Generate transcript PDF under transcripts.dir and mark the request ready for pickup.
+     * The request is claimed first, like a batch does; if rendering fails it gets its status back.
      * US 2.4 - Generate Student Transcript
      * @param request The transcript request
      * @return Path to generated PDF
      * @throws SQLException if database error occurs
+     * @throws IOException if the PDF cannot be written
+     * @throws IllegalStateException if the request is being rendered already or is no longer open
      */
-    public String generateTranscriptPDF(TranscriptRequest request) throws SQLException {
+    public String generateTranscriptPDF(TranscriptRequest request) throws SQLException, IOException {
         if (request == null) {
             throw new IllegalArgumentException("Transcript request is required");
         }
 
-        // In a real implementation, this would:
-        // 1. Collect student data (grades, courses, etc.)
-        // 2. Generate PDF using a library like iText or Apache PDFBox
-        // 3. Save PDF to file system
-        // 4. Return the file path
+        int reqId = Integer.parseInt(request.getId());
+        int pendingId = referenceData.getStatusTypeId("TRANSCRIPT", "PENDING");
+        int inProgressId = referenceData.getStatusTypeId("TRANSCRIPT", "IN_PROGRESS");
+        User processedBy = request.getProcessedBy();
+        Integer processorId = processedBy != null && processedBy.getId() != null
+                ? Integer.valueOf(processedBy.getId()) : null;
 
-        // For now, we'll create a simple path
-        String pdfPath = "transcripts/transcript_" + request.getId() + "_" + 
-                        request.getStudent().getUsername() + ".pdf";
-        
-        // Update request with PDF path and set status to READY_FOR_PICKUP
-        updateTranscriptRequestStatus(request.getId(), TranscriptStatus.READY_FOR_PICKUP,
-                                     request.getProcessedBy(), request.getNotes(), pdfPath);
-        
+        // A request an admin has marked IN_PROGRESS can be generated, unless it is being rendered
+        String claimSql = CLAIM_SQL + "AND StatusTypeID IN (?, ?) " +
+                         "AND (RenderStartedDate IS NULL OR RenderStartedDate < CURRENT_TIMESTAMP - make_interval(mins => ?))";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(claimSql)) {
+            pstmt.setInt(1, inProgressId);
+            pstmt.setObject(2, processorId, Types.INTEGER);
+            pstmt.setInt(3, reqId);
+            pstmt.setInt(4, pendingId);
+            pstmt.setInt(5, inProgressId);
+            pstmt.setInt(6, RENDER_TIMEOUT_MINUTES);
+            if (pstmt.executeUpdate() == 0) {
+                throw new IllegalStateException("Transcript request " + reqId +
+                                                " is already being generated or is no longer open");
+            }
+        }
+
+        String pdfPath;
+        try {
+            pdfPath = renderTranscript(request.getId(), request.getStudent());
+            completeClaim(reqId, pdfPath);
+        } catch (SQLException | IOException | RuntimeException e) {
+            releaseClaim(reqId, request.getStatus() == TranscriptStatus.PENDING ? pendingId : inProgressId,
+                         inProgressId);
+            throw e;
+        }
         return pdfPath;
     }
 
+    /**
+     * Generate the PDFs of all PENDING requests, oldest first, on a pool of
+     * transcript.batch.threads workers (e.g. at graduation). Each request is claimed by moving
+     * it to IN_PROGRESS and setting RenderStartedDate, so two batches (or an admin generating
+     * one by hand) never render the same request; a request that fails goes back to PENDING
+     * for the next run. Requests whose render started more than
+     * transcript.render.timeout.minutes ago, e.g. because the app exited mid-batch, are
+     * claimed again.
+     * Submission waits while every worker is busy, so pending work never piles up in memory.
+     * @param processedBy The admin running the batch
+     * @param progress Called after each request, from the worker threads (may be null)
+     * @return Outcome counts
+     * @throws InterruptedException if the calling thread is interrupted; running renders finish
+     */
+    public BatchResult generatePendingTranscripts(User processedBy, BatchProgress progress)
+            throws SQLException, IOException, InterruptedException {
+        int pendingId = referenceData.getStatusTypeId("TRANSCRIPT", "PENDING");
+        int inProgressId = referenceData.getStatusTypeId("TRANSCRIPT", "IN_PROGRESS");
+        Integer processorId = processedBy != null && processedBy.getId() != null
+                ? Integer.valueOf(processedBy.getId()) : null;
+        renderer();  // Fail before claiming anything if the template or font cannot be read
+
+        String sql = "SELECT tr.RequestID, u.UserID, u.USERNAME FROM TranscriptRequests tr " +
+                    "INNER JOIN Users u ON tr.StudentUserID = u.UserID " +
+                    "WHERE " + BATCH_CLAIMABLE + "ORDER BY tr.RequestDate, tr.RequestID";
+        List<String[]> pending = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, pendingId);
+            pstmt.setInt(2, inProgressId);
+            pstmt.setInt(3, RENDER_TIMEOUT_MINUTES);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    pending.add(new String[] {
+                            String.valueOf(rs.getInt("RequestID")),
+                            String.valueOf(rs.getInt("UserID")),
+                            rs.getString("USERNAME")
+                    });
+                }
+            }
+        }
+
+        int total = pending.size();
+        AtomicInteger generated = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        Semaphore slots = new Semaphore(BATCH_THREADS * 2);
+        ExecutorService workers = Executors.newFixedThreadPool(BATCH_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "transcript-render");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (String[] request : pending) {
+                slots.acquire();
+                workers.execute(() -> {
+                    try {
+                        AtomicInteger outcome = switch (generateClaimed(request[0], new Student(request[1], request[2], null),
+                                                                        processorId, pendingId, inProgressId)) {
+                            case GENERATED -> generated;
+                            case SKIPPED -> skipped;
+                            case FAILED -> failed;
+                        };
+                        outcome.incrementAndGet();
+                        if (progress != null) {
+                            progress.onProgress(generated.get() + skipped.get() + failed.get(), failed.get(), total);
+                        }
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+        } finally {
+            workers.shutdown();
+            // Requests already claimed are finished (or released) before returning
+            while (!workers.awaitTermination(1, TimeUnit.SECONDS)) {
+                // keep waiting
+            }
+        }
+        return new BatchResult(total, generated.get(), skipped.get(), failed.get());
+    }
+
+    private enum BatchOutcome { GENERATED, SKIPPED, FAILED }
+
+    private BatchOutcome generateClaimed(String requestId, Student student, Integer processorId,
+                                         int pendingId, int inProgressId) {
+        int reqId = Integer.parseInt(requestId);
+        String claimSql = CLAIM_SQL + "AND " + BATCH_CLAIMABLE;
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(claimSql)) {
+            pstmt.setInt(1, inProgressId);
+            pstmt.setObject(2, processorId, Types.INTEGER);
+            pstmt.setInt(3, reqId);
+            pstmt.setInt(4, pendingId);
+            pstmt.setInt(5, inProgressId);
+            pstmt.setInt(6, RENDER_TIMEOUT_MINUTES);
+            if (pstmt.executeUpdate() == 0) {
+                return BatchOutcome.SKIPPED;  // Taken or cancelled since the list was read
+            }
+        } catch (SQLException e) {
+            System.err.println("⚠ Could not claim transcript request " + requestId + ": " + e.getMessage());
+            return BatchOutcome.FAILED;
+        }
+
+        try {
+            completeClaim(reqId, renderTranscript(requestId, student));
+            return BatchOutcome.GENERATED;
+        } catch (Exception e) {
+            System.err.println("⚠ Transcript request " + requestId + " failed: " + e.getMessage());
+            releaseClaim(reqId, pendingId, inProgressId);
+            return BatchOutcome.FAILED;
+        }
+    }
+
+    private void completeClaim(int requestId, String pdfPath) throws SQLException {
+        String sql = "UPDATE TranscriptRequests SET StatusTypeID = ?, CompletedDate = CURRENT_TIMESTAMP, " +
+                    "PDFPath = ?, RenderStartedDate = NULL WHERE RequestID = ?";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, referenceData.getStatusTypeId("TRANSCRIPT", "READY_FOR_PICKUP"));
+            pstmt.setString(2, pdfPath);
+            pstmt.setInt(3, requestId);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Give up a claim, putting the request back to the status it had before
+     */
+    private void releaseClaim(int requestId, int statusId, int inProgressId) {
+        String sql = "UPDATE TranscriptRequests SET StatusTypeID = ?, RenderStartedDate = NULL " +
+                    "WHERE RequestID = ? AND StatusTypeID = ?";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, statusId);
+            pstmt.setInt(2, requestId);
+            pstmt.setInt(3, inProgressId);
+            pstmt.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("⚠ Transcript request " + requestId + " left IN_PROGRESS: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Render a student's transcript to transcripts/transcript_<request>_<username>.pdf
+     * @return The path, as stored in TranscriptRequests.PDFPath
+     */
+    private String renderTranscript(String requestId, User student) throws SQLException, IOException {
+        String fileName = "transcript_" + requestId + "_" +
+                          student.getUsername().replaceAll("[^A-Za-z0-9._-]", "_") + ".pdf";
+        Path target = Path.of(TRANSCRIPTS_DIR, fileName);
+        renderer().render(student, requestId, target);
+        return target.toString();
+    }
+
+    private static synchronized TranscriptPdfRenderer renderer() throws IOException {
+        if (renderer == null) {
+            renderer = new TranscriptPdfRenderer();
+        }
+        return renderer;
+    }
+
+    /**
+     * Receives batch progress; called from worker threads
+     */
+    public interface BatchProgress {
+        void onProgress(int done, int failed, int total);
+    }
+
+    /**
+     * Outcome of generatePendingTranscripts
+     * @param skipped Requests another admin or batch took, or that were cancelled, meanwhile
+     */
+    public record BatchResult(int total, int generated, int skipped, int failed) {
+    }
+
     // Helper methods
 
     private TranscriptRequest createTranscriptRequestFromData(TranscriptRequestData data, Connection conn) throws SQLException {
@@ -650,24 +874,6 @@ public class TranscriptService {
         }
     }
 
-    /**
-     * Get StatusTypeID from StatusTypes table
-     */
-    private int getStatusTypeId(String statusCode, String entityType) throws SQLException {
-        String sql = "SELECT StatusTypeID FROM StatusTypes WHERE StatusCode = ? AND EntityType = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, statusCode);
-            pstmt.setString(2, entityType);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("StatusTypeID");
-                }
-            }
-        }
-        throw new SQLException("Status type not found: " + statusCode + " for entity: " + entityType);
-    }
-
     // Helper class for transcript request data
     private static class TranscriptRequestData {
         int requestId;
@@ -0,0 +1,244 @@
+package edu.facilities.service;
+
+import edu.facilities.model.User;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Unread message and announcement counts kept in memory and updated from notifications,
+ * so screens showing them do not re-run a COUNT query on every refresh.
+ *
+ * A counter is read from the database once (through the service's own count query) and from
+ * then on moved by the deltas services publish when they insert messages or announcements and
+ * when they mark them read. Changes that cannot be expressed as a delta (editing, archiving or
+ * deleting an announcement) and lost notifications make the affected counters reload on their
+ * next read, as does notifications.counter.refresh.seconds passing (announcements also expire).
+ * Uses singleton pattern so every screen shares the same counters.
+ */
+public class UnreadCounters {
+
+    static final String CHANNEL = "unread_counts";
+
+    private static UnreadCounters instance;
+
+    private final long maxAgeNanos = Long.parseLong(
+        DatabaseConnection.getConfigValue("notifications.counter.refresh.seconds", "NOTIFICATIONS_COUNTER_REFRESH_SECONDS", "600")) * 1_000_000_000L;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private NotificationBus.Subscription subscription;
+
+    public enum Kind {
+        MESSAGES,
+        STAFF_MESSAGES,
+        ANNOUNCEMENTS
+    }
+
+    /**
+     * The database query a counter starts from, e.g. MessageService.getUnreadCount
+     */
+    public interface CountQuery {
+        int count(User user) throws SQLException;
+    }
+
+    private UnreadCounters() {
+        // Private constructor for singleton
+    }
+
+    /**
+     * Get singleton instance
+     */
+    public static synchronized UnreadCounters getInstance() {
+        if (instance == null) {
+            instance = new UnreadCounters();
+        }
+        return instance;
+    }
+
+    /**
+     * Get a user's unread count, running the query only if the counter is not loaded yet
+     * (or has to be reloaded). May block, so call it off the FX thread.
+     */
+    public int get(User user, Kind kind, CountQuery query) throws SQLException {
+        subscribe();
+        Counter counter = counters.computeIfAbsent(key(kind, user.getId()), k -> new Counter(user.getUserType()));
+        Integer cached = counter.current(maxAgeNanos);
+        if (cached != null) {
+            return cached;
+        }
+        long version = counter.version();
+        int count = query.count(user);
+        counter.load(count, version);
+        return count;
+    }
+
+    /**
+     * Be told whenever a counter may have changed; called on the notification thread
+     */
+    public NotificationBus.Subscription addListener(Runnable onChange) {
+        listeners.add(onChange);
+        return () -> listeners.remove(onChange);
+    }
+
+    /**
+     * Publish a change to one user's counters, on the connection that made the change
+     * @param delta +1 for a new unread item, -1 for one marked read
+     */
+    public static void publishForUser(Connection conn, int userId, int delta, Kind... kinds) {
+        publish(conn, "user|" + userId + "|" + delta + "|" + names(kinds));
+    }
+
+    /**
+     * Publish a change to the counters of every user with a role
+     * @param role User type, or null for everyone
+     */
+    public static void publishForRole(Connection conn, String role, int delta, Kind... kinds) {
+        publish(conn, "role|" + (role != null ? role : "*") + "|" + delta + "|" + names(kinds));
+    }
+
+    /**
+     * Make every client reload these counters on their next read
+     */
+    public static void publishResync(Connection conn, Kind... kinds) {
+        publish(conn, "resync|*|0|" + names(kinds));
+    }
+
+    private static void publish(Connection conn, String payload) {
+        try {
+            NotificationBus.getInstance().publish(conn, CHANNEL, payload);
+        } catch (SQLException e) {
+            // The change itself stands; counters catch up on their next reload
+            System.err.println("⚠ Could not publish unread count change: " + e.getMessage());
+        }
+    }
+
+    private synchronized void subscribe() {
+        if (subscription != null) {
+            return;
+        }
+        subscription = NotificationBus.getInstance().subscribe(CHANNEL, new NotificationBus.Listener() {
+            @Override
+            public void onNotification(String payload) {
+                apply(payload);
+            }
+
+            @Override
+            public void onResync() {
+                counters.values().forEach(Counter::invalidate);
+                notifyListeners();
+            }
+        });
+    }
+
+    /**
+     * Apply a payload of the form scope|target|delta|KIND,KIND
+     */
+    void apply(String payload) {
+        String[] parts = payload.split("\\|", -1);
+        if (parts.length != 4) {
+            System.err.println("⚠ Ignoring malformed unread count notification: " + payload);
+            return;
+        }
+        String scope = parts[0];
+        String target = parts[1];
+        int delta = Integer.parseInt(parts[2]);
+        boolean changed = false;
+
+        for (String kind : parts[3].split(",")) {
+            String prefix = kind + ":";
+            for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+                if (!entry.getKey().startsWith(prefix)) {
+                    continue;
+                }
+                Counter counter = entry.getValue();
+                switch (scope) {
+                    case "user":
+                        if (entry.getKey().equals(prefix + target)) {
+                            counter.add(delta);
+                            changed = true;
+                        }
+                        break;
+                    case "role":
+                        if ("*".equals(target) || target.equals(counter.userType)) {
+                            counter.add(delta);
+                            changed = true;
+                        }
+                        break;
+                    default:
+                        counter.invalidate();
+                        changed = true;
+                }
+            }
+        }
+
+        if (changed) {
+            notifyListeners();
+        }
+    }
+
+    private void notifyListeners() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    private static String key(Kind kind, String userId) {
+        return kind.name() + ":" + userId;
+    }
+
+    private static String names(Kind... kinds) {
+        StringBuilder names = new StringBuilder();
+        for (Kind kind : kinds) {
+            if (names.length() > 0) {
+                names.append(',');
+            }
+            names.append(kind.name());
+        }
+        return names.toString();
+    }
+
+    /**
+     * One user's count of one kind. The version moves with every change so a load that
+     * raced with a notification is used once but not trusted for later reads.
+     */
+    private static class Counter {
+        final String userType;
+        private int count;
+        private long version;
+        private boolean loaded;
+        private long loadedAt;
+
+        Counter(String userType) {
+            this.userType = userType;
+        }
+
+        synchronized Integer current(long maxAgeNanos) {
+            return loaded && System.nanoTime() - loadedAt < maxAgeNanos ? count : null;
+        }
+
+        synchronized long version() {
+            return version;
+        }
+
+        synchronized void load(int count, long expectedVersion) {
+            this.count = count;
+            loaded = version == expectedVersion;
+            loadedAt = System.nanoTime();
+        }
+
+        synchronized void add(int delta) {
+            count = Math.max(0, count + delta);
+            version++;
+        }
+
+        synchronized void invalidate() {
+            loaded = false;
+            version++;
+        }
+    }
+}
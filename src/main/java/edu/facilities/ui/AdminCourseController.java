@@ -4,6 +4,7 @@ import edu.facilities.model.Course;
 import edu.facilities.model.CourseType;
 import edu.facilities.service.AuthService;
 import edu.facilities.service.CourseService;
+import javafx.animation.PauseTransition;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -15,6 +16,7 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import java.io.IOException;
 import java.sql.SQLException;
@@ -52,6 +54,10 @@ public class AdminCourseController {
     private CourseService courseService = new CourseService();
     private AuthService authService = AuthService.getInstance();
 
+    private static final Duration SEARCH_DELAY = Duration.millis(300);
+    private final PauseTransition searchDelay = new PauseTransition(SEARCH_DELAY);
+    private BackgroundExecutor.Scope backgroundScope;
+
     @FXML
     public void initialize() {
         if (!checkAdminAccess()) {
@@ -60,6 +66,7 @@ public class AdminCourseController {
         }
 
         setupTableColumns();
+        setupSearch();
         populateFilters();
         loadCourses();
     }
@@ -131,7 +138,7 @@ public class AdminCourseController {
 
     private void loadCourses() {
         try {
-            List<Course> courses = courseService.getAllCourses(false); // Show all including inactive
+            List<Course> courses = courseService.getAllCourses(false, false); // Show all including inactive, details loaded on demand
             coursesList.clear();
             coursesList.addAll(courses);
             statusLabel.setText("Loaded " + courses.size() + " course(s)");
@@ -142,19 +149,39 @@ public class AdminCourseController {
 
     @FXML
     private void handleSearch() {
+        // Enter (or the Search button) searches right away instead of waiting for the pause
+        searchDelay.stop();
+        runSearch();
+    }
+
+    /**
+     * Search as the user types, once typing pauses for SEARCH_DELAY, so a burst of
+     * keystrokes costs one query; a newer search cancels one still running
+     */
+    private void setupSearch() {
+        backgroundScope = new BackgroundExecutor.Scope().bindTo(coursesTable);
+        searchDelay.setOnFinished(event -> runSearch());
+        searchField.textProperty().addListener((obs, oldText, newText) -> searchDelay.playFromStart());
+    }
+
+    private void runSearch() {
+        if (backgroundScope == null) {
+            return;
+        }
         String keyword = searchField.getText().trim();
         if (keyword.isEmpty()) {
+            backgroundScope.cancelAll();
             loadCourses();
             return;
         }
 
-        try {
-            List<Course> courses = courseService.searchCourses(keyword, false);
-            coursesList.clear();
-            coursesList.addAll(courses);
-        } catch (SQLException e) {
-            showError("Database Error", "Failed to search courses: " + e.getMessage());
-        }
+        backgroundScope.run("search",
+            () -> courseService.searchCourses(keyword, false, false),
+            courses -> {
+                coursesList.setAll(courses);
+                statusLabel.setText("Found " + courses.size() + " course(s)");
+            },
+            e -> showError("Database Error", "Failed to search courses: " + e.getMessage()));
     }
     
     @FXML
@@ -183,6 +210,7 @@ public class AdminCourseController {
                 department != null && !department.equals("All Departments") ? department : null,
                 semester != null && !semester.equals("All Semesters") ? semester : null,
                 type,
+                false,
                 false
             );
             coursesList.clear();
@@ -288,6 +316,13 @@ public class AdminCourseController {
             return;
         }
 
+        try {
+            courseService.loadCourseDetails(selectedCourse);
+        } catch (SQLException e) {
+            showError("Database Error", "Failed to load course attributes: " + e.getMessage());
+            return;
+        }
+
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/course_attributes.fxml"));
             Parent root = loader.load();
@@ -5,6 +5,7 @@ import edu.facilities.model.TranscriptStatus;
 import edu.facilities.model.User;
 import edu.facilities.service.AuthService;
 import edu.facilities.service.TranscriptService;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
@@ -40,6 +41,7 @@ public class AdminTranscriptController {
     @FXML private TextField searchField;
     @FXML private Button processButton;
     @FXML private Button generateButton;
+    @FXML private Button generateAllButton;
     @FXML private Button viewDetailsButton;
     @FXML private Button backButton;
 
@@ -227,23 +229,80 @@ public class AdminTranscriptController {
 
         java.util.Optional<ButtonType> result = confirmAlert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            try {
-                // Generate transcript PDF
-                String pdfPath = transcriptService.generateTranscriptPDF(selected);
-                
-                showSuccess("Transcript Generated", 
-                        "Transcript has been generated successfully!\n" +
-                        "PDF Path: " + pdfPath + "\n" +
-                        "Status: Ready for Pickup");
-                loadTranscriptRequests();
-            } catch (SQLException e) {
-                showError("Database Error", "Failed to generate transcript: " + e.getMessage());
-                e.printStackTrace();
-            } catch (Exception e) {
-                showError("Generation Error", "Failed to generate transcript: " + e.getMessage());
-                e.printStackTrace();
-            }
+            // Render the PDF in the background; not bound to this screen, like a batch
+            generateButton.setDisable(true);
+            generateAllButton.setDisable(true);
+            statusLabel.setText("Generating transcript #" + selected.getId() + "...");
+            BackgroundExecutor.submit(
+                    () -> transcriptService.generateTranscriptPDF(selected),
+                    pdfPath -> {
+                        generateButton.setDisable(false);
+                        generateAllButton.setDisable(false);
+                        statusLabel.setText("");
+                        showSuccess("Transcript Generated",
+                                "Transcript has been generated successfully!\n" +
+                                "PDF Path: " + pdfPath + "\n" +
+                                "Status: Ready for Pickup");
+                        loadTranscriptRequests();
+                    },
+                    error -> {
+                        generateButton.setDisable(false);
+                        generateAllButton.setDisable(false);
+                        statusLabel.setText("");
+                        if (error instanceof SQLException) {
+                            showError("Database Error", "Failed to generate transcript: " + error.getMessage());
+                        } else {
+                            showError("Generation Error", "Failed to generate transcript: " + error.getMessage());
+                        }
+                        error.printStackTrace();
+                        loadTranscriptRequests();
+                    });
+        }
+    }
+
+    @FXML
+    void handleGenerateAllPending(ActionEvent event) {
+        long pending = requestsList.stream().filter(r -> r.getStatus() == TranscriptStatus.PENDING).count();
+        if (pending == 0) {
+            showError("Nothing to Generate", "There are no pending transcript requests.");
+            return;
         }
+
+        Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
+        confirmAlert.setTitle("Generate All Pending Transcripts");
+        confirmAlert.setHeaderText("Generate " + pending + " pending transcript(s)");
+        confirmAlert.setContentText("Transcripts are generated in the background and each request is " +
+                                   "marked as ready for pickup when its PDF is written.");
+        java.util.Optional<ButtonType> result = confirmAlert.showAndWait();
+        if (result.isEmpty() || result.get() != ButtonType.OK) {
+            return;
+        }
+
+        User currentUser = authService.getCurrentUser();
+        generateAllButton.setDisable(true);
+        generateButton.setDisable(true);
+        statusLabel.setText("Generating transcripts...");
+        // Not bound to this screen: leaving it must not abandon a batch half way through
+        BackgroundExecutor.submit(
+                () -> transcriptService.generatePendingTranscripts(currentUser, (done, failed, total) ->
+                        Platform.runLater(() -> statusLabel.setText(
+                                "Generating transcripts: " + done + " of " + total +
+                                (failed > 0 ? " (" + failed + " failed)" : "")))),
+                batch -> {
+                    generateAllButton.setDisable(false);
+                    generateButton.setDisable(false);
+                    loadTranscriptRequests();
+                    showSuccess("Transcripts Generated",
+                            batch.generated() + " of " + batch.total() + " transcript(s) generated.\n" +
+                            (batch.skipped() > 0 ? batch.skipped() + " request(s) were taken or cancelled meanwhile.\n" : "") +
+                            (batch.failed() > 0 ? batch.failed() + " failed and are still pending; see the log." : ""));
+                },
+                error -> {
+                    generateAllButton.setDisable(false);
+                    generateButton.setDisable(false);
+                    loadTranscriptRequests();
+                    showError("Generation Error", "Failed to generate transcripts: " + error.getMessage());
+                });
     }
 
     @FXML
@@ -345,6 +404,7 @@ public class AdminTranscriptController {
         if (requestsTable != null) requestsTable.setDisable(true);
         if (processButton != null) processButton.setDisable(true);
         if (generateButton != null) generateButton.setDisable(true);
+        if (generateAllButton != null) generateAllButton.setDisable(true);
         if (viewDetailsButton != null) viewDetailsButton.setDisable(true);
         if (searchField != null) searchField.setDisable(true);
         if (statusFilter != null) statusFilter.setDisable(true);
@@ -0,0 +1,326 @@
+package edu.facilities.ui;
+
+import javafx.beans.value.ChangeListener;
+import javafx.concurrent.Task;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.HBox;
+import javafx.stage.Window;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Shared background execution layer for service calls made from controllers.
+ * Every *Service method talks to the database over JDBC, so it must never run on the
+ * JavaFX Application Thread. Calls are wrapped in cancellable {@link Task}s that run on
+ * virtual threads; success and failure callbacks are delivered back on the FX thread.
+ *
+ * Cancelling a scope's task does not interrupt its thread: an interrupt inside JDBC makes
+ * the PostgreSQL driver close the pooled connection and can abort a write half way. The call
+ * runs to completion and its result is dropped as stale. A task that copies a file can be
+ * given an {@link Interruption}, which lets cancelling interrupt it while the copy runs.
+ */
+public final class BackgroundExecutor {
+
+    private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("service-call-", 0).factory());
+
+    /**
+     * A blocking service call (usually a lambda around a *Service method)
+     */
+    @FunctionalInterface
+    public interface ServiceCall<T> {
+        T call() throws Exception;
+    }
+
+    private BackgroundExecutor() {
+    }
+
+    /**
+     * Run a service call in the background without an owning screen
+     * @param call The blocking call to run off the FX thread
+     * @param onSuccess Invoked on the FX thread with the result (may be null)
+     * @param onError Invoked on the FX thread with the failure (may be null)
+     * @return The submitted task, which can be cancelled
+     */
+    public static <T> Task<T> submit(ServiceCall<T> call, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        Task<T> task = newTask(call);
+        task.setOnSucceeded(e -> {
+            if (onSuccess != null) {
+                onSuccess.accept(task.getValue());
+            }
+        });
+        task.setOnFailed(e -> reportFailure(task, onError));
+        EXECUTOR.execute(task);
+        return task;
+    }
+
+    /**
+     * Build a placeholder node shown in tables and lists while data is loading
+     * @param message Text shown next to the spinner
+     * @return Placeholder node
+     */
+    public static Node loadingPlaceholder(String message) {
+        ProgressIndicator spinner = new ProgressIndicator();
+        spinner.setPrefSize(24, 24);
+        HBox box = new HBox(8, spinner, new Label(message));
+        box.setAlignment(Pos.CENTER);
+        return box;
+    }
+
+    private static <T> Task<T> newTask(ServiceCall<T> call) {
+        return new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return call.call();
+            }
+        };
+    }
+
+    /**
+     * Lets cancelling interrupt a task only while it copies a file, which stops cleanly when
+     * interrupted, and never during the database work before or after the copy.
+     * The copying thread reports progress here. Cancelling before the copy starts stops it as
+     * soon as it starts; cancelling once all bytes are copied is refused, because the task is
+     * then saving its result.
+     */
+    public static final class Interruption {
+        private enum Stage { WAITING, COPYING, COPIED }
+
+        private Stage stage = Stage.WAITING;
+        private boolean requested = false;
+
+        /**
+         * Report copy progress; called on the copying thread
+         */
+        public synchronized void progress(long transferred, long total) {
+            if (stage == Stage.WAITING) {
+                stage = Stage.COPYING;
+                if (requested) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (transferred >= total) {
+                stage = Stage.COPIED;
+            }
+        }
+
+        /**
+         * @return false if the copy has finished and the task can no longer be cancelled
+         */
+        public synchronized boolean isCancellable() {
+            return stage != Stage.COPIED;
+        }
+
+        /**
+         * Cancel the task, interrupting it if it is copying
+         * @return false if the task could no longer be cancelled
+         */
+        public synchronized boolean cancel(Task<?> task) {
+            if (stage == Stage.COPIED) {
+                return false;
+            }
+            requested = true;
+            task.cancel(stage == Stage.COPYING);
+            return true;
+        }
+    }
+
+    private static void reportFailure(Task<?> task, Consumer<Throwable> onError) {
+        Throwable error = task.getException();
+        if (onError != null) {
+            onError.accept(error);
+        } else if (error != null) {
+            System.err.println("Background service call failed: " + error.getMessage());
+            error.printStackTrace();
+        }
+    }
+
+    /**
+     * Groups the background tasks owned by one screen.
+     * Starting a task under a key that is already running cancels the older one, and
+     * results arriving after the screen has left its window are dropped instead of
+     * being applied to controls nobody can see. All methods must be called on the FX thread.
+     */
+    public static final class Scope {
+        private final Set<Task<?>> running = new HashSet<>();
+        private final Map<String, Task<?>> latestByKey = new HashMap<>();
+        private final Map<Task<?>, Interruption> interruptions = new HashMap<>();
+        private final List<Runnable> closeActions = new ArrayList<>();
+        private boolean closed = false;
+
+        /**
+         * Close this scope automatically when the node's scene leaves its window
+         * (which is what happens when a controller navigates with stage.setScene)
+         * or the window is closed (Stage.close() only hides it)
+         * @param node Any node of the owning screen
+         * @return this scope
+         */
+        public Scope bindTo(Node node) {
+            ChangeListener<Boolean> showingListener = (obs, wasShowing, showing) -> {
+                if (!showing) {
+                    close();
+                }
+            };
+            ChangeListener<Window> windowListener = (obs, oldWindow, newWindow) -> {
+                if (oldWindow != null) {
+                    oldWindow.showingProperty().removeListener(showingListener);
+                }
+                if (newWindow != null) {
+                    newWindow.showingProperty().addListener(showingListener);
+                } else if (oldWindow != null) {
+                    close();
+                }
+            };
+            node.sceneProperty().addListener((obs, oldScene, newScene) -> {
+                if (oldScene != null) {
+                    oldScene.windowProperty().removeListener(windowListener);
+                    if (oldScene.getWindow() != null) {
+                        oldScene.getWindow().showingProperty().removeListener(showingListener);
+                    }
+                }
+                if (newScene != null) {
+                    newScene.windowProperty().addListener(windowListener);
+                    if (newScene.getWindow() != null) {
+                        newScene.getWindow().showingProperty().addListener(showingListener);
+                    }
+                } else if (oldScene != null && oldScene.getWindow() != null) {
+                    close();
+                }
+            });
+            Scene scene = node.getScene();
+            if (scene != null) {
+                scene.windowProperty().addListener(windowListener);
+                if (scene.getWindow() != null) {
+                    scene.getWindow().showingProperty().addListener(showingListener);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Run a service call owned by this scope
+         * @param key Identifies the kind of load; a newer call with the same key supersedes older ones
+         * @param call The blocking call to run off the FX thread
+         * @param onSuccess Invoked on the FX thread with the result, unless the result is stale
+         * @param onError Invoked on the FX thread with the failure, unless the result is stale
+         * @return The submitted task, or null if the scope is already closed
+         */
+        public <T> Task<T> run(String key, ServiceCall<T> call, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+            return run(key, call, null, onSuccess, onError);
+        }
+
+        /**
+         * Run a service call that copies a file; while the copy runs, cancelling interrupts it
+         * @param interruption Fed by the call's copy progress (may be null)
+         */
+        public <T> Task<T> run(String key, ServiceCall<T> call, Interruption interruption,
+                               Consumer<T> onSuccess, Consumer<Throwable> onError) {
+            if (closed) {
+                return null;
+            }
+
+            Task<?> previous = latestByKey.get(key);
+            if (previous != null) {
+                cancel(previous);
+                running.remove(previous);
+            }
+
+            Task<T> task = newTask(call);
+            latestByKey.put(key, task);
+            running.add(task);
+            if (interruption != null) {
+                interruptions.put(task, interruption);
+            }
+
+            task.setOnSucceeded(e -> {
+                if (finish(key, task) && onSuccess != null) {
+                    onSuccess.accept(task.getValue());
+                }
+            });
+            task.setOnFailed(e -> {
+                if (finish(key, task)) {
+                    reportFailure(task, onError);
+                }
+            });
+            task.setOnCancelled(e -> finish(key, task));
+
+            EXECUTOR.execute(task);
+            return task;
+        }
+
+        /**
+         * Cancel every running task but keep the scope usable (e.g. before a full refresh).
+         * The calls still finish in the background; only their results are dropped.
+         */
+        public void cancelAll() {
+            for (Task<?> task : running) {
+                cancel(task);
+            }
+            running.clear();
+            latestByKey.clear();
+        }
+
+        /**
+         * Run an action when the scope closes, e.g. to stop listening for pushed updates
+         */
+        public void onClose(Runnable action) {
+            if (closed) {
+                action.run();
+            } else {
+                closeActions.add(action);
+            }
+        }
+
+        /**
+         * Cancel every running task and drop any result that still arrives
+         */
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            cancelAll();
+            for (Runnable action : closeActions) {
+                action.run();
+            }
+            closeActions.clear();
+        }
+
+        public boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * Forget a completed task
+         * @return true if its result is still wanted
+         */
+        private void cancel(Task<?> task) {
+            Interruption interruption = interruptions.remove(task);
+            if (interruption == null || !interruption.cancel(task)) {
+                task.cancel(false);
+            }
+        }
+
+        private boolean finish(String key, Task<?> task) {
+            running.remove(task);
+            interruptions.remove(task);
+            boolean current = latestByKey.get(key) == task;
+            if (current) {
+                latestByKey.remove(key);
+            }
+            return current && !closed && !task.isCancelled();
+        }
+    }
+}
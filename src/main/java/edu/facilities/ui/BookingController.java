@@ -2,10 +2,13 @@ package edu.facilities.ui;
 
 import edu.facilities.model.Booking;
 import edu.facilities.model.Room;
+import edu.facilities.model.RoomType;
 import edu.facilities.model.User;
 import edu.facilities.service.AuthService;
+import edu.facilities.service.BookingConflictException;
 import edu.facilities.service.BookingService;
 import edu.facilities.service.RoomService;
+import javafx.animation.PauseTransition;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -14,12 +17,14 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import java.io.IOException;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Arrays;
 import java.util.List;
 
 public class BookingController {
@@ -30,6 +35,9 @@ public class BookingController {
     @FXML
     private ComboBox<String> capacityFilter;
 
+    @FXML
+    private ComboBox<String> typeFilter;
+
     @FXML
     private TextField equipmentFilter;
 
@@ -72,6 +80,9 @@ public class BookingController {
     private BookingService bookingService = new BookingService();
     private RoomService roomService = new RoomService();
     private AuthService authService = AuthService.getInstance();
+    private BackgroundExecutor.Scope backgroundScope;
+    private static final Duration EQUIPMENT_DELAY = Duration.millis(300);
+    private final PauseTransition equipmentDelay = new PauseTransition(EQUIPMENT_DELAY);
 
     @FXML
     public void initialize() {
@@ -89,6 +100,8 @@ public class BookingController {
             return;
         }
 
+        backgroundScope = new BackgroundExecutor.Scope().bindTo(roomComboBox);
+
         // Set default date to today
         datePicker.setValue(LocalDate.now());
 
@@ -103,6 +116,20 @@ public class BookingController {
         endHourSpinner.setValueFactory(endHourFactory);
         endMinuteSpinner.setValueFactory(endMinuteFactory);
 
+        // Only rooms free for the chosen slot are offered, so re-run the search when it changes
+        datePicker.valueProperty().addListener((observable, oldValue, newValue) -> filterRooms());
+        startHourSpinner.valueProperty().addListener((observable, oldValue, newValue) -> filterRooms());
+        startMinuteSpinner.valueProperty().addListener((observable, oldValue, newValue) -> filterRooms());
+        endHourSpinner.valueProperty().addListener((observable, oldValue, newValue) -> filterRooms());
+        endMinuteSpinner.valueProperty().addListener((observable, oldValue, newValue) -> filterRooms());
+
+        // Populate room type filter
+        if (typeFilter != null) {
+            typeFilter.getItems().addAll("Any Type", "Classroom", "Laboratory", "Office", "Conference");
+            typeFilter.setValue("Any Type");
+            typeFilter.setOnAction(e -> filterRooms());
+        }
+
         // Populate capacity filter
         if (capacityFilter != null) {
             capacityFilter.getItems().addAll(
@@ -118,10 +145,11 @@ public class BookingController {
             capacityFilter.setOnAction(e -> filterRooms());
         }
 
-        // Add listener to equipment filter
+        // Add listener to equipment filter; each change queries free rooms, so wait for a pause in typing
         if (equipmentFilter != null) {
+            equipmentDelay.setOnFinished(event -> filterRooms());
             equipmentFilter.textProperty().addListener((observable, oldValue, newValue) -> {
-                filterRooms();
+                equipmentDelay.playFromStart();
             });
         }
 
@@ -137,60 +165,82 @@ public class BookingController {
     }
 
     /**
-     * Filter rooms based on capacity and equipment filters
+     * Offer the rooms that are free for the selected slot and match the capacity,
+     * type and equipment filters, best capacity fit first
      */
     private void filterRooms() {
-        try {
-            List<Room> availableRooms = roomService.getAvailableRooms();
-            System.out.println("Loading " + availableRooms.size() + " available rooms into dropdown");
-
-            // Apply capacity filter
-            String selectedCapacity = capacityFilter != null ? capacityFilter.getValue() : null;
-            if (selectedCapacity != null && !selectedCapacity.equals("Any Capacity")) {
-                try {
-                    int minCapacity = Integer.parseInt(selectedCapacity.replace("+", "").trim());
-                    availableRooms = availableRooms.stream()
-                            .filter(room -> room.getCapacity() >= minCapacity)
-                            .collect(java.util.stream.Collectors.toList());
-                } catch (NumberFormatException e) {
-                    // If parsing fails, ignore this filter
-                }
-            }
-
-            // Apply equipment filter
-            String equipmentText = equipmentFilter != null ? equipmentFilter.getText() : null;
-            if (equipmentText != null && !equipmentText.isBlank()) {
-                String lowerCaseEquipment = equipmentText.toLowerCase();
-                availableRooms = availableRooms.stream()
-                        .filter(room -> {
-                            String location = room.getLocation();
-                            if (location == null || location.isEmpty()) {
-                                return false;
-                            }
-                            String[] locationParts = location.split("\\|", 3);
-                            String equipment = locationParts.length > 2 ? locationParts[2] : "";
-                            return equipment.toLowerCase().contains(lowerCaseEquipment);
-                        })
-                        .collect(java.util.stream.Collectors.toList());
-            }
+        equipmentDelay.stop();
+        if (backgroundScope == null || datePicker.getValue() == null
+                || startHourSpinner.getValue() == null || startMinuteSpinner.getValue() == null
+                || endHourSpinner.getValue() == null || endMinuteSpinner.getValue() == null) {
+            return;
+        }
 
+        LocalDateTime start = LocalDateTime.of(datePicker.getValue(),
+                LocalTime.of(startHourSpinner.getValue(), startMinuteSpinner.getValue()));
+        LocalDateTime end = LocalDateTime.of(datePicker.getValue(),
+                LocalTime.of(endHourSpinner.getValue(), endMinuteSpinner.getValue()));
+        if (!end.isAfter(start)) {
+            backgroundScope.cancelAll();
             roomComboBox.getItems().clear();
-            for (Room room : availableRooms) {
-                String roomCode = room.getId();
-                roomComboBox.getItems().add(roomCode);
-                System.out.println("Added room to dropdown: " + roomCode);
-            }
+            roomComboBox.setPromptText("Choose a valid time slot to see free rooms");
+            return;
+        }
 
-            if (roomComboBox.getItems().isEmpty()) {
-                roomComboBox.setPromptText("No available rooms match filters");
-            } else {
-                roomComboBox.setPromptText("Select a room (" + roomComboBox.getItems().size() + " available)");
+        // Apply capacity filter
+        int minCapacity = 0;
+        String selectedCapacity = capacityFilter != null ? capacityFilter.getValue() : null;
+        if (selectedCapacity != null && !selectedCapacity.equals("Any Capacity")) {
+            try {
+                minCapacity = Integer.parseInt(selectedCapacity.replace("+", "").trim());
+            } catch (NumberFormatException e) {
+                // If parsing fails, ignore this filter
             }
-        } catch (SQLException e) {
-            System.err.println("Error loading available rooms: " + e.getMessage());
-            e.printStackTrace();
-            showError("Database Error", "Failed to load available rooms: " + e.getMessage());
         }
+
+        // Apply type filter
+        RoomType type = null;
+        String selectedType = typeFilter != null ? typeFilter.getValue() : null;
+        if (selectedType != null && !selectedType.equals("Any Type")) {
+            type = switch (selectedType) {
+                case "Laboratory" -> RoomType.LAB;
+                case "Office" -> RoomType.OFFICE;
+                case "Conference" -> RoomType.CONFERENCE;
+                default -> RoomType.CLASSROOM;
+            };
+        }
+
+        // Apply equipment filter (comma-separated, every item required)
+        String equipmentText = equipmentFilter != null ? equipmentFilter.getText() : null;
+        List<String> equipment = equipmentText != null ? Arrays.asList(equipmentText.split(",")) : List.of();
+
+        int capacity = minCapacity;
+        RoomType roomType = type;
+        backgroundScope.run("freeRooms",
+            () -> roomService.findFreeRooms(start, end, capacity, roomType, equipment),
+            freeRooms -> {
+                String selected = roomComboBox.getValue();
+                roomComboBox.getItems().clear();
+                for (Room room : freeRooms) {
+                    roomComboBox.getItems().add(room.getId());
+                }
+                if (selected != null && roomComboBox.getItems().contains(selected)) {
+                    roomComboBox.setValue(selected);
+                } else {
+                    roomComboBox.setValue(null);
+                }
+
+                if (roomComboBox.getItems().isEmpty()) {
+                    roomComboBox.setPromptText("No rooms are free for this slot with these filters");
+                } else {
+                    roomComboBox.setPromptText("Select a room (" + roomComboBox.getItems().size() + " free, best fit first)");
+                }
+            },
+            e -> {
+                System.err.println("Error loading free rooms: " + e.getMessage());
+                e.printStackTrace();
+                showError("Database Error", "Failed to load free rooms: " + e.getMessage());
+            });
     }
 
     @FXML
@@ -297,6 +347,8 @@ public class BookingController {
             } else {
                 showError("Booking Error", "Failed to create booking. Please try again.");
             }
+        } catch (BookingConflictException e) {
+            showError("Room Unavailable", e.getMessage());
         } catch (IllegalArgumentException e) {
             showError("Validation Error", e.getMessage());
         } catch (SQLException e) {
@@ -352,6 +404,9 @@ public class BookingController {
 
     private void disableAllControls() {
         if (roomComboBox != null) roomComboBox.setDisable(true);
+        if (capacityFilter != null) capacityFilter.setDisable(true);
+        if (typeFilter != null) typeFilter.setDisable(true);
+        if (equipmentFilter != null) equipmentFilter.setDisable(true);
         if (datePicker != null) datePicker.setDisable(true);
         if (startHourSpinner != null) startHourSpinner.setDisable(true);
         if (startMinuteSpinner != null) startMinuteSpinner.setDisable(true);
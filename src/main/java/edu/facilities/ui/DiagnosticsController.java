@@ -0,0 +1,223 @@
+package edu.facilities.ui;
+
+import edu.facilities.service.AuthService;
+import edu.facilities.service.DatabaseConnection;
+import edu.facilities.service.SqlStatistics;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Admin diagnostics screen: per-SQL statistics and connection-hold times per service
+ * method, as collected by the instrumented connections from DatabaseConnection.
+ * Statements with many calls and few rows per call are the usual sign of an N+1 loop.
+ */
+public class DiagnosticsController {
+
+    @FXML
+    private TableView<SqlStatistics.StatementSnapshot> statementsTable;
+
+    @FXML
+    private TableColumn<SqlStatistics.StatementSnapshot, String> sqlColumn;
+
+    @FXML
+    private TableColumn<SqlStatistics.StatementSnapshot, String> callsColumn;
+
+    @FXML
+    private TableColumn<SqlStatistics.StatementSnapshot, String> rowsColumn;
+
+    @FXML
+    private TableColumn<SqlStatistics.StatementSnapshot, String> totalColumn;
+
+    @FXML
+    private TableColumn<SqlStatistics.StatementSnapshot, String> p50Column;
+
+    @FXML
+    private TableColumn<SqlStatistics.StatementSnapshot, String> p95Column;
+
+    @FXML
+    private TableColumn<SqlStatistics.StatementSnapshot, String> p99Column;
+
+    @FXML
+    private TableColumn<SqlStatistics.StatementSnapshot, String> errorsColumn;
+
+    @FXML
+    private TableView<SqlStatistics.CallerSnapshot> callersTable;
+
+    @FXML
+    private TableColumn<SqlStatistics.CallerSnapshot, String> callerColumn;
+
+    @FXML
+    private TableColumn<SqlStatistics.CallerSnapshot, String> checkoutsColumn;
+
+    @FXML
+    private TableColumn<SqlStatistics.CallerSnapshot, String> statementsPerCheckoutColumn;
+
+    @FXML
+    private TableColumn<SqlStatistics.CallerSnapshot, String> holdTotalColumn;
+
+    @FXML
+    private TableColumn<SqlStatistics.CallerSnapshot, String> holdP95Column;
+
+    @FXML
+    private TableColumn<SqlStatistics.CallerSnapshot, String> holdMaxColumn;
+
+    @FXML
+    private Label poolStatsLabel;
+
+    @FXML
+    private Label totalsLabel;
+
+    @FXML
+    private CheckBox enabledCheckBox;
+
+    @FXML
+    private CheckBox autoRefreshCheckBox;
+
+    @FXML
+    private Button refreshButton;
+
+    @FXML
+    private Button resetButton;
+
+    private final AuthService authService = AuthService.getInstance();
+    private final SqlStatistics statistics = SqlStatistics.getInstance();
+    private Timeline autoRefresh;
+
+    @FXML
+    public void initialize() {
+        if (!authService.isLoggedIn() || !"ADMIN".equals(authService.getCurrentUserType())) {
+            showError("Access Denied", "Only administrators can view diagnostics.");
+            statementsTable.setDisable(true);
+            callersTable.setDisable(true);
+            refreshButton.setDisable(true);
+            resetButton.setDisable(true);
+            return;
+        }
+
+        setupTableColumns();
+        enabledCheckBox.setSelected(statistics.isEnabled());
+
+        autoRefresh = new Timeline(new KeyFrame(Duration.seconds(2), e -> refresh()));
+        autoRefresh.setCycleCount(Timeline.INDEFINITE);
+        // Stop polling once the screen is left
+        statementsTable.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene == null) {
+                autoRefresh.stop();
+            }
+        });
+
+        refresh();
+    }
+
+    private void setupTableColumns() {
+        sqlColumn.setCellValueFactory(cell -> new SimpleStringProperty(cell.getValue().sql()));
+        callsColumn.setCellValueFactory(cell -> new SimpleStringProperty(String.valueOf(cell.getValue().calls())));
+        rowsColumn.setCellValueFactory(cell -> new SimpleStringProperty(
+            String.format("%d (%.1f/call)", cell.getValue().rows(), cell.getValue().averageRows())));
+        totalColumn.setCellValueFactory(cell -> new SimpleStringProperty(millis(cell.getValue().totalMillis())));
+        p50Column.setCellValueFactory(cell -> new SimpleStringProperty(millis(cell.getValue().p50Millis())));
+        p95Column.setCellValueFactory(cell -> new SimpleStringProperty(millis(cell.getValue().p95Millis())));
+        p99Column.setCellValueFactory(cell -> new SimpleStringProperty(millis(cell.getValue().p99Millis())));
+        errorsColumn.setCellValueFactory(cell -> new SimpleStringProperty(String.valueOf(cell.getValue().errors())));
+
+        callerColumn.setCellValueFactory(cell -> new SimpleStringProperty(cell.getValue().caller()));
+        checkoutsColumn.setCellValueFactory(cell -> new SimpleStringProperty(String.valueOf(cell.getValue().checkouts())));
+        statementsPerCheckoutColumn.setCellValueFactory(cell -> new SimpleStringProperty(
+            String.format("%.1f", cell.getValue().statementsPerCheckout())));
+        holdTotalColumn.setCellValueFactory(cell -> new SimpleStringProperty(millis(cell.getValue().totalHoldMillis())));
+        holdP95Column.setCellValueFactory(cell -> new SimpleStringProperty(millis(cell.getValue().p95Millis())));
+        holdMaxColumn.setCellValueFactory(cell -> new SimpleStringProperty(millis(cell.getValue().maxMillis())));
+
+        // Show the full statement text on hover, it rarely fits the column
+        sqlColumn.setCellFactory(column -> new TableCell<>() {
+            @Override
+            protected void updateItem(String item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty ? null : item);
+                setTooltip(empty || item == null ? null : new Tooltip(item));
+            }
+        });
+    }
+
+    private void refresh() {
+        List<SqlStatistics.StatementSnapshot> statements = statistics.getStatementStats();
+        List<SqlStatistics.CallerSnapshot> callers = statistics.getCallerStats();
+        statementsTable.setItems(FXCollections.observableArrayList(statements));
+        callersTable.setItems(FXCollections.observableArrayList(callers));
+
+        totalsLabel.setText(String.format("%d statements executed, %d distinct", statistics.getTotalCalls(), statements.size()));
+        poolStatsLabel.setText(DatabaseConnection.getPoolStats());
+    }
+
+    private static String millis(double value) {
+        return String.format("%.2f ms", value);
+    }
+
+    @FXML
+    void handleRefresh(ActionEvent event) {
+        refresh();
+    }
+
+    @FXML
+    void handleReset(ActionEvent event) {
+        statistics.reset();
+        refresh();
+    }
+
+    @FXML
+    void handleToggleEnabled(ActionEvent event) {
+        statistics.setEnabled(enabledCheckBox.isSelected());
+    }
+
+    @FXML
+    void handleToggleAutoRefresh(ActionEvent event) {
+        if (autoRefresh == null) {
+            return;
+        }
+        if (autoRefreshCheckBox.isSelected()) {
+            autoRefresh.play();
+        } else {
+            autoRefresh.stop();
+        }
+    }
+
+    @FXML
+    void handleBack(ActionEvent event) {
+        if (autoRefresh != null) {
+            autoRefresh.stop();
+        }
+        try {
+            Parent root = FXMLLoader.load(getClass().getResource("/fxml/dashboard.fxml"));
+            Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
+            stage.setScene(new Scene(root));
+            stage.setTitle("Dashboard");
+            stage.setMaximized(true);
+            stage.show();
+        } catch (IOException e) {
+            showError("Navigation Error", "Unable to return to dashboard: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private void showError(String title, String message) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
@@ -4,6 +4,7 @@ import edu.facilities.model.Booking;
 import edu.facilities.model.Room;
 import edu.facilities.model.User;
 import edu.facilities.service.AuthService;
+import edu.facilities.service.BookingConflictException;
 import edu.facilities.service.BookingService;
 import edu.facilities.service.RoomService;
 import javafx.event.ActionEvent;
@@ -301,6 +302,8 @@ public class EditBookingController {
             } else {
                 showError("Update Error", "Failed to update booking. Please try again.");
             }
+        } catch (BookingConflictException e) {
+            showError("Room Unavailable", e.getMessage());
         } catch (IllegalArgumentException e) {
             showError("Validation Error", e.getMessage());
         } catch (SQLException e) {
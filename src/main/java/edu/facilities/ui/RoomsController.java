@@ -1,5 +1,6 @@
 package edu.facilities.ui;
 
+import javafx.animation.PauseTransition;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
@@ -13,6 +14,7 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import edu.facilities.model.Room;
 import edu.facilities.model.RoomStatus;
@@ -23,6 +25,10 @@ import edu.facilities.service.RoomService;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -48,6 +54,16 @@ public class RoomsController {
     @FXML private ComboBox<String> capacityFilter;
     @FXML private TextField equipmentFilter;
 
+    // Free room search
+    @FXML private DatePicker freeDatePicker;
+    @FXML private Spinner<Integer> freeStartHourSpinner;
+    @FXML private Spinner<Integer> freeStartMinuteSpinner;
+    @FXML private Spinner<Integer> freeEndHourSpinner;
+    @FXML private Spinner<Integer> freeEndMinuteSpinner;
+    @FXML private Button findFreeRoomsButton;
+    @FXML private Button showAllRoomsButton;
+    @FXML private Label roomsTableTitle;
+
     // Table and Columns
     @FXML private TableView<Room> roomsTable;
     @FXML private TableColumn<Room, String> roomNumberColumn;
@@ -72,6 +88,13 @@ public class RoomsController {
     private RoomService roomService = new RoomService();
     private BookingService bookingService = new BookingService();
     private AuthService authService = AuthService.getInstance();
+    private BackgroundExecutor.Scope backgroundScope;
+    private static final Duration EQUIPMENT_DELAY = Duration.millis(300);
+    private final PauseTransition equipmentDelay = new PauseTransition(EQUIPMENT_DELAY);
+
+    // Set while the table shows the result of a free room search; type, capacity and
+    // equipment were then applied by the query and changing them re-runs the search
+    private boolean showingFreeRooms = false;
 
     // ============================================
     //  INITIALIZATION
@@ -93,6 +116,7 @@ public class RoomsController {
         setupTableColumns();
         // Populate filter dropdowns
         populateFilters();
+        setupFreeRoomSearch();
 
         // Load data from backend service
         loadRoomData();
@@ -172,7 +196,7 @@ public class RoomsController {
 
         // Add listeners to filter dropdowns
         typeFilter.valueProperty().addListener((observable, oldValue, newValue) -> {
-            applyFilters();
+            refreshFilters();
         });
 
         statusFilter.valueProperty().addListener((observable, oldValue, newValue) -> {
@@ -180,10 +204,92 @@ public class RoomsController {
         });
 
         capacityFilter.valueProperty().addListener((observable, oldValue, newValue) -> {
-            applyFilters();
+            refreshFilters();
         });
     }
 
+    /**
+     * Setup the date and time controls of the free room search
+     */
+    private void setupFreeRoomSearch() {
+        if (freeDatePicker == null) {
+            return;
+        }
+        backgroundScope = new BackgroundExecutor.Scope().bindTo(roomsTable);
+        equipmentDelay.setOnFinished(event -> searchFreeRooms());
+        freeDatePicker.setValue(LocalDate.now());
+        freeStartHourSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 23, 9));
+        freeStartMinuteSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 59, 0, 15));
+        freeEndHourSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 23, 10));
+        freeEndMinuteSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 59, 0, 15));
+        showAllRoomsButton.setDisable(true);
+    }
+
+    /**
+     * Re-run the free room search if it is showing, otherwise filter the loaded rooms
+     */
+    private void refreshFilters() {
+        if (showingFreeRooms) {
+            searchFreeRooms();
+        } else {
+            applyFilters();
+        }
+    }
+
+    /**
+     * Replace the table contents with the rooms free for the selected window that match
+     * the type, capacity and equipment filters, best capacity fit first
+     */
+    private void searchFreeRooms() {
+        equipmentDelay.stop();
+        if (backgroundScope == null || freeDatePicker.getValue() == null) {
+            showWarning("No Date", "Please select a date to search for free rooms");
+            return;
+        }
+        LocalDateTime start = LocalDateTime.of(freeDatePicker.getValue(),
+                LocalTime.of(freeStartHourSpinner.getValue(), freeStartMinuteSpinner.getValue()));
+        LocalDateTime end = LocalDateTime.of(freeDatePicker.getValue(),
+                LocalTime.of(freeEndHourSpinner.getValue(), freeEndMinuteSpinner.getValue()));
+        if (!end.isAfter(start)) {
+            showWarning("Invalid Time", "End time must be after start time");
+            return;
+        }
+
+        int minCapacity = 0;
+        String selectedCapacity = capacityFilter.getValue();
+        if (selectedCapacity != null && !selectedCapacity.equals("Any Capacity")) {
+            try {
+                minCapacity = Integer.parseInt(selectedCapacity.replace("+", "").trim());
+            } catch (NumberFormatException e) {
+                // If parsing fails, ignore this filter
+            }
+        }
+        String selectedType = typeFilter.getValue();
+        RoomType type = selectedType == null || selectedType.equals("All Types") ? null : stringToRoomType(selectedType);
+        String equipmentText = equipmentFilter.getText();
+        List<String> equipment = equipmentText != null ? Arrays.asList(equipmentText.split(",")) : List.of();
+
+        int capacity = minCapacity;
+        roomsTable.setPlaceholder(BackgroundExecutor.loadingPlaceholder("Searching free rooms..."));
+        backgroundScope.run("freeRooms",
+            () -> roomService.findFreeRooms(start, end, capacity, type, equipment),
+            rooms -> {
+                showingFreeRooms = true;
+                showAllRoomsButton.setDisable(false);
+                roomsTableTitle.setText("Free Rooms " + start.toLocalDate() + " " + start.toLocalTime() +
+                                        " - " + end.toLocalTime() + " (best fit first)");
+                roomsTable.getSortOrder().clear();
+                roomsTable.setPlaceholder(new Label("No rooms are free for this time window"));
+                roomsList.setAll(rooms);
+                applyFilters();
+            },
+            e -> {
+                roomsTable.setPlaceholder(new Label("Failed to search free rooms"));
+                showError("Database Error", "Failed to search free rooms: " + e.getMessage());
+                e.printStackTrace();
+            });
+    }
+
     /**
      * Apply all active filters and search
      */
@@ -202,6 +308,11 @@ public class RoomsController {
                 }
             }
 
+            // Type, capacity and equipment were already applied by the free room query
+            if (showingFreeRooms) {
+                return true;
+            }
+
             // Type filter
             String selectedType = typeFilter.getValue();
             if (selectedType != null && !selectedType.equals("All Types") &&
@@ -481,7 +592,7 @@ public class RoomsController {
      */
     @FXML
     private void handleFilterType() {
-        applyFilters();
+        refreshFilters();
     }
 
     /**
@@ -497,7 +608,7 @@ public class RoomsController {
      */
     @FXML
     private void handleFilterCapacity() {
-        applyFilters();
+        refreshFilters();
     }
 
     /**
@@ -505,7 +616,40 @@ public class RoomsController {
      */
     @FXML
     private void handleFilterEquipment() {
-        applyFilters();
+        if (showingFreeRooms) {
+            // Equipment is part of the free room query; search once typing pauses
+            equipmentDelay.playFromStart();
+        } else {
+            applyFilters();
+        }
+    }
+
+    /**
+     * Handle "Find Free Rooms" button click
+     */
+    @FXML
+    private void handleFindFreeRooms() {
+        searchFreeRooms();
+    }
+
+    /**
+     * Handle "Show All Rooms" button click, leaving the free room search
+     */
+    @FXML
+    private void handleShowAllRooms() {
+        if (backgroundScope != null) {
+            backgroundScope.cancelAll();
+        }
+        showingFreeRooms = false;
+        showAllRoomsButton.setDisable(true);
+        roomsTableTitle.setText("All Rooms");
+        roomsTable.setPlaceholder(null);
+        try {
+            loadRoomData();
+            applyFilters();
+        } catch (SQLException e) {
+            showError("Database Error", "Failed to load rooms: " + e.getMessage());
+        }
     }
 
     @FXML
@@ -530,6 +674,10 @@ public class RoomsController {
      * Load room data from backend service
      */
     private void loadRoomData() throws SQLException {
+        if (showingFreeRooms) {
+            searchFreeRooms();
+            return;
+        }
         List<Room> rooms = roomService.getAllRooms();
         roomsList.setAll(rooms);
         updateStatistics();
@@ -750,6 +898,8 @@ public class RoomsController {
         if (statusFilter != null) statusFilter.setDisable(true);
         if (capacityFilter != null) capacityFilter.setDisable(true);
         if (equipmentFilter != null) equipmentFilter.setDisable(true);
+        if (findFreeRoomsButton != null) findFreeRoomsButton.setDisable(true);
+        if (showAllRoomsButton != null) showAllRoomsButton.setDisable(true);
         if (roomsTable != null) roomsTable.setDisable(true);
     }
 }
\ No newline at end of file
@@ -4,10 +4,14 @@ import edu.facilities.model.Course;
 import edu.facilities.model.CourseType;
 import edu.facilities.model.User;
 import edu.facilities.service.AuthService;
+import edu.facilities.service.CourseFullException;
 import edu.facilities.service.CourseService;
 import edu.facilities.service.EnrollmentService;
+import javafx.animation.PauseTransition;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+import javafx.concurrent.WorkerStateEvent;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -16,10 +20,12 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Controller for Student Course Catalog View
@@ -52,6 +58,12 @@ public class StudentCourseCatalogController {
     private CourseService courseService = new CourseService();
     private AuthService authService = AuthService.getInstance();
 
+    private static final Duration SEARCH_DELAY = Duration.millis(300);
+    private final PauseTransition searchDelay = new PauseTransition(SEARCH_DELAY);
+    private BackgroundExecutor.Scope backgroundScope;
+    // Kept apart from the loads, which clearing the search cancels
+    private BackgroundExecutor.Scope enrollScope;
+
     @FXML
     public void initialize() {
         if (!checkStudentAccess()) {
@@ -60,6 +72,7 @@ public class StudentCourseCatalogController {
         }
 
         setupTableColumns();
+        setupSearch();
         populateFilters();
         loadCourses();
     }
@@ -139,7 +152,7 @@ public class StudentCourseCatalogController {
 
     private void loadCourses() {
         try {
-            List<Course> courses = courseService.getAllCourses(true); // Active courses only
+            List<Course> courses = courseService.getAllCourses(true, false); // Active courses only, details loaded on demand
             coursesList.clear();
             coursesList.addAll(courses);
             statusLabel.setText("Loaded " + courses.size() + " course(s)");
@@ -150,20 +163,40 @@ public class StudentCourseCatalogController {
 
     @FXML
     private void handleSearch() {
+        // Enter (or the Search button) searches right away instead of waiting for the pause
+        searchDelay.stop();
+        runSearch();
+    }
+
+    /**
+     * Search as the user types, once typing pauses for SEARCH_DELAY, so a burst of
+     * keystrokes costs one query; a newer search cancels one still running
+     */
+    private void setupSearch() {
+        backgroundScope = new BackgroundExecutor.Scope().bindTo(coursesTable);
+        enrollScope = new BackgroundExecutor.Scope().bindTo(coursesTable);
+        searchDelay.setOnFinished(event -> runSearch());
+        searchField.textProperty().addListener((obs, oldText, newText) -> searchDelay.playFromStart());
+    }
+
+    private void runSearch() {
+        if (backgroundScope == null) {
+            return;
+        }
         String keyword = searchField.getText().trim();
         if (keyword.isEmpty()) {
+            backgroundScope.cancelAll();
             loadCourses();
             return;
         }
 
-        try {
-            List<Course> courses = courseService.searchCourses(keyword, true);
-            coursesList.clear();
-            coursesList.addAll(courses);
-            statusLabel.setText("Found " + courses.size() + " course(s)");
-        } catch (SQLException e) {
-            showError("Database Error", "Failed to search courses: " + e.getMessage());
-        }
+        backgroundScope.run("search",
+            () -> courseService.searchCourses(keyword, true, false),
+            courses -> {
+                coursesList.setAll(courses);
+                statusLabel.setText("Found " + courses.size() + " course(s)");
+            },
+            e -> showError("Database Error", "Failed to search courses: " + e.getMessage()));
     }
 
     @FXML
@@ -182,7 +215,8 @@ public class StudentCourseCatalogController {
                 department != null && !department.equals("All Departments") ? department : null,
                 semester != null && !semester.equals("All Semesters") ? semester : null,
                 type,
-                true
+                true,
+                false
             );
             coursesList.clear();
             coursesList.addAll(courses);
@@ -200,6 +234,13 @@ public class StudentCourseCatalogController {
             return;
         }
 
+        try {
+            courseService.loadCourseDetails(selectedCourse);
+        } catch (SQLException e) {
+            showError("Database Error", "Failed to load course details: " + e.getMessage());
+            return;
+        }
+
         // Show course details in a dialog
         StringBuilder details = new StringBuilder();
         details.append("Course Code: ").append(selectedCourse.getCode()).append("\n");
@@ -216,6 +257,14 @@ public class StudentCourseCatalogController {
             for (Course prereq : selectedCourse.getPrerequisites()) {
                 details.append(prereq.getCode()).append(" ");
             }
+            try {
+                List<String> allRequired = courseService.getAllPrerequisiteCodes(selectedCourse.getId());
+                if (allRequired.size() > selectedCourse.getPrerequisites().size()) {
+                    details.append("\nAll required courses: ").append(String.join(" ", allRequired));
+                }
+            } catch (SQLException e) {
+                System.err.println("⚠ Could not load all required courses: " + e.getMessage());
+            }
         }
 
         if (!selectedCourse.getProfessors().isEmpty()) {
@@ -240,30 +289,84 @@ public class StudentCourseCatalogController {
             return;
         }
 
-        // Handle enrollment directly
-        try {
-            EnrollmentService enrollmentService = new EnrollmentService();
-            User student = authService.getCurrentUser();
-            
-            if (student == null) {
-                showError("Authentication Error", "User session expired. Please login again.");
-                return;
-            }
-            
-            // Attempt enrollment
-            edu.facilities.model.Enrollment enrollment = enrollmentService.enrollStudent(student, selectedCourse);
-            
-            if (enrollment != null) {
-                showInfo("Success", "Successfully enrolled in " + selectedCourse.getCode() + " - " + selectedCourse.getName());
-                // Refresh the course list to update seat counts
-                loadCourses();
-            } else {
-                showError("Enrollment Failed", "Failed to enroll in the course. Please try again.");
+        User student = authService.getCurrentUser();
+        if (student == null) {
+            showError("Authentication Error", "User session expired. Please login again.");
+            return;
+        }
+
+        // Attempt enrollment in the background; the seat reservation may wait on other enrollments
+        runEnrollment(
+            () -> new EnrollmentService().enrollStudent(student, selectedCourse),
+            enrollment -> {
+                if (enrollment != null) {
+                    showInfo("Success", "Successfully enrolled in " + selectedCourse.getCode() + " - " + selectedCourse.getName());
+                    // Refresh the course list to update seat counts
+                    loadCourses();
+                } else {
+                    showError("Enrollment Failed", "Failed to enroll in the course. Please try again.");
+                }
+            },
+            e -> {
+                if (e instanceof CourseFullException) {
+                    offerWaitlist(student, selectedCourse, e.getMessage());
+                } else if (e instanceof IllegalArgumentException) {
+                    showError("Enrollment Error", e.getMessage());
+                } else {
+                    showError("Database Error", "Failed to enroll: " + e.getMessage());
+                }
+            });
+    }
+
+    /**
+     * Offer a place on the waitlist of a full course; the student is enrolled automatically
+     * when a seat opens, instead of having to keep retrying
+     */
+    private void offerWaitlist(User student, Course course, String reason) {
+        Alert confirmDialog = new Alert(Alert.AlertType.CONFIRMATION);
+        confirmDialog.setTitle("Course Full");
+        confirmDialog.setHeaderText(reason);
+        confirmDialog.setContentText("Join the waitlist for " + course.getCode() + " - " + course.getName() +
+                                    "? You will be enrolled automatically when a seat opens.");
+
+        confirmDialog.showAndWait().ifPresent(response -> {
+            if (response == ButtonType.OK) {
+                runEnrollment(
+                    () -> new EnrollmentService().joinWaitlist(student, course),
+                    position -> {
+                        showInfo("Waitlist", "You are number " + position + " on the waitlist for " + course.getCode() + ".");
+                        loadCourses();
+                    },
+                    e -> {
+                        if (e instanceof IllegalArgumentException) {
+                            showError("Waitlist Error", e.getMessage());
+                        } else {
+                            showError("Database Error", "Failed to join the waitlist: " + e.getMessage());
+                        }
+                    });
             }
-        } catch (IllegalArgumentException e) {
-            showError("Enrollment Error", e.getMessage());
-        } catch (SQLException e) {
-            showError("Database Error", "Failed to enroll: " + e.getMessage());
+        });
+    }
+
+    /**
+     * Run an enrollment or waitlist call with the Enroll button disabled until it ends
+     */
+    private <T> void runEnrollment(BackgroundExecutor.ServiceCall<T> call, Consumer<T> onSuccess,
+                                   Consumer<Throwable> onError) {
+        enrollButton.setDisable(true);
+        Task<T> task = enrollScope.run("enroll", call,
+            result -> {
+                enrollButton.setDisable(false);
+                onSuccess.accept(result);
+            },
+            e -> {
+                enrollButton.setDisable(false);
+                onError.accept(e);
+            });
+        if (task == null) {
+            enrollButton.setDisable(false);
+        } else {
+            task.addEventHandler(WorkerStateEvent.WORKER_STATE_CANCELLED, event -> enrollButton.setDisable(false));
         }
     }
     
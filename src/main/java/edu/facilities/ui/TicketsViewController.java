@@ -45,15 +45,28 @@ public class TicketsViewController {
     @FXML private Label titleLabel;
     @FXML private Label assigneeLabel;
     @FXML private Label staffComboBoxLabel;
+    @FXML private ComboBox<String> statusFilterComboBox;
+    @FXML private Button loadMoreButton;
+    @FXML private Label ticketCountLabel;
+
+    private static final int PAGE_SIZE = 50;
+    private static final String ALL_STATUSES = "All statuses";
 
     private MaintenanceService maintenanceService = new MaintenanceService();
     private AuthService authService = AuthService.getInstance();
     private ObservableList<MaintenanceTicket> ticketsList = FXCollections.observableArrayList();
     private boolean isAdmin = false;
     private boolean isStaff = false;
+    private BackgroundExecutor.Scope backgroundScope;
+    private MaintenanceService.TicketPage lastPage;
 
     @FXML
     public void initialize() {
+        backgroundScope = new BackgroundExecutor.Scope().bindTo(ticketsTable);
+        statusFilterComboBox.getItems().addAll(ALL_STATUSES, "NEW", "IN_PROGRESS", "RESOLVED");
+        statusFilterComboBox.setValue(ALL_STATUSES);
+        statusFilterComboBox.setOnAction(e -> reloadTickets());
+
         // Check user role
         if (authService.isLoggedIn()) {
             String userType = authService.getCurrentUserType();
@@ -66,7 +79,7 @@ public class TicketsViewController {
                 staffComboBox.setVisible(true);
                 staffComboBoxLabel.setVisible(true);
                 assigneeLabel.setVisible(true);
-                loadAllTickets();
+                reloadTickets();
                 loadStaffUsers();
             } else if ("STAFF".equals(userType)) {
                 isStaff = true;
@@ -75,7 +88,7 @@ public class TicketsViewController {
                 staffComboBox.setVisible(false);
                 staffComboBoxLabel.setVisible(false);
                 assigneeLabel.setVisible(false);
-                loadAssignedTickets();
+                reloadTickets();
             } else {
                 // Students, Professors, and other users can view tickets they created
                 titleLabel.setText("My Created Tickets");
@@ -83,11 +96,12 @@ public class TicketsViewController {
                 staffComboBox.setVisible(false);
                 staffComboBoxLabel.setVisible(false);
                 assigneeLabel.setVisible(false);
-                loadMyCreatedTickets();
+                reloadTickets();
             }
         } else {
             titleLabel.setText("Please login to view tickets");
             ticketsTable.setDisable(true);
+            loadMoreButton.setDisable(true);
         }
 
         setupTableColumns();
@@ -114,11 +128,7 @@ public class TicketsViewController {
                             boolean success = maintenanceService.updateTicketStatus(ticket.getId(), newStatus);
                             if (success) {
                                 // Refresh the table to show updated status
-                                if (isStaff) {
-                                    loadAssignedTickets();
-                                } else {
-                                    loadAllTickets();
-                                }
+                                reloadTickets();
                             } else {
                                 showError("Error", "Failed to update ticket status");
                             }
@@ -195,26 +205,21 @@ public class TicketsViewController {
         });
     }
 
-    private void loadAllTickets() {
-        try {
-            System.out.println("Loading all tickets for admin view...");
-            List<MaintenanceTicket> tickets = maintenanceService.getAllTickets();
-            System.out.println("Retrieved " + tickets.size() + " tickets from service");
-            ticketsList.setAll(tickets);
-            ticketsTable.setItems(ticketsList);
-            System.out.println("Table updated with " + ticketsList.size() + " tickets");
-        } catch (SQLException e) {
-            System.err.println("Error loading tickets: " + e.getMessage());
-            e.printStackTrace();
-            showError("Database Error", "Failed to load tickets: " + e.getMessage());
-        } catch (Exception e) {
-            System.err.println("Unexpected error loading tickets: " + e.getMessage());
-            e.printStackTrace();
-            showError("Error", "An unexpected error occurred while loading tickets: " + e.getMessage());
-        }
+    /**
+     * Reload the ticket list from the first page
+     */
+    private void reloadTickets() {
+        ticketsList.clear();
+        lastPage = null;
+        loadNextPage();
     }
 
-    private void loadAssignedTickets() {
+    /**
+     * Load the page after the last one shown and append it to the table.
+     * Admins page through all tickets, staff through their assigned tickets and everyone
+     * else through the tickets they created.
+     */
+    private void loadNextPage() {
         if (!authService.isLoggedIn()) {
             return;
         }
@@ -225,76 +230,78 @@ public class TicketsViewController {
             return;
         }
 
-        try {
-            ticketsList.setAll(maintenanceService.getTicketsByAssignee(currentUser.getId()));
-            ticketsTable.setItems(ticketsList);
-        } catch (SQLException e) {
-            showError("Database Error", "Failed to load assigned tickets: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-    
-    private void loadMyCreatedTickets() {
-        if (!authService.isLoggedIn()) {
-            return;
-        }
+        TicketStatus status = statusFilterComboBox.getValue() == null || ALL_STATUSES.equals(statusFilterComboBox.getValue())
+            ? null : TicketStatus.valueOf(statusFilterComboBox.getValue());
+        MaintenanceTicket after = lastPage != null ? lastPage.getLastTicket() : null;
 
-        User currentUser = authService.getCurrentUser();
-        if (currentUser == null) {
-            showError("Authentication Error", "User session expired. Please login again.");
-            return;
+        if (ticketsList.isEmpty()) {
+            ticketsTable.setPlaceholder(BackgroundExecutor.loadingPlaceholder("Loading tickets..."));
         }
+        loadMoreButton.setDisable(true);
+        backgroundScope.run("tickets", () -> {
+                if (isAdmin) {
+                    return maintenanceService.getAllTickets(status, after, PAGE_SIZE);
+                } else if (isStaff) {
+                    return maintenanceService.getTicketsByAssignee(currentUser.getId(), status, after, PAGE_SIZE);
+                }
+                return maintenanceService.getTicketsByReporter(currentUser.getId(), status, after, PAGE_SIZE);
+            },
+            this::showPage,
+            e -> {
+                System.err.println("Error loading tickets: " + e.getMessage());
+                e.printStackTrace();
+                ticketsTable.setPlaceholder(new Label("Failed to load tickets"));
+                loadMoreButton.setDisable(lastPage == null || !lastPage.hasMore());
+                if (e instanceof SQLException) {
+                    showError("Database Error", "Failed to load tickets: " + e.getMessage());
+                } else {
+                    showError("Error", "An unexpected error occurred while loading tickets: " + e.getMessage());
+                }
+            });
+    }
 
-        try {
-            System.out.println("Loading tickets created by user: " + currentUser.getId());
-            ticketsList.setAll(maintenanceService.getTicketsByReporter(currentUser.getId()));
-            ticketsTable.setItems(ticketsList);
-            System.out.println("Loaded " + ticketsList.size() + " tickets created by user");
-        } catch (SQLException e) {
-            System.err.println("Error loading created tickets: " + e.getMessage());
-            e.printStackTrace();
-            showError("Database Error", "Failed to load your tickets: " + e.getMessage());
-        } catch (Exception e) {
-            System.err.println("Unexpected error loading created tickets: " + e.getMessage());
-            e.printStackTrace();
-            showError("Error", "An unexpected error occurred while loading your tickets: " + e.getMessage());
-        }
+    private void showPage(MaintenanceService.TicketPage page) {
+        lastPage = page;
+        ticketsList.addAll(page.getTickets());
+        ticketsTable.setItems(ticketsList);
+        ticketsTable.setPlaceholder(new Label("No tickets to display"));
+        loadMoreButton.setDisable(!page.hasMore());
+        ticketCountLabel.setText(ticketsList.size() + (page.hasMore() ? "+ tickets" : " tickets"));
     }
 
     private void loadStaffUsers() {
-        try {
-            var staffUsers = maintenanceService.getStaffUsers();
-            staffComboBox.setItems(FXCollections.observableArrayList(staffUsers));
-
-            // Set cell factory to display username
-            staffComboBox.setCellFactory(param -> new ListCell<User>() {
-                @Override
-                protected void updateItem(User item, boolean empty) {
-                    super.updateItem(item, empty);
-                    if (empty || item == null) {
-                        setText(null);
-                    } else {
-                        setText(item.getUsername() + " (" + item.getId() + ")");
-                    }
+        // Set cell factory to display username
+        staffComboBox.setCellFactory(param -> new ListCell<User>() {
+            @Override
+            protected void updateItem(User item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty || item == null) {
+                    setText(null);
+                } else {
+                    setText(item.getUsername() + " (" + item.getId() + ")");
                 }
-            });
+            }
+        });
 
-            // Set button cell to display username
-            staffComboBox.setButtonCell(new ListCell<User>() {
-                @Override
-                protected void updateItem(User item, boolean empty) {
-                    super.updateItem(item, empty);
-                    if (empty || item == null) {
-                        setText("Select Staff Member");
-                    } else {
-                        setText(item.getUsername() + " (" + item.getId() + ")");
-                    }
+        // Set button cell to display username
+        staffComboBox.setButtonCell(new ListCell<User>() {
+            @Override
+            protected void updateItem(User item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty || item == null) {
+                    setText("Select Staff Member");
+                } else {
+                    setText(item.getUsername() + " (" + item.getId() + ")");
                 }
+            }
+        });
+
+        backgroundScope.run("staffUsers", maintenanceService::getStaffUsers,
+            staffUsers -> staffComboBox.setItems(FXCollections.observableArrayList(staffUsers)),
+            e -> {
+                showError("Database Error", "Failed to load staff users: " + e.getMessage());
+                e.printStackTrace();
             });
-        } catch (SQLException e) {
-            showError("Database Error", "Failed to load staff users: " + e.getMessage());
-            e.printStackTrace();
-        }
     }
 
     @FXML
@@ -331,7 +338,7 @@ public class TicketsViewController {
                         showInfo("Success", "Ticket #" + selectedTicket.getId() +
                                 " has been assigned to " + selectedStaff.getUsername());
                         // Refresh the ticket list
-                        loadAllTickets();
+                        reloadTickets();
                         // Clear selection
                         staffComboBox.getSelectionModel().clearSelection();
                     } else {
@@ -349,13 +356,12 @@ public class TicketsViewController {
 
     @FXML
     private void handleRefresh() {
-        if (isAdmin) {
-            loadAllTickets();
-        } else if (isStaff) {
-            loadAssignedTickets();
-        } else {
-            loadMyCreatedTickets();
-        }
+        reloadTickets();
+    }
+
+    @FXML
+    private void handleLoadMore() {
+        loadNextPage();
     }
 
     @FXML
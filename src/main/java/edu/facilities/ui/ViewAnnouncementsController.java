@@ -4,6 +4,9 @@ import edu.facilities.model.Announcement;
 import edu.facilities.model.User;
 import edu.facilities.service.AuthService;
 import edu.facilities.service.AnnouncementService;
+import edu.facilities.service.NotificationBus;
+import edu.facilities.service.UnreadCounters;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -18,6 +21,7 @@ import javafx.stage.Stage;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -39,6 +43,7 @@ public class ViewAnnouncementsController {
     @FXML private Button markAsReadButton;
     @FXML private Button refreshButton;
     @FXML private Button backButton;
+    @FXML private Button loadMoreButton;
     @FXML private Button createButton;
     @FXML private Button editButton;
     @FXML private Button deleteButton;
@@ -53,7 +58,11 @@ public class ViewAnnouncementsController {
     private ObservableList<Announcement> announcementsList = FXCollections.observableArrayList();
     private AnnouncementService announcementService = new AnnouncementService();
     private AuthService authService = AuthService.getInstance();
+    private final UnreadCounters unreadCounters = UnreadCounters.getInstance();
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final int PAGE_SIZE = 25;
+    private BackgroundExecutor.Scope backgroundScope;
+    private AnnouncementService.AnnouncementPage lastPage;
     
     @FXML
     public void initialize() {
@@ -62,7 +71,15 @@ public class ViewAnnouncementsController {
             return;
         }
         
+        backgroundScope = new BackgroundExecutor.Scope().bindTo(announcementsTable);
+        NotificationBus.Subscription unreadSubscription = unreadCounters.addListener(() -> Platform.runLater(() -> {
+            if (!backgroundScope.isClosed()) {
+                updateUnreadCount();
+            }
+        }));
+        backgroundScope.onClose(unreadSubscription::cancel);
         setupTableColumns();
+        announcementsTable.setItems(announcementsList);
         setupFilters();
         setupAdminButtons();
         loadAnnouncements();
@@ -151,54 +168,83 @@ public class ViewAnnouncementsController {
         showReadCheckBox.setOnAction(e -> loadAnnouncements());
     }
     
+    /**
+     * Reload the announcement list from the first page
+     */
     private void loadAnnouncements() {
-        try {
-            User currentUser = authService.getCurrentUser();
-            if (currentUser == null) {
-                showError("Authentication Error", "User session expired. Please login again.");
-                return;
-            }
-            
-            String userType = authService.getCurrentUserType();
-            List<Announcement> announcements;
-            
-            // Admin/Staff see all announcements including drafts
-            if ("ADMIN".equals(userType) || "STAFF".equals(userType)) {
-                announcements = announcementService.getAllAnnouncementsForAdmin(false); // Exclude archived
-            } else {
-                // Regular users only see published announcements
-                announcements = announcementService.getAnnouncementsForUser(
-                    currentUser, showReadCheckBox.isSelected());
-            }
-            
-            // Apply role filter
-            String selectedRole = roleFilterComboBox.getValue();
-            if (selectedRole != null && !"ALL".equals(selectedRole)) {
-                announcements.removeIf(a -> {
-                    String targetRole = a.getTargetRole();
-                    return targetRole != null && !targetRole.equals(selectedRole);
-                });
-            }
-            
-            announcementsList.clear();
-            announcementsList.addAll(announcements);
-            
-            statusLabel.setText("Loaded " + announcements.size() + " announcement(s)");
-            updateUnreadCount();
-        } catch (SQLException e) {
-            showError("Database Error", "Failed to load announcements: " + e.getMessage());
+        announcementsList.clear();
+        lastPage = null;
+        loadNextPage();
+    }
+    
+    /**
+     * Load the page after the last one shown and append it to the table.
+     * Admin/Staff page through all announcements including drafts, everyone else
+     * through the published announcements addressed to them.
+     */
+    private void loadNextPage() {
+        User currentUser = authService.getCurrentUser();
+        if (currentUser == null) {
+            showError("Authentication Error", "User session expired. Please login again.");
+            return;
         }
+        
+        String userType = authService.getCurrentUserType();
+        boolean isAdminOrStaff = "ADMIN".equals(userType) || "STAFF".equals(userType);
+        boolean includeRead = showReadCheckBox.isSelected();
+        Announcement after = lastPage != null ? lastPage.getLastAnnouncement() : null;
+        
+        if (announcementsList.isEmpty()) {
+            announcementsTable.setPlaceholder(BackgroundExecutor.loadingPlaceholder("Loading announcements..."));
+        }
+        loadMoreButton.setDisable(true);
+        backgroundScope.run("announcements", () -> {
+                if (isAdminOrStaff) {
+                    // Exclude archived
+                    return announcementService.getAllAnnouncementsForAdmin(currentUser, false, after, PAGE_SIZE);
+                }
+                return announcementService.getAnnouncementFeed(currentUser, includeRead, after, PAGE_SIZE);
+            },
+            this::showPage,
+            e -> {
+                announcementsTable.setPlaceholder(new Label("Failed to load announcements"));
+                loadMoreButton.setDisable(lastPage == null || !lastPage.hasMore());
+                showError("Database Error", "Failed to load announcements: " + e.getMessage());
+            });
+    }
+    
+    private void showPage(AnnouncementService.AnnouncementPage page) {
+        lastPage = page;
+        List<Announcement> announcements = new ArrayList<>(page.getAnnouncements());
+        
+        // Apply role filter
+        String selectedRole = roleFilterComboBox.getValue();
+        if (selectedRole != null && !"ALL".equals(selectedRole)) {
+            announcements.removeIf(a -> {
+                String targetRole = a.getTargetRole();
+                return targetRole != null && !targetRole.equals(selectedRole);
+            });
+        }
+        
+        announcementsList.addAll(announcements);
+        announcementsTable.setPlaceholder(new Label("No announcements to display"));
+        loadMoreButton.setDisable(!page.hasMore());
+        
+        statusLabel.setText("Loaded " + announcementsList.size() + (page.hasMore() ? "+" : "") + " announcement(s)");
+        updateUnreadCount();
     }
     
     private void updateUnreadCount() {
-        try {
-            User currentUser = authService.getCurrentUser();
-            if (currentUser != null) {
-                int unreadCount = announcementService.getUnreadCount(currentUser);
-                unreadCountLabel.setText("Unread: " + unreadCount);
-            }
-        } catch (SQLException e) {
-            // Silently fail - not critical
+        User currentUser = authService.getCurrentUser();
+        if (currentUser != null) {
+            // Served from the in-memory counter, which follows read-marks and new announcements
+            backgroundScope.run("unreadCount",
+                () -> unreadCounters.get(currentUser, UnreadCounters.Kind.ANNOUNCEMENTS,
+                                         announcementService::getUnreadCount),
+                unreadCount -> unreadCountLabel.setText("Unread: " + unreadCount),
+                error -> {
+                    // Silently fail - not critical
+                });
         }
     }
     
@@ -379,6 +425,11 @@ public class ViewAnnouncementsController {
         statusLabel.setText("Refreshed");
     }
     
+    @FXML
+    private void handleLoadMore() {
+        loadNextPage();
+    }
+    
     @FXML
     private void handleBack(ActionEvent event) {
         try {
@@ -2,7 +2,11 @@ package edu.facilities.ui;
 
 import edu.facilities.model.User;
 import edu.facilities.service.AuthService;
+import edu.facilities.service.NotificationBus;
+import edu.facilities.service.UnreadCounters;
 import edu.community.service.MessageService;
+import edu.community.service.StudentStaffMessageService;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -16,17 +20,27 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
 import java.io.IOException;
-import java.sql.SQLException;
 
 public class dashboardcontroller {
 
     private AuthService authService;
     private MessageService messageService;
+    private final StudentStaffMessageService studentStaffMessageService = new StudentStaffMessageService();
+    private final UnreadCounters unreadCounters = UnreadCounters.getInstance();
+    private BackgroundExecutor.Scope backgroundScope;
 
     @FXML
     public void initialize() {
         authService = AuthService.getInstance();
         messageService = new MessageService();
+        backgroundScope = new BackgroundExecutor.Scope().bindTo(userIdLabel);
+        // Follow pushed count changes while the dashboard is shown
+        NotificationBus.Subscription unreadSubscription = unreadCounters.addListener(() -> Platform.runLater(() -> {
+            if (!backgroundScope.isClosed()) {
+                updateUnreadCount();
+            }
+        }));
+        backgroundScope.onClose(unreadSubscription::cancel);
         updateUI();
     }
 
@@ -101,6 +115,11 @@ public class dashboardcontroller {
                     softwareLicensesButton.setManaged(true);
                     softwareLicensesButton.setDisable(false);
                 }
+                if (diagnosticsButton != null) {
+                    diagnosticsButton.setVisible(true);
+                    diagnosticsButton.setManaged(true);
+                    diagnosticsButton.setDisable(false);
+                }
                 if (admissionApplicationsButton != null) {
                     admissionApplicationsButton.setVisible(true);
                     admissionApplicationsButton.setManaged(true);
@@ -1039,16 +1058,40 @@ public class dashboardcontroller {
 
     private void updateUnreadCount() {
         if (authService.isLoggedIn() && messagesButton != null) {
+            int userId;
             try {
-                int count = messageService.getUnreadCount(Integer.parseInt(authService.getCurrentUser().getId()));
-                if (count > 0) {
-                    messagesButton.setText("Messages (" + count + ")");
-                } else {
-                    messagesButton.setText("Messages");
-                }
-            } catch (SQLException | NumberFormatException e) {
+                userId = Integer.parseInt(authService.getCurrentUser().getId());
+            } catch (NumberFormatException e) {
                 messagesButton.setText("Messages");
+                return;
             }
+
+            // Served from the in-memory counters; only their first load runs the count queries, in
+            // the background so a slow database never freezes the dashboard
+            User currentUser = authService.getCurrentUser();
+            String userType = authService.getCurrentUserType();
+            // Staff, professors and admins also see how many of their unread messages came from students
+            boolean receivesStudentMessages = "STAFF".equals(userType) || "PROFESSOR".equals(userType) ||
+                                              "ADMIN".equals(userType);
+            backgroundScope.run("unreadCount",
+                () -> new int[] {
+                    unreadCounters.get(currentUser, UnreadCounters.Kind.MESSAGES,
+                                       user -> messageService.getUnreadCount(userId)),
+                    receivesStudentMessages
+                        ? unreadCounters.get(currentUser, UnreadCounters.Kind.STAFF_MESSAGES,
+                                             user -> studentStaffMessageService.getUnreadCount(userId))
+                        : 0
+                },
+                counts -> {
+                    if (counts[1] > 0) {
+                        messagesButton.setText("Messages (" + counts[0] + ", " + counts[1] + " from students)");
+                    } else if (counts[0] > 0) {
+                        messagesButton.setText("Messages (" + counts[0] + ")");
+                    } else {
+                        messagesButton.setText("Messages");
+                    }
+                },
+                error -> messagesButton.setText("Messages"));
         }
     }
 
@@ -1127,6 +1170,9 @@ public class dashboardcontroller {
     @FXML
     private Button softwareLicensesButton;
 
+    @FXML
+    private Button diagnosticsButton;
+
     @FXML
     private Button admissionApplicationsButton;
 
@@ -1449,6 +1495,30 @@ public class dashboardcontroller {
         navigateTo("/fxml/software_licenses.fxml", event, "Software Licenses");
     }
 
+    @FXML
+    void handleDiagnostics(ActionEvent event) {
+        if (!authService.isLoggedIn()) {
+            Alert alert = new Alert(Alert.AlertType.WARNING);
+            alert.setTitle("Not Logged In");
+            alert.setHeaderText(null);
+            alert.setContentText("Please login to view diagnostics.");
+            alert.showAndWait();
+            return;
+        }
+
+        String userType = authService.getCurrentUserType();
+        if (!"ADMIN".equals(userType)) {
+            Alert alert = new Alert(Alert.AlertType.WARNING);
+            alert.setTitle("Access Denied");
+            alert.setHeaderText(null);
+            alert.setContentText("Only administrators can view diagnostics.");
+            alert.showAndWait();
+            return;
+        }
+
+        navigateTo("/fxml/diagnostics.fxml", event, "Diagnostics");
+    }
+
     @FXML
     void handleAdmissionApplications(ActionEvent event) {
         if (!authService.isLoggedIn()) {
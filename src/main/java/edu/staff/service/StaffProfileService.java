@@ -2,6 +2,7 @@ package edu.staff.service;
 
 import edu.staff.model.StaffProfile;
 import edu.facilities.service.DatabaseConnection;
+import edu.facilities.service.ReferenceDataCache;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -9,6 +10,8 @@ import java.util.List;
 
 public class StaffProfileService {
 
+    private final ReferenceDataCache referenceData = ReferenceDataCache.getInstance();
+
     public List<StaffProfile> getAllStaff() throws SQLException {
         List<StaffProfile> profiles = new ArrayList<>();
         String sql = "SELECT sp.StaffID, sp.UserID, sp.Name, sp.Role, d.Name as Department, " +
@@ -77,7 +80,7 @@ public class StaffProfileService {
         try (Connection conn = DatabaseConnection.getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            int departmentId = getDepartmentIdByName(profile.getDepartment());
+            int departmentId = referenceData.getDepartmentId(profile.getDepartment());
 
             pstmt.setString(1, profile.getName());
             pstmt.setString(2, profile.getRole());
@@ -100,7 +103,7 @@ public class StaffProfileService {
         try (Connection conn = DatabaseConnection.getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            int departmentId = getDepartmentIdByName(profile.getDepartment());
+            int departmentId = referenceData.getDepartmentId(profile.getDepartment());
 
             pstmt.setString(1, profile.getName());
             pstmt.setString(2, profile.getRole());
@@ -162,28 +165,4 @@ public class StaffProfileService {
         profile.setActive(rs.getBoolean("IsActive"));
         return profile;
     }
-
-    /**
-     * Get department ID by name
-     * @param departmentName The department name
-     * @return Department ID
-     * @throws SQLException if department not found or database error occurs
-     */
-    private int getDepartmentIdByName(String departmentName) throws SQLException {
-        String sql = "SELECT DepartmentID FROM Departments WHERE Name = ?";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, departmentName);
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("DepartmentID");
-                }
-            }
-        }
-        
-        throw new SQLException("Department not found: " + departmentName);
-    }
 }
@@ -3,13 +3,16 @@ module edu.facilities {
     requires javafx.fxml;
     requires transitive javafx.graphics;
     requires transitive java.sql;
-    // Non-modularized libraries use automatic module names
-    // Try JAR filename-based names first (most common)
-    // HikariCP JAR: HikariCP-5.1.0.jar -> automatic module name: "hikaricp" (lowercase, no version)
-    requires hikaricp;
-    // PostgreSQL JAR: postgresql-42.7.1.jar -> automatic module name: "postgresql" (lowercase, no version)  
-    requires postgresql;
-    // PDFBox is loaded via reflection, so no module requirement needed
+    // JMX registration of the SQL statistics bean
+    requires java.management;
+    // HikariCP ships a real module descriptor: com.zaxxer.hikari
+    requires com.zaxxer.hikari;
+    // PostgreSQL JAR declares Automatic-Module-Name: org.postgresql.jdbc
+    requires org.postgresql.jdbc;
+    // PDFBox 3 declares Automatic-Module-Name: org.apache.pdfbox (TranscriptPdfRenderer)
+    requires org.apache.pdfbox;
+    requires org.apache.pdfbox.io;
+    requires org.apache.fontbox;
 
     opens edu.facilities.ui to javafx.fxml, javafx.graphics;
     opens edu.facilities to javafx.fxml, javafx.graphics;